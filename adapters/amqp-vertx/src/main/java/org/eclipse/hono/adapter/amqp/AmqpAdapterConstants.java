@@ -29,8 +29,11 @@ public final class AmqpAdapterConstants {
     public static final String KEY_CURRENT_SPAN = "CURRENT_SPAN";
 
     /**
-     * The key that the trace sampling priority determined for a request tenant/auth-id
+     * The key that the supplier of trace sampling priorities determined for a request tenant/auth-id
      * is stored under in a {@code ProtonConnection}'s attachments.
+     * <p>
+     * The supplier is invoked for each span, so that a sampling rate applies to the individual
+     * messages of a connection instead of the connection as a whole.
      */
     public static final String KEY_TRACE_SAMPLING_PRIORITY = "TRACE_SAMPLING_PRIORITY";
 
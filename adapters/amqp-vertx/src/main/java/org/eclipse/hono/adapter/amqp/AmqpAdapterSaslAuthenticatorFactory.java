@@ -42,6 +42,8 @@ import org.eclipse.hono.service.auth.device.DeviceCertificateValidator;
 import org.eclipse.hono.service.auth.device.HonoClientBasedAuthProvider;
 import org.eclipse.hono.service.auth.device.SubjectDnCredentials;
 import org.eclipse.hono.service.auth.device.UsernamePasswordCredentials;
+import org.eclipse.hono.service.metric.Metrics;
+import org.eclipse.hono.service.metric.MetricsTags;
 import org.eclipse.hono.tracing.TracingHelper;
 import org.eclipse.hono.util.AuthenticationConstants;
 import org.eclipse.hono.util.CredentialsConstants;
@@ -75,6 +77,7 @@ import io.vertx.proton.sasl.ProtonSaslAuthenticatorFactory;
 public class AmqpAdapterSaslAuthenticatorFactory implements ProtonSaslAuthenticatorFactory {
 
     private final ProtocolAdapterProperties config;
+    private final Metrics metrics;
     private final TenantClientFactory tenantClientFactory;
     private final Supplier<Span> spanFactory;
     private final DeviceCertificateValidator certValidator;
@@ -87,6 +90,7 @@ public class AmqpAdapterSaslAuthenticatorFactory implements ProtonSaslAuthentica
      *
      * @param tenantClientFactory The factory to use for creating a Tenant service client.
      * @param config The protocol adapter configuration object.
+     * @param metrics The metrics to report the TLS handshakes of connecting devices to.
      * @param spanFactory The factory to use for creating and starting an OpenTracing span to
      *                    trace the authentication of the device.
      * @param usernamePasswordAuthProvider The authentication provider to use for validating device credentials.
@@ -102,6 +106,7 @@ public class AmqpAdapterSaslAuthenticatorFactory implements ProtonSaslAuthentica
     public AmqpAdapterSaslAuthenticatorFactory(
             final TenantClientFactory tenantClientFactory,
             final ProtocolAdapterProperties config,
+            final Metrics metrics,
             final Supplier<Span> spanFactory,
             final HonoClientBasedAuthProvider<UsernamePasswordCredentials> usernamePasswordAuthProvider,
             final HonoClientBasedAuthProvider<SubjectDnCredentials> clientCertAuthProvider,
@@ -109,8 +114,11 @@ public class AmqpAdapterSaslAuthenticatorFactory implements ProtonSaslAuthentica
 
         this.tenantClientFactory = Objects.requireNonNull(tenantClientFactory, "Tenant client factory cannot be null");
         this.config = Objects.requireNonNull(config, "configuration cannot be null");
+        this.metrics = Objects.requireNonNull(metrics, "metrics cannot be null");
         this.spanFactory = Objects.requireNonNull(spanFactory);
-        this.certValidator = new DeviceCertificateValidator();
+        this.certValidator = new DeviceCertificateValidator(
+                config.getCertificateValidationCacheMaxSize(),
+                config.getCertificateValidationCacheTimeout());
         this.usernamePasswordAuthProvider = usernamePasswordAuthProvider;
         this.clientCertAuthProvider = clientCertAuthProvider;
         this.preAuthenticationHandler = preAuthenticationHandler;
@@ -160,6 +168,7 @@ public class AmqpAdapterSaslAuthenticatorFactory implements ProtonSaslAuthentica
             if (socket.isSsl()) {
                 LOG.trace("client connected through a secured port");
                 sslSession = socket.sslSession();
+                metrics.reportTlsHandshake(MetricsTags.TlsHandshake.from(sslSession));
             }
         }
 
@@ -23,6 +23,7 @@ import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.apache.qpid.proton.amqp.Symbol;
@@ -174,12 +175,14 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
                 authenticatorFactory = new AmqpAdapterSaslAuthenticatorFactory(
                         getTenantClientFactory(),
                         getConfig(),
+                        metrics,
                         () -> tracer.buildSpan("open connection")
                             .ignoreActiveSpan()
                             .withTag(Tags.SPAN_KIND.getKey(), Tags.SPAN_KIND_SERVER)
                             .withTag(Tags.COMPONENT.getKey(), getTypeName())
                             .start(),
-                        new UsernamePasswordAuthProvider(getCredentialsClientFactory(), getConfig(), tracer),
+                        new UsernamePasswordAuthProvider(getCredentialsClientFactory(), getConfig(),
+                                getPasswordHashingExecutor(), tracer),
                         new X509AuthProvider(getCredentialsClientFactory(), getConfig(), tracer),
                         (saslResponseContext, span) -> applyTenantTraceSamplingPriority(saslResponseContext, span));
             }
@@ -237,6 +240,7 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
                         .setMaxFrameSize(getConfig().getMaxFrameSize())
                         // set heart beat to half the idle timeout
                         .setHeartbeat(getConfig().getIdleTimeout() >> 1);
+            addServerSocketOptions(options);
 
             final Promise<Void> result = Promise.promise();
             insecureServer = createServer(insecureServer, options);
@@ -264,6 +268,7 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
                         // set heart beat to half the idle timeout
                         .setHeartbeat(getConfig().getIdleTimeout() >> 1);
 
+            addServerSocketOptions(options);
             addTlsKeyCertOptions(options);
             addTlsTrustOptions(options);
 
@@ -561,7 +566,8 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
                         deriveAndSetTenantTraceSamplingPriority(ctx)
                                 .onComplete(ar -> onMessageReceived(ctx));
                     } else {
-                        ctx.setTraceSamplingPriority(traceSamplingPriority);
+                        // the sampling decision is made for each message
+                        ctx.setTraceSamplingPriority(getTraceSamplingPriority(conn));
                         onMessageReceived(ctx);
                     }
                 } catch (final Exception ex) {
@@ -638,7 +644,9 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
      * Derives the tenant from the given SASL handshake information and applies the trace sampling priority configured
      * for that tenant to the given span.
      * <p>
-     * Also stores the identified trace sampling priority in the attachments of the AMQP connection.
+     * Also stores a supplier of the trace sampling priorities configured for the tenant in the
+     * attachments of the AMQP connection, to be used for the spans of subsequent operations
+     * on the connection.
      *
      * @param context The context with information about the SASL handshake.
      * @param currentSpan The span to apply the configuration to.
@@ -650,10 +658,9 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
         Objects.requireNonNull(currentSpan);
         return tenantObjectWithAuthIdProvider.get(context, currentSpan.context())
                 .map(tenantObjectWithAuthId -> {
-                    final OptionalInt traceSamplingPriority = TenantTraceSamplingHelper
-                            .applyTraceSamplingPriority(tenantObjectWithAuthId, currentSpan);
+                    TenantTraceSamplingHelper.applyTraceSamplingPriority(tenantObjectWithAuthId, currentSpan);
                     context.getProtonConnection().attachments().set(AmqpAdapterConstants.KEY_TRACE_SAMPLING_PRIORITY,
-                            OptionalInt.class, traceSamplingPriority);
+                            Supplier.class, TenantTraceSamplingHelper.getTraceSamplingPrioritySupplier(tenantObjectWithAuthId));
                     return (Void) null;
                 })
                 .recover(t -> Future.succeededFuture());
@@ -679,7 +686,9 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
         final SpanContext spanContext = TracingHelper.extractSpanContext(tracer, ctx.getMessage());
         final Span msgSpan = newSpan("upload message", ctx.getAuthenticatedDevice(), ctx.getTraceSamplingPriority(),
                 spanContext);
-        msgSpan.log(Collections.singletonMap(Tags.MESSAGE_BUS_DESTINATION.getKey(), ctx.getAddress()));
+        if (TracingHelper.isSampled(msgSpan)) {
+            msgSpan.log(Collections.singletonMap(Tags.MESSAGE_BUS_DESTINATION.getKey(), ctx.getAddress()));
+        }
 
         return validateEndpoint(ctx)
         .compose(validatedEndpoint -> validateAddress(validatedEndpoint.getAddress(), validatedEndpoint.getAuthenticatedDevice()))
@@ -773,17 +782,19 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
 
     private Span newSpan(final String operationName, final Device authenticatedDevice,
             final OptionalInt traceSamplingPriority, final SpanContext context) {
-        final Span span = TracingHelper.buildChildSpan(tracer, context, operationName, getTypeName())
-                .withTag(Tags.SPAN_KIND.getKey(), Tags.SPAN_KIND_SERVER)
-                .withTag(TracingHelper.TAG_AUTHENTICATED.getKey(), authenticatedDevice != null)
+        final Span span = TracingHelper.buildServerChildSpan(tracer, context, operationName, getTypeName())
                 .start();
-
-        if (authenticatedDevice != null) {
-            TracingHelper.setDeviceTags(span, authenticatedDevice.getTenantId(), authenticatedDevice.getDeviceId());
-        }
         traceSamplingPriority.ifPresent(prio -> {
             TracingHelper.setTraceSamplingPriority(span, prio);
         });
+
+        // skip creation of tags if the span will not be recorded anyway
+        if (TracingHelper.isSampled(span)) {
+            TracingHelper.TAG_AUTHENTICATED.set(span, authenticatedDevice != null);
+            if (authenticatedDevice != null) {
+                TracingHelper.setDeviceTags(span, authenticatedDevice.getTenantId(), authenticatedDevice.getDeviceId());
+            }
+        }
         return span;
     }
 
@@ -1289,8 +1300,10 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
                 .orElse(null);
     }
 
+    @SuppressWarnings("unchecked")
     private static OptionalInt getTraceSamplingPriority(final ProtonConnection con) {
-        return Optional.ofNullable(con.attachments().get(AmqpAdapterConstants.KEY_TRACE_SAMPLING_PRIORITY, OptionalInt.class))
+        return Optional.ofNullable(con.attachments().get(AmqpAdapterConstants.KEY_TRACE_SAMPLING_PRIORITY, Supplier.class))
+                .map(supplier -> (OptionalInt) supplier.get())
                 .orElse(OptionalInt.empty());
     }
 
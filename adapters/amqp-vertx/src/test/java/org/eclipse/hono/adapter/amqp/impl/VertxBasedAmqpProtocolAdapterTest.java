@@ -20,6 +20,7 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_SELF;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -27,10 +28,15 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.OptionalInt;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import org.apache.qpid.proton.amqp.Binary;
 import org.apache.qpid.proton.amqp.messaging.Accepted;
@@ -90,6 +96,9 @@ import org.mockito.ArgumentCaptor;
 
 import io.opentracing.Span;
 import io.opentracing.SpanContext;
+import io.opentracing.Tracer;
+import io.opentracing.Tracer.SpanBuilder;
+import io.opentracing.tag.Tags;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
@@ -103,6 +112,7 @@ import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 import io.vertx.proton.ProtonConnection;
 import io.vertx.proton.ProtonDelivery;
+import io.vertx.proton.ProtonMessageHandler;
 import io.vertx.proton.ProtonQoS;
 import io.vertx.proton.ProtonReceiver;
 import io.vertx.proton.ProtonSender;
@@ -278,6 +288,57 @@ public class VertxBasedAmqpProtocolAdapterTest {
         verify(link).close();
     }
 
+    /**
+     * Verifies that the trace sampling priority for messages received from an authenticated device
+     * is determined for each message instead of once for the connection.
+     */
+    @Test
+    public void testTraceSamplingPriorityIsDeterminedPerMessage() {
+        // GIVEN an AMQP adapter using a tracer that creates a new span for each uploaded message
+        final List<Span> uploadSpans = new ArrayList<>();
+        final SpanBuilder uploadSpanBuilder = mock(SpanBuilder.class, RETURNS_SELF);
+        when(uploadSpanBuilder.start()).thenAnswer(invocation -> {
+            final Span span = mock(Span.class);
+            when(span.context()).thenReturn(mock(SpanContext.class));
+            uploadSpans.add(span);
+            return span;
+        });
+        final SpanBuilder spanBuilder = mock(SpanBuilder.class, RETURNS_SELF);
+        when(spanBuilder.start()).thenReturn(mock(Span.class));
+        final Tracer tracer = mock(Tracer.class);
+        when(tracer.buildSpan(anyString())).thenReturn(spanBuilder);
+        when(tracer.buildSpan("upload message")).thenReturn(uploadSpanBuilder);
+        final VertxBasedAmqpProtocolAdapter adapter = givenAnAmqpAdapter();
+        adapter.setTracer(tracer);
+        final DownstreamSender telemetrySender = givenATelemetrySenderForAnyTenant();
+        when(telemetrySender.send(any(Message.class), (SpanContext) any())).thenReturn(Future.succeededFuture(mock(ProtonDelivery.class)));
+        givenAConfiguredTenant(TEST_TENANT_ID, true);
+
+        // and a connection of an authenticated device for which a sampling rate has been configured
+        final AtomicInteger samplingDecisions = new AtomicInteger();
+        final Supplier<OptionalInt> samplingPrioritySupplier = () -> OptionalInt.of(samplingDecisions.getAndIncrement() % 2 == 0 ? 1 : 0);
+        final ProtonConnection conn = getConnection(new Device(TEST_TENANT_ID, TEST_DEVICE));
+        when(conn.attachments().get(AmqpAdapterConstants.KEY_TRACE_SAMPLING_PRIORITY, Supplier.class))
+                .thenReturn(samplingPrioritySupplier);
+        final ProtonReceiver receiver = getReceiver(ProtonQoS.AT_LEAST_ONCE, new Target());
+        adapter.handleRemoteReceiverOpen(conn, receiver);
+        final ArgumentCaptor<ProtonMessageHandler> messageHandler = ArgumentCaptor.forClass(ProtonMessageHandler.class);
+        verify(receiver).handler(messageHandler.capture());
+
+        // WHEN the device sends two messages on the link
+        final String to = ResourceIdentifier.from(TelemetryConstants.TELEMETRY_ENDPOINT, TEST_TENANT_ID, TEST_DEVICE).toString();
+        final ProtonDelivery delivery = mock(ProtonDelivery.class);
+        when(delivery.remotelySettled()).thenReturn(true);
+        messageHandler.getValue().handle(delivery, getFakeMessage(to, Buffer.buffer("one")));
+        messageHandler.getValue().handle(delivery, getFakeMessage(to, Buffer.buffer("two")));
+
+        // THEN a separate sampling decision has been made for each message
+        assertThat(samplingDecisions.get()).isEqualTo(3);
+        assertThat(uploadSpans).hasSize(2);
+        verify(uploadSpans.get(0)).setBaggageItem(Tags.SAMPLING_PRIORITY.getKey(), "0");
+        verify(uploadSpans.get(1)).setBaggageItem(Tags.SAMPLING_PRIORITY.getKey(), "1");
+    }
+
     /**
      * Verifies that a request to upload a pre-settled telemetry message results
      * in the downstream sender not waiting for the consumer's acknowledgment.
@@ -17,10 +17,12 @@ import java.net.HttpURLConnection;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.qpid.proton.amqp.transport.ErrorCondition;
@@ -32,6 +34,7 @@ import org.eclipse.hono.client.CommandContext;
 import org.eclipse.hono.client.CommandResponse;
 import org.eclipse.hono.client.DownstreamSender;
 import org.eclipse.hono.client.ProtocolAdapterCommandConsumer;
+import org.eclipse.hono.client.ServiceInvocationException;
 import org.eclipse.hono.service.AbstractProtocolAdapterBase;
 import org.eclipse.hono.service.auth.DeviceUser;
 import org.eclipse.hono.service.http.ComponentMetaDataDecorator;
@@ -55,6 +58,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import io.micrometer.core.instrument.Timer.Sample;
 import io.opentracing.Span;
+import io.opentracing.SpanContext;
+import io.opentracing.Tracer;
 import io.opentracing.tag.Tags;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.CompositeFuture;
@@ -62,14 +67,17 @@ import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.Http2Settings;
+import io.vertx.core.http.HttpConnection;
 import io.vertx.core.http.HttpServer;
 import io.vertx.core.http.HttpServerOptions;
 import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Route;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
-import io.vertx.ext.web.handler.BodyHandler;
 
 /**
  * Base class for a Vert.x based Hono protocol adapter that uses the HTTP protocol.
@@ -81,7 +89,11 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
 
     /**
      * Default file uploads directory used by Vert.x Web.
+     *
+     * @deprecated The adapter no longer uses vert.x Web's {@code BodyHandler} and thus never
+     *             writes request bodies to the file system.
      */
+    @Deprecated
     protected static final String DEFAULT_UPLOADS_DIRECTORY = "/tmp";
 
     private static final String KEY_TIMER_ID = "timerId";
@@ -89,6 +101,11 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
     private HttpServer server;
     private HttpServer insecureServer;
     private HttpAdapterMetrics metrics = HttpAdapterMetrics.NOOP;
+    /**
+     * The HTTP/2 connections that requests have been received on.
+     * Only accessed on this verticle's event loop.
+     */
+    private final Set<HttpConnection> http2Connections = new HashSet<>();
 
     /**
      * Sets the metrics for this service.
@@ -282,11 +299,13 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
      * following handlers and failure handlers:
      * <ol>
      * <li>a handler to add a Micrometer {@code Timer.Sample} to the routing context,</li>
+     * <li>(optional) a handler to keep track of the HTTP/2 connections that requests are received on,</li>
      * <li>a handler and failure handler that creates tracing data for all server requests,</li>
      * <li>a handler to log when the connection is closed prematurely,</li>
      * <li>a default failure handler,</li>
-     * <li>a handler limiting the body size of requests to the maximum payload size set in the <em>config</em>
-     * properties,</li>
+     * <li>a {@link LimitedBodyHandler} reading the request body into memory while limiting its size to the
+     * maximum payload size set in the <em>config</em> properties (or to the maximum batch payload size for
+     * {@linkplain #isBatchUploadRequest(RoutingContext) batch upload requests}),</li>
      * <li>(optional) a handler that applies the trace sampling priority configured for the tenant/auth-id of a
      * request.</li>
      * </ol>
@@ -303,6 +322,9 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
             ctx.put(KEY_MICROMETER_SAMPLE, getMetrics().startTimer());
             ctx.next();
         });
+        if (getConfig().isHttp2Enabled()) {
+            matchAllRoute.handler(this::trackHttp2Connection);
+        }
         // 2. tracing handler
         final TracingHandler tracingHandler = createTracingHandler();
         matchAllRoute.handler(tracingHandler).failureHandler(tracingHandler);
@@ -318,11 +340,22 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
         // 4. default handler for failed routes
         matchAllRoute.failureHandler(new DefaultFailureHandler());
 
-        // 5. BodyHandler with request size limit
+        // 5. body handler with request size limit
         log.info("limiting size of inbound request body to {} bytes", getConfig().getMaxPayloadSize());
-        final BodyHandler bodyHandler = BodyHandler.create(DEFAULT_UPLOADS_DIRECTORY)
-                .setBodyLimit(getConfig().getMaxPayloadSize());
-        matchAllRoute.handler(bodyHandler);
+        final LimitedBodyHandler bodyHandler = new LimitedBodyHandler(getConfig().getMaxPayloadSize());
+        if (getConfig().isBatchUploadEnabled()) {
+            log.info("limiting size of inbound batch upload request body to {} bytes", getConfig().getMaxBatchPayloadSize());
+            final LimitedBodyHandler batchBodyHandler = new LimitedBodyHandler(getConfig().getMaxBatchPayloadSize());
+            matchAllRoute.handler(ctx -> {
+                if (isBatchUploadRequest(ctx)) {
+                    batchBodyHandler.handle(ctx);
+                } else {
+                    bodyHandler.handle(ctx);
+                }
+            });
+        } else {
+            matchAllRoute.handler(bodyHandler);
+        }
 
         // 6. handler to set the trace sampling priority
         Optional.ofNullable(getTenantTraceSamplingHandler())
@@ -330,6 +363,45 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
         return router;
     }
 
+    /**
+     * Reports the HTTP/2 connection that a request has been received on to the metrics
+     * when the first request on the connection is received and when the connection is closed.
+     * <p>
+     * Each request received on an HTTP/2 connection is processed on its own stream, i.e.
+     * all other handlers (including the handling of requests waiting for a command)
+     * operate on the request's stream only and never close the connection.
+     */
+    private void trackHttp2Connection(final RoutingContext ctx) {
+        if (ctx.request().version() == HttpVersion.HTTP_2) {
+            final HttpConnection connection = ctx.request().connection();
+            if (http2Connections.add(connection)) {
+                getMetrics().incrementHttp2Connections();
+                connection.closeHandler(v -> {
+                    if (http2Connections.remove(connection)) {
+                        getMetrics().decrementHttp2Connections();
+                    }
+                });
+            }
+        }
+        ctx.next();
+    }
+
+    /**
+     * Checks if a request is a batch upload request.
+     * <p>
+     * The body of batch upload requests is limited to the maximum batch payload size
+     * instead of the maximum payload size set in the <em>config</em> properties.
+     * <p>
+     * This default implementation returns {@code false}.
+     * Subclasses supporting batch uploads should override this method.
+     *
+     * @param ctx The routing context of the request.
+     * @return {@code true} if the request is a batch upload request.
+     */
+    protected boolean isBatchUploadRequest(final RoutingContext ctx) {
+        return false;
+    }
+
     /**
      * Gets a handler that determines the tenant associated with a request and applies the tenant specific trace
      * sampling configuration (if set).
@@ -361,6 +433,9 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
      * <p>
      * This method returns default options with the host and port being set to the corresponding values
      * from the <em>config</em> properties and using a maximum chunk size of 4096 bytes.
+     * If HTTP/2 is enabled in the <em>config</em> properties, the options also contain
+     * the ALPN protocols to negotiate with devices (HTTP/2 and HTTP/1.1) and the maximum
+     * number of concurrent streams per connection.
      *
      * @return The http server options.
      */
@@ -369,8 +444,14 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
         final HttpServerOptions options = new HttpServerOptions();
         options.setHost(getConfig().getBindAddress()).setPort(getConfig().getPort(getPortDefaultValue()))
             .setMaxChunkSize(4096);
+        addServerSocketOptions(options);
         addTlsKeyCertOptions(options);
         addTlsTrustOptions(options);
+        if (getConfig().isHttp2Enabled()) {
+            options.setUseAlpn(true)
+                .setAlpnVersions(List.of(HttpVersion.HTTP_2, HttpVersion.HTTP_1_1));
+            addHttp2Options(options);
+        }
         return options;
     }
 
@@ -381,6 +462,8 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
      * <p>
      * This method returns default options with the host and port being set to the corresponding values
      * from the <em>config</em> properties and using a maximum chunk size of 4096 bytes.
+     * If HTTP/2 is enabled in the <em>config</em> properties, the options also contain
+     * the maximum number of concurrent streams per (h2c) connection.
      *
      * @return The http server options.
      */
@@ -388,9 +471,19 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
 
         final HttpServerOptions options = new HttpServerOptions();
         options.setHost(getConfig().getInsecurePortBindAddress()).setPort(getConfig().getInsecurePort(getInsecurePortDefaultValue())).setMaxChunkSize(4096);
+        addServerSocketOptions(options);
+        if (getConfig().isHttp2Enabled()) {
+            // vert.x always supports h2c on non-TLS servers
+            addHttp2Options(options);
+        }
         return options;
     }
 
+    private void addHttp2Options(final HttpServerOptions options) {
+        options.setInitialSettings(new Http2Settings()
+                .setMaxConcurrentStreams(getConfig().getHttp2MaxConcurrentStreams()));
+    }
+
     /**
      * Invoked before the message is sent to the downstream peer.
      * <p>
@@ -429,6 +522,11 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
             if (server == null) {
                 server = vertx.createHttpServer(getHttpServerOptions());
             }
+            server.connectionHandler(connection -> {
+                if (connection.isSsl()) {
+                    metrics.reportTlsHandshake(MetricsTags.TlsHandshake.from(connection.sslSession()));
+                }
+            });
             server.requestHandler(router).listen(done -> {
                 if (done.succeeded()) {
                     log.info("secure http server listening on {}:{}", bindAddress, server.actualPort());
@@ -611,6 +709,243 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
                 MetricsTags.EndpointType.EVENT);
     }
 
+    /**
+     * Uploads the messages contained in the body of an HTTP request as telemetry messages to Hono.
+     * <p>
+     * The request body is expected to contain messages as described by {@link BatchUploadItem}.
+     * <p>
+     * This method always sends a response to the device. If the request as a whole can be processed,
+     * the response has status code 200 and contains a JSON array with the outcome of processing
+     * each of the contained messages.
+     *
+     * @param ctx The context to retrieve the request body and the HTTP response from.
+     * @param tenant The tenant of the devices that have produced the data.
+     * @param authenticatedDevice The (gateway) device that has sent the request.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public final void uploadTelemetryMessages(final RoutingContext ctx, final String tenant, final Device authenticatedDevice) {
+
+        doUploadMessages(
+                Objects.requireNonNull(ctx),
+                Objects.requireNonNull(tenant),
+                Objects.requireNonNull(authenticatedDevice),
+                getTelemetrySender(tenant),
+                MetricsTags.EndpointType.TELEMETRY);
+    }
+
+    /**
+     * Uploads the messages contained in the body of an HTTP request as event messages to Hono.
+     * <p>
+     * The request body is expected to contain messages as described by {@link BatchUploadItem}.
+     * <p>
+     * This method always sends a response to the device. If the request as a whole can be processed,
+     * the response has status code 200 and contains a JSON array with the outcome of processing
+     * each of the contained messages.
+     *
+     * @param ctx The context to retrieve the request body and the HTTP response from.
+     * @param tenant The tenant of the devices that have produced the data.
+     * @param authenticatedDevice The (gateway) device that has sent the request.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public final void uploadEventMessages(final RoutingContext ctx, final String tenant, final Device authenticatedDevice) {
+
+        doUploadMessages(
+                Objects.requireNonNull(ctx),
+                Objects.requireNonNull(tenant),
+                Objects.requireNonNull(authenticatedDevice),
+                getEventSender(tenant),
+                MetricsTags.EndpointType.EVENT);
+    }
+
+    /**
+     * Uploads the messages contained in a batch upload request.
+     * <p>
+     * The tenant configuration, the adapter being enabled for the tenant and the tenant's
+     * message limit (using the accumulated size of all payloads) are checked once per request.
+     * The registration assertions for the devices are then retrieved in parallel and the messages
+     * are sent downstream independently of each other, each of them resulting in an entry
+     * in the response body.
+     */
+    private void doUploadMessages(
+            final RoutingContext ctx,
+            final String tenant,
+            final Device authenticatedDevice,
+            final Future<DownstreamSender> senderTracker,
+            final MetricsTags.EndpointType endpoint) {
+
+        final String qosHeaderValue = ctx.request().getHeader(Constants.HEADER_QOS_LEVEL);
+        final MetricsTags.QoS qos = getQoSLevel(endpoint, qosHeaderValue);
+        if (qos == MetricsTags.QoS.UNKNOWN) {
+            HttpUtils.badRequest(ctx, "unsupported QoS-Level header value");
+            return;
+        }
+        final List<BatchUploadItem> items = BatchUploadItem.parse(ctx.getBody());
+        if (items.isEmpty()) {
+            HttpUtils.badRequest(ctx, "request does not contain any messages");
+            return;
+        }
+
+        final Span currentSpan = TracingHelper
+                .buildChildSpan(tracer, TracingHandler.serverSpanContext(ctx),
+                        "upload " + endpoint.getCanonicalName() + " batch", getTypeName())
+                .withTag(Tags.SPAN_KIND.getKey(), Tags.SPAN_KIND_CLIENT)
+                .withTag(TracingHelper.TAG_TENANT_ID, tenant)
+                .withTag(TracingHelper.TAG_AUTHENTICATED.getKey(), true)
+                .withTag(Constants.HEADER_QOS_LEVEL, qos.asTag().getValue())
+                .start();
+        currentSpan.log(Map.of("gateway", authenticatedDevice.getDeviceId(), "messages", items.size()));
+
+        final long batchPayloadSize = items.stream().mapToLong(BatchUploadItem::getPayloadSize).sum();
+        final Future<TenantObject> tenantTracker = getTenantConfiguration(tenant, currentSpan.context());
+
+        tenantTracker
+            .compose(tenantObject -> CompositeFuture
+                    .all(isAdapterEnabled(tenantObject),
+                            checkMessageLimit(tenantObject, batchPayloadSize, currentSpan.context())))
+            .compose(ok -> senderTracker)
+            .compose(sender -> {
+                final Map<String, Future<JsonObject>> assertions = new HashMap<>();
+                @SuppressWarnings("rawtypes")
+                final List<Future> results = new ArrayList<>(items.size());
+                for (final BatchUploadItem item : items) {
+                    results.add(uploadBatchItem(ctx, tenant, authenticatedDevice, item, sender,
+                            tenantTracker.result(), assertions, qos, endpoint, currentSpan));
+                }
+                return CompositeFuture.join(results);
+            })
+            .map(results -> {
+                final JsonArray body = new JsonArray();
+                for (int i = 0; i < results.size(); i++) {
+                    body.add((JsonObject) results.resultAt(i));
+                }
+                HttpUtils.setResponseBody(ctx.response(), body);
+                ctx.response().setStatusCode(HttpURLConnection.HTTP_OK);
+                ctx.response().end();
+                currentSpan.finish();
+                return results;
+            })
+            .recover(t -> {
+                log.debug("cannot process [{}] batch upload from gateway [tenantId: {}, deviceId: {}]",
+                        endpoint, tenant, authenticatedDevice.getDeviceId(), t);
+                final ProcessingOutcome outcome;
+                if (ClientErrorException.class.isInstance(t)) {
+                    outcome = ProcessingOutcome.UNPROCESSABLE;
+                    ctx.fail(t);
+                } else {
+                    outcome = ProcessingOutcome.UNDELIVERABLE;
+                    HttpUtils.serviceUnavailable(ctx, 2, "temporarily unavailable");
+                }
+                items.forEach(item -> metrics.reportTelemetry(
+                        endpoint,
+                        tenant,
+                        tenantTracker.result(),
+                        outcome,
+                        qos,
+                        item.getPayloadSize(),
+                        TtdStatus.NONE,
+                        getMicrometerSample(ctx)));
+                TracingHelper.logError(currentSpan, t);
+                currentSpan.finish();
+                return Future.failedFuture(t);
+            });
+    }
+
+    /**
+     * Sends a single message of a batch upload request downstream.
+     *
+     * @return A succeeded future containing the result entry for the message.
+     */
+    private Future<JsonObject> uploadBatchItem(
+            final RoutingContext ctx,
+            final String tenant,
+            final Device authenticatedDevice,
+            final BatchUploadItem item,
+            final DownstreamSender sender,
+            final TenantObject tenantObject,
+            final Map<String, Future<JsonObject>> assertions,
+            final MetricsTags.QoS qos,
+            final MetricsTags.EndpointType endpoint,
+            final Span currentSpan) {
+
+        final Future<Void> result;
+        if (item.getError() != null) {
+            result = Future.failedFuture(item.getError());
+        } else if (item.getPayloadSize() > getConfig().getMaxPayloadSize()) {
+            result = Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_ENTITY_TOO_LARGE,
+                    "payload exceeds maximum size"));
+        } else if (!isPayloadOfIndicatedType(item.getPayload(), item.getContentType())) {
+            result = Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_BAD_REQUEST,
+                    String.format("content type [%s] does not match payload", item.getContentType())));
+        } else {
+            // devices occurring multiple times in the batch only need to be asserted once
+            result = assertions
+                    .computeIfAbsent(item.getDeviceId(), deviceId -> getRegistrationAssertion(
+                            tenant,
+                            deviceId,
+                            authenticatedDevice,
+                            currentSpan.context()))
+                    .compose(registrationAssertion -> {
+                        final Message downstreamMessage = newMessage(
+                                ResourceIdentifier.from(endpoint.getCanonicalName(), tenant, item.getDeviceId()),
+                                ctx.request().uri(),
+                                item.getContentType(),
+                                item.getPayload(),
+                                tenantObject,
+                                registrationAssertion,
+                                null,
+                                EndpointType.EVENT.equals(endpoint) ? HttpUtils.getTimeToLive(ctx) : null);
+                        customizeDownstreamMessage(downstreamMessage, ctx);
+                        if (MetricsTags.QoS.AT_MOST_ONCE.equals(qos)) {
+                            return sender.send(downstreamMessage, currentSpan.context());
+                        } else {
+                            return sender.sendAndWaitForOutcome(downstreamMessage, currentSpan.context());
+                        }
+                    })
+                    .mapEmpty();
+        }
+
+        return result
+                .map(ok -> {
+                    metrics.reportTelemetry(
+                            endpoint,
+                            tenant,
+                            tenantObject,
+                            ProcessingOutcome.FORWARDED,
+                            qos,
+                            item.getPayloadSize(),
+                            TtdStatus.NONE,
+                            getMicrometerSample(ctx));
+                    return new JsonObject()
+                            .put(BatchUploadItem.FIELD_DEVICE_ID, item.getDeviceId())
+                            .put(BatchUploadItem.FIELD_STATUS, HttpURLConnection.HTTP_ACCEPTED);
+                })
+                .otherwise(t -> {
+                    log.debug("cannot process [{}] message from device [tenantId: {}, deviceId: {}] contained in batch",
+                            endpoint, tenant, item.getDeviceId(), t);
+                    final int status = ServiceInvocationException.extractStatusCode(t);
+                    metrics.reportTelemetry(
+                            endpoint,
+                            tenant,
+                            tenantObject,
+                            ClientErrorException.class.isInstance(t) ? ProcessingOutcome.UNPROCESSABLE : ProcessingOutcome.UNDELIVERABLE,
+                            qos,
+                            item.getPayloadSize(),
+                            TtdStatus.NONE,
+                            getMicrometerSample(ctx));
+                    currentSpan.log(Map.of(
+                            TracingHelper.TAG_DEVICE_ID.getKey(), String.valueOf(item.getDeviceId()),
+                            BatchUploadItem.FIELD_STATUS, status,
+                            BatchUploadItem.FIELD_ERROR, String.valueOf(t.getMessage())));
+                    final JsonObject itemResult = new JsonObject()
+                            .put(BatchUploadItem.FIELD_STATUS, status)
+                            .put(BatchUploadItem.FIELD_ERROR, t.getMessage());
+                    if (item.getDeviceId() != null) {
+                        itemResult.put(BatchUploadItem.FIELD_DEVICE_ID, item.getDeviceId());
+                    }
+                    return itemResult;
+                });
+    }
+
     private void doUploadMessage(
             final RoutingContext ctx,
             final String tenant,
@@ -635,15 +970,18 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
         final String gatewayId = authenticatedDevice != null && !deviceId.equals(authenticatedDevice.getDeviceId())
                 ? authenticatedDevice.getDeviceId()
                 : null;
-        final Span currentSpan = TracingHelper
-                .buildChildSpan(tracer, TracingHandler.serverSpanContext(ctx),
-                        "upload " + endpoint.getCanonicalName(), getTypeName())
-                .withTag(Tags.SPAN_KIND.getKey(), Tags.SPAN_KIND_CLIENT)
-                .withTag(TracingHelper.TAG_TENANT_ID, tenant)
+        final SpanContext serverSpanContext = TracingHandler.serverSpanContext(ctx);
+        final Tracer.SpanBuilder spanBuilder = TracingHelper
+                .buildChildSpan(tracer, serverSpanContext, "upload " + endpoint.getCanonicalName(), getTypeName())
+                .withTag(Tags.SPAN_KIND.getKey(), Tags.SPAN_KIND_CLIENT);
+        // skip creation of tags if the span will not be recorded anyway
+        if (TracingHelper.isSampled(serverSpanContext)) {
+            spanBuilder.withTag(TracingHelper.TAG_TENANT_ID, tenant)
                 .withTag(TracingHelper.TAG_DEVICE_ID, deviceId)
                 .withTag(TracingHelper.TAG_AUTHENTICATED.getKey(), authenticatedDevice != null)
-                .withTag(Constants.HEADER_QOS_LEVEL, qos.asTag().getValue())
-                .start();
+                .withTag(Constants.HEADER_QOS_LEVEL, qos.asTag().getValue());
+        }
+        final Span currentSpan = spanBuilder.start();
 
         final Promise<Void> responseReady = Promise.promise();
         final Future<JsonObject> tokenTracker = getRegistrationAssertion(
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.adapter.http;
+
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.eclipse.hono.client.ClientErrorException;
+import org.eclipse.hono.util.RequestResponseApiConstants;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A message contained in the body of a batch upload request.
+ * <p>
+ * The body of a batch upload request consists of one JSON object per line
+ * (<a href="http://ndjson.org/">newline delimited JSON</a>), each representing
+ * a message of a device:
+ * <pre>
+ * {"device-id": "4711", "content-type": "application/json", "payload": "eyJ0ZW1wIjogNX0="}
+ * </pre>
+ * The <em>payload</em> property contains the Base64 encoding of the message payload.
+ * The <em>content-type</em> and <em>payload</em> properties are optional.
+ */
+public final class BatchUploadItem {
+
+    /**
+     * The content type of batch upload request bodies.
+     */
+    public static final String CONTENT_TYPE_NDJSON = "application/x-ndjson";
+    /**
+     * The name of the property that contains the identifier of the device that the message originates from.
+     */
+    public static final String FIELD_DEVICE_ID = RequestResponseApiConstants.FIELD_PAYLOAD_DEVICE_ID;
+    /**
+     * The name of the property that contains the content type of the message payload.
+     */
+    public static final String FIELD_CONTENT_TYPE = "content-type";
+    /**
+     * The name of the property that contains the Base64 encoding of the message payload.
+     */
+    public static final String FIELD_PAYLOAD = "payload";
+    /**
+     * The name of the property of a batch upload result that contains the status code
+     * indicating the outcome of processing the message.
+     */
+    public static final String FIELD_STATUS = "status";
+    /**
+     * The name of the property of a batch upload result that contains the reason
+     * for a message not having been processed successfully.
+     */
+    public static final String FIELD_ERROR = "error";
+
+    private final String deviceId;
+    private final String contentType;
+    private final Buffer payload;
+    private final ClientErrorException error;
+
+    private BatchUploadItem(
+            final String deviceId,
+            final String contentType,
+            final Buffer payload,
+            final ClientErrorException error) {
+        this.deviceId = deviceId;
+        this.contentType = contentType;
+        this.payload = payload;
+        this.error = error;
+    }
+
+    /**
+     * Parses the body of a batch upload request.
+     * <p>
+     * Blank lines are ignored. Lines that cannot be parsed into a message result in an item
+     * which contains the reason for the failure.
+     *
+     * @param body The request body.
+     * @return The items contained in the body in the order of their occurrence.
+     */
+    public static List<BatchUploadItem> parse(final Buffer body) {
+
+        final List<BatchUploadItem> result = new ArrayList<>();
+        if (body == null) {
+            return result;
+        }
+        for (final String line : body.toString().split("\n")) {
+            if (!line.isBlank()) {
+                result.add(parseLine(line));
+            }
+        }
+        return result;
+    }
+
+    private static BatchUploadItem parseLine(final String line) {
+
+        final JsonObject json;
+        try {
+            json = new JsonObject(line);
+        } catch (final DecodeException e) {
+            return invalid(null, "malformed message");
+        }
+
+        final Object deviceId = json.getValue(FIELD_DEVICE_ID);
+        final Object contentType = json.getValue(FIELD_CONTENT_TYPE);
+        final Object payload = json.getValue(FIELD_PAYLOAD);
+
+        if (!(deviceId instanceof String)) {
+            return invalid(null, "message does not contain device ID");
+        } else if (contentType != null && !(contentType instanceof String)) {
+            return invalid((String) deviceId, "content type must be a string");
+        } else if (payload != null && !(payload instanceof String)) {
+            return invalid((String) deviceId, "payload must be a Base64 encoded string");
+        }
+        try {
+            return new BatchUploadItem(
+                    (String) deviceId,
+                    (String) contentType,
+                    payload == null ? null : Buffer.buffer(Base64.getDecoder().decode((String) payload)),
+                    null);
+        } catch (final IllegalArgumentException e) {
+            return invalid((String) deviceId, "payload must be a Base64 encoded string");
+        }
+    }
+
+    private static BatchUploadItem invalid(final String deviceId, final String reason) {
+        return new BatchUploadItem(deviceId, null, null,
+                new ClientErrorException(HttpURLConnection.HTTP_BAD_REQUEST, reason));
+    }
+
+    /**
+     * Gets the identifier of the device that the message originates from.
+     *
+     * @return The identifier or {@code null} if the line could not be parsed.
+     */
+    public String getDeviceId() {
+        return deviceId;
+    }
+
+    /**
+     * Gets the content type of the message payload.
+     *
+     * @return The content type or {@code null} if not set.
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Gets the message payload.
+     *
+     * @return The payload or {@code null} if not set.
+     */
+    public Buffer getPayload() {
+        return payload;
+    }
+
+    /**
+     * Gets the size of the message payload.
+     *
+     * @return The number of bytes.
+     */
+    public int getPayloadSize() {
+        return payload == null ? 0 : payload.length();
+    }
+
+    /**
+     * Gets the reason why the message could not be parsed.
+     *
+     * @return The error or {@code null} if the message has been parsed successfully.
+     */
+    public ClientErrorException getError() {
+        return error;
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2018 Contributors to the Eclipse Foundation
+ * Copyright (c) 2016, 2020 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -28,6 +28,14 @@ public interface HttpAdapterMetrics extends Metrics {
 
         private Noop() {
         }
+
+        @Override
+        public void incrementHttp2Connections() {
+        }
+
+        @Override
+        public void decrementHttp2Connections() {
+        }
     }
 
     /**
@@ -35,5 +43,13 @@ public interface HttpAdapterMetrics extends Metrics {
      */
     HttpAdapterMetrics NOOP = new Noop();
 
-    // empty for now
+    /**
+     * Reports a device having opened an HTTP/2 connection to the adapter.
+     */
+    void incrementHttp2Connections();
+
+    /**
+     * Reports an HTTP/2 connection to the adapter having been closed.
+     */
+    void decrementHttp2Connections();
 }
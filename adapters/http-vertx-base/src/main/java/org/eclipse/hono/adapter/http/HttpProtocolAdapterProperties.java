@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2018 Contributors to the Eclipse Foundation
+ * Copyright (c) 2016, 2020 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -28,7 +28,15 @@ public class HttpProtocolAdapterProperties extends ProtocolAdapterProperties {
      * The default name of the realm that devices need to authenticate to.
      */
     public static final String DEFAULT_REALM = "Hono";
+    /**
+     * The default maximum number of concurrent streams per HTTP/2 connection.
+     */
+    public static final long DEFAULT_HTTP2_MAX_CONCURRENT_STREAMS = 100;
+
     private String realm = DEFAULT_REALM;
+    private boolean http2Enabled = false;
+    private long http2MaxConcurrentStreams = DEFAULT_HTTP2_MAX_CONCURRENT_STREAMS;
+    private int maxBatchPayloadSize = 0;
 
     /**
      * Gets the name of the realm that unauthenticated devices are prompted to provide credentials for.
@@ -59,4 +67,100 @@ public class HttpProtocolAdapterProperties extends ProtocolAdapterProperties {
         this.realm = Objects.requireNonNull(realm);
     }
 
+    /**
+     * Checks if devices may use HTTP/2 for connecting to the adapter.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @return {@code true} if HTTP/2 is supported.
+     */
+    public final boolean isHttp2Enabled() {
+        return http2Enabled;
+    }
+
+    /**
+     * Sets whether devices may use HTTP/2 for connecting to the adapter.
+     * <p>
+     * If set to {@code true}, the adapter's secure port negotiates HTTP/2 with devices
+     * by means of ALPN and the maximum number of concurrent streams is applied to HTTP/2
+     * connections on both the secure and the insecure (h2c) port.
+     * This allows devices (and gateways in particular) to send many requests concurrently
+     * over a single connection.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @param enabled {@code true} if HTTP/2 should be supported.
+     */
+    public final void setHttp2Enabled(final boolean enabled) {
+        this.http2Enabled = enabled;
+    }
+
+    /**
+     * Gets the maximum number of concurrent streams that a device may open on an HTTP/2 connection.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_HTTP2_MAX_CONCURRENT_STREAMS}.
+     *
+     * @return The maximum number of streams.
+     */
+    public final long getHttp2MaxConcurrentStreams() {
+        return http2MaxConcurrentStreams;
+    }
+
+    /**
+     * Sets the maximum number of concurrent streams that a device may open on an HTTP/2 connection.
+     * <p>
+     * The value is advertised to devices in the initial HTTP/2 settings. Note that requests
+     * waiting for a command (by means of the <em>hono-ttd</em> parameter) occupy a stream
+     * until the command has been received or the time to disconnect has elapsed.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_HTTP2_MAX_CONCURRENT_STREAMS}.
+     *
+     * @param maxStreams The maximum number of streams.
+     * @throws IllegalArgumentException if the number is &lt; 1 or &gt; 2^32 - 1.
+     */
+    public final void setHttp2MaxConcurrentStreams(final long maxStreams) {
+        if (maxStreams < 1 || maxStreams > 0xFFFFFFFFL) {
+            throw new IllegalArgumentException("max concurrent streams must be between 1 and 2^32 - 1");
+        }
+        this.http2MaxConcurrentStreams = maxStreams;
+    }
+
+    /**
+     * Gets the maximum size of the body of a batch upload request.
+     * <p>
+     * The default value of this property is 0, i.e. batch uploads are not supported.
+     *
+     * @return The maximum number of bytes or 0 if batch uploads are not supported.
+     */
+    public final int getMaxBatchPayloadSize() {
+        return maxBatchPayloadSize;
+    }
+
+    /**
+     * Sets the maximum size of the body of a batch upload request.
+     * <p>
+     * Batch upload requests allow (gateway) devices to upload multiple messages with a single
+     * request. The payload of each of the contained messages is still limited by the
+     * {@linkplain #getMaxPayloadSize() maximum payload size}.
+     * <p>
+     * The default value of this property is 0, i.e. batch uploads are not supported.
+     *
+     * @param bytes The maximum number of bytes or 0 if batch uploads should not be supported.
+     * @throws IllegalArgumentException if bytes is &lt; 0.
+     */
+    public final void setMaxBatchPayloadSize(final int bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("max batch payload size must not be negative");
+        }
+        this.maxBatchPayloadSize = bytes;
+    }
+
+    /**
+     * Checks if (gateway) devices may upload multiple messages with a single request.
+     *
+     * @return {@code true} if the maximum batch payload size is &gt; 0.
+     */
+    public final boolean isBatchUploadEnabled() {
+        return maxBatchPayloadSize > 0;
+    }
 }
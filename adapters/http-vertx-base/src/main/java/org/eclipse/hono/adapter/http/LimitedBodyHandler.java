@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.adapter.http;
+
+import java.net.HttpURLConnection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * A handler that reads a request's body into a single buffer while enforcing a maximum body size.
+ * <p>
+ * In contrast to vert.x Web's {@code BodyHandler}, this handler neither supports multipart
+ * file uploads nor decoding of form attributes, which protocol adapters do not need anyway.
+ * Consequently, request bodies are never written to the file system but are always kept
+ * in memory.
+ * <p>
+ * Requests with a <em>content-length</em> header indicating a body size exceeding the limit
+ * are rejected immediately, before any of the body has been read. Otherwise, the body is read
+ * into a buffer that grows as the body's chunks arrive. The buffer's initial size is capped
+ * so that a client cannot make the adapter allocate memory for a body that it has declared
+ * in the <em>content-length</em> header but has not sent (yet). Requests without a
+ * <em>content-length</em> header (using chunked transfer encoding) are rejected as soon as the
+ * accumulated body exceeds the limit.
+ * <p>
+ * The body is put to the routing context so that it can be retrieved by subsequent handlers
+ * by means of {@link RoutingContext#getBody()}.
+ */
+public final class LimitedBodyHandler implements Handler<RoutingContext> {
+
+    /**
+     * The maximum number of bytes allocated for a request body before any of it has been read.
+     */
+    static final int MAX_INITIAL_BUFFER_SIZE = 1024;
+
+    private static final Logger LOG = LoggerFactory.getLogger(LimitedBodyHandler.class);
+
+    private final long bodyLimit;
+
+    /**
+     * Creates a new handler for a maximum body size.
+     *
+     * @param bodyLimit The maximum number of bytes that a request body may contain.
+     * @throws IllegalArgumentException if the limit is negative.
+     */
+    public LimitedBodyHandler(final long bodyLimit) {
+        if (bodyLimit < 0) {
+            throw new IllegalArgumentException("body limit must be >= 0");
+        }
+        this.bodyLimit = bodyLimit;
+    }
+
+    /**
+     * Reads the request body.
+     * <p>
+     * The context is failed with a status code of 413 if the body exceeds the limit.
+     *
+     * @param ctx The routing context.
+     */
+    @Override
+    public void handle(final RoutingContext ctx) {
+
+        final HttpServerRequest request = ctx.request();
+        if (request.isEnded()) {
+            // nothing left to read
+            ctx.setBody(Buffer.buffer());
+            ctx.next();
+            return;
+        }
+
+        final long contentLength = getContentLength(request);
+        if (contentLength > bodyLimit) {
+            LOG.debug("rejecting request [method: {}, URI: {}] with content-length {} exceeding limit",
+                    request.method(), request.uri(), contentLength);
+            ctx.fail(HttpURLConnection.HTTP_ENTITY_TOO_LARGE);
+            return;
+        }
+
+        final Buffer body = Buffer.buffer(getInitialBufferSize(contentLength, bodyLimit));
+        final boolean[] failed = new boolean[1];
+
+        request.handler(chunk -> {
+            if (failed[0]) {
+                return;
+            }
+            if (body.length() + chunk.length() > bodyLimit) {
+                LOG.debug("rejecting request [method: {}, URI: {}] with body exceeding limit",
+                        request.method(), request.uri());
+                failed[0] = true;
+                ctx.fail(HttpURLConnection.HTTP_ENTITY_TOO_LARGE);
+            } else {
+                body.appendBuffer(chunk);
+            }
+        });
+        request.exceptionHandler(t -> {
+            if (!failed[0]) {
+                failed[0] = true;
+                ctx.fail(t);
+            }
+        });
+        request.endHandler(v -> {
+            if (!failed[0]) {
+                ctx.setBody(body);
+                ctx.next();
+            }
+        });
+    }
+
+    /**
+     * Gets the number of bytes to allocate for a request body before any of it has been read.
+     *
+     * @param contentLength The body size indicated by the request's <em>content-length</em> header
+     *                      or {@code -1} if unknown.
+     * @param bodyLimit The maximum body size.
+     * @return The initial buffer size.
+     */
+    static int getInitialBufferSize(final long contentLength, final long bodyLimit) {
+        final long expectedSize = contentLength >= 0 ? contentLength : bodyLimit;
+        return (int) Math.min(expectedSize, MAX_INITIAL_BUFFER_SIZE);
+    }
+
+    private static long getContentLength(final HttpServerRequest request) {
+        final String contentLength = request.getHeader(HttpHeaders.CONTENT_LENGTH);
+        if (contentLength == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentLength);
+        } catch (final NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ * Copyright (c) 2018, 2020 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -13,6 +13,8 @@
 
 package org.eclipse.hono.adapter.http;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.eclipse.hono.service.metric.MicrometerBasedMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -26,6 +28,13 @@ import io.vertx.core.Vertx;
 @Component
 public class MicrometerBasedHttpAdapterMetrics extends MicrometerBasedMetrics implements HttpAdapterMetrics {
 
+    /**
+     * The name of the meter for the number of HTTP/2 connections.
+     */
+    public static final String METER_CONNECTIONS_HTTP2 = "hono.connections.http2";
+
+    private final AtomicLong http2Connections;
+
     /**
      * Create a new metrics instance for HTTP adapters.
      *
@@ -37,5 +46,16 @@ public class MicrometerBasedHttpAdapterMetrics extends MicrometerBasedMetrics im
     @Autowired
     public MicrometerBasedHttpAdapterMetrics(final MeterRegistry registry, final Vertx vertx) {
         super(registry, vertx);
+        this.http2Connections = registry.gauge(METER_CONNECTIONS_HTTP2, new AtomicLong());
+    }
+
+    @Override
+    public final void incrementHttp2Connections() {
+        http2Connections.incrementAndGet();
+    }
+
+    @Override
+    public final void decrementHttp2Connections() {
+        http2Connections.decrementAndGet();
     }
 }
@@ -76,8 +76,10 @@ import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerOptions;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.http.HttpVersion;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.MIMEHeader;
 import io.vertx.ext.web.ParsedHeaderValues;
@@ -203,6 +205,30 @@ public class AbstractVertxBasedHttpProtocolAdapterTest {
         adapter.start(startupTracker);
     }
 
+    /**
+     * Verifies that the HTTP server options support HTTP/2 with the configured
+     * maximum number of concurrent streams if HTTP/2 is enabled.
+     */
+    @Test
+    public void testServerOptionsSupportHttp2IfEnabled() {
+
+        // GIVEN an adapter that has been configured to support HTTP/2
+        config.setHttp2Enabled(true);
+        config.setHttp2MaxConcurrentStreams(10);
+        final AbstractVertxBasedHttpProtocolAdapter<HttpProtocolAdapterProperties> adapter = getAdapter(getHttpServer(false), null);
+
+        // WHEN getting the options for the secure and insecure HTTP servers
+        final HttpServerOptions secureOptions = adapter.getHttpServerOptions();
+        final HttpServerOptions insecureOptions = adapter.getInsecureHttpServerOptions();
+
+        // THEN HTTP/2 is negotiated via ALPN on the secure port
+        assertThat(secureOptions.isUseAlpn()).isTrue();
+        assertThat(secureOptions.getAlpnVersions()).containsExactly(HttpVersion.HTTP_2, HttpVersion.HTTP_1_1);
+        assertThat(secureOptions.getInitialSettings().getMaxConcurrentStreams()).isEqualTo(10L);
+        // and the stream limit also applies to HTTP/2 over clear text on the insecure port
+        assertThat(insecureOptions.getInitialSettings().getMaxConcurrentStreams()).isEqualTo(10L);
+    }
+
     /**
      * Verifies that the <em>onStartupSuccess</em> method is invoked if the
      * HTTP server has been started successfully.
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.adapter.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.HttpURLConnection;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Verifies behavior of {@link BatchUploadItem}.
+ *
+ */
+public class BatchUploadItemTest {
+
+    /**
+     * Verifies that each non-blank line of a request body is parsed into an item.
+     */
+    @Test
+    public void testParseSucceedsForValidLines() {
+
+        final Buffer body = Buffer.buffer()
+                .appendString("{\"device-id\": \"4711\", \"content-type\": \"text/plain\", \"payload\": \"aGVsbG8=\"}\n")
+                .appendString("\n")
+                .appendString("{\"device-id\": \"4712\"}\n");
+
+        final List<BatchUploadItem> items = BatchUploadItem.parse(body);
+
+        assertThat(items).hasSize(2);
+        assertThat(items.get(0).getError()).isNull();
+        assertThat(items.get(0).getDeviceId()).isEqualTo("4711");
+        assertThat(items.get(0).getContentType()).isEqualTo("text/plain");
+        assertThat(items.get(0).getPayload().toString()).isEqualTo("hello");
+        assertThat(items.get(0).getPayloadSize()).isEqualTo(5);
+        assertThat(items.get(1).getError()).isNull();
+        assertThat(items.get(1).getDeviceId()).isEqualTo("4712");
+        assertThat(items.get(1).getContentType()).isNull();
+        assertThat(items.get(1).getPayloadSize()).isEqualTo(0);
+    }
+
+    /**
+     * Verifies that lines which cannot be parsed result in items containing
+     * a client error while the other lines are parsed successfully.
+     */
+    @Test
+    public void testParseReportsInvalidLines() {
+
+        final Buffer body = Buffer.buffer()
+                .appendString("not JSON\n")
+                .appendString("{\"content-type\": \"text/plain\"}\n")
+                .appendString("{\"device-id\": \"4711\", \"payload\": \"not Base64!\"}\n")
+                .appendString("{\"device-id\": \"4712\", \"payload\": \"aGVsbG8=\"}");
+
+        final List<BatchUploadItem> items = BatchUploadItem.parse(body);
+
+        assertThat(items).hasSize(4);
+        assertThat(items.get(0).getError().getErrorCode()).isEqualTo(HttpURLConnection.HTTP_BAD_REQUEST);
+        assertThat(items.get(1).getError().getErrorCode()).isEqualTo(HttpURLConnection.HTTP_BAD_REQUEST);
+        assertThat(items.get(2).getError().getErrorCode()).isEqualTo(HttpURLConnection.HTTP_BAD_REQUEST);
+        assertThat(items.get(2).getDeviceId()).isEqualTo("4711");
+        assertThat(items.get(3).getError()).isNull();
+    }
+}
@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.adapter.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.HttpURLConnection;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Verifies behavior of {@link LimitedBodyHandler}.
+ *
+ */
+public class LimitedBodyHandlerTest {
+
+    private RoutingContext ctx;
+    private HttpServerRequest request;
+
+    /**
+     * Sets up the fixture.
+     */
+    @BeforeEach
+    public void setUp() {
+        request = mock(HttpServerRequest.class);
+        ctx = mock(RoutingContext.class);
+        when(ctx.request()).thenReturn(request);
+    }
+
+    /**
+     * Verifies that the handler puts the complete body to the routing context
+     * and invokes the next handler once the request has ended.
+     */
+    @Test
+    public void testHandleSetsBody() {
+
+        when(request.getHeader(HttpHeaders.CONTENT_LENGTH)).thenReturn("10");
+
+        new LimitedBodyHandler(10).handle(ctx);
+
+        getDataHandler().handle(Buffer.buffer("hello"));
+        getDataHandler().handle(Buffer.buffer("world"));
+        verify(ctx, never()).next();
+        getEndHandler().handle(null);
+
+        verify(ctx).setBody(Buffer.buffer("helloworld"));
+        verify(ctx).next();
+    }
+
+    /**
+     * Verifies that the handler does not allocate memory for a body that has been declared
+     * by means of the content-length header but has not been sent, and that the buffer
+     * grows as the body arrives.
+     */
+    @Test
+    public void testHandleDoesNotPreallocateDeclaredBody() {
+
+        final int limit = 10 * 1024 * 1024;
+        when(request.getHeader(HttpHeaders.CONTENT_LENGTH)).thenReturn(String.valueOf(limit));
+
+        new LimitedBodyHandler(limit).handle(ctx);
+
+        // the client has not sent any of the body yet
+        verify(ctx, never()).fail(any(Throwable.class));
+        verify(ctx, never()).fail(any(Integer.class));
+        assertThat(LimitedBodyHandler.getInitialBufferSize(limit, limit))
+            .isLessThanOrEqualTo(LimitedBodyHandler.MAX_INITIAL_BUFFER_SIZE);
+
+        // WHEN the body arrives in chunks exceeding the initial buffer size
+        final Buffer chunk = Buffer.buffer(new byte[LimitedBodyHandler.MAX_INITIAL_BUFFER_SIZE]);
+        getDataHandler().handle(chunk);
+        getDataHandler().handle(chunk);
+        getEndHandler().handle(null);
+
+        // THEN the complete body is put to the context
+        verify(ctx).setBody(Buffer.buffer().appendBuffer(chunk).appendBuffer(chunk));
+        verify(ctx).next();
+    }
+
+    /**
+     * Verifies that the handler rejects a request with a content-length exceeding
+     * the limit without reading the body.
+     */
+    @Test
+    public void testHandleRejectsRequestWithContentLengthExceedingLimit() {
+
+        when(request.getHeader(HttpHeaders.CONTENT_LENGTH)).thenReturn("11");
+
+        new LimitedBodyHandler(10).handle(ctx);
+
+        verify(ctx).fail(HttpURLConnection.HTTP_ENTITY_TOO_LARGE);
+        verify(request, never()).handler(any());
+        verify(ctx, never()).next();
+    }
+
+    /**
+     * Verifies that the handler rejects a request without content-length as soon
+     * as the body exceeds the limit.
+     */
+    @Test
+    public void testHandleRejectsChunkedRequestExceedingLimit() {
+
+        new LimitedBodyHandler(10).handle(ctx);
+
+        getDataHandler().handle(Buffer.buffer("hello"));
+        getDataHandler().handle(Buffer.buffer("world!"));
+        verify(ctx).fail(HttpURLConnection.HTTP_ENTITY_TOO_LARGE);
+        getEndHandler().handle(null);
+
+        verify(ctx, never()).setBody(any());
+        verify(ctx, never()).next();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Handler<Buffer> getDataHandler() {
+        final ArgumentCaptor<Handler<Buffer>> captor = ArgumentCaptor.forClass(Handler.class);
+        verify(request).handler(captor.capture());
+        return captor.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Handler<Void> getEndHandler() {
+        final ArgumentCaptor<Handler<Void>> captor = ArgumentCaptor.forClass(Handler.class);
+        verify(request).endHandler(captor.capture());
+        return captor.getValue();
+    }
+}
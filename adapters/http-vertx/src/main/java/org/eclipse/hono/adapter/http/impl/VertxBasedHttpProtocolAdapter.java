@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2019 Contributors to the Eclipse Foundation
+ * Copyright (c) 2016, 2020 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -58,6 +58,8 @@ public final class VertxBasedHttpProtocolAdapter extends AbstractVertxBasedHttpP
 
     private static final String ROUTE_TELEMETRY_ENDPOINT = "/telemetry";
     private static final String ROUTE_EVENT_ENDPOINT = "/event";
+    private static final String ROUTE_TELEMETRY_BATCH_ENDPOINT = "/telemetry/batch";
+    private static final String ROUTE_EVENT_BATCH_ENDPOINT = "/event/batch";
 
     private HonoClientBasedAuthProvider<UsernamePasswordCredentials> usernamePasswordAuthProvider;
     private HonoClientBasedAuthProvider<SubjectDnCredentials> clientCertAuthProvider;
@@ -108,6 +110,18 @@ public final class VertxBasedHttpProtocolAdapter extends AbstractVertxBasedHttpP
                         .orElse(new HttpContextTenantAndAuthIdProvider(getConfig(), getTenantClientFactory(), PARAM_TENANT, PARAM_DEVICE_ID)));
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@code true} if the request is a POST request to one of the batch upload endpoints.
+     */
+    @Override
+    protected boolean isBatchUploadRequest(final RoutingContext ctx) {
+        return ctx.request().method() == HttpMethod.POST
+                && (ROUTE_TELEMETRY_BATCH_ENDPOINT.equals(ctx.request().path())
+                        || ROUTE_EVENT_BATCH_ENDPOINT.equals(ctx.request().path()));
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -125,12 +139,14 @@ public final class VertxBasedHttpProtocolAdapter extends AbstractVertxBasedHttpP
 
             final ChainAuthHandler authHandler = new HonoChainAuthHandler();
             authHandler.append(new X509AuthHandler(
-                    new TenantServiceBasedX509Authentication(getTenantClientFactory(), tracer),
+                    new TenantServiceBasedX509Authentication(getTenantClientFactory(), tracer,
+                            getDeviceCertificateValidator()),
                     Optional.ofNullable(clientCertAuthProvider).orElse(
                             new X509AuthProvider(getCredentialsClientFactory(), getConfig(), tracer))));
             authHandler.append(new HonoBasicAuthHandler(
                     Optional.ofNullable(usernamePasswordAuthProvider).orElse(
-                            new UsernamePasswordAuthProvider(getCredentialsClientFactory(), getConfig(), tracer)),
+                            new UsernamePasswordAuthProvider(getCredentialsClientFactory(), getConfig(),
+                                getPasswordHashingExecutor(), tracer)),
                     getConfig().getRealm(), tracer));
             addTelemetryApiRoutes(router, authHandler);
             addEventApiRoutes(router, authHandler);
@@ -176,6 +192,13 @@ public final class VertxBasedHttpProtocolAdapter extends AbstractVertxBasedHttpP
             // device authentication
             router.route(HttpMethod.POST, ROUTE_TELEMETRY_ENDPOINT).handler(this::handlePostTelemetry);
 
+            if (getConfig().isBatchUploadEnabled()) {
+                // route for posting multiple telemetry messages on behalf of the authenticated
+                // (gateway) device's tenant
+                router.route(HttpMethod.POST, ROUTE_TELEMETRY_BATCH_ENDPOINT).handler(authHandler);
+                router.route(HttpMethod.POST, ROUTE_TELEMETRY_BATCH_ENDPOINT).handler(this::handlePostTelemetryBatch);
+            }
+
             // require auth for PUTing telemetry
             router.route(HttpMethod.PUT, "/telemetry/*").handler(authHandler);
             // assert that authenticated device's tenant matches tenant from path variables
@@ -217,6 +240,13 @@ public final class VertxBasedHttpProtocolAdapter extends AbstractVertxBasedHttpP
             // device authentication
             router.route(HttpMethod.POST, ROUTE_EVENT_ENDPOINT).handler(this::handlePostEvent);
 
+            if (getConfig().isBatchUploadEnabled()) {
+                // route for posting multiple events on behalf of the authenticated
+                // (gateway) device's tenant
+                router.route(HttpMethod.POST, ROUTE_EVENT_BATCH_ENDPOINT).handler(authHandler);
+                router.route(HttpMethod.POST, ROUTE_EVENT_BATCH_ENDPOINT).handler(this::handlePostEventBatch);
+            }
+
             // require auth for PUTing events
             router.route(HttpMethod.PUT, "/event/*").handler(authHandler);
             // route for asserting that authenticated device's tenant matches tenant from path variables
@@ -317,6 +347,26 @@ public final class VertxBasedHttpProtocolAdapter extends AbstractVertxBasedHttpP
         }
     }
 
+    void handlePostTelemetryBatch(final RoutingContext ctx) {
+
+        if (Device.class.isInstance(ctx.user())) {
+            final Device device = (Device) ctx.user();
+            uploadTelemetryMessages(ctx, device.getTenantId(), device);
+        } else {
+            handle401(ctx);
+        }
+    }
+
+    void handlePostEventBatch(final RoutingContext ctx) {
+
+        if (Device.class.isInstance(ctx.user())) {
+            final Device device = (Device) ctx.user();
+            uploadEventMessages(ctx, device.getTenantId(), device);
+        } else {
+            handle401(ctx);
+        }
+    }
+
     void handlePostCommandResponse(final RoutingContext ctx) {
 
         if (Device.class.isInstance(ctx.user())) {
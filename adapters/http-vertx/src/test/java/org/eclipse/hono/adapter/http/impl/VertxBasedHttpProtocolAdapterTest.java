@@ -13,11 +13,13 @@
 
 package org.eclipse.hono.adapter.http.impl;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -25,6 +27,7 @@ import java.net.HttpURLConnection;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.adapter.http.BatchUploadItem;
 import org.eclipse.hono.adapter.http.HttpProtocolAdapterProperties;
 import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.client.Command;
@@ -50,6 +53,7 @@ import org.eclipse.hono.service.auth.device.UsernamePasswordCredentials;
 import org.eclipse.hono.service.http.HttpUtils;
 import org.eclipse.hono.util.CommandConstants;
 import org.eclipse.hono.util.Constants;
+import org.eclipse.hono.util.EventConstants;
 import org.eclipse.hono.util.TenantObject;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -69,7 +73,9 @@ import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.web.client.HttpResponse;
@@ -184,6 +190,7 @@ public class VertxBasedHttpProtocolAdapterTest {
         config.setInsecurePort(0);
         config.setInsecurePortBindAddress(HOST);
         config.setAuthenticationRequired(true);
+        config.setMaxBatchPayloadSize(4096);
 
         httpAdapter = new VertxBasedHttpProtocolAdapter();
         httpAdapter.setConfig(config);
@@ -468,6 +475,46 @@ public class VertxBasedHttpProtocolAdapterTest {
                 }));
     }
 
+    /**
+     * Verifies that a POST request to the telemetry batch URI results in a message being sent
+     * downstream for each valid message contained in the request body and that the response
+     * contains the outcome for each message.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testPostTelemetryBatchSendsMessagesDownstream(final VertxTestContext ctx) {
+
+        mockSuccessfulAuthentication("DEFAULT_TENANT", "gw_1");
+
+        final Buffer body = Buffer.buffer()
+                .appendString("{\"device-id\": \"device_1\", \"payload\": \"aGVsbG8=\"}\n")
+                .appendString("{\"device-id\": \"device_2\", \"payload\": \"not Base64!\"}\n")
+                .appendString(new JsonObject()
+                        .put(BatchUploadItem.FIELD_DEVICE_ID, "device_3")
+                        .put(BatchUploadItem.FIELD_CONTENT_TYPE, EventConstants.CONTENT_TYPE_EMPTY_NOTIFICATION)
+                        .encode());
+
+        httpClient.post("/telemetry/batch")
+                .putHeader(HttpHeaders.CONTENT_TYPE.toString(), BatchUploadItem.CONTENT_TYPE_NDJSON)
+                .basicAuthentication("testuser@DEFAULT_TENANT", "password123")
+                .expect(ResponsePredicate.SC_OK)
+                .sendBuffer(body, ctx.succeeding(r -> {
+                    ctx.verify(() -> {
+                        final JsonArray result = r.bodyAsJsonArray();
+                        assertThat(result).hasSize(3);
+                        assertThat(result.getJsonObject(0).getInteger(BatchUploadItem.FIELD_STATUS))
+                            .isEqualTo(HttpURLConnection.HTTP_ACCEPTED);
+                        assertThat(result.getJsonObject(1).getInteger(BatchUploadItem.FIELD_STATUS))
+                            .isEqualTo(HttpURLConnection.HTTP_BAD_REQUEST);
+                        assertThat(result.getJsonObject(2).getInteger(BatchUploadItem.FIELD_STATUS))
+                            .isEqualTo(HttpURLConnection.HTTP_ACCEPTED);
+                        verify(telemetrySender, times(2)).send(any(Message.class), any(SpanContext.class));
+                    });
+                    ctx.completeNow();
+                }));
+    }
+
     /**
      * Verifies that the adapter includes a command for the device in the response to
      * a POST request which contains a time-til-disconnect.
@@ -142,12 +142,14 @@ public final class LoraProtocolAdapter extends AbstractVertxBasedHttpProtocolAda
 
         final ChainAuthHandler authHandler = new HonoChainAuthHandler();
         authHandler.append(new X509AuthHandler(
-                new TenantServiceBasedX509Authentication(getTenantClientFactory(), tracer),
+                new TenantServiceBasedX509Authentication(getTenantClientFactory(), tracer,
+                        getDeviceCertificateValidator()),
                 Optional.ofNullable(clientCertAuthProvider).orElse(
                         new X509AuthProvider(getCredentialsClientFactory(), getConfig(), tracer))));
         authHandler.append(new HonoBasicAuthHandler(
                 Optional.ofNullable(usernamePasswordAuthProvider).orElse(
-                        new UsernamePasswordAuthProvider(getCredentialsClientFactory(), getConfig(), tracer)),
+                        new UsernamePasswordAuthProvider(getCredentialsClientFactory(), getConfig(),
+                                getPasswordHashingExecutor(), tracer)),
                 getConfig().getRealm(), tracer));
 
         router.route().handler(authHandler);
@@ -64,6 +64,7 @@ import io.netty.handler.codec.mqtt.MqttConnectReturnCode;
 import io.netty.handler.codec.mqtt.MqttQoS;
 import io.opentracing.Span;
 import io.opentracing.SpanContext;
+import io.opentracing.Tracer;
 import io.opentracing.log.Fields;
 import io.opentracing.tag.Tags;
 import io.vertx.core.AsyncResult;
@@ -187,12 +188,14 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends MqttProtoc
 
         return new ChainAuthHandler<MqttContext>()
                 .append(new X509AuthHandler(
-                        new TenantServiceBasedX509Authentication(getTenantClientFactory(), tracer),
+                        new TenantServiceBasedX509Authentication(getTenantClientFactory(), tracer,
+                                getDeviceCertificateValidator()),
                         new X509AuthProvider(getCredentialsClientFactory(), getConfig(), tracer)))
                 .append(new ConnectPacketAuthHandler(
                         new UsernamePasswordAuthProvider(
                                 getCredentialsClientFactory(),
                                 getConfig(),
+                                getPasswordHashingExecutor(),
                                 tracer), tracer));
     }
 
@@ -247,6 +250,7 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends MqttProtoc
                     .setHost(getConfig().getBindAddress())
                     .setPort(determineSecurePort())
                     .setMaxMessageSize(getConfig().getMaxPayloadSize());
+            addServerSocketOptions(options);
             addTlsKeyCertOptions(options);
             addTlsTrustOptions(options);
 
@@ -269,6 +273,7 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends MqttProtoc
                     .setHost(getConfig().getInsecurePortBindAddress())
                     .setPort(determineInsecurePort())
                     .setMaxMessageSize(getConfig().getMaxPayloadSize());
+            addServerSocketOptions(options);
 
             return bindMqttServer(options, insecureServer).map(server -> {
                 insecureServer = server;
@@ -372,6 +377,9 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends MqttProtoc
     final void handleEndpointConnection(final MqttEndpoint endpoint) {
 
         log.debug("connection request from client [client-id: {}]", endpoint.clientIdentifier());
+        if (endpoint.isSsl()) {
+            metrics.reportTlsHandshake(MetricsTags.TlsHandshake.from(endpoint.sslSession()));
+        }
         final Span span = tracer.buildSpan("CONNECT")
                 .ignoreActiveSpan()
                 .withTag(Tags.SPAN_KIND.getKey(), Tags.SPAN_KIND_SERVER)
@@ -788,16 +796,19 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends MqttProtoc
                 .map(propertyBag -> TracingHelper.extractSpanContext(tracer, propertyBag::getPropertiesIterator))
                 .orElse(null);
         final MqttQoS qos = context.message().qosLevel();
-        final Span span = TracingHelper.buildChildSpan(tracer, spanContext, "PUBLISH", getTypeName())
-            .withTag(Tags.SPAN_KIND.getKey(), Tags.SPAN_KIND_SERVER)
-            .withTag(Tags.MESSAGE_BUS_DESTINATION.getKey(), context.message().topicName())
-            .withTag(TracingHelper.TAG_QOS.getKey(), qos.toString())
-            .withTag(TracingHelper.TAG_CLIENT_ID.getKey(), context.deviceEndpoint().clientIdentifier())
+        final Span span = TracingHelper.buildServerChildSpan(tracer, spanContext, "PUBLISH", getTypeName())
             .start();
         context.setTimer(getMetrics().startTimer());
 
         applyTenantTraceSamplingPriority(context, span)
                 .compose(v -> {
+                    // the tenant's sampling priority has been applied to the span,
+                    // so tags only need to be set if the span will be recorded
+                    if (TracingHelper.isSampled(span)) {
+                        Tags.MESSAGE_BUS_DESTINATION.set(span, context.message().topicName());
+                        TracingHelper.TAG_QOS.set(span, qos.toString());
+                        TracingHelper.TAG_CLIENT_ID.set(span, context.deviceEndpoint().clientIdentifier());
+                    }
                     context.setTracingContext(span.context());
                     return checkTopic(context);
                 })
@@ -1115,13 +1126,16 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends MqttProtoc
                     String.format("Content-Type %s does not match payload", ctx.contentType())));
         }
 
-        final Span currentSpan = TracingHelper.buildChildSpan(tracer, ctx.getTracingContext(),
+        final Tracer.SpanBuilder spanBuilder = TracingHelper.buildChildSpan(tracer, ctx.getTracingContext(),
                 "upload " + endpoint, getTypeName())
-                .withTag(Tags.SPAN_KIND.getKey(), Tags.SPAN_KIND_CLIENT)
-                .withTag(TracingHelper.TAG_TENANT_ID, tenantObject.getTenantId())
+                .withTag(Tags.SPAN_KIND.getKey(), Tags.SPAN_KIND_CLIENT);
+        // skip creation of tags if the span will not be recorded anyway
+        if (TracingHelper.isSampled(ctx.getTracingContext())) {
+            spanBuilder.withTag(TracingHelper.TAG_TENANT_ID, tenantObject.getTenantId())
                 .withTag(TracingHelper.TAG_DEVICE_ID, deviceId)
-                .withTag(TracingHelper.TAG_AUTHENTICATED.getKey(), ctx.authenticatedDevice() != null)
-                .start();
+                .withTag(TracingHelper.TAG_AUTHENTICATED.getKey(), ctx.authenticatedDevice() != null);
+        }
+        final Span currentSpan = spanBuilder.start();
 
         final Future<JsonObject> tokenTracker = getRegistrationAssertion(tenantObject.getTenantId(), deviceId,
                 ctx.authenticatedDevice(), currentSpan.context());
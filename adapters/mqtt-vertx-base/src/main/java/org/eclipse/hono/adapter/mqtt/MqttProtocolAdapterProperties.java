@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2019 Contributors to the Eclipse Foundation
+ * Copyright (c) 2016, 2020 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -25,7 +25,20 @@ public class MqttProtocolAdapterProperties extends ProtocolAdapterProperties {
      * The default number of milliseconds to wait for PUBACK.
      */
     protected static final int DEFAULT_COMMAND_ACK_TIMEOUT = 100;
+    /**
+     * The default maximum number of connections to open to each mapper endpoint.
+     */
+    protected static final int DEFAULT_MAPPER_MAX_CONNECTIONS = 5;
+    /**
+     * The default maximum number of devices for which the mapper request headers are cached.
+     */
+    protected static final int DEFAULT_MAPPER_HEADERS_CACHE_MAX_SIZE = 10_000;
+
     private int commandAckTimeout = DEFAULT_COMMAND_ACK_TIMEOUT;
+    private int mapperMaxConnections = DEFAULT_MAPPER_MAX_CONNECTIONS;
+    private int mapperHeadersCacheMaxSize = DEFAULT_MAPPER_HEADERS_CACHE_MAX_SIZE;
+    private boolean mapperHttp2Enabled = false;
+    private boolean mapperPipeliningEnabled = false;
 
     /**
      * Gets the waiting for acknowledgement time out in milliseconds for commands published with QoS 1.
@@ -58,4 +71,120 @@ public class MqttProtocolAdapterProperties extends ProtocolAdapterProperties {
         }
         this.commandAckTimeout = timeout;
     }
+
+    /**
+     * Gets the maximum number of connections to open to each mapper endpoint.
+     * <p>
+     * Connections are kept alive and are reused for subsequent mapping requests.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_MAPPER_MAX_CONNECTIONS}.
+     *
+     * @return The maximum number of connections.
+     */
+    public final int getMapperMaxConnections() {
+        return mapperMaxConnections;
+    }
+
+    /**
+     * Sets the maximum number of connections to open to each mapper endpoint.
+     * <p>
+     * Connections are kept alive and are reused for subsequent mapping requests.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_MAPPER_MAX_CONNECTIONS}.
+     *
+     * @param maxConnections The maximum number of connections.
+     * @throws IllegalArgumentException if the number is &lt; 1.
+     */
+    public final void setMapperMaxConnections(final int maxConnections) {
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("max connections must be at least 1");
+        }
+        this.mapperMaxConnections = maxConnections;
+    }
+
+    /**
+     * Gets the maximum number of devices for which the HTTP request headers conveying
+     * the device's registration information to the mapper endpoints are cached.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_MAPPER_HEADERS_CACHE_MAX_SIZE}.
+     *
+     * @return The maximum number of entries.
+     */
+    public final int getMapperHeadersCacheMaxSize() {
+        return mapperHeadersCacheMaxSize;
+    }
+
+    /**
+     * Sets the maximum number of devices for which the HTTP request headers conveying
+     * the device's registration information to the mapper endpoints are cached.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_MAPPER_HEADERS_CACHE_MAX_SIZE}.
+     *
+     * @param maxSize The maximum number of entries.
+     * @throws IllegalArgumentException if max size is &lt; 1.
+     */
+    public final void setMapperHeadersCacheMaxSize(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("mapper headers cache size must be > 0");
+        }
+        this.mapperHeadersCacheMaxSize = maxSize;
+    }
+
+    /**
+     * Checks whether mapper endpoints should be invoked using HTTP/2.
+     * <p>
+     * If {@code true}, mapping requests are multiplexed over the connections to
+     * the mapper endpoints. The mapper endpoints therefore need to support HTTP/2
+     * (negotiated by means of ALPN for endpoints using TLS, or with prior knowledge
+     * for endpoints not using TLS).
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @return {@code true} if HTTP/2 should be used.
+     */
+    public final boolean isMapperHttp2Enabled() {
+        return mapperHttp2Enabled;
+    }
+
+    /**
+     * Sets whether mapper endpoints should be invoked using HTTP/2.
+     * <p>
+     * If {@code true}, mapping requests are multiplexed over the connections to
+     * the mapper endpoints. The mapper endpoints therefore need to support HTTP/2
+     * (negotiated by means of ALPN for endpoints using TLS, or with prior knowledge
+     * for endpoints not using TLS).
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @param enabled {@code true} if HTTP/2 should be used.
+     */
+    public final void setMapperHttp2Enabled(final boolean enabled) {
+        this.mapperHttp2Enabled = enabled;
+    }
+
+    /**
+     * Checks whether HTTP/1.1 pipelining should be used for invoking mapper endpoints.
+     * <p>
+     * This property is ignored if HTTP/2 is enabled for mapper endpoints.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @return {@code true} if pipelining should be used.
+     */
+    public final boolean isMapperPipeliningEnabled() {
+        return mapperPipeliningEnabled;
+    }
+
+    /**
+     * Sets whether HTTP/1.1 pipelining should be used for invoking mapper endpoints.
+     * <p>
+     * This property is ignored if HTTP/2 is enabled for mapper endpoints.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @param enabled {@code true} if pipelining should be used.
+     */
+    public final void setMapperPipeliningEnabled(final boolean enabled) {
+        this.mapperPipeliningEnabled = enabled;
+    }
 }
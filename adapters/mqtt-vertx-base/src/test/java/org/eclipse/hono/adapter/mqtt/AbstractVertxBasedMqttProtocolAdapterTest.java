@@ -34,6 +34,8 @@ import java.util.OptionalInt;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 
+import javax.net.ssl.SSLSession;
+
 import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.auth.Device;
 import org.eclipse.hono.client.ClientErrorException;
@@ -1129,6 +1131,34 @@ public class AbstractVertxBasedMqttProtocolAdapterTest {
         verify(metrics).decrementUnauthenticatedConnections();
     }
 
+    /**
+     * Verifies that the adapter reports the TLS handshake of a device connecting via TLS.
+     */
+    @Test
+    public void testEndpointHandlerReportsTlsHandshake() {
+
+        config.setAuthenticationRequired(false);
+
+        final MqttServer server = getMqttServer(false);
+        final AbstractVertxBasedMqttProtocolAdapter<MqttProtocolAdapterProperties> adapter = getAdapter(server);
+
+        forceClientMocksToConnected();
+
+        // GIVEN a device connecting via TLS, resuming an existing TLS session
+        final SSLSession sslSession = mock(SSLSession.class);
+        when(sslSession.getCreationTime()).thenReturn(1000L);
+        when(sslSession.getLastAccessedTime()).thenReturn(5000L);
+        final MqttEndpoint endpoint = mockEndpoint();
+        when(endpoint.isSsl()).thenReturn(true);
+        when(endpoint.sslSession()).thenReturn(sslSession);
+
+        // WHEN the device connects
+        adapter.handleEndpointConnection(endpoint);
+
+        // THEN the resumption of the TLS session is reported
+        verify(metrics).reportTlsHandshake(MetricsTags.TlsHandshake.RESUMED);
+    }
+
     /**
      * Verifies that the connection is rejected due to the limit exceeded.
      */
@@ -28,7 +28,9 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Scope;
 
 import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.http.HttpVersion;
 import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
 
 /**
  * Spring Boot configuration for the MQTT protocol adapter.
@@ -127,12 +129,28 @@ public class Config extends AbstractAdapterConfig {
 
     /**
      * Constructs messageMapping.
+     * <p>
+     * The web client used for invoking the mapper endpoints keeps a pool of
+     * connections to each endpoint as configured in the adapter properties.
      *
      * @return Returns MessageMapping containing a webclient to perform mapper requests.
      */
     @Bean
     public MessageMapping<MqttContext> messageMapping() {
-        final WebClient webClient = WebClient.create(vertx());
-        return new HttpBasedMessageMapping(webClient, adapterProperties());
+        final MqttProtocolAdapterProperties props = adapterProperties();
+        final WebClientOptions options = new WebClientOptions()
+                .setKeepAlive(true)
+                .setMaxPoolSize(props.getMapperMaxConnections());
+        if (props.isMapperHttp2Enabled()) {
+            options.setProtocolVersion(HttpVersion.HTTP_2)
+                .setUseAlpn(true)
+                // mapper endpoints not using TLS are expected to support h2c with prior knowledge
+                .setHttp2ClearTextUpgrade(false)
+                .setHttp2MaxPoolSize(props.getMapperMaxConnections());
+        } else {
+            options.setPipelining(props.isMapperPipeliningEnabled());
+        }
+        final WebClient webClient = WebClient.create(vertx(), options);
+        return new HttpBasedMessageMapping(webClient, props);
     }
 }
@@ -27,6 +27,9 @@ import org.eclipse.hono.util.ResourceIdentifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
@@ -46,6 +49,12 @@ import io.vertx.ext.web.client.predicate.ResponsePredicate;
  * is configured properly. The headers are overwritten with the result of the mapper (which includes the resourceId).
  * E.g.: when the deviceId is in the payload of the message, the deviceId can be deducted in the custom mapper and
  * the payload can be changed accordingly to the payload originally received by the gateway.
+ * <p>
+ * The registration information of the device is conveyed to the mapper in HTTP request headers.
+ * The headers created for a device's registration information are cached per device and are reused
+ * for subsequent messages of the device as long as the same registration information object is
+ * being used. The Device Registration client returns the same object for as long as it serves
+ * the assertion of the device's registration from its cache.
  */
 public final class HttpBasedMessageMapping implements MessageMapping<MqttContext> {
 
@@ -53,6 +62,7 @@ public final class HttpBasedMessageMapping implements MessageMapping<MqttContext
 
     private final WebClient webClient;
     private final MqttProtocolAdapterProperties mqttProtocolAdapterProperties;
+    private final Cache<DeviceKey, CachedHeaders> headersCache;
 
     /**
      * Constructs the messageMapping client used to call external/custom messageMapping.
@@ -64,6 +74,9 @@ public final class HttpBasedMessageMapping implements MessageMapping<MqttContext
     public HttpBasedMessageMapping(final WebClient webClient, final MqttProtocolAdapterProperties mqttProtocolAdapterProperties) {
         this.webClient = Objects.requireNonNull(webClient);
         this.mqttProtocolAdapterProperties = Objects.requireNonNull(mqttProtocolAdapterProperties);
+        this.headersCache = Caffeine.newBuilder()
+                .maximumSize(mqttProtocolAdapterProperties.getMapperHeadersCacheMaxSize())
+                .build();
     }
 
     @Override
@@ -109,21 +122,10 @@ public final class HttpBasedMessageMapping implements MessageMapping<MqttContext
             final MapperEndpoint mapperEndpoint,
             final Handler<AsyncResult<MappedMessage>> resultHandler) {
 
-        final MultiMap headers = MultiMap.caseInsensitiveMultiMap();
-        registrationInfo.forEach(property -> {
-            final Object value = property.getValue();
-            if (value instanceof String) {
-                // prevent strings from being enclosed in quotes
-                headers.add(property.getKey(), (String) value);
-            } else {
-                headers.add(property.getKey(), Json.encode(value));
-            }
-        });
-
         final Promise<MappedMessage> result = Promise.promise();
 
         webClient.post(mapperEndpoint.getPort(), mapperEndpoint.getHost(), mapperEndpoint.getUri())
-            .putHeaders(headers)
+            .putHeaders(getHeaders(targetAddress, registrationInfo))
             .ssl(mapperEndpoint.isTlsEnabled())
             .expect(ResponsePredicate.SC_OK)
             .sendBuffer(ctx.message().payload(), httpResponseAsyncResult -> {
@@ -151,4 +153,73 @@ public final class HttpBasedMessageMapping implements MessageMapping<MqttContext
                 resultHandler.handle(result.future());
             });
     }
+
+    /**
+     * Gets the HTTP request headers conveying a device's registration information.
+     * <p>
+     * The returned headers must not be modified because they are shared by all
+     * requests for the same registration information.
+     */
+    private MultiMap getHeaders(final ResourceIdentifier targetAddress, final JsonObject registrationInfo) {
+
+        final DeviceKey key = new DeviceKey(targetAddress.getTenantId(), targetAddress.getResourceId());
+        final CachedHeaders cachedHeaders = headersCache.getIfPresent(key);
+        // the registration information is not modified once it has been returned by the
+        // Device Registration client, so an identity check is sufficient for detecting changes
+        if (cachedHeaders != null && cachedHeaders.registrationInfo == registrationInfo) {
+            return cachedHeaders.headers;
+        }
+
+        final MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+        registrationInfo.forEach(property -> {
+            final Object value = property.getValue();
+            if (value instanceof String) {
+                // prevent strings from being enclosed in quotes
+                headers.add(property.getKey(), (String) value);
+            } else {
+                headers.add(property.getKey(), Json.encode(value));
+            }
+        });
+        headersCache.put(key, new CachedHeaders(registrationInfo, headers));
+        return headers;
+    }
+
+    private static final class DeviceKey {
+
+        private final String tenantId;
+        private final String deviceId;
+
+        DeviceKey(final String tenantId, final String deviceId) {
+            this.tenantId = tenantId;
+            this.deviceId = deviceId;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final DeviceKey other = (DeviceKey) o;
+            return tenantId.equals(other.tenantId) && deviceId.equals(other.deviceId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tenantId, deviceId);
+        }
+    }
+
+    private static final class CachedHeaders {
+
+        private final JsonObject registrationInfo;
+        private final MultiMap headers;
+
+        CachedHeaders(final JsonObject registrationInfo, final MultiMap headers) {
+            this.registrationInfo = registrationInfo;
+            this.headers = headers;
+        }
+    }
 }
@@ -20,6 +20,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.RETURNS_SELF;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.withSettings;
@@ -46,6 +47,7 @@ import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.client.HttpRequest;
 import io.vertx.ext.web.client.HttpResponse;
@@ -180,6 +182,46 @@ public class HttpBasedMessageMappingTest {
         captor.getValue().handle(Future.succeededFuture(httpResponse));
     }
 
+    /**
+     * Verifies that the HTTP headers conveying the registration information are
+     * reused for subsequent requests of the same device with the same registration
+     * information object, and that they are re-created if the object changes.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testMapMessageReusesHeadersForSameRegistrationInfo() {
+
+        config.setMapperEndpoints(Map.of("mapper", MapperEndpoint.from("host", 1234, "/uri", false)));
+        final ResourceIdentifier targetAddress = ResourceIdentifier.from(TelemetryConstants.TELEMETRY_ENDPOINT, TEST_TENANT_ID, "gateway");
+        final ResourceIdentifier otherTargetAddress = ResourceIdentifier.from(TelemetryConstants.TELEMETRY_ENDPOINT, TEST_TENANT_ID, "other-device");
+        final HttpRequest<Buffer> httpRequest = mock(HttpRequest.class, withSettings().defaultAnswer(RETURNS_SELF));
+        when(mapperWebClient.post(anyInt(), anyString(), anyString())).thenReturn(httpRequest);
+
+        final MqttPublishMessage message = newMessage(MqttQoS.AT_LEAST_ONCE, TelemetryConstants.TELEMETRY_ENDPOINT);
+        final MqttContext context = newContext(message, new Device(TEST_TENANT_ID, "gateway"));
+
+        final JsonObject registrationInfo = new JsonObject()
+                .put(RegistrationConstants.FIELD_MAPPER, "mapper")
+                .put(RegistrationConstants.FIELD_VIA, new JsonArray().add("gw"));
+        final JsonObject updatedRegistrationInfo = new JsonObject()
+                .put(RegistrationConstants.FIELD_MAPPER, "mapper")
+                .put(RegistrationConstants.FIELD_VIA, new JsonArray().add("other-gw"));
+
+        messageMapping.mapMessage(context, targetAddress, registrationInfo);
+        messageMapping.mapMessage(context, targetAddress, registrationInfo);
+        messageMapping.mapMessage(context, targetAddress, updatedRegistrationInfo);
+        messageMapping.mapMessage(context, otherTargetAddress, updatedRegistrationInfo);
+
+        final ArgumentCaptor<MultiMap> headers = ArgumentCaptor.forClass(MultiMap.class);
+        verify(httpRequest, times(4)).putHeaders(headers.capture());
+        assertThat(headers.getAllValues().get(0).get(RegistrationConstants.FIELD_VIA)).isEqualTo("[\"gw\"]");
+        assertThat(headers.getAllValues().get(1)).isSameAs(headers.getAllValues().get(0));
+        assertThat(headers.getAllValues().get(2)).isNotSameAs(headers.getAllValues().get(0));
+        assertThat(headers.getAllValues().get(2).get(RegistrationConstants.FIELD_VIA)).isEqualTo("[\"other-gw\"]");
+        assertThat(headers.getAllValues().get(3)).isNotSameAs(headers.getAllValues().get(2));
+        assertThat(headers.getAllValues().get(3).get(RegistrationConstants.FIELD_VIA)).isEqualTo("[\"other-gw\"]");
+    }
+
     private static MqttContext newContext(final MqttPublishMessage message, final Device authenticatedDevice) {
         return MqttContext.fromPublishPacket(message, mock(MqttEndpoint.class), authenticatedDevice);
     }
@@ -16,12 +16,18 @@ package org.eclipse.hono.deviceconnection.infinispan.client;
 import java.net.HttpURLConnection;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.eclipse.hono.client.ConnectionLifecycle;
 import org.eclipse.hono.client.DisconnectListener;
@@ -33,10 +39,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
 import io.vertx.core.json.JsonObject;
 
 /**
@@ -47,6 +55,17 @@ import io.vertx.core.json.JsonObject;
  */
 public abstract class BasicCache<K, V> implements Cache<K, V>, ConnectionLifecycle<BasicCache<K, V>> {
 
+    /**
+     * The name of the pool of worker threads used for executing blocking operations on the cache.
+     * <p>
+     * If vert.x metrics are enabled, the pool's usage and queue metrics are reported with this name.
+     */
+    public static final String WORKER_POOL_NAME = "hono-cache-worker";
+    /**
+     * The default number of threads in the pool used for executing blocking operations on the cache.
+     */
+    public static final int DEFAULT_WORKER_POOL_SIZE = 2;
+
     private static final Logger LOG = LoggerFactory.getLogger(BasicCache.class);
 
     protected final Vertx vertx;
@@ -55,6 +74,8 @@ public abstract class BasicCache<K, V> implements Cache<K, V>, ConnectionLifecyc
     private final V connectionCheckValue;
 
     private org.infinispan.commons.api.BasicCache<K, V> cache;
+    private WorkerExecutor workerExecutor;
+    private int workerPoolSize = DEFAULT_WORKER_POOL_SIZE;
 
     /**
      * Create a new instance.
@@ -77,6 +98,25 @@ public abstract class BasicCache<K, V> implements Cache<K, V>, ConnectionLifecyc
         this.connectionCheckValue = Objects.requireNonNull(connectionCheckValue);
     }
 
+    /**
+     * Sets the number of threads in the pool used for executing blocking operations on the cache.
+     * <p>
+     * The pool is shared by all caches running on the same vert.x instance. Its size is determined
+     * by the cache that first executes a blocking operation. This method therefore needs to be
+     * invoked before connecting to the cache.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_WORKER_POOL_SIZE}.
+     *
+     * @param workerPoolSize The number of threads.
+     * @throws IllegalArgumentException if the number of threads is &lt; 1.
+     */
+    public final void setWorkerPoolSize(final int workerPoolSize) {
+        if (workerPoolSize < 1) {
+            throw new IllegalArgumentException("worker pool size must be at least 1");
+        }
+        this.workerPoolSize = workerPoolSize;
+    }
+
     /**
      * Called to trigger connecting the cache.
      *
@@ -119,11 +159,14 @@ public abstract class BasicCache<K, V> implements Cache<K, V>, ConnectionLifecyc
 
     /**
      * {@inheritDoc}
+     * <p>
+     * Also closes this cache's reference to the pool of worker threads dedicated to cache
+     * operations, once the connection(s) have been stopped.
      */
     @Override
     public void disconnect(final Handler<AsyncResult<Void>> completionHandler) {
 
-        vertx.executeBlocking(r -> {
+        executeBlocking(r -> {
             try {
                 cacheManager.stop();
                 r.complete();
@@ -136,10 +179,46 @@ public abstract class BasicCache<K, V> implements Cache<K, V>, ConnectionLifecyc
             } else {
                 LOG.info("error trying to stop connection(s) to cache", stopAttempt.cause());
             }
+            closeWorkerExecutor();
             completionHandler.handle(stopAttempt);
         });
     }
 
+    /**
+     * Executes blocking code on the pool of worker threads dedicated to cache operations.
+     * <p>
+     * Using a separate pool prevents blocking cache operations from competing with other
+     * blocking code (e.g. password hash verification) that is executed on vert.x's default
+     * worker pool and vice versa.
+     * <p>
+     * Invocations made from the same context are executed in order.
+     *
+     * @param <T> The type of the result.
+     * @param blockingCodeHandler The handler representing the blocking code to run.
+     * @param resultHandler The handler to invoke with the result of the blocking code.
+     */
+    protected final <T> void executeBlocking(
+            final Handler<Promise<T>> blockingCodeHandler,
+            final Handler<AsyncResult<T>> resultHandler) {
+        getWorkerExecutor().executeBlocking(blockingCodeHandler, resultHandler);
+    }
+
+    private synchronized WorkerExecutor getWorkerExecutor() {
+        if (workerExecutor == null) {
+            // shared executors with the same name use the same pool
+            workerExecutor = vertx.createSharedWorkerExecutor(WORKER_POOL_NAME, workerPoolSize);
+        }
+        return workerExecutor;
+    }
+
+    private synchronized void closeWorkerExecutor() {
+        if (workerExecutor != null) {
+            // the shared pool is closed once all executors using it have been closed
+            workerExecutor.close();
+            workerExecutor = null;
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -231,6 +310,31 @@ public abstract class BasicCache<K, V> implements Cache<K, V>, ConnectionLifecyc
 
     }
 
+    /**
+     * Puts all values of the given map to the cache.
+     * <p>
+     * The entries are transferred to the data grid by means of a single bulk operation.
+     *
+     * @param data The map with the entries to add.
+     * @param lifespan The lifespan of the entries. A negative value is interpreted as an unlimited lifespan.
+     * @param lifespanUnit The time unit for the lifespan.
+     * @return A succeeded future if the entries have been stored successfully.
+     *         A failed future if the entries could not be stored in the cache.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    @Override
+    public Future<Void> putAll(final Map<? extends K, ? extends V> data, final long lifespan,
+            final TimeUnit lifespanUnit) {
+        Objects.requireNonNull(data);
+        Objects.requireNonNull(lifespanUnit);
+
+        if (data.isEmpty()) {
+            return Future.succeededFuture();
+        }
+        return withCache(cache -> cache.putAllAsync(data, lifespan, lifespanUnit));
+
+    }
+
     /**
      * Remove a key/value mapping from the cache.
      *
@@ -249,6 +353,36 @@ public abstract class BasicCache<K, V> implements Cache<K, V>, ConnectionLifecyc
 
     }
 
+    /**
+     * Removes all the given key/value mappings from the cache.
+     * <p>
+     * The data grid API doesn't provide a bulk operation for conditionally removing
+     * entries. This implementation therefore issues the (asynchronous) {@link #remove(Object, Object)}
+     * operations for all entries at once and waits for all of them to complete.
+     *
+     * @param entries The key/value mappings to remove.
+     * @return A succeeded future containing the set of keys that were actually removed.
+     *         A failed future if any of the entries could not be removed from the cache.
+     * @throws NullPointerException if entries is {@code null}.
+     */
+    @Override
+    public Future<Set<K>> removeAll(final Map<K, V> entries) {
+        Objects.requireNonNull(entries);
+
+        final Set<K> removedKeys = ConcurrentHashMap.newKeySet();
+        @SuppressWarnings("rawtypes")
+        final List<Future> removeFutures = new ArrayList<>(entries.size());
+        entries.forEach((key, value) -> removeFutures.add(remove(key, value)
+                .map(removed -> {
+                    if (removed) {
+                        removedKeys.add(key);
+                    }
+                    return removed;
+                })));
+        return CompositeFuture.all(removeFutures).map(ok -> removedKeys);
+
+    }
+
     /**
      * Gets a value from the cache.
      *
@@ -281,6 +415,40 @@ public abstract class BasicCache<K, V> implements Cache<K, V>, ConnectionLifecyc
 
     }
 
+    /**
+     * Gets all entries from the cache whose keys match the given filter.
+     * <p>
+     * The entries of the cache are iterated on the pool of worker threads dedicated to cache
+     * operations, applying the filter locally.
+     *
+     * @param keyFilter The filter that the keys of the entries to get have to match.
+     * @return A succeeded future containing a map with the matching key/value pairs.
+     *         A failed future if the entries could not be read from the cache.
+     * @throws NullPointerException if keyFilter is {@code null}.
+     */
+    @Override
+    public Future<Map<K, V>> getAllMatching(final Predicate<? super K> keyFilter) {
+        Objects.requireNonNull(keyFilter);
+
+        final var cache = this.cache;
+        if (cache == null) {
+            return noConnectionFailure();
+        }
+
+        final Promise<Map<K, V>> result = Promise.promise();
+        executeBlocking(r -> {
+            // closing the stream releases the resources of a remote iteration
+            try (Stream<Map.Entry<K, V>> entries = cache.entrySet().stream()) {
+                r.complete(entries
+                        .filter(entry -> keyFilter.test(entry.getKey()))
+                        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+            } catch (final Throwable t) {
+                r.fail(t);
+            }
+        }, result);
+        return result.future();
+    }
+
     /**
      * Returns a failed future, reporting a missing connection to the cache.
      *
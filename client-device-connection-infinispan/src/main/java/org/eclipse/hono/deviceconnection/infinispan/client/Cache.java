@@ -16,6 +16,7 @@ package org.eclipse.hono.deviceconnection.infinispan.client;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
 import io.vertx.core.Future;
 import io.vertx.core.json.JsonObject;
@@ -63,6 +64,18 @@ public interface Cache<K, V> {
      */
     Future<V> put(K key, V value, long lifespan, TimeUnit lifespanUnit);
 
+    /**
+     * Puts all values of the given map to the cache.
+     *
+     * @param data The map with the entries to add.
+     * @param lifespan The lifespan of the entries. A negative value is interpreted as an unlimited lifespan.
+     * @param lifespanUnit The time unit for the lifespan.
+     * @return A succeeded future if the entries have been stored successfully.
+     *         A failed future if the entries could not be stored in the cache.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    Future<Void> putAll(Map<? extends K, ? extends V> data, long lifespan, TimeUnit lifespanUnit);
+
     /**
      * Gets a value from the cache.
      *
@@ -86,6 +99,19 @@ public interface Cache<K, V> {
      */
     Future<Boolean> remove(K key, V value);
 
+    /**
+     * Removes all the given key/value mappings from the cache.
+     * <p>
+     * An entry is only removed if its key is currently mapped to the value given for it
+     * in the map, i.e. the semantics for each entry are the same as for {@link #remove(Object, Object)}.
+     *
+     * @param entries The key/value mappings to remove.
+     * @return A succeeded future containing the set of keys that were actually removed.
+     *         A failed future if the entries could not be removed from the cache.
+     * @throws NullPointerException if entries is {@code null}.
+     */
+    Future<Set<K>> removeAll(Map<K, V> entries);
+
     /**
      * Gets the values for the specified keys from the cache.
      *
@@ -94,4 +120,17 @@ public interface Cache<K, V> {
      * @throws NullPointerException if keys is {@code null}.
      */
     Future<Map<K, V>> getAll(Set<? extends K> keys);
+
+    /**
+     * Gets all entries from the cache whose keys match the given filter.
+     * <p>
+     * The keys of all entries in the cache need to be checked against the filter.
+     * This operation should therefore only be used for infrequent maintenance tasks.
+     *
+     * @param keyFilter The filter that the keys of the entries to get have to match.
+     * @return A succeeded future containing a map with the matching key/value pairs.
+     *         A failed future if the entries could not be read from the cache.
+     * @throws NullPointerException if keyFilter is {@code null}.
+     */
+    Future<Map<K, V>> getAllMatching(Predicate<? super K> keyFilter);
 }
@@ -43,10 +43,14 @@ public final class CacheBasedDeviceConnectionClient implements DeviceConnectionC
     private static final String SPAN_NAME_GET_CMD_HANDLING_ADAPTER_INSTANCES = "get command handling adapter instances";
     private static final String SPAN_NAME_SET_CMD_HANDLING_ADAPTER_INSTANCE = "set command handling adapter instance";
     private static final String SPAN_NAME_REMOVE_CMD_HANDLING_ADAPTER_INSTANCE = "remove command handling adapter instance";
+    private static final String SPAN_NAME_SET_CMD_HANDLING_ADAPTER_INSTANCE_FOR_DEVICES = "set command handling adapter instance for devices";
+    private static final String SPAN_NAME_REMOVE_CMD_HANDLING_ADAPTER_INSTANCE_FOR_DEVICES = "remove command handling adapter instance for devices";
+    private static final String TAG_NUMBER_OF_DEVICES = "number_of_devices";
 
     final String tenantId;
     final DeviceConnectionInfo cache;
     private final Tracer tracer;
+    private final Handler<String> adapterInstanceIdHandler;
 
     /**
      * Creates a client for accessing device connection information.
@@ -57,9 +61,25 @@ public final class CacheBasedDeviceConnectionClient implements DeviceConnectionC
      * @throws NullPointerException if any of the parameters is {@code null}.
      */
     public CacheBasedDeviceConnectionClient(final String tenantId, final DeviceConnectionInfo cache, final Tracer tracer) {
+        this(tenantId, cache, tracer, adapterInstanceId -> {});
+    }
+
+    /**
+     * Creates a client for accessing device connection information.
+     *
+     * @param tenantId The tenant that this client is scoped to.
+     * @param cache The remote cache that contains the data.
+     * @param tracer The OpenTracing {@code Tracer} to use for tracking requests done by this client.
+     * @param adapterInstanceIdHandler The handler to invoke with the identifier of each adapter instance
+     *                                 that devices get mapped to by means of this client.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    CacheBasedDeviceConnectionClient(final String tenantId, final DeviceConnectionInfo cache, final Tracer tracer,
+            final Handler<String> adapterInstanceIdHandler) {
         this.tenantId = Objects.requireNonNull(tenantId);
         this.cache = Objects.requireNonNull(cache);
         this.tracer = Objects.requireNonNull(tracer);
+        this.adapterInstanceIdHandler = Objects.requireNonNull(adapterInstanceIdHandler);
     }
 
     /**
@@ -143,6 +163,7 @@ public final class CacheBasedDeviceConnectionClient implements DeviceConnectionC
         span.setTag(MessageHelper.APP_PROPERTY_ADAPTER_INSTANCE_ID, adapterInstanceId);
         final int lifespanSeconds = lifespan != null && lifespan.getSeconds() <= Integer.MAX_VALUE ? (int) lifespan.getSeconds() : -1;
         span.setTag(MessageHelper.APP_PROPERTY_LIFESPAN, lifespanSeconds);
+        adapterInstanceIdHandler.handle(adapterInstanceId);
         return finishSpan(cache.setCommandHandlingAdapterInstance(tenantId, deviceId, adapterInstanceId, lifespan, span), span);
     }
 
@@ -155,6 +176,31 @@ public final class CacheBasedDeviceConnectionClient implements DeviceConnectionC
         return finishSpan(cache.removeCommandHandlingAdapterInstance(tenantId, deviceId, adapterInstanceId, span), span);
     }
 
+    @Override
+    public Future<Void> setCommandHandlingAdapterInstanceForDevices(final List<String> deviceIds,
+            final String adapterInstanceId, final Duration lifespan, final SpanContext context) {
+        final Span span = newSpan(context, SPAN_NAME_SET_CMD_HANDLING_ADAPTER_INSTANCE_FOR_DEVICES);
+        TracingHelper.TAG_TENANT_ID.set(span, tenantId);
+        span.setTag(TAG_NUMBER_OF_DEVICES, deviceIds.size());
+        span.setTag(MessageHelper.APP_PROPERTY_ADAPTER_INSTANCE_ID, adapterInstanceId);
+        final int lifespanSeconds = lifespan != null && lifespan.getSeconds() <= Integer.MAX_VALUE ? (int) lifespan.getSeconds() : -1;
+        span.setTag(MessageHelper.APP_PROPERTY_LIFESPAN, lifespanSeconds);
+        adapterInstanceIdHandler.handle(adapterInstanceId);
+        return finishSpan(cache.setCommandHandlingAdapterInstanceForDevices(tenantId, new HashSet<>(deviceIds),
+                adapterInstanceId, lifespan, span), span);
+    }
+
+    @Override
+    public Future<Void> removeCommandHandlingAdapterInstanceForDevices(final List<String> deviceIds,
+            final String adapterInstanceId, final SpanContext context) {
+        final Span span = newSpan(context, SPAN_NAME_REMOVE_CMD_HANDLING_ADAPTER_INSTANCE_FOR_DEVICES);
+        TracingHelper.TAG_TENANT_ID.set(span, tenantId);
+        span.setTag(TAG_NUMBER_OF_DEVICES, deviceIds.size());
+        span.setTag(MessageHelper.APP_PROPERTY_ADAPTER_INSTANCE_ID, adapterInstanceId);
+        return finishSpan(cache.removeCommandHandlingAdapterInstanceForDevices(tenantId, new HashSet<>(deviceIds),
+                adapterInstanceId, span).<Void> mapEmpty(), span);
+    }
+
     @Override
     public Future<JsonObject> getCommandHandlingAdapterInstances(final String deviceId, final List<String> viaGateways,
             final SpanContext context) {
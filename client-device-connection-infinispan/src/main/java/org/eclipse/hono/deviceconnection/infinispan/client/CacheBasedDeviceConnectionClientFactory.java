@@ -13,19 +13,29 @@
 
 package org.eclipse.hono.deviceconnection.infinispan.client;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.hono.client.BasicDeviceConnectionClientFactory;
 import org.eclipse.hono.client.ConnectionLifecycle;
 import org.eclipse.hono.client.DeviceConnectionClient;
 import org.eclipse.hono.client.DisconnectListener;
 import org.eclipse.hono.client.ReconnectListener;
+import org.eclipse.hono.tracing.TracingHelper;
+import org.eclipse.hono.util.MessageHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 
+import io.opentracing.Span;
 import io.opentracing.Tracer;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 
@@ -33,13 +43,20 @@ import io.vertx.core.Handler;
 /**
  * A factory for creating Device Connection service clients that connect directly to
  * an Infinispan cluster for reading and writing device connection information.
- *
+ * <p>
+ * When disconnecting, the factory removes the entries mapping devices to the adapter instances
+ * that have been set by means of its clients, so that commands are no longer routed
+ * to the terminating adapter instances.
  */
 public final class CacheBasedDeviceConnectionClientFactory implements BasicDeviceConnectionClientFactory, ConnectionLifecycle<BasicCache<String, String>> {
 
+    private static final Logger LOG = LoggerFactory.getLogger(CacheBasedDeviceConnectionClientFactory.class);
+    private static final String SPAN_NAME_EVICT_CMD_HANDLING_ADAPTER_INSTANCE = "evict command handling adapter instance";
+
     private final Cache<String, CacheBasedDeviceConnectionClient> clients = Caffeine.newBuilder()
             .maximumSize(100)
             .build();
+    private final Set<String> adapterInstanceIds = ConcurrentHashMap.newKeySet();
     private final BasicCache<String, String> cache;
     private final Tracer tracer;
 
@@ -98,7 +115,39 @@ public final class CacheBasedDeviceConnectionClientFactory implements BasicDevic
      */
     @Override
     public void disconnect(final Handler<AsyncResult<Void>> completionHandler) {
-        cache.disconnect(completionHandler);
+        evictAdapterInstances().onComplete(ar -> cache.disconnect(completionHandler));
+    }
+
+    /**
+     * Removes the mapping entries of all adapter instances that devices have been mapped to
+     * by means of the clients created by this factory.
+     *
+     * @return A future indicating the outcome. The future is always succeeded, failures are only logged
+     *         because the mapping entries still expire according to their lifespan.
+     */
+    Future<Void> evictAdapterInstances() {
+
+        final List<String> ids = new ArrayList<>(adapterInstanceIds);
+        adapterInstanceIds.removeAll(ids);
+        final DeviceConnectionInfo info = new CacheBasedDeviceConnectionInfo(cache, tracer);
+
+        @SuppressWarnings("rawtypes")
+        final List<Future> evictions = new ArrayList<>(ids.size());
+        for (final String adapterInstanceId : ids) {
+            final Span span = TracingHelper.buildChildSpan(tracer, null, SPAN_NAME_EVICT_CMD_HANDLING_ADAPTER_INSTANCE,
+                    getClass().getSimpleName()).start();
+            span.setTag(MessageHelper.APP_PROPERTY_ADAPTER_INSTANCE_ID, adapterInstanceId);
+            evictions.add(info.evictCommandHandlingAdapterInstance(adapterInstanceId, span)
+                    .onComplete(ar -> {
+                        if (ar.failed()) {
+                            LOG.info("failed to remove command handling entries of adapter instance [{}]",
+                                    adapterInstanceId, ar.cause());
+                            TracingHelper.logError(span, ar.cause());
+                        }
+                        span.finish();
+                    }));
+        }
+        return CompositeFuture.join(evictions).<Void>mapEmpty().otherwiseEmpty();
     }
 
     /**
@@ -110,7 +159,7 @@ public final class CacheBasedDeviceConnectionClientFactory implements BasicDevic
     public Future<DeviceConnectionClient> getOrCreateDeviceConnectionClient(final String tenantId) {
         final DeviceConnectionClient result = clients.get(tenantId, key -> {
             final DeviceConnectionInfo info = new CacheBasedDeviceConnectionInfo(cache, tracer);
-            return new CacheBasedDeviceConnectionClient(key, info, tracer);
+            return new CacheBasedDeviceConnectionClient(key, info, tracer, adapterInstanceIds::add);
         });
         return Future.succeededFuture(result);
     }
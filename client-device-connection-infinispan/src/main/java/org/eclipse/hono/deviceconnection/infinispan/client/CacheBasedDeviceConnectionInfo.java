@@ -16,6 +16,7 @@ package org.eclipse.hono.deviceconnection.infinispan.client;
 import java.net.HttpURLConnection;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
@@ -69,6 +70,11 @@ public final class CacheBasedDeviceConnectionInfo implements DeviceConnectionInf
      * <em>commandHandlingAdapterInstance</em> operations.
      */
     private static final String KEY_PREFIX_ADAPTER_INSTANCE_VALUES = "ai";
+    /**
+     * Prefix for cache entries indexing the <em>commandHandlingAdapterInstance</em> entries by
+     * protocol adapter instance id. The value of such an entry is the key of the indexed entry.
+     */
+    private static final String KEY_PREFIX_ADAPTER_INSTANCE_INDEX = "aix";
     private static final String KEY_SEPARATOR = "@@";
 
     final Cache<String, String> cache;
@@ -149,11 +155,11 @@ public final class CacheBasedDeviceConnectionInfo implements DeviceConnectionInf
         Objects.requireNonNull(adapterInstanceId);
         Objects.requireNonNull(span);
 
-        // sanity check, preventing an ArithmeticException in lifespan.toMillis()
-        final long lifespanMillis = lifespan == null || lifespan.isNegative()
-                || lifespan.getSeconds() > (Long.MAX_VALUE / 1000L) ? -1 : lifespan.toMillis();
-        return cache.put(getAdapterInstanceEntryKey(tenantId, deviceId), adapterInstanceId, lifespanMillis, TimeUnit.MILLISECONDS)
-                .map(replacedValue -> {
+        final long lifespanMillis = getLifespanMillis(lifespan);
+        final Map<String, String> entries = new HashMap<>(2);
+        putAdapterInstanceEntries(entries, tenantId, deviceId, adapterInstanceId);
+        return cache.putAll(entries, lifespanMillis, TimeUnit.MILLISECONDS)
+                .map(ok -> {
                     LOG.debug("set command handling adapter instance [tenant: {}, device-id: {}, adapter-instance: {}, lifespan: {}ms]",
                             tenantId, deviceId, adapterInstanceId, lifespanMillis);
                     return (Void) null;
@@ -165,6 +171,30 @@ public final class CacheBasedDeviceConnectionInfo implements DeviceConnectionInf
                 });
     }
 
+    @Override
+    public Future<Void> setCommandHandlingAdapterInstanceForDevices(final String tenantId, final Set<String> deviceIds,
+            final String adapterInstanceId, final Duration lifespan, final Span span) {
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(deviceIds);
+        Objects.requireNonNull(adapterInstanceId);
+        Objects.requireNonNull(span);
+
+        final long lifespanMillis = getLifespanMillis(lifespan);
+        final Map<String, String> entries = new HashMap<>(deviceIds.size() * 2);
+        deviceIds.forEach(deviceId -> putAdapterInstanceEntries(entries, tenantId, deviceId, adapterInstanceId));
+        return cache.putAll(entries, lifespanMillis, TimeUnit.MILLISECONDS)
+                .map(ok -> {
+                    LOG.debug("set command handling adapter instance for {} devices [tenant: {}, adapter-instance: {}, lifespan: {}ms]",
+                            deviceIds.size(), tenantId, adapterInstanceId, lifespanMillis);
+                    return (Void) null;
+                })
+                .recover(t -> {
+                    LOG.debug("failed to set command handling adapter instance for {} devices [tenant: {}, adapter-instance: {}, lifespan: {}ms]",
+                            deviceIds.size(), tenantId, adapterInstanceId, lifespanMillis, t);
+                    return Future.failedFuture(new ServerErrorException(HttpURLConnection.HTTP_INTERNAL_ERROR, t));
+                });
+    }
+
     @Override
     public Future<Boolean> removeCommandHandlingAdapterInstance(final String tenantId, final String deviceId,
             final String adapterInstanceId, final Span span) {
@@ -174,9 +204,13 @@ public final class CacheBasedDeviceConnectionInfo implements DeviceConnectionInf
         Objects.requireNonNull(span);
 
         final String key = getAdapterInstanceEntryKey(tenantId, deviceId);
+        final Map<String, String> entries = new HashMap<>(2);
+        putAdapterInstanceEntries(entries, tenantId, deviceId, adapterInstanceId);
 
+        // the index entry is removed in any case, even if the device has been mapped to another instance meanwhile
         return cache
-                .remove(key, adapterInstanceId)
+                .removeAll(entries)
+                .map(removedKeys -> removedKeys.contains(key))
                 .recover(t -> {
                     LOG.debug("failed to remove the cache entry when for the command handling adapter instance [tenant: {}, device-id: {}, adapter-instance: {}]",
                             tenantId, deviceId, adapterInstanceId, t);
@@ -195,6 +229,67 @@ public final class CacheBasedDeviceConnectionInfo implements DeviceConnectionInf
 
     }
 
+    @Override
+    public Future<Set<String>> removeCommandHandlingAdapterInstanceForDevices(final String tenantId,
+            final Set<String> deviceIds, final String adapterInstanceId, final Span span) {
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(deviceIds);
+        Objects.requireNonNull(adapterInstanceId);
+        Objects.requireNonNull(span);
+
+        final Map<String, String> entries = new HashMap<>(deviceIds.size() * 2);
+        deviceIds.forEach(deviceId -> putAdapterInstanceEntries(entries, tenantId, deviceId, adapterInstanceId));
+        return cache.removeAll(entries)
+                .recover(t -> {
+                    LOG.debug("failed to remove the cache entries for the command handling adapter instance of {} devices [tenant: {}, adapter-instance: {}]",
+                            deviceIds.size(), tenantId, adapterInstanceId, t);
+                    return Future.failedFuture(new ServerErrorException(HttpURLConnection.HTTP_INTERNAL_ERROR, t));
+                })
+                .map(removedKeys -> {
+                    final Set<String> removedDeviceIds = removedKeys.stream()
+                            .filter(CacheBasedDeviceConnectionInfo::isAdapterInstanceEntryKey)
+                            .map(CacheBasedDeviceConnectionInfo::getDeviceIdFromAdapterInstanceEntryKey)
+                            .collect(Collectors.toSet());
+                    LOG.debug("removed command handling adapter instance for {} of {} devices [tenant: {}, adapter-instance: {}]",
+                            removedDeviceIds.size(), deviceIds.size(), tenantId, adapterInstanceId);
+                    return removedDeviceIds;
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The mapping entries are found by means of index entries, which are stored along with the mapping
+     * entries and which have the same lifespan. Finding the index entries requires iterating over
+     * the keys of the cache, so this operation should only be used when an adapter instance terminates.
+     */
+    @Override
+    public Future<Integer> evictCommandHandlingAdapterInstance(final String adapterInstanceId, final Span span) {
+        Objects.requireNonNull(adapterInstanceId);
+        Objects.requireNonNull(span);
+
+        final String indexKeyPrefix = getAdapterInstanceIndexKeyPrefix(adapterInstanceId);
+        return cache.getAllMatching(key -> key.startsWith(indexKeyPrefix))
+                .compose(indexEntries -> {
+                    final Map<String, String> entries = new HashMap<>(indexEntries.size());
+                    indexEntries.values().forEach(key -> entries.put(key, adapterInstanceId));
+                    // mapping entries of devices that have been mapped to another instance meanwhile are not removed
+                    return cache.removeAll(entries)
+                            .compose(removedKeys -> cache.removeAll(indexEntries).map(removedKeys.size()));
+                })
+                .recover(t -> {
+                    LOG.debug("failed to evict command handling adapter instance [adapter-instance: {}]",
+                            adapterInstanceId, t);
+                    return Future.failedFuture(new ServerErrorException(HttpURLConnection.HTTP_INTERNAL_ERROR, t));
+                })
+                .map(removed -> {
+                    LOG.debug("evicted command handling adapter instance from {} mapping entries [adapter-instance: {}]",
+                            removed, adapterInstanceId);
+                    span.log("removed " + removed + " mapping entries");
+                    return removed;
+                });
+    }
+
     @Override
     public Future<JsonObject> getCommandHandlingAdapterInstances(final String tenantId, final String deviceId,
             final Set<String> viaGateways, final Span span) {
@@ -383,6 +478,12 @@ public final class CacheBasedDeviceConnectionInfo implements DeviceConnectionInf
         return Future.failedFuture(new ServerErrorException(HttpURLConnection.HTTP_INTERNAL_ERROR, t));
     }
 
+    private static long getLifespanMillis(final Duration lifespan) {
+        // sanity check, preventing an ArithmeticException in lifespan.toMillis()
+        return lifespan == null || lifespan.isNegative()
+                || lifespan.getSeconds() > (Long.MAX_VALUE / 1000L) ? -1 : lifespan.toMillis();
+    }
+
     private static String getGatewayEntryKey(final String tenantId, final String deviceId) {
         return KEY_PREFIX_GATEWAY_ENTRIES_VALUE + KEY_SEPARATOR + tenantId + KEY_SEPARATOR + deviceId;
     }
@@ -391,6 +492,25 @@ public final class CacheBasedDeviceConnectionInfo implements DeviceConnectionInf
         return KEY_PREFIX_ADAPTER_INSTANCE_VALUES + KEY_SEPARATOR + tenantId + KEY_SEPARATOR + deviceId;
     }
 
+    private static boolean isAdapterInstanceEntryKey(final String key) {
+        return key.startsWith(KEY_PREFIX_ADAPTER_INSTANCE_VALUES + KEY_SEPARATOR);
+    }
+
+    private static String getAdapterInstanceIndexKeyPrefix(final String adapterInstanceId) {
+        return KEY_PREFIX_ADAPTER_INSTANCE_INDEX + KEY_SEPARATOR + adapterInstanceId + KEY_SEPARATOR;
+    }
+
+    /**
+     * Puts the entry mapping the given device to the given adapter instance and the
+     * corresponding index entry into the given map.
+     */
+    private static void putAdapterInstanceEntries(final Map<String, String> entries, final String tenantId,
+            final String deviceId, final String adapterInstanceId) {
+        final String key = getAdapterInstanceEntryKey(tenantId, deviceId);
+        entries.put(key, adapterInstanceId);
+        entries.put(getAdapterInstanceIndexKeyPrefix(adapterInstanceId) + tenantId + KEY_SEPARATOR + deviceId, key);
+    }
+
     private static Set<String> getAdapterInstanceEntryKeys(final String tenantId, final String deviceIdA,
             final String deviceIdB) {
         final HashSet<String> keys = new HashSet<>(2);
@@ -26,6 +26,7 @@ public class CommonCacheConfig {
 
     private String checkKey = "KEY_CONNECTION_CHECK";
     private String checkValue = "VALUE_CONNECTION_CHECK";
+    private int workerPoolSize = BasicCache.DEFAULT_WORKER_POOL_SIZE;
 
     public void setCacheName(final String cacheName) {
         this.cacheName = cacheName;
@@ -51,6 +52,30 @@ public class CommonCacheConfig {
         return checkValue;
     }
 
+    /**
+     * Sets the number of threads in the pool used for executing blocking operations on the cache.
+     * <p>
+     * The default value of this property is {@link BasicCache#DEFAULT_WORKER_POOL_SIZE}.
+     *
+     * @param workerPoolSize The number of threads.
+     * @throws IllegalArgumentException if the number of threads is &lt; 1.
+     */
+    public void setWorkerPoolSize(final int workerPoolSize) {
+        if (workerPoolSize < 1) {
+            throw new IllegalArgumentException("worker pool size must be at least 1");
+        }
+        this.workerPoolSize = workerPoolSize;
+    }
+
+    /**
+     * Gets the number of threads in the pool used for executing blocking operations on the cache.
+     *
+     * @return The number of threads.
+     */
+    public int getWorkerPoolSize() {
+        return workerPoolSize;
+    }
+
     @Override
     public String toString() {
         return MoreObjects
@@ -58,6 +83,7 @@ public class CommonCacheConfig {
                 .add("cacheName", this.cacheName)
                 .add("checkKey", this.checkKey)
                 .add("checkValue", this.checkValue)
+                .add("workerPoolSize", this.workerPoolSize)
                 .toString();
     }
 }
@@ -88,6 +88,29 @@ public interface DeviceConnectionInfo {
     Future<Void> setCommandHandlingAdapterInstance(String tenantId, String deviceId, String adapterInstanceId,
             Duration lifespan, Span span);
 
+    /**
+     * Sets the protocol adapter instance that handles commands for the given devices or gateways.
+     * <p>
+     * This is the bulk variant of {@link #setCommandHandlingAdapterInstance(String, String, String, Duration, Span)},
+     * allowing an implementation to store all mapping entries by means of a single operation.
+     *
+     * @param tenantId The tenant id.
+     * @param deviceIds The device ids.
+     * @param adapterInstanceId The protocol adapter instance id.
+     * @param lifespan The lifespan of the mapping entries. Using a negative duration or {@code null} here is
+     *                 interpreted as an unlimited lifespan.
+     * @param span The active OpenTracing span for this operation. It is not to be closed in this method!
+     *            An implementation should log (error) events on this span and it may set tags and use this span as the
+     *            parent for any spans created in this method.
+     * @return A future indicating the outcome of the operation.
+     *         <p>
+     *         The future will be succeeded if the device connection information has been updated.
+     *         Otherwise the future will be failed with a {@link org.eclipse.hono.client.ServiceInvocationException}.
+     * @throws NullPointerException if any of the parameters except lifespan is {@code null}.
+     */
+    Future<Void> setCommandHandlingAdapterInstanceForDevices(String tenantId, Set<String> deviceIds,
+            String adapterInstanceId, Duration lifespan, Span span);
+
     /**
      * Removes the mapping information that associates the given device with the given protocol adapter instance
      * that handles commands for the given device. The mapping entry is only deleted if its value
@@ -108,6 +131,49 @@ public interface DeviceConnectionInfo {
      */
     Future<Boolean> removeCommandHandlingAdapterInstance(String tenantId, String deviceId, String adapterInstanceId, Span span);
 
+    /**
+     * Removes the mapping information that associates the given devices with the given protocol adapter instance
+     * that handles commands for the given devices. A mapping entry is only deleted if its value
+     * contains the given protocol adapter instance id.
+     * <p>
+     * This is the bulk variant of {@link #removeCommandHandlingAdapterInstance(String, String, String, Span)}.
+     *
+     * @param tenantId The tenant id.
+     * @param deviceIds The device ids.
+     * @param adapterInstanceId The protocol adapter instance id that the entries to be removed have to contain.
+     * @param span The active OpenTracing span for this operation. It is not to be closed in this method!
+     *            An implementation should log (error) events on this span and it may set tags and use this span as the
+     *            parent for any spans created in this method.
+     * @return A future indicating the outcome of the operation, with its value containing the identifiers of
+     *         the devices for which the mapping entry has been removed.
+     *         <p>
+     *         The future will be failed with a {@link org.eclipse.hono.client.ServiceInvocationException} if there
+     *         was an error removing the values.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    Future<Set<String>> removeCommandHandlingAdapterInstanceForDevices(String tenantId, Set<String> deviceIds,
+            String adapterInstanceId, Span span);
+
+    /**
+     * Removes the mapping information that associates devices with the given protocol adapter instance,
+     * for all devices that are currently mapped to it.
+     * <p>
+     * This is supposed to be invoked when the adapter instance terminates, so that commands are no longer
+     * routed to it.
+     *
+     * @param adapterInstanceId The protocol adapter instance id that the entries to be removed have to contain.
+     * @param span The active OpenTracing span for this operation. It is not to be closed in this method!
+     *            An implementation should log (error) events on this span and it may set tags and use this span as the
+     *            parent for any spans created in this method.
+     * @return A future indicating the outcome of the operation, with its value containing the number
+     *         of removed mapping entries.
+     *         <p>
+     *         The future will be failed with a {@link org.eclipse.hono.client.ServiceInvocationException} if there
+     *         was an error removing the values.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    Future<Integer> evictCommandHandlingAdapterInstance(String adapterInstanceId, Span span);
+
     /**
      * Gets information about the adapter instances that can handle a command for the given device.
      * <p>
@@ -74,7 +74,7 @@ public class EmbeddedCache<K, V> extends BasicCache<K, V> {
 
         if (connecting.compareAndSet(false, true)) {
 
-            vertx.executeBlocking(r -> {
+            executeBlocking(r -> {
                 try {
                     final var status = cacheManager.getStatus();
                     if (status != ComponentStatus.RUNNING) {
@@ -67,7 +67,7 @@ public final class HotrodCache<K, V> extends BasicCache<K, V> {
 
         if (connecting.compareAndSet(false, true)) {
 
-            vertx.executeBlocking(r -> {
+            executeBlocking(r -> {
                 try {
                     if (!cacheManager.isStarted()) {
                         LOG.debug("trying to start cache manager");
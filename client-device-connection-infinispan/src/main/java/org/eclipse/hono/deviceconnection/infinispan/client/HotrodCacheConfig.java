@@ -71,12 +71,14 @@ public class HotrodCacheConfig {
     @Bean
     @ConditionalOnProperty(prefix = "hono.device-connection", name = "server-list")
     public HotrodCache<String, String> remoteCache(final Vertx vertx, final CommonCacheConfig cacheConfig) {
-        return new HotrodCache<>(
+        final HotrodCache<String, String> cache = new HotrodCache<>(
                 vertx,
                 remoteCacheManager(),
                 cacheConfig.getCacheName(),
                 cacheConfig.getCheckKey(),
                 cacheConfig.getCheckValue());
+        cache.setWorkerPoolSize(cacheConfig.getWorkerPoolSize());
+        return cache;
     }
 
     /**
@@ -18,6 +18,7 @@ import java.util.Map;
 
 import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
 import org.infinispan.client.hotrod.impl.ConfigurationProperties;
+import org.infinispan.commons.marshall.UTF8StringMarshaller;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,13 +31,53 @@ public class InfinispanRemoteConfigurationProperties extends ConfigurationProper
 
     private static final Logger LOG = LoggerFactory.getLogger(InfinispanRemoteConfigurationProperties.class);
 
+    private boolean compactEncoding = false;
+
     /**
      * Gets a builder for this configuration.
      *
      * @return A builder that can be used to create a cache.
      */
     public final ConfigurationBuilder getConfigurationBuilder() {
-       return new ConfigurationBuilder().withProperties(getProperties());
+       final ConfigurationBuilder builder = new ConfigurationBuilder().withProperties(getProperties());
+       if (compactEncoding) {
+           builder.marshaller(new UTF8StringMarshaller());
+       }
+       return builder;
+    }
+
+    /**
+     * Checks whether keys and values are transferred to the remote cache in their compact encoding.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @return {@code true} if the compact encoding is used.
+     */
+    public final boolean isCompactEncoding() {
+       return compactEncoding;
+    }
+
+    /**
+     * Sets whether keys and values should be transferred to the remote cache in their compact encoding.
+     * <p>
+     * The device connection information consists of string keys and values only. If this property
+     * is {@code true}, these are marshalled as plain UTF-8 byte arrays (media type <em>text/plain</em>)
+     * instead of being wrapped into Protobuf messages by the default marshaller. Any explicitly
+     * configured marshaller is overridden. Only the marshalling of the keys and values is changed,
+     * the keys and values themselves are the same for both settings. The overhead saved is the
+     * Protobuf wrapping of each key and value, i.e. a few bytes per key and value transferred and
+     * (depending on the encoding configured for the remote cache) stored.
+     * <p>
+     * Clients using different settings marshal the same key to different bytes and therefore do not
+     * see each other's entries. All clients accessing the same cache need to use the same setting,
+     * which means that the setting can not be changed by means of a rolling update of the clients.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @param compactEncoding {@code true} if the compact encoding should be used.
+     */
+    public final void setCompactEncoding(final boolean compactEncoding) {
+       this.compactEncoding = compactEncoding;
     }
 
     /**
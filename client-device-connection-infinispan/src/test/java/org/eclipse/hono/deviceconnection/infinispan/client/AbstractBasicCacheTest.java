@@ -16,12 +16,15 @@ package org.eclipse.hono.deviceconnection.infinispan.client;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -38,6 +41,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
 import io.vertx.junit5.Timeout;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
@@ -52,6 +56,7 @@ import io.vertx.junit5.VertxTestContext;
 abstract class AbstractBasicCacheTest {
 
     protected Vertx vertx;
+    protected WorkerExecutor workerExecutor;
     protected BasicCache<String, String> cache;
 
     protected abstract org.infinispan.commons.api.BasicCache<Object, Object> givenAConnectedCache();
@@ -74,6 +79,8 @@ abstract class AbstractBasicCacheTest {
     @BeforeEach
     void setUpVertx() {
         vertx = mock(Vertx.class);
+        workerExecutor = mock(WorkerExecutor.class);
+        when(vertx.createSharedWorkerExecutor(anyString(), anyInt())).thenReturn(workerExecutor);
         doAnswer(invocation -> {
             final Promise<Void> result = Promise.promise();
             final Handler<Promise<?>> blockingCodeHandler = invocation.getArgument(0);
@@ -81,7 +88,64 @@ abstract class AbstractBasicCacheTest {
             blockingCodeHandler.handle(result);
             resultHandler.handle(result);
             return null;
-        }).when(vertx).executeBlocking(any(Handler.class), any(Handler.class));
+        }).when(workerExecutor).executeBlocking(any(Handler.class), any(Handler.class));
+    }
+
+    /**
+     * Verifies that the connection to the data grid is established by means of
+     * the worker pool dedicated to cache operations.
+     *
+     * @param ctx The vert.x text context.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    void testConnectUsesDedicatedWorkerPool(final VertxTestContext ctx) {
+        givenAConnectedCache();
+        cache.connect()
+            .onComplete(ctx.succeeding(c -> {
+                ctx.verify(() -> {
+                    verify(vertx).createSharedWorkerExecutor(BasicCache.WORKER_POOL_NAME, BasicCache.DEFAULT_WORKER_POOL_SIZE);
+                    verify(workerExecutor).executeBlocking(any(Handler.class), any(Handler.class));
+                    verify(vertx, never()).executeBlocking(any(Handler.class), any(Handler.class));
+                });
+                ctx.completeNow();
+            }));
+    }
+
+    /**
+     * Verifies that the worker pool dedicated to cache operations is created with
+     * the configured number of threads.
+     *
+     * @param ctx The vert.x text context.
+     */
+    @Test
+    void testConnectUsesConfiguredWorkerPoolSize(final VertxTestContext ctx) {
+        givenAConnectedCache();
+        cache.setWorkerPoolSize(8);
+        cache.connect()
+            .onComplete(ctx.succeeding(c -> {
+                ctx.verify(() -> {
+                    verify(vertx).createSharedWorkerExecutor(BasicCache.WORKER_POOL_NAME, 8);
+                });
+                ctx.completeNow();
+            }));
+    }
+
+    /**
+     * Verifies that disconnecting from the data grid closes the worker executor
+     * dedicated to cache operations.
+     *
+     * @param ctx The vert.x text context.
+     */
+    @Test
+    void testDisconnectClosesWorkerExecutor(final VertxTestContext ctx) {
+        givenAConnectedCache();
+        cache.disconnect(ctx.succeeding(v -> {
+            ctx.verify(() -> {
+                verify(workerExecutor).close();
+            });
+            ctx.completeNow();
+        }));
     }
 
     /**
@@ -169,6 +233,28 @@ abstract class AbstractBasicCacheTest {
                 }));
     }
 
+    /**
+     * Verifies that a request to put multiple values with a lifespan to the cache
+     * results in the values being written to the data grid by means of a single bulk operation.
+     *
+     * @param ctx The vert.x text context.
+     */
+    @Test
+    void testPutAllSucceeds(final VertxTestContext ctx) {
+        final org.infinispan.commons.api.BasicCache<Object, Object> grid = givenAConnectedCache();
+        when(grid.putAllAsync(anyMap(), anyLong(), any(TimeUnit.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        final Map<String, String> data = Map.of("key1", "value1", "key2", "value2");
+        cache.connect()
+                .compose(c -> c.putAll(data, 1, TimeUnit.SECONDS))
+                .onComplete(ctx.succeeding(v -> {
+                    ctx.verify(() -> {
+                        verify(grid).putAllAsync(data, 1, TimeUnit.SECONDS);
+                    });
+                    ctx.completeNow();
+                }));
+    }
+
     /**
      * Verifies that a request to put a value to the cache fails with the
      * root cause for the failure to access the data grid.
@@ -232,6 +318,29 @@ abstract class AbstractBasicCacheTest {
                 }));
     }
 
+    /**
+     * Verifies that a request to remove multiple cache entries with a value
+     * results in only the matching entries being removed in the data grid.
+     *
+     * @param ctx The vert.x text context.
+     */
+    @Test
+    void testRemoveAllSucceeds(final VertxTestContext ctx) {
+        final org.infinispan.commons.api.BasicCache<Object, Object> grid = givenAConnectedCache();
+        mockRemoveWithValue(grid, "key1", "value1", true);
+        mockRemoveWithValue(grid, "key2", "value2", false);
+        cache.connect()
+                .compose(c -> c.removeAll(Map.of("key1", "value1", "key2", "value2")))
+                .onComplete(ctx.succeeding(removedKeys -> {
+                    ctx.verify(() -> {
+                        verifyRemoveWithValue(grid, "key1", "value1", true);
+                        verifyRemoveWithValue(grid, "key2", "value2", false);
+                        assertThat(removedKeys).containsExactly("key1");
+                    });
+                    ctx.completeNow();
+                }));
+    }
+
     /**
      * Verifies that a request to get a map of all cache entries with given keys
      * results in the map value being retrieved from the data grid.
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.deviceconnection.infinispan.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.client.ClientErrorException;
+import org.eclipse.hono.util.Constants;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.DefaultCacheManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import io.opentracing.noop.NoopTracerFactory;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+
+/**
+ * Tests verifying behavior of {@link CacheBasedDeviceConnectionClientFactory}.
+ *
+ */
+@ExtendWith(VertxExtension.class)
+@Timeout(value = 5, timeUnit = TimeUnit.SECONDS)
+class CacheBasedDeviceConnectionClientFactoryTest {
+
+    private BasicCache<String, String> cache;
+    private CacheBasedDeviceConnectionClientFactory factory;
+
+    /**
+     * Sets up the fixture.
+     *
+     * @param vertx The vert.x instance.
+     * @param ctx The vert.x test context.
+     */
+    @BeforeEach
+    void setUp(final Vertx vertx, final VertxTestContext ctx) {
+
+        final var cacheManager = new DefaultCacheManager(false);
+        cacheManager.defineConfiguration("cache-name", new ConfigurationBuilder().build());
+        cache = new EmbeddedCache<>(vertx, cacheManager, "cache-name", "foo", "bar");
+        factory = new CacheBasedDeviceConnectionClientFactory(cache, NoopTracerFactory.create());
+        factory.connect().onComplete(ctx.completing());
+    }
+
+    /**
+     * Verifies that the factory removes the entries mapping devices to the adapter instances
+     * that have been set by means of its clients.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    void testEvictAdapterInstancesRemovesMappingEntries(final VertxTestContext ctx) {
+
+        factory.getOrCreateDeviceConnectionClient(Constants.DEFAULT_TENANT)
+            .compose(client -> client.setCommandHandlingAdapterInstanceForDevices(List.of("device1", "device2"),
+                    "adapterInstance", null, null)
+                    .compose(ok -> factory.evictAdapterInstances())
+                    .compose(ok -> client.getCommandHandlingAdapterInstances("device1", List.of(), null)))
+            .onComplete(ctx.failing(t -> ctx.verify(() -> {
+                assertThat(t).isInstanceOf(ClientErrorException.class);
+                ctx.completeNow();
+            })));
+    }
+
+    /**
+     * Verifies that the factory does not remove any entries of an adapter instance that have
+     * not been set by means of its clients.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    void testEvictAdapterInstancesKeepsEntriesOfOtherAdapterInstances(final VertxTestContext ctx) {
+
+        final DeviceConnectionInfo info = new CacheBasedDeviceConnectionInfo(cache, NoopTracerFactory.create());
+        info.setCommandHandlingAdapterInstance(Constants.DEFAULT_TENANT, "device1", "otherAdapterInstance", null,
+                NoopTracerFactory.create().buildSpan("test").start())
+            .compose(ok -> factory.evictAdapterInstances())
+            .compose(ok -> factory.getOrCreateDeviceConnectionClient(Constants.DEFAULT_TENANT))
+            .compose(client -> client.getCommandHandlingAdapterInstances("device1", List.of(), null))
+            .onComplete(ctx.succeeding(result -> ctx.completeNow()));
+    }
+}
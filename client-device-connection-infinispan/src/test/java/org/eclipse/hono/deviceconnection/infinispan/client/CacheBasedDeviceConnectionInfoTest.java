@@ -301,6 +301,85 @@ class CacheBasedDeviceConnectionInfoTest {
         })));
     }
 
+    /**
+     * Verifies that the <em>setCommandHandlingAdapterInstanceForDevices</em> operation creates mapping entries
+     * for all given devices.
+     *
+     * @param ctx The vert.x context.
+     */
+    @Test
+    public void testSetCommandHandlingAdapterInstanceForDevicesSucceeds(final VertxTestContext ctx) {
+        final String adapterInstance = "adapterInstance";
+        info.setCommandHandlingAdapterInstanceForDevices(Constants.DEFAULT_TENANT, Set.of("device1", "device2"),
+                adapterInstance, Duration.ofSeconds(10), span)
+        .compose(v -> info.getCommandHandlingAdapterInstances(Constants.DEFAULT_TENANT, "device1", Collections.emptySet(), span))
+        .compose(result -> {
+            ctx.verify(() -> assertGetInstancesResultMapping(result, "device1", adapterInstance));
+            return info.getCommandHandlingAdapterInstances(Constants.DEFAULT_TENANT, "device2", Collections.emptySet(), span);
+        }).onComplete(ctx.succeeding(result -> ctx.verify(() -> {
+            assertGetInstancesResultMapping(result, "device2", adapterInstance);
+            ctx.completeNow();
+        })));
+    }
+
+    /**
+     * Verifies that the <em>removeCommandHandlingAdapterInstanceForDevices</em> operation removes only
+     * those entries that are mapped to the given adapter instance.
+     *
+     * @param ctx The vert.x context.
+     */
+    @Test
+    public void testRemoveCommandHandlingAdapterInstanceForDevicesSucceeds(final VertxTestContext ctx) {
+        final String adapterInstance = "adapterInstance";
+        info.setCommandHandlingAdapterInstanceForDevices(Constants.DEFAULT_TENANT, Set.of("device1", "device2"),
+                adapterInstance, null, span)
+        .compose(v -> info.setCommandHandlingAdapterInstance(Constants.DEFAULT_TENANT, "device3", "otherAdapterInstance", null, span))
+        .compose(v -> info.removeCommandHandlingAdapterInstanceForDevices(Constants.DEFAULT_TENANT,
+                Set.of("device1", "device2", "device3"), adapterInstance, span))
+        .compose(removedDeviceIds -> {
+            ctx.verify(() -> assertThat(removedDeviceIds).containsOnly("device1", "device2"));
+            return info.getCommandHandlingAdapterInstances(Constants.DEFAULT_TENANT, "device3", Collections.emptySet(), span);
+        }).onComplete(ctx.succeeding(result -> ctx.verify(() -> {
+            assertGetInstancesResultMapping(result, "device3", "otherAdapterInstance");
+            ctx.completeNow();
+        })));
+    }
+
+    /**
+     * Verifies that the <em>evictCommandHandlingAdapterInstance</em> operation removes the entries of
+     * all devices mapped to the given adapter instance, but not the entries of devices that have been
+     * mapped to another adapter instance meanwhile.
+     *
+     * @param ctx The vert.x context.
+     */
+    @Test
+    public void testEvictCommandHandlingAdapterInstanceSucceeds(final VertxTestContext ctx) {
+        final String adapterInstance = "adapterInstance";
+        info.setCommandHandlingAdapterInstanceForDevices(Constants.DEFAULT_TENANT, Set.of("device1", "device2"),
+                adapterInstance, Duration.ofSeconds(10), span)
+        .compose(v -> info.setCommandHandlingAdapterInstance("otherTenant", "device3", adapterInstance, null, span))
+        .compose(v -> info.setCommandHandlingAdapterInstance(Constants.DEFAULT_TENANT, "device2", "otherAdapterInstance", null, span))
+        .compose(v -> info.evictCommandHandlingAdapterInstance(adapterInstance, span))
+        .compose(removed -> {
+            ctx.verify(() -> assertThat(removed).isEqualTo(2));
+            return info.getCommandHandlingAdapterInstances(Constants.DEFAULT_TENANT, "device2", Collections.emptySet(), span);
+        })
+        .compose(result -> {
+            ctx.verify(() -> assertGetInstancesResultMapping(result, "device2", "otherAdapterInstance"));
+            return cache.getAllMatching(key -> key.startsWith("aix@@"));
+        })
+        .compose(entries -> {
+            // only the index entry of the other adapter instance is left
+            ctx.verify(() -> assertThat(entries).hasSize(1));
+            return info.getCommandHandlingAdapterInstances("otherTenant", "device3", Collections.emptySet(), span);
+        })
+        .onComplete(ctx.failing(t -> ctx.verify(() -> {
+            assertThat(t).isInstanceOf(ClientErrorException.class);
+            assertEquals(HttpURLConnection.HTTP_NOT_FOUND, ((ClientErrorException) t).getErrorCode());
+            ctx.completeNow();
+        })));
+    }
+
     /**
      * Verifies that the <em>getCommandHandlingAdapterInstances</em> operation succeeds if an adapter instance had
      * been registered for the given device.
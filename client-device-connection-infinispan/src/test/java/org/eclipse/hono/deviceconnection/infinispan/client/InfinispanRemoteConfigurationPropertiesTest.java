@@ -19,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.util.Map;
 
 import org.infinispan.client.hotrod.configuration.Configuration;
+import org.infinispan.commons.marshall.UTF8StringMarshaller;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -48,4 +49,13 @@ class InfinispanRemoteConfigurationPropertiesTest {
         assertThat(config.connectionPool().minEvictableIdleTime()).isGreaterThan(0L);
     }
 
+    @Test
+    void testCompactEncodingUsesStringMarshaller() {
+        assertThat(props.getConfigurationBuilder().build().marshallerClass())
+            .isNotEqualTo(UTF8StringMarshaller.class);
+        props.setCompactEncoding(true);
+        final Configuration config = props.getConfigurationBuilder().build();
+        assertThat(config.marshaller()).isInstanceOf(UTF8StringMarshaller.class);
+    }
+
 }
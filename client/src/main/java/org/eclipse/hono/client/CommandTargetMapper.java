@@ -13,6 +13,9 @@
 
 package org.eclipse.hono.client;
 
+import java.time.Duration;
+
+import org.eclipse.hono.cache.CacheProvider;
 import org.eclipse.hono.client.impl.CommandTargetMapperImpl;
 import org.eclipse.hono.util.DeviceConnectionConstants;
 
@@ -56,6 +59,25 @@ public interface CommandTargetMapper {
         return new CommandTargetMapperImpl(tracer);
     }
 
+    /**
+     * Creates a new {@link CommandTargetMapper} using the default implementation.
+     * <p>
+     * The returned mapper caches the determined command targets for the given period of time,
+     * so that subsequent commands to the same device can be routed without invoking the
+     * Device Registration and Device Connection services again.
+     *
+     * @param tracer The tracer instance.
+     * @param cacheProvider The provider of the cache for command targets or {@code null} if
+     *                      command targets should not be cached.
+     * @param cacheTimeout The period of time after which cached command targets are considered invalid.
+     * @return The CommandTargetMapper instance.
+     * @throws NullPointerException if tracer or cache timeout is {@code null}.
+     */
+    static CommandTargetMapper create(final Tracer tracer, final CacheProvider cacheProvider,
+            final Duration cacheTimeout) {
+        return new CommandTargetMapperImpl(tracer, cacheProvider, cacheTimeout);
+    }
+
     /**
      * Initializes the CommandTargetMapper with the given components.
      *
@@ -68,6 +90,22 @@ public interface CommandTargetMapper {
     void initialize(RegistrationClientFactory registrationClientFactory,
             BasicDeviceConnectionClientFactory deviceConnectionClientFactory);
 
+    /**
+     * Removes the locally cached command target of a device.
+     * <p>
+     * This method is to be invoked when the command handling adapter instance of the device
+     * has been changed by this protocol adapter instance, so that subsequent commands for the
+     * device are not routed to a previously determined target. Command targets of other devices
+     * which have been mapped to a gateway of the device will expire with the cache timeout.
+     * <p>
+     * This method does nothing if command targets are not cached.
+     *
+     * @param tenantId The tenant identifier.
+     * @param deviceId The device identifier.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    void invalidateCommandTarget(String tenantId, String deviceId);
+
     /**
      * Determines the target protocol adapter instance for a command directed at the given device. Also determines
      * whether the command should be mapped to a gateway.
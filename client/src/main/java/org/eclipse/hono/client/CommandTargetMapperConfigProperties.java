@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.client;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Configuration properties for the {@link CommandTargetMapper}.
+ */
+public class CommandTargetMapperConfigProperties {
+
+    /**
+     * The default minimum size of the cache for command targets.
+     */
+    public static final int DEFAULT_CACHE_MIN_SIZE = 20;
+    /**
+     * The default maximum size of the cache for command targets.
+     * <p>
+     * A value of 0 means that command targets are not cached.
+     */
+    public static final long DEFAULT_CACHE_MAX_SIZE = 0L;
+    /**
+     * The default period of time after which cached command targets are considered invalid.
+     */
+    public static final Duration DEFAULT_CACHE_TIMEOUT = Duration.ofSeconds(5);
+
+    private int cacheMinSize = DEFAULT_CACHE_MIN_SIZE;
+    private long cacheMaxSize = DEFAULT_CACHE_MAX_SIZE;
+    private Duration cacheTimeout = DEFAULT_CACHE_TIMEOUT;
+
+    /**
+     * Gets the minimum size of the cache for command targets.
+     * <p>
+     * The default value is {@link #DEFAULT_CACHE_MIN_SIZE}.
+     *
+     * @return The minimum number of command targets to keep in the cache.
+     */
+    public final int getCacheMinSize() {
+        return cacheMinSize;
+    }
+
+    /**
+     * Sets the minimum size of the cache for command targets.
+     * <p>
+     * The default value is {@link #DEFAULT_CACHE_MIN_SIZE}.
+     *
+     * @param size The minimum number of command targets to keep in the cache.
+     * @throws IllegalArgumentException if size is &lt; 0.
+     */
+    public final void setCacheMinSize(final int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("minimum cache size must not be negative");
+        }
+        this.cacheMinSize = size;
+    }
+
+    /**
+     * Gets the maximum size of the cache for command targets.
+     * <p>
+     * The default value is {@link #DEFAULT_CACHE_MAX_SIZE}.
+     *
+     * @return The maximum number of command targets to keep in the cache.
+     */
+    public final long getCacheMaxSize() {
+        return cacheMaxSize;
+    }
+
+    /**
+     * Sets the maximum size of the cache for command targets.
+     * <p>
+     * Setting this property to 0 disables caching.
+     * <p>
+     * The default value is {@link #DEFAULT_CACHE_MAX_SIZE}.
+     *
+     * @param size The maximum number of command targets to keep in the cache.
+     * @throws IllegalArgumentException if size is &lt; 0.
+     */
+    public final void setCacheMaxSize(final long size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("maximum cache size must not be negative");
+        }
+        this.cacheMaxSize = size;
+    }
+
+    /**
+     * Gets the period of time after which cached command targets are considered invalid.
+     * <p>
+     * The default value is {@link #DEFAULT_CACHE_TIMEOUT}.
+     *
+     * @return The timeout for cached command targets.
+     */
+    public final Duration getCacheTimeout() {
+        return cacheTimeout;
+    }
+
+    /**
+     * Sets the period of time after which cached command targets are considered invalid.
+     * <p>
+     * Changes of the command handling adapter instance of a device are not detected
+     * while the command target of the device is cached. The value should therefore be
+     * small, e.g. a few seconds.
+     * <p>
+     * The default value is {@link #DEFAULT_CACHE_TIMEOUT}.
+     *
+     * @param timeout The timeout.
+     * @throws NullPointerException if timeout is {@code null}.
+     * @throws IllegalArgumentException if timeout is not positive.
+     */
+    public final void setCacheTimeout(final Duration timeout) {
+        Objects.requireNonNull(timeout);
+        if (timeout.isZero() || timeout.isNegative()) {
+            throw new IllegalArgumentException("cache timeout must be greater than zero");
+        }
+        this.cacheTimeout = timeout;
+    }
+}
@@ -85,6 +85,26 @@ public interface DeviceConnectionClient extends RequestResponseClient {
     Future<Void> setCommandHandlingAdapterInstance(String deviceId, String adapterInstanceId, Duration lifespan,
             SpanContext context);
 
+    /**
+     * Sets the protocol adapter instance that handles commands for the given devices.
+     * <p>
+     * This is the bulk variant of {@link #setCommandHandlingAdapterInstance(String, String, Duration, SpanContext)},
+     * updating the mapping entries for all given devices by means of a single request.
+     *
+     * @param deviceIds The device ids.
+     * @param adapterInstanceId The protocol adapter instance id.
+     * @param lifespan The lifespan of the mapping entries. Using a negative duration or {@code null} here is
+     *                 interpreted as an unlimited lifespan. Only the number of seconds in the given duration
+     *                 will be taken into account.
+     * @param context The currently active OpenTracing span context or {@code null} if no span is currently active.
+     *            An implementation should use this as the parent for any span it creates for tracing
+     *            the execution of this operation.
+     * @return A future indicating whether the operation succeeded or not.
+     * @throws NullPointerException if device ids or adapter instance id is {@code null}.
+     */
+    Future<Void> setCommandHandlingAdapterInstanceForDevices(List<String> deviceIds, String adapterInstanceId,
+            Duration lifespan, SpanContext context);
+
     /**
      * Removes the mapping information that associates the given device with the given protocol adapter instance
      * that handles commands for the given device. The mapping entry is only deleted if its value
@@ -104,6 +124,29 @@ public interface DeviceConnectionClient extends RequestResponseClient {
      */
     Future<Boolean> removeCommandHandlingAdapterInstance(String deviceId, String adapterInstanceId, SpanContext context);
 
+    /**
+     * Removes the mapping information that associates the given devices with the given protocol adapter instance
+     * that handles commands for the given devices. A mapping entry is only deleted if its value
+     * contains the given protocol adapter instance id.
+     * <p>
+     * This is the bulk variant of {@link #removeCommandHandlingAdapterInstance(String, String, SpanContext)}.
+     * Mapping entries not containing the given adapter instance id are left untouched, without failing
+     * the operation.
+     *
+     * @param deviceIds The device ids.
+     * @param adapterInstanceId The protocol adapter instance id that the entries to be removed have to contain.
+     * @param context The currently active OpenTracing span context or {@code null} if no span is currently active.
+     *            An implementation should use this as the parent for any span it creates for tracing
+     *            the execution of this operation.
+     * @return A future indicating the outcome of the operation.
+     *         <p>
+     *         The future will be failed with a {@link org.eclipse.hono.client.ServiceInvocationException} if there
+     *         was an error removing the values.
+     * @throws NullPointerException if device ids or adapter instance id is {@code null}.
+     */
+    Future<Void> removeCommandHandlingAdapterInstanceForDevices(List<String> deviceIds, String adapterInstanceId,
+            SpanContext context);
+
     /**
      * Gets information about the adapter instances that can handle a command for the given device.
      * <p>
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2019 Contributors to the Eclipse Foundation
+ * Copyright (c) 2016, 2020 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -842,14 +842,16 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
                         HttpURLConnection.HTTP_UNAVAILABLE, "no credit available for sending request")));
             } else {
 
-                final Map<String, Object> details = new HashMap<>(3);
                 final Object correlationId = Optional.ofNullable(request.getCorrelationId()).orElse(request.getMessageId());
-                if (correlationId instanceof String) {
-                    details.put(TracingHelper.TAG_CORRELATION_ID.getKey(), correlationId);
+                if (TracingHelper.isSampled(currentSpan)) {
+                    final Map<String, Object> details = new HashMap<>(3);
+                    if (correlationId instanceof String) {
+                        details.put(TracingHelper.TAG_CORRELATION_ID.getKey(), correlationId);
+                    }
+                    details.put(TracingHelper.TAG_CREDIT.getKey(), sender.getCredit());
+                    details.put(TracingHelper.TAG_QOS.getKey(), sender.getQoS().toString());
+                    currentSpan.log(details);
                 }
-                details.put(TracingHelper.TAG_CREDIT.getKey(), sender.getCredit());
-                details.put(TracingHelper.TAG_QOS.getKey(), sender.getQoS().toString());
-                currentSpan.log(details);
 
                 final TriTuple<Handler<AsyncResult<R>>, Object, Span> handler = TriTuple.of(resultHandler, cacheKey, currentSpan);
                 TracingHelper.injectSpanContext(connection.getTracer(), currentSpan.context(), request);
@@ -326,12 +326,17 @@ public abstract class AbstractSender extends AbstractHonoClient implements Messa
 
     /**
      * Creates a log entry in the given span with the message id and information about the sender (credits, QOS).
+     * <p>
+     * No log entry is created if the span is known not to be recorded (sampled).
      *
      * @param currentSpan The current span to log to.
      * @param messageId The message id.
      * @throws NullPointerException if currentSpan is {@code null}.
      */
     protected final void logMessageIdAndSenderInfo(final Span currentSpan, final String messageId) {
+        if (!TracingHelper.isSampled(currentSpan)) {
+            return;
+        }
         final Map<String, Object> details = new HashMap<>(3);
         details.put(TracingHelper.TAG_MESSAGE_ID.getKey(), messageId);
         details.put(TracingHelper.TAG_CREDIT.getKey(), sender.getCredit());
@@ -0,0 +1,315 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.client.impl;
+
+import java.net.HttpURLConnection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.hono.client.BasicDeviceConnectionClientFactory;
+import org.eclipse.hono.client.DeviceConnectionClient;
+import org.eclipse.hono.client.ServiceInvocationException;
+import org.eclipse.hono.tracing.TracingHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.opentracing.Span;
+import io.opentracing.SpanContext;
+import io.opentracing.Tracer;
+import io.opentracing.log.Fields;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+
+/**
+ * Updates the command handling adapter instance entries of devices by means of the Device Connection service,
+ * coalescing concurrent requests for the same tenant into bulk requests.
+ * <p>
+ * At most one request per tenant is outstanding at any time. As long as a request is outstanding, subsequent
+ * requests for the same tenant are queued. Once the outstanding request has completed, the queued requests are
+ * sent in order, with consecutive requests of the same kind (and lifespan) being combined into a single
+ * bulk request. If no other request is outstanding for the tenant, a request is sent immediately, so that
+ * no additional latency is introduced if the number of requests is low.
+ * <p>
+ * This is to reduce the number of Device Connection service invocations in scenarios where many devices
+ * subscribe for commands at the same time, e.g. after a protocol adapter instance has been restarted.
+ * <p>
+ * Each request that is sent as part of a bulk request gets its own span, which records the bulk request
+ * and its outcome. If the Device Connection service rejects a bulk request with a <em>400 Bad Request</em>
+ * error, e.g. because it is an older version that doesn't support the bulk operations, the requests are
+ * sent individually instead and no bulk requests are sent for {@link #BULK_REQUEST_RETRY_INTERVAL}.
+ */
+final class CommandHandlingAdapterInstanceBatcher {
+
+    /**
+     * The maximum number of devices to include in a single bulk request.
+     */
+    static final int MAX_BATCH_SIZE = 500;
+    /**
+     * The period of time for which no bulk requests are sent after the Device Connection
+     * service has rejected a bulk request.
+     */
+    static final Duration BULK_REQUEST_RETRY_INTERVAL = Duration.ofMinutes(5);
+
+    private static final Logger LOG = LoggerFactory.getLogger(CommandHandlingAdapterInstanceBatcher.class);
+
+    private final BasicDeviceConnectionClientFactory deviceConnectionClientFactory;
+    private final String adapterInstanceId;
+    private final Tracer tracer;
+    /**
+     * The point in time (as returned by {@link System#nanoTime()}) before which no bulk requests
+     * are sent, or {@code null} if bulk requests are supported.
+     */
+    private volatile Long bulkRequestsUnsupportedUntil;
+    /**
+     * The queued requests per tenant. The presence of a tenant key indicates that
+     * a request for that tenant is currently outstanding.
+     */
+    private final Map<String, LinkedList<PendingRequest>> pendingRequests = new HashMap<>();
+
+    /**
+     * Creates a new batcher.
+     *
+     * @param deviceConnectionClientFactory The factory to use for creating Device Connection service clients.
+     * @param adapterInstanceId The identifier of the protocol adapter instance that handles the commands.
+     * @param tracer The tracer to use for tracking the bulk requests.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    CommandHandlingAdapterInstanceBatcher(
+            final BasicDeviceConnectionClientFactory deviceConnectionClientFactory,
+            final String adapterInstanceId,
+            final Tracer tracer) {
+        this.deviceConnectionClientFactory = Objects.requireNonNull(deviceConnectionClientFactory);
+        this.adapterInstanceId = Objects.requireNonNull(adapterInstanceId);
+        this.tracer = Objects.requireNonNull(tracer);
+    }
+
+    /**
+     * Sets this batcher's protocol adapter instance as the one that handles commands for the given device.
+     *
+     * @param tenantId The tenant id.
+     * @param deviceId The device id.
+     * @param lifespan The lifespan of the mapping entry.
+     * @param context The currently active OpenTracing span context or {@code null}.
+     * @return A future indicating the outcome of the operation.
+     * @throws NullPointerException if tenant or device id is {@code null}.
+     */
+    Future<Void> setCommandHandlingAdapterInstance(final String tenantId, final String deviceId,
+            final Duration lifespan, final SpanContext context) {
+        return submit(new PendingRequest(Objects.requireNonNull(tenantId), Objects.requireNonNull(deviceId),
+                false, lifespan, context));
+    }
+
+    /**
+     * Removes the mapping of the given device to this batcher's protocol adapter instance.
+     * <p>
+     * The returned future will be succeeded even if the device is currently not mapped to
+     * this batcher's adapter instance.
+     *
+     * @param tenantId The tenant id.
+     * @param deviceId The device id.
+     * @param context The currently active OpenTracing span context or {@code null}.
+     * @return A future indicating the outcome of the operation.
+     * @throws NullPointerException if tenant or device id is {@code null}.
+     */
+    Future<Void> removeCommandHandlingAdapterInstance(final String tenantId, final String deviceId,
+            final SpanContext context) {
+        return submit(new PendingRequest(Objects.requireNonNull(tenantId), Objects.requireNonNull(deviceId),
+                true, null, context));
+    }
+
+    private Future<Void> submit(final PendingRequest request) {
+        final boolean sendNow;
+        synchronized (pendingRequests) {
+            final LinkedList<PendingRequest> queue = pendingRequests.get(request.tenantId);
+            if (queue == null) {
+                pendingRequests.put(request.tenantId, new LinkedList<>());
+                sendNow = true;
+            } else {
+                queue.add(request);
+                sendNow = false;
+            }
+        }
+        if (sendNow) {
+            send(request.tenantId, Collections.singletonList(request));
+        }
+        return request.result.future();
+    }
+
+    private void send(final String tenantId, final List<PendingRequest> requests) {
+        deviceConnectionClientFactory.getOrCreateDeviceConnectionClient(tenantId)
+                .compose(client -> {
+                    if (requests.size() > 1 && isBulkRequestSupported()) {
+                        return sendBulkRequest(client, requests)
+                                .recover(t -> {
+                                    if (ServiceInvocationException.extractStatusCode(t) != HttpURLConnection.HTTP_BAD_REQUEST) {
+                                        return Future.failedFuture(t);
+                                    }
+                                    LOG.info("Device Connection service rejected bulk request, sending {} requests individually [tenant: {}]",
+                                            requests.size(), tenantId, t);
+                                    bulkRequestsUnsupportedUntil = System.nanoTime() + BULK_REQUEST_RETRY_INTERVAL.toNanos();
+                                    return sendSingleRequests(client, requests);
+                                });
+                    }
+                    return sendSingleRequests(client, requests);
+                })
+                .onComplete(ar -> {
+                    if (ar.failed()) {
+                        // requests that have already been completed individually are not affected
+                        requests.forEach(request -> request.result.tryFail(ar.cause()));
+                    }
+                    final List<PendingRequest> nextRequests = pollNextRequests(tenantId);
+                    if (!nextRequests.isEmpty()) {
+                        send(tenantId, nextRequests);
+                    }
+                });
+    }
+
+    private boolean isBulkRequestSupported() {
+        final Long unsupportedUntil = bulkRequestsUnsupportedUntil;
+        if (unsupportedUntil == null) {
+            return true;
+        }
+        if (System.nanoTime() - unsupportedUntil >= 0) {
+            bulkRequestsUnsupportedUntil = null;
+            return true;
+        }
+        return false;
+    }
+
+    private Future<Void> sendSingleRequests(final DeviceConnectionClient client, final List<PendingRequest> requests) {
+        @SuppressWarnings("rawtypes")
+        final List<Future> results = new ArrayList<>(requests.size());
+        for (final PendingRequest request : requests) {
+            final Future<Void> result = sendSingleRequest(client, request);
+            result.onComplete(request.result);
+            results.add(result);
+        }
+        return CompositeFuture.join(results).mapEmpty();
+    }
+
+    private Future<Void> sendSingleRequest(final DeviceConnectionClient client, final PendingRequest request) {
+        if (request.isRemoval) {
+            return client.removeCommandHandlingAdapterInstance(request.deviceId, adapterInstanceId, request.context)
+                    .mapEmpty();
+        }
+        return client.setCommandHandlingAdapterInstance(request.deviceId, adapterInstanceId, request.lifespan,
+                request.context);
+    }
+
+    private Future<Void> sendBulkRequest(final DeviceConnectionClient client, final List<PendingRequest> requests) {
+        final PendingRequest first = requests.get(0);
+        // the same device may be contained multiple times
+        final LinkedHashSet<String> deviceIds = new LinkedHashSet<>(requests.size());
+        requests.forEach(request -> deviceIds.add(request.deviceId));
+        LOG.debug("sending bulk request for {} devices [tenant: {}, removal: {}]", deviceIds.size(),
+                first.tenantId, first.isRemoval);
+
+        // record the bulk request in the trace of every request that is part of it
+        final String operationName = first.isRemoval ? "remove command handling adapter instance (bulk)"
+                : "set command handling adapter instance (bulk)";
+        final Map<String, Object> items = new HashMap<>(3);
+        items.put(Fields.EVENT, "sending bulk request");
+        items.put("number_of_devices", deviceIds.size());
+        items.put("number_of_requests", requests.size());
+        final List<Span> spans = new ArrayList<>(requests.size());
+        for (final PendingRequest request : requests) {
+            final Span span = TracingHelper.buildChildSpan(tracer, request.context, operationName, getClass().getSimpleName())
+                    .start();
+            TracingHelper.setDeviceTags(span, request.tenantId, request.deviceId);
+            span.log(items);
+            spans.add(span);
+        }
+
+        final SpanContext bulkContext = spans.get(0).context();
+        final Future<Void> result;
+        if (first.isRemoval) {
+            result = client.removeCommandHandlingAdapterInstanceForDevices(new ArrayList<>(deviceIds),
+                    adapterInstanceId, bulkContext);
+        } else {
+            result = client.setCommandHandlingAdapterInstanceForDevices(new ArrayList<>(deviceIds), adapterInstanceId,
+                    first.lifespan, bulkContext);
+        }
+        return result.onComplete(ar -> {
+            if (ar.succeeded()) {
+                requests.forEach(request -> request.result.tryComplete());
+            }
+            spans.forEach(span -> {
+                if (ar.failed()) {
+                    TracingHelper.logError(span, ar.cause());
+                }
+                span.finish();
+            });
+        });
+    }
+
+    /**
+     * Removes the next requests to be sent for a tenant from the queue.
+     * <p>
+     * The returned list consists of the longest sequence of queued requests that can be
+     * combined into one bulk request, limited to {@link #MAX_BATCH_SIZE} entries.
+     * If there are no queued requests, the tenant is marked as having no outstanding request.
+     *
+     * @param tenantId The tenant id.
+     * @return The requests (may be empty).
+     */
+    private List<PendingRequest> pollNextRequests(final String tenantId) {
+        synchronized (pendingRequests) {
+            final LinkedList<PendingRequest> queue = pendingRequests.get(tenantId);
+            if (queue.isEmpty()) {
+                pendingRequests.remove(tenantId);
+                return Collections.emptyList();
+            }
+            final List<PendingRequest> result = new ArrayList<>();
+            final PendingRequest first = queue.peek();
+            while (!queue.isEmpty() && result.size() < MAX_BATCH_SIZE && queue.peek().canBeCombinedWith(first)) {
+                result.add(queue.poll());
+            }
+            return result;
+        }
+    }
+
+    /**
+     * A request waiting to be sent.
+     */
+    private static final class PendingRequest {
+
+        private final String tenantId;
+        private final String deviceId;
+        private final boolean isRemoval;
+        private final Duration lifespan;
+        private final SpanContext context;
+        private final Promise<Void> result = Promise.promise();
+
+        PendingRequest(final String tenantId, final String deviceId, final boolean isRemoval,
+                final Duration lifespan, final SpanContext context) {
+            this.tenantId = tenantId;
+            this.deviceId = deviceId;
+            this.isRemoval = isRemoval;
+            this.lifespan = lifespan;
+            this.context = context;
+        }
+
+        boolean canBeCombinedWith(final PendingRequest other) {
+            return isRemoval == other.isRemoval && Objects.equals(lifespan, other.lifespan);
+        }
+    }
+}
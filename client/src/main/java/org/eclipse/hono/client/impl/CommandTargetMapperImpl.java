@@ -14,12 +14,15 @@
 package org.eclipse.hono.client.impl;
 
 import java.net.HttpURLConnection;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.eclipse.hono.cache.CacheProvider;
+import org.eclipse.hono.cache.ExpiringValueCache;
 import org.eclipse.hono.client.BasicDeviceConnectionClientFactory;
 import org.eclipse.hono.client.CommandTargetMapper;
 import org.eclipse.hono.client.RegistrationClientFactory;
@@ -29,6 +32,7 @@ import org.eclipse.hono.tracing.TracingHelper;
 import org.eclipse.hono.util.DeviceConnectionConstants;
 import org.eclipse.hono.util.MessageHelper;
 import org.eclipse.hono.util.RegistrationConstants;
+import org.eclipse.hono.util.TriTuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,12 +47,20 @@ import io.vertx.core.json.JsonObject;
 /**
  * A component for mapping an incoming command to the gateway (if applicable)
  * and protocol adapter instance that can handle it.
+ * <p>
+ * If a cache provider is given, the determined command targets are cached for a
+ * (short) period of time. During that period, commands to the same device are routed
+ * to the cached target without invoking the Device Registration and Device Connection
+ * services.
  */
 public class CommandTargetMapperImpl implements CommandTargetMapper {
 
     private static final Logger LOG = LoggerFactory.getLogger(CommandTargetMapperImpl.class);
+    private static final String CACHE_NAME = "command-targets";
 
     private final Tracer tracer;
+    private final ExpiringValueCache<TriTuple<String, String, String>, JsonObject> targetCache;
+    private final Duration cacheTimeout;
     private final AtomicBoolean initialized = new AtomicBoolean(false);
     private RegistrationClientFactory registrationClientFactory;
     private BasicDeviceConnectionClientFactory deviceConnectionClientFactory;
@@ -60,7 +72,26 @@ public class CommandTargetMapperImpl implements CommandTargetMapper {
      * @throws NullPointerException if tracer is {@code null}.
      */
     public CommandTargetMapperImpl(final Tracer tracer) {
+        this(tracer, null, Duration.ZERO);
+    }
+
+    /**
+     * Creates a new CommandTargetMapperImpl instance which caches the determined command targets.
+     *
+     * @param tracer The tracer instance.
+     * @param cacheProvider The provider of the cache for command targets or {@code null} if
+     *                      command targets should not be cached.
+     * @param cacheTimeout The period of time after which cached command targets are considered invalid.
+     * @throws NullPointerException if tracer or cache timeout is {@code null}.
+     * @throws IllegalArgumentException if a cache provider is given and the cache timeout is not positive.
+     */
+    public CommandTargetMapperImpl(final Tracer tracer, final CacheProvider cacheProvider, final Duration cacheTimeout) {
         this.tracer = Objects.requireNonNull(tracer);
+        this.cacheTimeout = Objects.requireNonNull(cacheTimeout);
+        if (cacheProvider != null && (cacheTimeout.isZero() || cacheTimeout.isNegative())) {
+            throw new IllegalArgumentException("cache timeout must be greater than zero");
+        }
+        this.targetCache = cacheProvider != null ? cacheProvider.getCache(CACHE_NAME) : null;
     }
 
     @Override
@@ -71,6 +102,16 @@ public class CommandTargetMapperImpl implements CommandTargetMapper {
         initialized.set(true);
     }
 
+    @Override
+    public final void invalidateCommandTarget(final String tenantId, final String deviceId) {
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(deviceId);
+        if (targetCache != null) {
+            LOG.trace("invalidating cached command target [tenant: {}, device-id: {}]", tenantId, deviceId);
+            targetCache.remove(TriTuple.of(CACHE_NAME, tenantId, deviceId));
+        }
+    }
+
     @Override
     public final Future<JsonObject> getTargetGatewayAndAdapterInstance(final String tenantId, final String deviceId, final SpanContext context) {
         if (!initialized.get()) {
@@ -85,6 +126,18 @@ public class CommandTargetMapperImpl implements CommandTargetMapper {
                 .withTag(TracingHelper.TAG_DEVICE_ID, deviceId)
                 .start();
 
+        final TriTuple<String, String, String> cacheKey = TriTuple.of(CACHE_NAME, tenantId, deviceId);
+        final JsonObject cachedTarget = targetCache != null ? targetCache.get(cacheKey) : null;
+        if (cachedTarget != null) {
+            LOG.trace("using cached command target [tenant: {}, device-id: {}]", tenantId, deviceId);
+            span.log("using cached command target");
+            TracingHelper.TAG_CACHE_HIT.set(span, true);
+            span.setTag(MessageHelper.APP_PROPERTY_ADAPTER_INSTANCE_ID,
+                    cachedTarget.getString(DeviceConnectionConstants.FIELD_ADAPTER_INSTANCE_ID));
+            span.finish();
+            return Future.succeededFuture(cachedTarget.copy());
+        }
+
         return registrationClientFactory.getOrCreateRegistrationClient(tenantId)
                 .compose(client -> client.assertRegistration(deviceId, null, span.context()))
                 .recover(t -> {
@@ -100,6 +153,9 @@ public class CommandTargetMapperImpl implements CommandTargetMapper {
                             .compose(client -> client.getCommandHandlingAdapterInstances(deviceId, viaGateways, span.context()))
                             .compose(resultJson -> determineTargetInstanceJson(resultJson, deviceId, viaGateways, span));
                 }).map(result -> {
+                    if (targetCache != null) {
+                        targetCache.put(cacheKey, result.copy(), cacheTimeout);
+                    }
                     span.finish();
                     return result;
                 }).recover(t -> {
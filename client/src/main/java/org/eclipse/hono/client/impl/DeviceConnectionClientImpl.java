@@ -53,6 +53,7 @@ import io.vertx.proton.ProtonSender;
 public class DeviceConnectionClientImpl extends AbstractRequestResponseClient<DeviceConnectionResult> implements DeviceConnectionClient {
 
     private static final Logger LOG = LoggerFactory.getLogger(DeviceConnectionClientImpl.class);
+    private static final String TAG_NUMBER_OF_DEVICES = "number_of_devices";
 
     /**
      * Creates a new client for accessing the Device Connection service.
@@ -302,6 +303,77 @@ public class DeviceConnectionClientImpl extends AbstractRequestResponseClient<De
         }, currentSpan);
     }
 
+    @Override
+    public Future<Void> setCommandHandlingAdapterInstanceForDevices(final List<String> deviceIds,
+            final String adapterInstanceId, final Duration lifespan, final SpanContext context) {
+        Objects.requireNonNull(deviceIds);
+        Objects.requireNonNull(adapterInstanceId);
+
+        final int lifespanSeconds = lifespan != null && lifespan.getSeconds() <= Integer.MAX_VALUE ? (int) lifespan.getSeconds() : -1;
+        final Map<String, Object> properties = new HashMap<>();
+        properties.put(MessageHelper.APP_PROPERTY_ADAPTER_INSTANCE_ID, adapterInstanceId);
+        properties.put(MessageHelper.APP_PROPERTY_LIFESPAN, lifespanSeconds);
+        final JsonObject payload = new JsonObject();
+        payload.put(DeviceConnectionConstants.FIELD_DEVICE_IDS, new JsonArray(deviceIds));
+
+        final Span currentSpan = newChildSpan(context, "set command handling adapter instance for devices");
+        TracingHelper.TAG_TENANT_ID.set(currentSpan, getTenantId());
+        currentSpan.setTag(TAG_NUMBER_OF_DEVICES, deviceIds.size());
+        currentSpan.setTag(MessageHelper.APP_PROPERTY_ADAPTER_INSTANCE_ID, adapterInstanceId);
+        currentSpan.setTag(MessageHelper.APP_PROPERTY_LIFESPAN, lifespanSeconds);
+        final Promise<DeviceConnectionResult> resultTracker = Promise.promise();
+        createAndSendRequest(
+                DeviceConnectionConstants.DeviceConnectionAction.SET_CMD_HANDLING_ADAPTER_INSTANCE_FOR_DEVICES.getSubject(),
+                properties,
+                payload.toBuffer(),
+                RequestResponseApiConstants.CONTENT_TYPE_APPLICATION_JSON,
+                resultTracker,
+                null,
+                currentSpan);
+        return mapResultAndFinishSpan(resultTracker.future(), result -> {
+            switch (result.getStatus()) {
+                case HttpURLConnection.HTTP_NO_CONTENT:
+                    return null;
+                default:
+                    throw StatusCodeMapper.from(result);
+            }
+        }, currentSpan);
+    }
+
+    @Override
+    public Future<Void> removeCommandHandlingAdapterInstanceForDevices(final List<String> deviceIds,
+            final String adapterInstanceId, final SpanContext context) {
+        Objects.requireNonNull(deviceIds);
+        Objects.requireNonNull(adapterInstanceId);
+
+        final Map<String, Object> properties = new HashMap<>();
+        properties.put(MessageHelper.APP_PROPERTY_ADAPTER_INSTANCE_ID, adapterInstanceId);
+        final JsonObject payload = new JsonObject();
+        payload.put(DeviceConnectionConstants.FIELD_DEVICE_IDS, new JsonArray(deviceIds));
+
+        final Span currentSpan = newChildSpan(context, "remove command handling adapter instance for devices");
+        TracingHelper.TAG_TENANT_ID.set(currentSpan, getTenantId());
+        currentSpan.setTag(TAG_NUMBER_OF_DEVICES, deviceIds.size());
+        currentSpan.setTag(MessageHelper.APP_PROPERTY_ADAPTER_INSTANCE_ID, adapterInstanceId);
+        final Promise<DeviceConnectionResult> resultTracker = Promise.promise();
+        createAndSendRequest(
+                DeviceConnectionConstants.DeviceConnectionAction.REMOVE_CMD_HANDLING_ADAPTER_INSTANCE_FOR_DEVICES.getSubject(),
+                properties,
+                payload.toBuffer(),
+                RequestResponseApiConstants.CONTENT_TYPE_APPLICATION_JSON,
+                resultTracker,
+                null,
+                currentSpan);
+        return mapResultAndFinishSpan(resultTracker.future(), result -> {
+            switch (result.getStatus()) {
+                case HttpURLConnection.HTTP_NO_CONTENT:
+                    return null;
+                default:
+                    throw StatusCodeMapper.from(result);
+            }
+        }, currentSpan);
+    }
+
     @Override
     public Future<JsonObject> getCommandHandlingAdapterInstances(final String deviceId, final List<String> viaGateways, final SpanContext context) {
         Objects.requireNonNull(deviceId);
@@ -76,7 +76,8 @@ public class ProtocolAdapterCommandConsumerFactoryImpl extends AbstractHonoClien
     private final AtomicBoolean recreatingConsumers = new AtomicBoolean(false);
     private final AtomicBoolean tryAgainRecreatingConsumers = new AtomicBoolean(false);
 
-    private BasicDeviceConnectionClientFactory deviceConnectionClientFactory;
+    private CommandTargetMapper commandTargetMapper;
+    private CommandHandlingAdapterInstanceBatcher commandHandlingAdapterInstanceBatcher;
     private MappingAndDelegatingCommandHandler mappingAndDelegatingCommandHandler;
     private ProtonReceiver adapterSpecificConsumer;
     private final AtomicBoolean initialized = new AtomicBoolean(false);
@@ -99,7 +100,11 @@ public class ProtocolAdapterCommandConsumerFactoryImpl extends AbstractHonoClien
     public void initialize(final CommandTargetMapper commandTargetMapper,
             final BasicDeviceConnectionClientFactory deviceConnectionClientFactory) {
         Objects.requireNonNull(commandTargetMapper);
-        this.deviceConnectionClientFactory = Objects.requireNonNull(deviceConnectionClientFactory);
+        Objects.requireNonNull(deviceConnectionClientFactory);
+
+        this.commandTargetMapper = commandTargetMapper;
+        commandHandlingAdapterInstanceBatcher = new CommandHandlingAdapterInstanceBatcher(
+                deviceConnectionClientFactory, adapterInstanceId, connection.getTracer());
 
         mappingAndDelegatingCommandHandler = new MappingAndDelegatingCommandHandler(connection,
                 commandTargetMapper, adapterInstanceCommandHandler, adapterInstanceId);
@@ -182,8 +187,10 @@ public class ProtocolAdapterCommandConsumerFactoryImpl extends AbstractHonoClien
 
     private Future<Void> setCommandHandlingAdapterInstance(final String tenantId, final String deviceId,
             final Duration lifespan, final SpanContext context) {
-        return deviceConnectionClientFactory.getOrCreateDeviceConnectionClient(tenantId)
-                .compose(client -> client.setCommandHandlingAdapterInstance(deviceId, adapterInstanceId, lifespan, context))
+        // requests are coalesced into bulk requests when many devices subscribe at the same time
+        return commandHandlingAdapterInstanceBatcher.setCommandHandlingAdapterInstance(tenantId, deviceId, lifespan, context)
+                // a locally cached command target of the device is outdated now
+                .onComplete(ar -> commandTargetMapper.invalidateCommandTarget(tenantId, deviceId))
                 .recover(thr -> {
                     log.info("error setting command handling adapter instance [tenant: {}, device: {}]", tenantId,
                             deviceId, thr);
@@ -198,15 +205,13 @@ public class ProtocolAdapterCommandConsumerFactoryImpl extends AbstractHonoClien
         log.trace("remove command consumer [tenant-id: {}, device-id: {}]", tenantId, deviceId);
         adapterInstanceCommandHandler.removeDeviceSpecificCommandHandler(tenantId, deviceId);
 
-        return deviceConnectionClientFactory.getOrCreateDeviceConnectionClient(tenantId)
-                .compose(client -> client.removeCommandHandlingAdapterInstance(deviceId, adapterInstanceId,
-                        onCloseSpanContext))
+        return commandHandlingAdapterInstanceBatcher.removeCommandHandlingAdapterInstance(tenantId, deviceId, onCloseSpanContext)
+                .onComplete(ar -> commandTargetMapper.invalidateCommandTarget(tenantId, deviceId))
                 .recover(thr -> {
                     log.warn("error removing command handling adapter instance [tenant: {}, device: {}]", tenantId,
                             deviceId, thr);
                     return Future.failedFuture(thr);
-                })
-                .mapEmpty();
+                });
     }
 
     private Future<MessageConsumer> getOrCreateMappingAndDelegatingCommandConsumer(final String tenantId) {
@@ -18,11 +18,15 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.util.Collections;
 
+import org.eclipse.hono.cache.CacheProvider;
+import org.eclipse.hono.cache.ExpiringValueCache;
 import org.eclipse.hono.client.DeviceConnectionClient;
 import org.eclipse.hono.client.DeviceConnectionClientFactory;
 import org.eclipse.hono.client.RegistrationClient;
@@ -45,6 +49,9 @@ import io.vertx.core.json.JsonObject;
 public class CommandTargetMapperImplTest {
 
     private CommandTargetMapperImpl commandTargetMapper;
+    private Tracer tracer;
+    private RegistrationClientFactory registrationClientFactory;
+    private DeviceConnectionClientFactory deviceConnectionClientFactory;
     private RegistrationClient regClient;
     private DeviceConnectionClient devConClient;
     private String tenantId;
@@ -60,18 +67,18 @@ public class CommandTargetMapperImplTest {
         span = mock(Span.class);
         when(span.context()).thenReturn(spanContext);
         final Tracer.SpanBuilder spanBuilder = HonoClientUnitTestHelper.mockSpanBuilder(span);
-        final Tracer tracer = mock(Tracer.class);
+        tracer = mock(Tracer.class);
         when(tracer.buildSpan(anyString())).thenReturn(spanBuilder);
 
         tenantId = "testTenant";
         deviceId = "testDevice";
         regClient = mock(RegistrationClient.class);
-        final RegistrationClientFactory registrationClientFactory = mock(RegistrationClientFactory.class);
+        registrationClientFactory = mock(RegistrationClientFactory.class);
         when(registrationClientFactory.getOrCreateRegistrationClient(anyString()))
                 .thenReturn(Future.succeededFuture(regClient));
 
         devConClient = mock(DeviceConnectionClient.class);
-        final DeviceConnectionClientFactory deviceConnectionClientFactory = mock(DeviceConnectionClientFactory.class);
+        deviceConnectionClientFactory = mock(DeviceConnectionClientFactory.class);
         when(deviceConnectionClientFactory.getOrCreateDeviceConnectionClient(anyString()))
                 .thenReturn(Future.succeededFuture(devConClient));
         commandTargetMapper = new CommandTargetMapperImpl(tracer);
@@ -182,4 +189,56 @@ public class CommandTargetMapperImplTest {
         verify(span).finish();
     }
 
+    /**
+     * Verifies that the <em>getTargetGatewayAndAdapterInstance</em> method puts the determined
+     * command target to the cache and returns a cached command target without invoking the
+     * Device Registration and Device Connection services.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testGetTargetGatewayAndAdapterInstanceUsesCache() {
+        final ExpiringValueCache<Object, Object> cache = mock(ExpiringValueCache.class);
+        final CacheProvider cacheProvider = mock(CacheProvider.class);
+        when(cacheProvider.getCache(anyString())).thenReturn(cache);
+        final Duration cacheTimeout = Duration.ofSeconds(3);
+        commandTargetMapper = new CommandTargetMapperImpl(tracer, cacheProvider, cacheTimeout);
+        commandTargetMapper.initialize(registrationClientFactory, deviceConnectionClientFactory);
+
+        // GIVEN assertRegistration result with no 'via'
+        when(regClient.assertRegistration(anyString(), any(), any())).thenReturn(Future.succeededFuture(new JsonObject()));
+        // and a getCommandHandlingAdapterInstances result with one object for the device
+        final JsonObject adapterInstanceEntry = new JsonObject()
+                .put(DeviceConnectionConstants.FIELD_PAYLOAD_DEVICE_ID, deviceId)
+                .put(DeviceConnectionConstants.FIELD_ADAPTER_INSTANCE_ID, "adapter1");
+        final JsonObject adapterInstancesResult = new JsonObject()
+                .put(DeviceConnectionConstants.FIELD_ADAPTER_INSTANCES, new JsonArray().add(adapterInstanceEntry));
+        when(devConClient.getCommandHandlingAdapterInstances(eq(deviceId), any(), any())).thenReturn(Future.succeededFuture(adapterInstancesResult));
+
+        // WHEN getTargetGatewayAndAdapterInstance() is invoked with no cached entry
+        Future<JsonObject> result = commandTargetMapper.getTargetGatewayAndAdapterInstance(tenantId, deviceId, null);
+
+        // THEN the result has been determined via the services and has been put to the cache
+        assertThat(result.succeeded()).isTrue();
+        assertThat(result.result()).isEqualTo(adapterInstanceEntry);
+        verify(cache).put(any(), eq(adapterInstanceEntry), eq(cacheTimeout));
+
+        // WHEN getTargetGatewayAndAdapterInstance() is invoked for a device with a cached entry
+        final JsonObject cachedEntry = new JsonObject()
+                .put(DeviceConnectionConstants.FIELD_PAYLOAD_DEVICE_ID, "otherDevice")
+                .put(DeviceConnectionConstants.FIELD_ADAPTER_INSTANCE_ID, "adapter2");
+        when(cache.get(any())).thenReturn(cachedEntry);
+        result = commandTargetMapper.getTargetGatewayAndAdapterInstance(tenantId, "otherDevice", null);
+
+        // THEN the cached entry is returned without invoking the services
+        assertThat(result.succeeded()).isTrue();
+        assertThat(result.result()).isEqualTo(cachedEntry);
+        verify(regClient, never()).assertRegistration(eq("otherDevice"), any(), any());
+        verify(devConClient, never()).getCommandHandlingAdapterInstances(eq("otherDevice"), any(), any());
+
+        // WHEN the command target of the device is invalidated
+        commandTargetMapper.invalidateCommandTarget(tenantId, "otherDevice");
+
+        // THEN the cached entry is removed
+        verify(cache).remove(any());
+    }
 }
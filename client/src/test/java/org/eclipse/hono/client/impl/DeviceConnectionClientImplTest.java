@@ -23,6 +23,7 @@ import static org.mockito.Mockito.when;
 
 import java.net.HttpURLConnection;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collections;
 
 import org.apache.qpid.proton.amqp.messaging.Rejected;
@@ -655,6 +656,63 @@ public class DeviceConnectionClientImplTest {
         assertThat(MessageHelper.getJsonPayload(sentMessage)).isNull();
     }
 
+    /**
+     * Verifies that the client includes the required information in the <em>set-cmd-handling-adapter-instance-for-devices</em>
+     * operation request message sent to the device connection service.
+     */
+    @Test
+    public void testSetCommandHandlingAdapterInstanceForDevicesIncludesRequiredInformationInRequest() {
+
+        // WHEN setting the command handling adapter instance for multiple devices
+        client.setCommandHandlingAdapterInstanceForDevices(Arrays.asList("device1", "device2"), "adapterInstanceId",
+                Duration.ofSeconds(20), span.context());
+
+        // THEN the message being sent contains the adapter instance and lifespan in its properties
+        final Message sentMessage = verifySenderSend();
+        assertThat(MessageHelper.getDeviceId(sentMessage)).isNull();
+        assertThat(MessageHelper.getApplicationProperty(sentMessage.getApplicationProperties(),
+                MessageHelper.APP_PROPERTY_ADAPTER_INSTANCE_ID, String.class))
+                .isEqualTo("adapterInstanceId");
+        assertThat(MessageHelper.getApplicationProperty(sentMessage.getApplicationProperties(),
+                MessageHelper.APP_PROPERTY_LIFESPAN, Integer.class))
+                .isEqualTo(20);
+        assertThat(sentMessage.getMessageId()).isNotNull();
+        assertThat(sentMessage.getSubject()).isEqualTo(
+                DeviceConnectionConstants.DeviceConnectionAction.SET_CMD_HANDLING_ADAPTER_INSTANCE_FOR_DEVICES.getSubject());
+        // and the device IDs in the payload
+        final JsonObject msgJsonPayload = MessageHelper.getJsonPayload(sentMessage);
+        assertThat(msgJsonPayload).isNotNull();
+        assertThat(msgJsonPayload.getJsonArray(DeviceConnectionConstants.FIELD_DEVICE_IDS).getList())
+                .containsExactly("device1", "device2");
+    }
+
+    /**
+     * Verifies that the client handles the response of the <em>remove-cmd-handling-adapter-instance-for-devices</em>
+     * operation from the Device Connection service.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testRemoveCommandHandlingAdapterInstanceForDevices(final VertxTestContext ctx) {
+
+        // WHEN removing the command handling adapter instance for multiple devices
+        client.removeCommandHandlingAdapterInstanceForDevices(Arrays.asList("device1", "device2"), "adapterInstanceId",
+                span.context())
+                .onComplete(ctx.succeeding(r -> {
+                    ctx.verify(() -> {
+                        // THEN the response has been handled and the span is finished
+                        verify(span).finish();
+                    });
+                    ctx.completeNow();
+                }));
+
+        final Message sentMessage = verifySenderSend();
+        assertThat(sentMessage.getSubject()).isEqualTo(
+                DeviceConnectionConstants.DeviceConnectionAction.REMOVE_CMD_HANDLING_ADAPTER_INSTANCE_FOR_DEVICES.getSubject());
+        final Message response = createNoContentResponseMessage(sentMessage.getMessageId());
+        client.handleResponse(mock(ProtonDelivery.class), response);
+    }
+
     /**
      * Verifies that the client includes the required information in the <em>remove-cmd-handling-adapter-instance</em> operation
      * request message sent to the device connection service.
@@ -17,19 +17,25 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.net.HttpURLConnection;
 import java.time.Duration;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
+import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.client.CommandContext;
 import org.eclipse.hono.client.CommandTargetMapper;
 import org.eclipse.hono.client.DeviceConnectionClient;
@@ -44,10 +50,16 @@ import org.eclipse.hono.util.ResourceIdentifier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
 
+import io.opentracing.Span;
+import io.opentracing.SpanContext;
+import io.opentracing.Tracer;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.EventBus;
 import io.vertx.junit5.Timeout;
@@ -73,6 +85,7 @@ public class ProtocolAdapterCommandConsumerFactoryImplTest {
     private ProtocolAdapterCommandConsumerFactoryImpl commandConsumerFactory;
     private CommandTargetMapper commandTargetMapper;
     private DeviceConnectionClient devConClient;
+    private DeviceConnectionClientFactory deviceConnectionClientFactory;
     private ProtonReceiver adapterInstanceCommandReceiver;
     private ProtonReceiver mappingAndDelegatingCommandReceiver;
     private String adapterInstanceCommandConsumerAddress;
@@ -129,7 +142,7 @@ public class ProtocolAdapterCommandConsumerFactoryImplTest {
                 VertxMockSupport.anyHandler())).thenReturn(Future.succeededFuture(mappingAndDelegatingCommandReceiver));
         commandTargetMapper = mock(CommandTargetMapper.class);
         devConClient = mock(DeviceConnectionClient.class);
-        final DeviceConnectionClientFactory deviceConnectionClientFactory = mock(DeviceConnectionClientFactory.class);
+        deviceConnectionClientFactory = mock(DeviceConnectionClientFactory.class);
         when(deviceConnectionClientFactory.connect()).thenReturn(Future.succeededFuture(mock(HonoConnection.class)));
         when(deviceConnectionClientFactory.getOrCreateDeviceConnectionClient(anyString()))
                 .thenReturn(Future.succeededFuture(devConClient));
@@ -171,7 +184,8 @@ public class ProtocolAdapterCommandConsumerFactoryImplTest {
 
     /**
      * Verifies that creating a command consumer successfully creates a tenant-scoped
-     * receiver link and registers the command handling adapter instance.
+     * receiver link, registers the command handling adapter instance and invalidates
+     * the locally cached command target of the device.
      *
      * @param ctx The test context.
      */
@@ -186,6 +200,7 @@ public class ProtocolAdapterCommandConsumerFactoryImplTest {
                     verify(connection).createReceiver(eq(tenantCommandAddress), eq(ProtonQoS.AT_LEAST_ONCE), any(), anyInt(),
                             eq(false), any());
                     verify(devConClient).setCommandHandlingAdapterInstance(eq(deviceId), anyString(), any(), any());
+                    verify(commandTargetMapper).invalidateCommandTarget(tenantId, deviceId);
                 });
                 ctx.completeNow();
             }));
@@ -215,6 +230,8 @@ public class ProtocolAdapterCommandConsumerFactoryImplTest {
                     ctx.verify(() -> {
                         // verify command handling adapter instance has been explicitly removed (since lifespan hasn't elapsed yet)
                         verify(devConClient).removeCommandHandlingAdapterInstance(eq(deviceId), anyString(), any());
+                        // and the locally cached command target has been invalidated on creation and on removal
+                        verify(commandTargetMapper, times(2)).invalidateCommandTarget(tenantId, deviceId);
                     });
                     ctx.completeNow();
                 }));
@@ -222,4 +239,97 @@ public class ProtocolAdapterCommandConsumerFactoryImplTest {
         }));
     }
 
+    /**
+     * Verifies that command consumers being created while a request to set the command
+     * handling adapter instance is still outstanding lead to a single bulk request
+     * for the corresponding devices, which is recorded in the trace of each of the
+     * coalesced requests.
+     *
+     * @param ctx The test context.
+     */
+    @Test
+    public void testCreateCommandConsumersCoalescesRequests(final VertxTestContext ctx) {
+
+        final Span span = mock(Span.class);
+        when(span.context()).thenReturn(mock(SpanContext.class));
+        final Tracer.SpanBuilder spanBuilder = mock(Tracer.SpanBuilder.class, Mockito.RETURNS_SELF);
+        when(spanBuilder.start()).thenReturn(span);
+        final Tracer tracer = mock(Tracer.class);
+        when(tracer.buildSpan(anyString())).thenReturn(spanBuilder);
+        when(connection.getTracer()).thenReturn(tracer);
+        commandConsumerFactory = new ProtocolAdapterCommandConsumerFactoryImpl(connection);
+        commandConsumerFactory.initialize(commandTargetMapper, deviceConnectionClientFactory);
+
+        final Handler<CommandContext> commandHandler = VertxMockSupport.mockHandler();
+        final Promise<Void> firstRequestResult = Promise.promise();
+        when(devConClient.setCommandHandlingAdapterInstance(eq("device1"), anyString(), any(), any()))
+                .thenReturn(firstRequestResult.future());
+        when(devConClient.setCommandHandlingAdapterInstanceForDevices(anyList(), anyString(), any(), any()))
+                .thenReturn(Future.succeededFuture());
+
+        // GIVEN an outstanding request for setting the adapter instance of a device
+        final Future<ProtocolAdapterCommandConsumer> consumer1 = commandConsumerFactory.createCommandConsumer(
+                tenantId, "device1", commandHandler, null, null);
+        // WHEN creating command consumers for other devices
+        final Future<ProtocolAdapterCommandConsumer> consumer2 = commandConsumerFactory.createCommandConsumer(
+                tenantId, "device2", commandHandler, null, null);
+        final Future<ProtocolAdapterCommandConsumer> consumer3 = commandConsumerFactory.createCommandConsumer(
+                tenantId, "device3", commandHandler, null, null);
+        ctx.verify(() -> {
+            // THEN no request is sent for these devices until the outstanding request has completed
+            verify(devConClient, never()).setCommandHandlingAdapterInstanceForDevices(anyList(), anyString(), any(), any());
+        });
+        firstRequestResult.complete();
+
+        CompositeFuture.all(consumer1, consumer2, consumer3).onComplete(ctx.succeeding(ok -> {
+            ctx.verify(() -> {
+                // and the adapter instance of both devices is then set with a single request
+                verify(devConClient).setCommandHandlingAdapterInstanceForDevices(
+                        eq(List.of("device2", "device3")), eq(adapterInstanceId), any(), any());
+                verify(devConClient, never()).setCommandHandlingAdapterInstance(eq("device2"), anyString(), any(), any());
+                // which has been recorded for both devices
+                verify(span, times(2)).log(anyMap());
+                verify(span, times(2)).finish();
+            });
+            ctx.completeNow();
+        }));
+    }
+
+    /**
+     * Verifies that requests are sent individually if the Device Connection service
+     * does not support bulk requests.
+     *
+     * @param ctx The test context.
+     */
+    @Test
+    public void testCreateCommandConsumersFallsBackToSingleRequests(final VertxTestContext ctx) {
+
+        final Handler<CommandContext> commandHandler = VertxMockSupport.mockHandler();
+        final Promise<Void> firstRequestResult = Promise.promise();
+        when(devConClient.setCommandHandlingAdapterInstance(eq("device1"), anyString(), any(), any()))
+                .thenReturn(firstRequestResult.future());
+        // GIVEN a Device Connection service that doesn't support bulk requests
+        when(devConClient.setCommandHandlingAdapterInstanceForDevices(anyList(), anyString(), any(), any()))
+                .thenReturn(Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_BAD_REQUEST)));
+
+        // WHEN creating command consumers while a request is outstanding
+        final Future<ProtocolAdapterCommandConsumer> consumer1 = commandConsumerFactory.createCommandConsumer(
+                tenantId, "device1", commandHandler, null, null);
+        final Future<ProtocolAdapterCommandConsumer> consumer2 = commandConsumerFactory.createCommandConsumer(
+                tenantId, "device2", commandHandler, null, null);
+        final Future<ProtocolAdapterCommandConsumer> consumer3 = commandConsumerFactory.createCommandConsumer(
+                tenantId, "device3", commandHandler, null, null);
+        firstRequestResult.complete();
+
+        CompositeFuture.all(consumer1, consumer2, consumer3).onComplete(ctx.succeeding(ok -> {
+            ctx.verify(() -> {
+                // THEN the rejected bulk request is sent as individual requests instead
+                verify(devConClient).setCommandHandlingAdapterInstanceForDevices(
+                        eq(List.of("device2", "device3")), eq(adapterInstanceId), any(), any());
+                verify(devConClient).setCommandHandlingAdapterInstance(eq("device2"), eq(adapterInstanceId), any(), any());
+                verify(devConClient).setCommandHandlingAdapterInstance(eq("device3"), eq(adapterInstanceId), any(), any());
+            });
+            ctx.completeNow();
+        }));
+    }
 }
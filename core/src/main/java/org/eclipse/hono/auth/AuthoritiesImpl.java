@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2018 Contributors to the Eclipse Foundation
+ * Copyright (c) 2016, 2020 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -25,7 +25,12 @@ import io.jsonwebtoken.Claims;
 
 /**
  * A map backed implementation of authorities on resources and operations.
- *
+ * <p>
+ * In addition to the map of authorities, each instance maintains a tree of the resources
+ * that authorities have been granted on. Each node of the tree corresponds to a segment of
+ * a resource path and holds the activities and operations granted on the resource. Checking
+ * an authorization therefore only requires looking up the segments of the resource identifier
+ * (and the corresponding wildcards) in the tree without the need to create any lookup keys.
  */
 public final class AuthoritiesImpl implements Authorities {
 
@@ -41,8 +46,12 @@ public final class AuthoritiesImpl implements Authorities {
     private static final Logger LOG = LoggerFactory.getLogger(AuthoritiesImpl.class);
     private static final String TEMPLATE_OP = PREFIX_OPERATION + "%s:%s";
     private static final String TEMPLATE_RESOURCE = PREFIX_RESOURCE + "%s";
+    private static final String WILDCARD = "*";
+    private static final int ALL_ACTIVITIES = (1 << Activity.values().length) - 1;
     // holds mapping resources -> activities
     private final Map<String, String> authorities = new HashMap<>();
+    // the same authorities organized by resource path segments
+    private final ResourceNode root = new ResourceNode();
 
     /**
      * Creates empty authorities.
@@ -63,7 +72,7 @@ public final class AuthoritiesImpl implements Authorities {
         claims.forEach((key, value) -> {
             if ((key.startsWith(PREFIX_OPERATION) || key.startsWith(PREFIX_RESOURCE)) && value instanceof String) {
                 LOG.trace("adding claim [key: {}, value: {}]", key, value);
-                result.authorities.put(key, (String) value);
+                result.put(key, (String) value);
             } else {
                 LOG.trace("ignoring unsupported claim [key: {}]", key);
             }
@@ -107,7 +116,7 @@ public final class AuthoritiesImpl implements Authorities {
      * @return This instance for command chaining.
      */
     public AuthoritiesImpl addOperation(final String endpoint, final String tenant, final String operation) {
-        authorities.put(getOperationKey(endpoint, tenant, operation), String.valueOf(Activity.EXECUTE.getCode()));
+        put(getOperationKey(endpoint, tenant, operation), String.valueOf(Activity.EXECUTE.getCode()));
         return this;
     }
 
@@ -135,7 +144,7 @@ public final class AuthoritiesImpl implements Authorities {
         for (final Activity a : activities) {
             b.append(a.getCode());
         }
-        authorities.put(getResourceKey(endpoint, tenant), b.toString());
+        put(getResourceKey(endpoint, tenant), b.toString());
         return this;
     }
 
@@ -151,25 +160,67 @@ public final class AuthoritiesImpl implements Authorities {
             .forEach(entry -> {
                 final String value = (String) entry.getValue();
                 LOG.trace("adding authority [key: {}, activities: {}]", entry.getKey(), value);
-                authorities.put(entry.getKey(), value);
+                put(entry.getKey(), value);
             });
         return this;
     }
 
+    private void put(final String key, final String activities) {
+
+        authorities.put(key, activities);
+        final int grantedActivities = getActivities(activities);
+        if (key.startsWith(PREFIX_RESOURCE)) {
+            root.getOrAddChildren(key.substring(PREFIX_RESOURCE.length())).activities = grantedActivities;
+        } else if (key.startsWith(PREFIX_OPERATION)) {
+            final int idx = key.lastIndexOf(':');
+            if (idx >= PREFIX_OPERATION.length()) {
+                final ResourceNode node = root.getOrAddChildren(key.substring(PREFIX_OPERATION.length(), idx));
+                if (node.operations == null) {
+                    node.operations = new HashMap<>();
+                }
+                node.operations.put(key.substring(idx + 1), grantedActivities);
+            } else {
+                LOG.trace("ignoring malformed operation authority [key: {}]", key);
+            }
+        }
+    }
+
+    private static int getActivities(final String activities) {
+        if (WILDCARD.equals(activities)) {
+            return ALL_ACTIVITIES;
+        }
+        int result = 0;
+        for (final Activity activity : Activity.values()) {
+            if (activities.indexOf(activity.getCode()) >= 0) {
+                result |= getMask(activity);
+            }
+        }
+        return result;
+    }
+
+    private static int getMask(final Activity activity) {
+        return 1 << activity.ordinal();
+    }
+
     @Override
     public boolean isAuthorized(final ResourceIdentifier resource, final Activity intent) {
 
+        final int mask = getMask(intent);
+        final ResourceNode endpointNode = root.getChild(resource.getEndpoint());
         boolean allowed = false;
         if (resource.getResourceId() != null) {
-            allowed = isAuthorized(String.format(TEMPLATE_RESOURCE, resource.toString()), intent);
+            allowed = hasActivity(getNode(resource), mask);
         }
-        if (!allowed && resource.getTenantId() != null) {
-            allowed = isAuthorized(String.format(TEMPLATE_RESOURCE, resource.getEndpoint() + "/" + resource.getTenantId()), intent) ||
-                    isAuthorized(String.format(TEMPLATE_RESOURCE, resource.getEndpoint() + "/*"), intent);
+        if (!allowed && resource.getTenantId() != null && endpointNode != null) {
+            allowed = hasActivity(endpointNode.getChild(resource.getTenantId()), mask) ||
+                    hasActivity(endpointNode.getChild(WILDCARD), mask);
         }
         if (!allowed) {
-            allowed = isAuthorized(String.format(TEMPLATE_RESOURCE, resource.getEndpoint()), intent) ||
-                    isAuthorized(String.format(TEMPLATE_RESOURCE, "*"), intent);
+            allowed = hasActivity(endpointNode, mask) ||
+                    hasActivity(root.getChild(WILDCARD), mask);
+        }
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("{}authorized to perform activity [{}] on resource [{}]", allowed ? "" : "not ", intent, resource);
         }
         return allowed;
     }
@@ -177,42 +228,81 @@ public final class AuthoritiesImpl implements Authorities {
     @Override
     public boolean isAuthorized(final ResourceIdentifier resource, final String operation) {
 
+        final ResourceNode endpointNode = root.getChild(resource.getEndpoint());
         boolean allowed = false;
         if (resource.getResourceId() != null) {
-            allowed = isAuthorized(String.format(TEMPLATE_OP, resource.toString(), operation), Activity.EXECUTE) ||
-                    isAuthorized(String.format(TEMPLATE_OP, resource.toString(), "*"), Activity.EXECUTE);
+            allowed = mayExecute(getNode(resource), operation);
         }
-        if (!allowed && resource.getTenantId() != null) {
-            allowed = isAuthorized(String.format(TEMPLATE_OP, resource.getEndpoint() + "/" + resource.getTenantId(), operation), Activity.EXECUTE) ||
-                    isAuthorized(String.format(TEMPLATE_OP, resource.getEndpoint() + "/" + resource.getTenantId(), "*"), Activity.EXECUTE) ||
-                    isAuthorized(String.format(TEMPLATE_OP, resource.getEndpoint() + "/*", operation), Activity.EXECUTE) ||
-                    isAuthorized(String.format(TEMPLATE_OP, resource.getEndpoint() + "/*", "*"), Activity.EXECUTE);
+        if (!allowed && resource.getTenantId() != null && endpointNode != null) {
+            allowed = mayExecute(endpointNode.getChild(resource.getTenantId()), operation) ||
+                    mayExecute(endpointNode.getChild(WILDCARD), operation);
         }
         if (!allowed) {
-            allowed = isAuthorized(String.format(TEMPLATE_OP, resource.getEndpoint(), operation), Activity.EXECUTE) ||
-                    isAuthorized(String.format(TEMPLATE_OP, resource.getEndpoint(), "*"), Activity.EXECUTE) ||
-                    isAuthorized(String.format(TEMPLATE_OP, "*", operation), Activity.EXECUTE) ||
-                    isAuthorized(String.format(TEMPLATE_OP, "*", "*"), Activity.EXECUTE);
+            allowed = mayExecute(endpointNode, operation) ||
+                    mayExecute(root.getChild(WILDCARD), operation);
+        }
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("{}authorized to execute operation [{}] on resource [{}]", allowed ? "" : "not ", operation, resource);
         }
         return allowed;
     }
 
+    /**
+     * Gets the node corresponding to all segments of a resource identifier.
+     */
+    private ResourceNode getNode(final ResourceIdentifier resource) {
+        ResourceNode node = root;
+        for (int i = 0; i < resource.length() && node != null; i++) {
+            final String segment = resource.elementAt(i);
+            node = node.getChild(segment == null ? "" : segment);
+        }
+        return node;
+    }
+
+    private static boolean hasActivity(final ResourceNode node, final int mask) {
+        return node != null && (node.activities & mask) != 0;
+    }
+
+    private static boolean mayExecute(final ResourceNode node, final String operation) {
+        return node != null && (node.mayExecute(operation) || node.mayExecute(WILDCARD));
+    }
+
     @Override
     public Map<String, Object> asMap() {
         final Map<String, Object> result = new HashMap<>(authorities);
         return result;
     }
 
-    boolean isAuthorized(final String key, final Activity intent) {
-        boolean result = false;
-        final String grantedActivities = authorities.get(key);
-        if (grantedActivities == null) {
-            LOG.trace("no claim for key [{}]", key);
-        } else {
-            result = grantedActivities.contains(String.valueOf(intent.getCode())) ||
-                    grantedActivities.equals("*");
-            LOG.trace("found claim [key: {}, activities: {}] {}matching intent [{}]", key, grantedActivities, result ? "" : "not ", intent.name());
+    /**
+     * A node in the tree of resources that authorities have been granted on.
+     */
+    private static final class ResourceNode {
+
+        private Map<String, ResourceNode> children;
+        private Map<String, Integer> operations;
+        private int activities;
+
+        ResourceNode getChild(final String segment) {
+            return children == null ? null : children.get(segment);
+        }
+
+        ResourceNode getOrAddChildren(final String path) {
+            ResourceNode node = this;
+            for (final String segment : path.split("/", -1)) {
+                if (node.children == null) {
+                    node.children = new HashMap<>();
+                }
+                node = node.children.computeIfAbsent(segment, s -> new ResourceNode());
+            }
+            return node;
+        }
+
+        boolean mayExecute(final String operation) {
+            if (operations == null) {
+                return false;
+            }
+            final Integer granted = operations.get(operation);
+            return granted != null && (granted & getMask(Activity.EXECUTE)) != 0;
         }
-        return result;
     }
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2019 Contributors to the Eclipse Foundation
+ * Copyright (c) 2016, 2020 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -29,6 +29,33 @@ public class ProtocolAdapterProperties extends ServiceConfigProperties {
      * disables automatic tenant timeout.
      */
     public static final Duration DEFAULT_TENANT_IDLE_TIMEOUT = Duration.ZERO;
+    /**
+     * The default period of time for which successful password verifications are cached.
+     * The default value disables caching.
+     */
+    public static final Duration DEFAULT_PASSWORD_VERIFICATION_CACHE_TIMEOUT = Duration.ZERO;
+    /**
+     * The default maximum number of successful password verifications to cache.
+     */
+    public static final int DEFAULT_PASSWORD_VERIFICATION_CACHE_MAX_SIZE = 10_000;
+    /**
+     * The default period of time for which successful client certificate validations are cached.
+     * The default value disables caching.
+     */
+    public static final Duration DEFAULT_CERTIFICATE_VALIDATION_CACHE_TIMEOUT = Duration.ZERO;
+    /**
+     * The default maximum number of successful client certificate validations to cache.
+     */
+    public static final int DEFAULT_CERTIFICATE_VALIDATION_CACHE_MAX_SIZE = 10_000;
+    /**
+     * The default period of time for which the last known gateway reported for a device is cached.
+     * The default value disables caching.
+     */
+    public static final Duration DEFAULT_LAST_KNOWN_GATEWAY_CACHE_TIMEOUT = Duration.ZERO;
+    /**
+     * The default maximum number of devices for which the last known gateway is cached.
+     */
+    public static final int DEFAULT_LAST_KNOWN_GATEWAY_CACHE_MAX_SIZE = 10_000;
 
     private boolean authenticationRequired = true;
     private boolean jmsVendorPropsEnabled = false;
@@ -36,7 +63,14 @@ public class ProtocolAdapterProperties extends ServiceConfigProperties {
     private long eventLoopBlockedCheckTimeout = 5000L;
     private int maxConnections = 0;
     private Duration tenantIdleTimeout = DEFAULT_TENANT_IDLE_TIMEOUT;
+    private int metricsMaxTenants = 0;
     private Map<String, MapperEndpoint> mapperEndpoints = new HashMap<>();
+    private Duration passwordVerificationCacheTimeout = DEFAULT_PASSWORD_VERIFICATION_CACHE_TIMEOUT;
+    private int passwordVerificationCacheMaxSize = DEFAULT_PASSWORD_VERIFICATION_CACHE_MAX_SIZE;
+    private Duration certificateValidationCacheTimeout = DEFAULT_CERTIFICATE_VALIDATION_CACHE_TIMEOUT;
+    private int certificateValidationCacheMaxSize = DEFAULT_CERTIFICATE_VALIDATION_CACHE_MAX_SIZE;
+    private Duration lastKnownGatewayCacheTimeout = DEFAULT_LAST_KNOWN_GATEWAY_CACHE_TIMEOUT;
+    private int lastKnownGatewayCacheMaxSize = DEFAULT_LAST_KNOWN_GATEWAY_CACHE_MAX_SIZE;
 
     /**
      * Checks whether the protocol adapter always authenticates devices using their provided credentials as defined
@@ -233,6 +267,226 @@ public class ProtocolAdapterProperties extends ServiceConfigProperties {
         this.tenantIdleTimeout = Objects.requireNonNull(tenantIdleTimeout);
     }
 
+    /**
+     * Gets the maximum number of tenants for which message and command metrics are reported
+     * individually.
+     * <p>
+     * If set to a value &gt; 0, the metrics of only this number of tenants which have sent
+     * the most messages recently are tagged with the tenant identifier. The metrics of all
+     * other tenants are reported using a common tag value.
+     * <p>
+     * The default value of this property is 0, which means that the metrics of all tenants
+     * are reported individually.
+     *
+     * @return The maximum number of tenants.
+     */
+    public final int getMetricsMaxTenants() {
+        return metricsMaxTenants;
+    }
+
+    /**
+     * Sets the maximum number of tenants for which message and command metrics are reported
+     * individually.
+     * <p>
+     * If set to a value &gt; 0, the metrics of only this number of tenants which have sent
+     * the most messages recently are tagged with the tenant identifier. The metrics of all
+     * other tenants are reported using a common tag value.
+     * <p>
+     * The default value of this property is 0, which means that the metrics of all tenants
+     * are reported individually.
+     *
+     * @param maxTenants The maximum number of tenants.
+     * @throws IllegalArgumentException if the number is &lt; 0.
+     */
+    public final void setMetricsMaxTenants(final int maxTenants) {
+        if (maxTenants < 0) {
+            throw new IllegalArgumentException("max number of tenants must be >= 0");
+        }
+        this.metricsMaxTenants = maxTenants;
+    }
+
+    /**
+     * Gets the period of time for which successful verifications of passwords presented by devices are cached.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_PASSWORD_VERIFICATION_CACHE_TIMEOUT}, which disables
+     * caching.
+     *
+     * @return The period of time.
+     */
+    public final Duration getPasswordVerificationCacheTimeout() {
+        return passwordVerificationCacheTimeout;
+    }
+
+    /**
+     * Sets the period of time for which successful verifications of passwords presented by devices are cached.
+     * <p>
+     * During that period of time, a device presenting the same password again is authenticated without
+     * verifying the password against the (expensive) hash on record. Cached verifications are
+     * invalidated when the secrets on record change.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_PASSWORD_VERIFICATION_CACHE_TIMEOUT}, which disables
+     * caching.
+     *
+     * @param timeout The period of time.
+     * @throws NullPointerException if timeout is {@code null}.
+     * @throws IllegalArgumentException if timeout is negative.
+     */
+    public final void setPasswordVerificationCacheTimeout(final Duration timeout) {
+        Objects.requireNonNull(timeout);
+        if (timeout.isNegative()) {
+            throw new IllegalArgumentException("password verification cache timeout must not be negative");
+        }
+        this.passwordVerificationCacheTimeout = timeout;
+    }
+
+    /**
+     * Gets the maximum number of successful password verifications to cache.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_PASSWORD_VERIFICATION_CACHE_MAX_SIZE}.
+     *
+     * @return The maximum number of entries.
+     */
+    public final int getPasswordVerificationCacheMaxSize() {
+        return passwordVerificationCacheMaxSize;
+    }
+
+    /**
+     * Sets the maximum number of successful password verifications to cache.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_PASSWORD_VERIFICATION_CACHE_MAX_SIZE}.
+     *
+     * @param maxSize The maximum number of entries.
+     * @throws IllegalArgumentException if max size is &lt; 1.
+     */
+    public final void setPasswordVerificationCacheMaxSize(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("password verification cache size must be > 0");
+        }
+        this.passwordVerificationCacheMaxSize = maxSize;
+    }
+
+    /**
+     * Gets the period of time for which successful validations of client certificates presented by devices
+     * are cached.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_CERTIFICATE_VALIDATION_CACHE_TIMEOUT}, which disables
+     * caching.
+     *
+     * @return The period of time.
+     */
+    public final Duration getCertificateValidationCacheTimeout() {
+        return certificateValidationCacheTimeout;
+    }
+
+    /**
+     * Sets the period of time for which successful validations of client certificates presented by devices
+     * are cached.
+     * <p>
+     * During that period of time, a device presenting the same certificate chain again is authenticated
+     * without validating the chain against the tenant's trust anchors. Cached validations never outlive
+     * the validity period of the certificates and are invalidated when the trust anchors change.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_CERTIFICATE_VALIDATION_CACHE_TIMEOUT}, which disables
+     * caching.
+     *
+     * @param timeout The period of time.
+     * @throws NullPointerException if timeout is {@code null}.
+     * @throws IllegalArgumentException if timeout is negative.
+     */
+    public final void setCertificateValidationCacheTimeout(final Duration timeout) {
+        Objects.requireNonNull(timeout);
+        if (timeout.isNegative()) {
+            throw new IllegalArgumentException("certificate validation cache timeout must not be negative");
+        }
+        this.certificateValidationCacheTimeout = timeout;
+    }
+
+    /**
+     * Gets the maximum number of successful client certificate validations to cache.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_CERTIFICATE_VALIDATION_CACHE_MAX_SIZE}.
+     *
+     * @return The maximum number of entries.
+     */
+    public final int getCertificateValidationCacheMaxSize() {
+        return certificateValidationCacheMaxSize;
+    }
+
+    /**
+     * Sets the maximum number of successful client certificate validations to cache.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_CERTIFICATE_VALIDATION_CACHE_MAX_SIZE}.
+     *
+     * @param maxSize The maximum number of entries.
+     * @throws IllegalArgumentException if max size is &lt; 1.
+     */
+    public final void setCertificateValidationCacheMaxSize(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("certificate validation cache size must be > 0");
+        }
+        this.certificateValidationCacheMaxSize = maxSize;
+    }
+
+    /**
+     * Gets the period of time for which the last known gateway reported for a device is cached.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_LAST_KNOWN_GATEWAY_CACHE_TIMEOUT}, which disables
+     * caching.
+     *
+     * @return The period of time.
+     */
+    public final Duration getLastKnownGatewayCacheTimeout() {
+        return lastKnownGatewayCacheTimeout;
+    }
+
+    /**
+     * Sets the period of time for which the last known gateway reported for a device is cached.
+     * <p>
+     * During that period of time, the adapter does not report the last known gateway of a device
+     * to the Device Connection service again, unless the device's messages are sent via a different
+     * gateway than before.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_LAST_KNOWN_GATEWAY_CACHE_TIMEOUT}, which disables
+     * caching.
+     *
+     * @param timeout The period of time.
+     * @throws NullPointerException if timeout is {@code null}.
+     * @throws IllegalArgumentException if timeout is negative.
+     */
+    public final void setLastKnownGatewayCacheTimeout(final Duration timeout) {
+        Objects.requireNonNull(timeout);
+        if (timeout.isNegative()) {
+            throw new IllegalArgumentException("last known gateway cache timeout must not be negative");
+        }
+        this.lastKnownGatewayCacheTimeout = timeout;
+    }
+
+    /**
+     * Gets the maximum number of devices for which the last known gateway is cached.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_LAST_KNOWN_GATEWAY_CACHE_MAX_SIZE}.
+     *
+     * @return The maximum number of entries.
+     */
+    public final int getLastKnownGatewayCacheMaxSize() {
+        return lastKnownGatewayCacheMaxSize;
+    }
+
+    /**
+     * Sets the maximum number of devices for which the last known gateway is cached.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_LAST_KNOWN_GATEWAY_CACHE_MAX_SIZE}.
+     *
+     * @param maxSize The maximum number of entries.
+     * @throws IllegalArgumentException if max size is &lt; 1.
+     */
+    public final void setLastKnownGatewayCacheMaxSize(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("last known gateway cache size must be > 0");
+        }
+        this.lastKnownGatewayCacheMaxSize = maxSize;
+    }
+
     /**
      * Sets the configured mappers for this adapter
      * <p>
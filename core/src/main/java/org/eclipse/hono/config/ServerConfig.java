@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ * Copyright (c) 2019, 2020 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -25,6 +25,7 @@ public class ServerConfig extends AbstractConfig {
     private int port = Constants.PORT_UNCONFIGURED;
     private String bindAddress = Constants.LOOPBACK_DEVICE_ADDRESS;
     private boolean nativeTlsRequired = false;
+    private boolean reusePort = false;
     private boolean insecurePortEnabled = false;
     private String insecurePortBindAddress = Constants.LOOPBACK_DEVICE_ADDRESS;
     private int insecurePort = Constants.PORT_UNCONFIGURED;
@@ -133,6 +134,36 @@ public class ServerConfig extends AbstractConfig {
         this.nativeTlsRequired = nativeTlsRequired;
     }
 
+    /**
+     * Checks if this server's sockets should be bound using the <em>SO_REUSEPORT</em> option.
+     * <p>
+     * The option allows multiple processes on the same host to bind to the same port, in which case
+     * the operating system's kernel distributes incoming connections among them. The option is only
+     * supported if vert.x uses the native (epoll) transport.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @return {@code true} if the <em>SO_REUSEPORT</em> option should be used.
+     */
+    public final boolean isReusePort() {
+        return reusePort;
+    }
+
+    /**
+     * Sets if this server's sockets should be bound using the <em>SO_REUSEPORT</em> option.
+     * <p>
+     * The option allows multiple processes on the same host to bind to the same port, in which case
+     * the operating system's kernel distributes incoming connections among them. The option is only
+     * supported if vert.x uses the native (epoll) transport.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @param reusePort {@code true} if the <em>SO_REUSEPORT</em> option should be used.
+     */
+    public final void setReusePort(final boolean reusePort) {
+        this.reusePort = reusePort;
+    }
+
     /**
      * Checks if this server is configured to listen on an insecure port (i.e. without TLS) at all. If {@code false}, it
      * is guaranteed by the server that no opened port is insecure. If {@code true}, it enables the definition of an
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ * Copyright (c) 2019, 2020 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -14,16 +14,16 @@
 package org.eclipse.hono.tracing;
 
 import java.util.Objects;
-import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 import org.eclipse.hono.util.TenantObjectWithAuthId;
+import org.eclipse.hono.util.TenantTracingConfig;
 import org.eclipse.hono.util.TracingSamplingMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
-
 import io.opentracing.Span;
 
 /**
@@ -40,6 +40,10 @@ public final class TenantTraceSamplingHelper {
 
     /**
      * Gets the trace sampling priority configured for the given tenant.
+     * <p>
+     * If the tenant's tracing configuration defines a sampling rate that applies
+     * to the auth-id, the returned priority is chosen randomly, honoring the
+     * configured rate, each time this method is invoked.
      *
      * @param tenantObjectWithAuthId The tenant object combined with an auth-id.
      * @return An <em>OptionalInt</em> containing the identified sampling priority or an empty
@@ -48,13 +52,45 @@ public final class TenantTraceSamplingHelper {
      */
     public static OptionalInt getTraceSamplingPriority(final TenantObjectWithAuthId tenantObjectWithAuthId) {
         Objects.requireNonNull(tenantObjectWithAuthId);
-        return Optional.ofNullable(getSamplingMode(tenantObjectWithAuthId))
-                .map(mode -> getSamplingPriority(mode))
-                .orElse(OptionalInt.empty());
+        return getSamplingPriority(tenantObjectWithAuthId);
+    }
+
+    /**
+     * Gets a supplier of the trace sampling priorities configured for the given tenant.
+     * <p>
+     * This is for protocols where the tenant and auth-id are determined once per connection
+     * while the sampling decision needs to be made for each message. If the tenant's tracing
+     * configuration defines a sampling rate that applies to the auth-id, the supplier chooses
+     * the priority randomly, honoring the configured rate, each time it is invoked.
+     *
+     * @param tenantObjectWithAuthId The tenant object combined with an auth-id.
+     * @return The supplier of <em>OptionalInt</em>s containing the sampling priority or an empty
+     *         <em>OptionalInt</em> if no priority should be set.
+     * @throws NullPointerException if tenantObjectWithAuthId is {@code null}.
+     */
+    public static Supplier<OptionalInt> getTraceSamplingPrioritySupplier(final TenantObjectWithAuthId tenantObjectWithAuthId) {
+        Objects.requireNonNull(tenantObjectWithAuthId);
+
+        final TenantTracingConfig config = tenantObjectWithAuthId.getTenantObject().getTracingConfig();
+        if (config == null) {
+            return OptionalInt::empty;
+        }
+        final TracingSamplingMode mode = config.getSamplingMode(tenantObjectWithAuthId.getAuthId());
+        if (mode == TracingSamplingMode.ALL || mode == TracingSamplingMode.NONE || config.getSamplingRate() == null) {
+            // the priority doesn't depend on chance
+            final OptionalInt samplingPriority = getSamplingPriority(tenantObjectWithAuthId);
+            return () -> samplingPriority;
+        }
+        final double samplingRate = config.getSamplingRate();
+        return () -> OptionalInt.of(ThreadLocalRandom.current().nextDouble() < samplingRate ? 1 : 0);
     }
 
     /**
      * Applies the trace sampling priority configured for the given tenant to the given span.
+     * <p>
+     * If the tenant's tracing configuration defines a sampling rate that applies
+     * to the auth-id, the applied priority is chosen randomly, honoring the
+     * configured rate, each time this method is invoked.
      *
      * @param tenantObjectWithAuthId The tenant object combined with an auth-id.
      * @param span The span to apply the configuration to.
@@ -69,49 +105,38 @@ public final class TenantTraceSamplingHelper {
         Objects.requireNonNull(tenantObjectWithAuthId);
         Objects.requireNonNull(span);
 
-        return Optional.ofNullable(getSamplingMode(tenantObjectWithAuthId))
-                .map(mode -> getSamplingPriority(mode))
-                .map(samplingPriority -> {
-                    samplingPriority.ifPresent(prio -> {
-                        LOG.trace("setting trace sampling prio to {} for tenant [{}], auth-id [{}]",
-                                prio,
-                                tenantObjectWithAuthId.getTenantObject().getTenantId(),
-                                tenantObjectWithAuthId.getAuthId());
-                        TracingHelper.setTraceSamplingPriority(span, prio);
-                    });
-                    return samplingPriority;
-                })
-                .orElse(OptionalInt.empty());
+        final OptionalInt samplingPriority = getSamplingPriority(tenantObjectWithAuthId);
+        samplingPriority.ifPresent(prio -> {
+            LOG.trace("setting trace sampling prio to {} for tenant [{}], auth-id [{}]",
+                    prio,
+                    tenantObjectWithAuthId.getTenantObject().getTenantId(),
+                    tenantObjectWithAuthId.getAuthId());
+            TracingHelper.setTraceSamplingPriority(span, prio);
+        });
+        return samplingPriority;
     }
 
     /**
      * Gets the value for the <em>sampling.priority</em> span tag as encoded in the properties of this tenant.
      *
-     * @param tenantAndAuthId The authentication identity of a device.
+     * @param tenantAndAuthId The tenant object combined with an auth-id.
      * @return An <em>OptionalInt</em> containing the value for the <em>sampling.priority</em> span tag or an empty
      *         <em>OptionalInt</em> if no priority should be set.
      */
-    @JsonIgnore
-    private static TracingSamplingMode getSamplingMode(final TenantObjectWithAuthId tenantAndAuthId) {
+    private static OptionalInt getSamplingPriority(final TenantObjectWithAuthId tenantAndAuthId) {
 
-        return Optional.ofNullable(tenantAndAuthId.getTenantObject().getTracingConfig())
-                .map(config -> config.getSamplingMode(tenantAndAuthId.getAuthId()))
-                .orElse(null);
-    }
-
-    /**
-     * Gets the value for the <em>sampling.priority</em> span tag.
-     *
-     * @return An <em>OptionalInt</em> containing the value for the <em>sampling.priority</em> span tag or an empty
-     *         <em>OptionalInt</em> if no such tag should be set.
-     */
-    private static OptionalInt getSamplingPriority(final TracingSamplingMode mode) {
-        switch (mode) {
-        case ALL:
+        final TenantTracingConfig config = tenantAndAuthId.getTenantObject().getTracingConfig();
+        if (config == null) {
+            return OptionalInt.empty();
+        }
+        final TracingSamplingMode mode = config.getSamplingMode(tenantAndAuthId.getAuthId());
+        if (mode == TracingSamplingMode.ALL) {
             return OptionalInt.of(1);
-        case NONE:
+        } else if (mode == TracingSamplingMode.NONE) {
             return OptionalInt.of(0);
-        default:
+        } else if (config.getSamplingRate() != null) {
+            return OptionalInt.of(ThreadLocalRandom.current().nextDouble() < config.getSamplingRate() ? 1 : 0);
+        } else {
             return OptionalInt.empty();
         }
     }
@@ -29,6 +29,7 @@ import io.opentracing.Span;
 import io.opentracing.SpanContext;
 import io.opentracing.Tracer;
 import io.opentracing.log.Fields;
+import io.opentracing.noop.NoopSpan;
 import io.opentracing.noop.NoopSpanContext;
 import io.opentracing.propagation.Format;
 import io.opentracing.propagation.TextMap;
@@ -140,6 +141,56 @@ public final class TracingHelper {
         }
     }
 
+    /**
+     * Checks if a span may be recorded (sampled) by the tracing system.
+     * <p>
+     * The OpenTracing API does not expose the sampling decision made by a tracer.
+     * This method therefore only detects spans that are known not to be recorded,
+     * i.e. spans created by a no-op tracer and spans that have a <em>sampling.priority</em>
+     * baggage item with value 0, e.g. as a result of a tenant's trace sampling configuration.
+     * <p>
+     * Code on a message processing path may use this method in order to skip the creation
+     * of (costly) span tags and log items that would get discarded anyway.
+     *
+     * @param span The span to check.
+     * @return {@code false} if the span is known not to be recorded.
+     * @throws NullPointerException if span is {@code null}.
+     */
+    public static boolean isSampled(final Span span) {
+        Objects.requireNonNull(span);
+        if (span instanceof NoopSpan) {
+            return false;
+        }
+        return !"0".equals(span.getBaggageItem(Tags.SAMPLING_PRIORITY.getKey()));
+    }
+
+    /**
+     * Checks if spans having the given span context as parent may be recorded (sampled)
+     * by the tracing system.
+     * <p>
+     * The OpenTracing API does not expose the sampling decision made by a tracer.
+     * This method therefore only detects span contexts that are known not to be recorded,
+     * i.e. contexts created by a no-op tracer and contexts that have a <em>sampling.priority</em>
+     * baggage item with value 0.
+     *
+     * @param spanContext The span context to check or {@code null} if there is no parent.
+     * @return {@code false} if spans having the given context as parent are known not to be recorded.
+     */
+    public static boolean isSampled(final SpanContext spanContext) {
+        if (spanContext == null) {
+            return true;
+        }
+        if (spanContext instanceof NoopSpanContext) {
+            return false;
+        }
+        for (final Map.Entry<String, String> baggageItem : spanContext.baggageItems()) {
+            if (Tags.SAMPLING_PRIORITY.getKey().equals(baggageItem.getKey())) {
+                return !"0".equals(baggageItem.getValue());
+            }
+        }
+        return true;
+    }
+
     /**
      * Marks an <em>OpenTracing</em> span as erroneous and logs an exception.
      * <p>
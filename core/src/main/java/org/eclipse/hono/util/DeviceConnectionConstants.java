@@ -51,6 +51,11 @@ public final class DeviceConnectionConstants extends RequestResponseApiConstants
      */
     public static final String FIELD_GATEWAY_IDS = "gateway-ids";
 
+    /**
+     * The name of the field that contains the array of device ids.
+     */
+    public static final String FIELD_DEVICE_IDS = "device-ids";
+
     /**
      * The name of the Device Connection API endpoint.
      */
@@ -85,6 +90,14 @@ public final class DeviceConnectionConstants extends RequestResponseApiConstants
          * The <em>remove command handling protocol adapter instance</em> operation.
          */
         REMOVE_CMD_HANDLING_ADAPTER_INSTANCE("remove-cmd-handling-adapter-instance"),
+        /**
+         * The <em>set command handling protocol adapter instance for devices</em> operation.
+         */
+        SET_CMD_HANDLING_ADAPTER_INSTANCE_FOR_DEVICES("set-cmd-handling-adapter-instance-for-devices"),
+        /**
+         * The <em>remove command handling protocol adapter instance for devices</em> operation.
+         */
+        REMOVE_CMD_HANDLING_ADAPTER_INSTANCE_FOR_DEVICES("remove-cmd-handling-adapter-instance-for-devices"),
         /**
          * The <em>unknown</em> operation.
          */
@@ -131,6 +144,17 @@ public final class DeviceConnectionConstants extends RequestResponseApiConstants
         public static boolean isValid(final String subject) {
             return DeviceConnectionAction.from(subject) != DeviceConnectionAction.UNKNOWN;
         }
+
+        /**
+         * Checks if this action operates on multiple devices, given in the request message payload,
+         * instead of the single device identified by the request message's <em>device_id</em> property.
+         *
+         * @return {@code true} if this is a bulk action.
+         */
+        public boolean isBulkAction() {
+            return this == SET_CMD_HANDLING_ADAPTER_INSTANCE_FOR_DEVICES
+                    || this == REMOVE_CMD_HANDLING_ADAPTER_INSTANCE_FOR_DEVICES;
+        }
     }
 
     private DeviceConnectionConstants() {
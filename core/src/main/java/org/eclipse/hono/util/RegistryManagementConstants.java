@@ -241,6 +241,13 @@ public final class RegistryManagementConstants extends RequestResponseApiConstan
      * a {@link TracingSamplingMode} value.
      */
     public static final String FIELD_TRACING_SAMPLING_MODE_PER_AUTH_ID = "sampling-mode-per-auth-id";
+    /**
+     * The name of the property that defines the fraction of messages for a tenant for which
+     * the spans created when processing the messages shall be recorded (sampled) by the
+     * tracing system.
+     * The property contains a number between 0 and 1.
+     */
+    public static final String FIELD_TRACING_SAMPLING_RATE = "sampling-rate";
 
     /**
      * The default regular expression to validate tenant IDs supplied when creating tenants are legal.
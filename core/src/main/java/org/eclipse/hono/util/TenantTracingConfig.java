@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ * Copyright (c) 2019, 2020 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -34,6 +34,10 @@ public class TenantTracingConfig {
     @JsonInclude(JsonInclude.Include.NON_EMPTY)
     private Map<String, TracingSamplingMode> samplingModePerAuthId = new HashMap<>();
 
+    @JsonProperty(RegistryManagementConstants.FIELD_TRACING_SAMPLING_RATE)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double samplingRate;
+
     /**
      * Gets the sampling mode that defines in how far spans created when processing
      * messages for a tenant shall be recorded (sampled) by the tracing system.
@@ -85,6 +89,41 @@ public class TenantTracingConfig {
         return this;
     }
 
+    /**
+     * Gets the fraction of messages for which the spans created when processing the
+     * messages shall be recorded (sampled) by the tracing system.
+     * <p>
+     * The rate is applied to messages for which the {@linkplain #getSamplingMode(String) sampling mode}
+     * is either not set or {@link TracingSamplingMode#DEFAULT}. It overrides the tracing system's default
+     * sampling mechanism for these messages.
+     *
+     * @return The rate (between 0 and 1) or {@code null} if not set.
+     */
+    public final Double getSamplingRate() {
+        return samplingRate;
+    }
+
+    /**
+     * Sets the fraction of messages for which the spans created when processing the
+     * messages shall be recorded (sampled) by the tracing system.
+     * <p>
+     * The rate is applied to messages for which the {@linkplain #getSamplingMode(String) sampling mode}
+     * is either not set or {@link TracingSamplingMode#DEFAULT}. It overrides the tracing system's default
+     * sampling mechanism for these messages.
+     *
+     * @param samplingRate The rate (between 0 and 1) or {@code null} if the tracing system's
+     *                     default sampling mechanism should be used.
+     * @return This instance for command chaining.
+     * @throws IllegalArgumentException if the rate is less than 0 or greater than 1.
+     */
+    public final TenantTracingConfig setSamplingRate(final Double samplingRate) {
+        if (samplingRate != null && !(samplingRate >= 0 && samplingRate <= 1)) {
+            throw new IllegalArgumentException("sampling rate must be between 0 and 1");
+        }
+        this.samplingRate = samplingRate;
+        return this;
+    }
+
     /**
      * Gets the sampling mode for a specific device.
      *
@@ -57,4 +57,37 @@ public class AuthoritiesImplTest {
         assertThat(authorities.isAuthorized(ResourceIdentifier.fromString("other-endpoint/tenant"), "get")).isFalse();
         assertThat(authorities.isAuthorized(ResourceIdentifier.fromString("endpoint/tenant"), "get")).isTrue();
     }
+
+    /**
+     * Verifies that authorities on resources and operations are matched against
+     * resource identifiers containing a resource ID, tenant and endpoint level
+     * wildcards and global wildcards.
+     */
+    @Test
+    public void testIsAuthorizedMatchesResourceHierarchy() {
+
+        final Claims claims = Jwts.claims();
+        claims.put("r:telemetry/tenantA/4711", "R");
+        claims.put("r:event", "*");
+        claims.put("o:registration/tenantA/4711:assert", "E");
+        claims.put("o:*:get", "E");
+        final AuthoritiesImpl authorities = new AuthoritiesImpl().addAll(AuthoritiesImpl.from(claims));
+
+        assertThat(authorities.isAuthorized(ResourceIdentifier.fromString("telemetry/tenantA/4711"), Activity.READ)).isTrue();
+        assertThat(authorities.isAuthorized(ResourceIdentifier.fromString("telemetry/tenantA/4711"), Activity.WRITE)).isFalse();
+        assertThat(authorities.isAuthorized(ResourceIdentifier.fromString("telemetry/tenantA/4712"), Activity.READ)).isFalse();
+        assertThat(authorities.isAuthorized(ResourceIdentifier.fromString("telemetry/tenantA"), Activity.READ)).isFalse();
+        assertThat(authorities.isAuthorized(ResourceIdentifier.fromString("event/tenantB/4711"), Activity.WRITE)).isTrue();
+        assertThat(authorities.isAuthorized(ResourceIdentifier.fromString("event"), Activity.EXECUTE)).isTrue();
+
+        assertThat(authorities.isAuthorized(ResourceIdentifier.fromString("registration/tenantA/4711"), "assert")).isTrue();
+        assertThat(authorities.isAuthorized(ResourceIdentifier.fromString("registration/tenantA/4712"), "assert")).isFalse();
+        assertThat(authorities.isAuthorized(ResourceIdentifier.fromString("tenant/tenantB"), "get")).isTrue();
+        assertThat(authorities.isAuthorized(ResourceIdentifier.fromString("tenant/tenantB"), "add")).isFalse();
+
+        // authorities added later replace existing ones
+        authorities.addResource("event", Activity.READ);
+        assertThat(authorities.isAuthorized(ResourceIdentifier.fromString("event/tenantB"), Activity.WRITE)).isFalse();
+        assertThat(authorities.asMap()).containsEntry("r:event", "R");
+    }
 }
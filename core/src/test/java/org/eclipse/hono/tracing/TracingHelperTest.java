@@ -16,6 +16,7 @@ package org.eclipse.hono.tracing;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.util.Collections;
 import java.util.Map;
@@ -24,7 +25,9 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
 import io.opentracing.Span;
+import io.opentracing.SpanContext;
 import io.opentracing.log.Fields;
+import io.opentracing.noop.NoopSpan;
 import io.opentracing.tag.Tags;
 
 /**
@@ -91,4 +94,40 @@ public class TracingHelperTest {
         assertThat(capturedItemsMap.get(Fields.ERROR_OBJECT)).isEqualTo(exception);
         assertThat(capturedItemsMap.get(Fields.EVENT)).isEqualTo(Tags.ERROR.getKey());
     }
+
+    /**
+     * Verifies that spans are considered to be sampled unless they are known
+     * not to be recorded.
+     */
+    @Test
+    public void testIsSampled() {
+        final Span span = mock(Span.class);
+        assertThat(TracingHelper.isSampled(span)).isTrue();
+
+        when(span.getBaggageItem(Tags.SAMPLING_PRIORITY.getKey())).thenReturn("1");
+        assertThat(TracingHelper.isSampled(span)).isTrue();
+
+        when(span.getBaggageItem(Tags.SAMPLING_PRIORITY.getKey())).thenReturn("0");
+        assertThat(TracingHelper.isSampled(span)).isFalse();
+
+        assertThat(TracingHelper.isSampled(NoopSpan.INSTANCE)).isFalse();
+    }
+
+    /**
+     * Verifies that span contexts are considered to be sampled unless they are known
+     * not to be recorded.
+     */
+    @Test
+    public void testIsSampledForSpanContext() {
+        final SpanContext spanContext = mock(SpanContext.class);
+        when(spanContext.baggageItems()).thenReturn(Collections.<String, String> emptyMap().entrySet());
+        assertThat(TracingHelper.isSampled(spanContext)).isTrue();
+        assertThat(TracingHelper.isSampled((SpanContext) null)).isTrue();
+
+        when(spanContext.baggageItems()).thenReturn(
+                Collections.singletonMap(Tags.SAMPLING_PRIORITY.getKey(), "0").entrySet());
+        assertThat(TracingHelper.isSampled(spanContext)).isFalse();
+
+        assertThat(TracingHelper.isSampled(NoopSpan.INSTANCE.context())).isFalse();
+    }
 }
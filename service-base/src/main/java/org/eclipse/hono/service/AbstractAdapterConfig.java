@@ -18,6 +18,7 @@ import java.util.Optional;
 import org.eclipse.hono.cache.CacheProvider;
 import org.eclipse.hono.client.BasicDeviceConnectionClientFactory;
 import org.eclipse.hono.client.CommandTargetMapper;
+import org.eclipse.hono.client.CommandTargetMapperConfigProperties;
 import org.eclipse.hono.client.CredentialsClientFactory;
 import org.eclipse.hono.client.DeviceConnectionClientFactory;
 import org.eclipse.hono.client.DownstreamSenderFactory;
@@ -30,6 +31,8 @@ import org.eclipse.hono.config.ApplicationConfigProperties;
 import org.eclipse.hono.config.ClientConfigProperties;
 import org.eclipse.hono.config.ServerConfig;
 import org.eclipse.hono.config.VertxProperties;
+import org.eclipse.hono.service.auth.device.PasswordHashingConfigProperties;
+import org.eclipse.hono.service.auth.device.PasswordHashingExecutor;
 import org.eclipse.hono.service.cache.SpringCacheProvider;
 import org.eclipse.hono.service.monitoring.ConnectionEventProducer;
 import org.eclipse.hono.service.monitoring.ConnectionEventProducerConfig;
@@ -54,6 +57,7 @@ import org.springframework.context.annotation.Scope;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.opentracing.Tracer;
 import io.opentracing.contrib.tracerresolver.TracerResolver;
 import io.opentracing.noop.NoopTracerFactory;
@@ -486,6 +490,18 @@ public abstract class AbstractAdapterConfig {
         return ProtocolAdapterCommandConsumerFactory.create(commandConsumerConnection());
     }
 
+    /**
+     * Exposes configuration properties for the component mapping an incoming command
+     * to the gateway (if applicable) and protocol adapter instance that can handle it.
+     *
+     * @return The properties.
+     */
+    @ConfigurationProperties(prefix = "hono.command-target-mapper")
+    @Bean
+    public CommandTargetMapperConfigProperties commandTargetMapperConfig() {
+        return new CommandTargetMapperConfigProperties();
+    }
+
     /**
      * Exposes the component for mapping an incoming command to the gateway (if applicable)
      * and protocol adapter instance that can handle it.
@@ -495,7 +511,36 @@ public abstract class AbstractAdapterConfig {
     @Bean
     @Scope("prototype")
     public CommandTargetMapper commandTargetMapper() {
-        return CommandTargetMapper.create(getTracer());
+        final CommandTargetMapperConfigProperties config = commandTargetMapperConfig();
+        return CommandTargetMapper.create(
+                getTracer(),
+                newCaffeineCache(config.getCacheMinSize(), config.getCacheMaxSize()),
+                config.getCacheTimeout());
+    }
+
+    /**
+     * Exposes configuration properties for the executor used for verifying
+     * passwords presented by devices.
+     *
+     * @return The properties.
+     */
+    @ConfigurationProperties(prefix = "hono.password-hashing")
+    @Bean
+    public PasswordHashingConfigProperties passwordHashingConfig() {
+        return new PasswordHashingConfigProperties();
+    }
+
+    /**
+     * Exposes the executor used for verifying passwords presented by devices.
+     * <p>
+     * The executor is shared by all protocol adapter instances.
+     *
+     * @param registry The registry to report the executor's metrics to.
+     * @return The executor.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public PasswordHashingExecutor passwordHashingExecutor(final MeterRegistry registry) {
+        return new PasswordHashingExecutor(passwordHashingConfig(), registry);
     }
 
     /**
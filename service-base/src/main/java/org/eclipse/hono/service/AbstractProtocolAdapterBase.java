@@ -16,6 +16,7 @@ import java.net.HttpURLConnection;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -49,10 +50,13 @@ import org.eclipse.hono.client.TenantClientFactory;
 import org.eclipse.hono.config.AbstractConfig;
 import org.eclipse.hono.config.ProtocolAdapterProperties;
 import org.eclipse.hono.service.auth.ValidityBasedTrustOptions;
+import org.eclipse.hono.service.auth.device.DeviceCertificateValidator;
+import org.eclipse.hono.service.auth.device.PasswordHashingExecutor;
 import org.eclipse.hono.service.http.HttpUtils;
 import org.eclipse.hono.service.limiting.ConnectionLimitManager;
 import org.eclipse.hono.service.monitoring.ConnectionEventProducer;
 import org.eclipse.hono.service.resourcelimits.NoopResourceLimitChecks;
+import org.eclipse.hono.service.resourcelimits.PrometheusBasedResourceLimitChecks;
 import org.eclipse.hono.service.resourcelimits.ResourceLimitChecks;
 import org.eclipse.hono.service.util.ServiceBaseUtils;
 import org.eclipse.hono.util.Constants;
@@ -68,6 +72,9 @@ import org.eclipse.hono.util.TenantObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import io.micrometer.core.instrument.Timer.Sample;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.opentracing.SpanContext;
@@ -117,6 +124,9 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
 
     private ConnectionEventProducer connectionEventProducer;
     private ResourceLimitChecks resourceLimitChecks = new NoopResourceLimitChecks();
+    private PasswordHashingExecutor passwordHashingExecutor;
+    private DeviceCertificateValidator deviceCertificateValidator;
+    private Cache<Map.Entry<String, String>, String> lastKnownGateways;
     private final ConnectionEventProducer.Context connectionEventProducerContext = new ConnectionEventProducer.Context() {
 
         @Override
@@ -421,6 +431,65 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
         return this.resourceLimitChecks;
     }
 
+    /**
+     * Sets the executor to use for verifying passwords presented by devices.
+     * <p>
+     * If not set, passwords are verified on vert.x's shared worker pool.
+     *
+     * @param executor The executor.
+     * @throws NullPointerException if executor is {@code null}.
+     */
+    @Autowired(required = false)
+    public final void setPasswordHashingExecutor(final PasswordHashingExecutor executor) {
+        this.passwordHashingExecutor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     * Gets the executor to use for verifying passwords presented by devices.
+     *
+     * @return The executor or {@code null} if passwords should be verified on
+     *         vert.x's shared worker pool.
+     */
+    protected final PasswordHashingExecutor getPasswordHashingExecutor() {
+        return this.passwordHashingExecutor;
+    }
+
+    /**
+     * Gets the validator to use for validating client certificates presented by devices.
+     * <p>
+     * The validator is created on first invocation of this method and caches successful
+     * validations according to the <em>certificateValidationCache</em> properties of this
+     * adapter's configuration.
+     *
+     * @return The validator.
+     */
+    protected final DeviceCertificateValidator getDeviceCertificateValidator() {
+        if (deviceCertificateValidator == null) {
+            deviceCertificateValidator = new DeviceCertificateValidator(
+                    getConfig().getCertificateValidationCacheMaxSize(),
+                    getConfig().getCertificateValidationCacheTimeout());
+        }
+        return deviceCertificateValidator;
+    }
+
+    /**
+     * Gets the cache of the last known gateways that have been reported for devices.
+     * <p>
+     * The cache is created on first invocation of this method according to the
+     * <em>lastKnownGatewayCache</em> properties of this adapter's configuration.
+     *
+     * @return The cache or {@code null} if caching is disabled.
+     */
+    private Cache<Map.Entry<String, String>, String> getLastKnownGatewayCache() {
+        if (lastKnownGateways == null && !getConfig().getLastKnownGatewayCacheTimeout().isZero()) {
+            lastKnownGateways = Caffeine.newBuilder()
+                    .maximumSize(getConfig().getLastKnownGatewayCacheMaxSize())
+                    .expireAfterWrite(getConfig().getLastKnownGatewayCacheTimeout())
+                    .build();
+        }
+        return lastKnownGateways;
+    }
+
     /**
      * Establishes the connections to the services this adapter depends on.
      * <p>
@@ -430,7 +499,9 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
      *
      * @return A future indicating the outcome of the startup process. the future will
      *         fail if the {@link #getTypeName()} method returns {@code null} or an empty string
-     *         or if any of the service clients are not set. Otherwise the future will succeed.
+     *         or if any of the service clients are not set. The future will also fail if
+     *         tenants are folded into a common tag value in the metrics, while the resource
+     *         limits are checked based on Prometheus metrics data. Otherwise the future will succeed.
      */
     @Override
     protected final Future<Void> startInternal() {
@@ -451,6 +522,10 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
             result.fail(new IllegalStateException("Command & Control client factory must be set"));
         } else if (deviceConnectionClientFactory == null) {
             result.fail(new IllegalStateException("Device Connection client factory must be set"));
+        } else if (getConfig().getMetricsMaxTenants() > 0 && resourceLimitChecks instanceof PrometheusBasedResourceLimitChecks) {
+            // the limit checks query the metrics per tenant, which do not exist for folded tenants
+            result.fail(new IllegalStateException(
+                    "metrics max tenants must not be set when using Prometheus based resource limit checks"));
         } else {
 
             log.info("using ResourceLimitChecks [{}]", resourceLimitChecks.getClass().getName());
@@ -1080,6 +1155,10 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
 
     /**
      * Updates the last known gateway associated with the given device.
+     * <p>
+     * If the adapter is configured to cache the last known gateways, the Device Connection service
+     * is only invoked if the gateway differs from the one that has been reported for the device
+     * before, or if the cached entry has expired.
      *
      * @param registrationAssertion The registration assertion JSON object as returned by
      *            {@link #getRegistrationAssertion(String, String, Device, SpanContext)}.
@@ -1108,12 +1187,25 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
             return Future.succeededFuture(registrationAssertion);
         }
 
-        final Future<String> gatewayIdFuture = getGatewayId(tenantId, deviceId, authenticatedDevice);
-        return gatewayIdFuture
-                .compose(gwId -> getDeviceConnectionClient(tenantId))
-                .compose(client -> client.setLastKnownGatewayForDevice(deviceId,
-                        Optional.ofNullable(gatewayIdFuture.result()).orElse(deviceId), context))
-                .map(registrationAssertion);
+        final Cache<Map.Entry<String, String>, String> cache = getLastKnownGatewayCache();
+        final Map.Entry<String, String> key = Map.entry(tenantId, deviceId);
+
+        return getGatewayId(tenantId, deviceId, authenticatedDevice)
+                .map(gwId -> Optional.ofNullable(gwId).orElse(deviceId))
+                .compose(gatewayId -> {
+                    if (cache != null && gatewayId.equals(cache.getIfPresent(key))) {
+                        // the Device Connection service already knows about the gateway
+                        return Future.succeededFuture(registrationAssertion);
+                    }
+                    return getDeviceConnectionClient(tenantId)
+                            .compose(client -> client.setLastKnownGatewayForDevice(deviceId, gatewayId, context))
+                            .map(ok -> {
+                                if (cache != null) {
+                                    cache.put(key, gatewayId);
+                                }
+                                return registrationAssertion;
+                            });
+                });
     }
 
     private boolean isGatewaySupportedForDevice(final JsonObject registrationAssertion) {
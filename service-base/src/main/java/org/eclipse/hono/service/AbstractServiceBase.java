@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2019 Contributors to the Eclipse Foundation
+ * Copyright (c) 2016, 2020 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -386,6 +386,28 @@ public abstract class AbstractServiceBase<T extends ServiceConfigProperties> ext
         return getConfig().getTrustOptions();
     }
 
+    /**
+     * Adds socket configuration to a given set of server options.
+     * <p>
+     * If the <em>reusePort</em> configuration property is set and vert.x uses the native
+     * transport, the <em>SO_REUSEPORT</em> option is enabled on the given server options.
+     * Note that all service instances deployed to the same vert.x instance share a single
+     * listening socket per port, regardless of this option.
+     *
+     * @param serverOptions The options to add configuration to.
+     */
+    protected final void addServerSocketOptions(final NetServerOptions serverOptions) {
+
+        if (getConfig().isReusePort()) {
+            if (vertx.isNativeTransportEnabled()) {
+                log.info("enabling SO_REUSEPORT for server socket [port: {}]", serverOptions.getPort());
+                serverOptions.setReusePort(true);
+            } else {
+                log.warn("ignoring SO_REUSEPORT configuration, native transport is not enabled");
+            }
+        }
+    }
+
     /**
      * Adds TLS key &amp; certificate configuration to a given set of server options.
      * <p>
@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+
+import org.eclipse.hono.auth.Authorities;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.PrematureJwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * A helper for validating JSON Web Tokens which caches successfully validated tokens.
+ * <p>
+ * Validating a token requires verifying its signature which is expensive if the token
+ * has been signed using an asymmetric (RSA or EC) key. This helper therefore keeps the
+ * claims of tokens that have been validated successfully by a delegate helper until
+ * the tokens expire. Tokens are looked up by means of their SHA-256 digest.
+ * Tokens that do not contain an <em>exp</em> claim are never cached.
+ * <p>
+ * Each invocation of {@link #expand(String)} returns a separate copy of the token's header
+ * and claims, so that callers cannot modify the cached token. The <em>nbf</em> claim of a
+ * cached token is checked against the current time on each cache hit.
+ * <p>
+ * The helper reports the time it takes to validate (uncached) tokens and the number
+ * of cache hits to a Micrometer {@code MeterRegistry}.
+ */
+public final class CachingAuthTokenHelper implements AuthTokenHelper {
+
+    /**
+     * The name of the meter for the time it takes to validate a token.
+     */
+    public static final String METER_VALIDATION_DURATION = "hono.authentication.token.validation";
+    /**
+     * The name of the meter for the number of tokens found in the cache.
+     */
+    public static final String METER_CACHE_HITS = "hono.authentication.token.cache.hits";
+
+    private static final Logger LOG = LoggerFactory.getLogger(CachingAuthTokenHelper.class);
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final AuthTokenHelper delegate;
+    private final Cache<String, Jws<Claims>> validatedTokens;
+    private final Timer validationTimer;
+    private final Counter cacheHits;
+
+    /**
+     * Creates a new helper.
+     *
+     * @param delegate The helper to use for validating tokens that are not in the cache.
+     * @param cacheMaxSize The maximum number of tokens to cache.
+     * @param registry The registry to report metrics to.
+     * @throws NullPointerException if delegate or registry are {@code null}.
+     * @throws IllegalArgumentException if cache size is &lt; 1.
+     */
+    public CachingAuthTokenHelper(
+            final AuthTokenHelper delegate,
+            final long cacheMaxSize,
+            final MeterRegistry registry) {
+
+        this.delegate = Objects.requireNonNull(delegate);
+        Objects.requireNonNull(registry);
+        if (cacheMaxSize < 1) {
+            throw new IllegalArgumentException("cache size must be at least 1");
+        }
+        this.validatedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, Jws<Claims>>() {
+
+                    @Override
+                    public long expireAfterCreate(final String key, final Jws<Claims> token, final long currentTime) {
+                        final Date expiration = token.getBody().getExpiration();
+                        return Math.max(0, Duration.between(Instant.now(), expiration.toInstant()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(final String key, final Jws<Claims> token, final long currentTime,
+                            final long currentDuration) {
+                        return expireAfterCreate(key, token, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(final String key, final Jws<Claims> token, final long currentTime,
+                            final long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        this.validationTimer = Timer.builder(METER_VALIDATION_DURATION).register(registry);
+        this.cacheHits = registry.counter(METER_CACHE_HITS);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Duration getTokenLifetime() {
+        return delegate.getTokenLifetime();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This method simply invokes the delegate.
+     */
+    @Override
+    public String createToken(final String authorizationId, final Authorities authorities) {
+        return delegate.createToken(authorizationId, authorities);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Returns the cached claims if the token has been validated before and has not expired yet.
+     * Otherwise, the token is validated by the delegate.
+     */
+    @Override
+    public Jws<Claims> expand(final String token) {
+
+        Objects.requireNonNull(token);
+
+        final String key = getDigest(token);
+        final Jws<Claims> cachedToken = validatedTokens.getIfPresent(key);
+        if (cachedToken != null) {
+            cacheHits.increment();
+            final Date notBefore = cachedToken.getBody().getNotBefore();
+            if (notBefore != null && Instant.now().isBefore(notBefore.toInstant())) {
+                throw new PrematureJwtException(cachedToken.getHeader(), cachedToken.getBody(),
+                        "token must not be accepted before " + notBefore.toInstant());
+            }
+            return copy(cachedToken);
+        }
+
+        final Timer.Sample sample = Timer.start();
+        final Jws<Claims> expandedToken;
+        try {
+            expandedToken = delegate.expand(token);
+        } finally {
+            sample.stop(validationTimer);
+        }
+        if (expandedToken.getBody() != null && expandedToken.getBody().getExpiration() != null) {
+            validatedTokens.put(key, copy(expandedToken));
+        } else {
+            LOG.debug("not caching token without expiration time");
+        }
+        return expandedToken;
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static Jws<Claims> copy(final Jws<Claims> token) {
+        final JwsHeader header = token.getHeader() == null
+                ? null
+                : Jwts.jwsHeader(new LinkedHashMap<String, Object>(token.getHeader()));
+        final Claims claims = token.getBody() == null
+                ? null
+                : Jwts.claims(new LinkedHashMap<String, Object>(token.getBody()));
+        final String signature = token.getSignature();
+        return new Jws<Claims>() {
+
+            @Override
+            public JwsHeader getHeader() {
+                return header;
+            }
+
+            @Override
+            public Claims getBody() {
+                return claims;
+            }
+
+            @Override
+            public String getSignature() {
+                return signature;
+            }
+        };
+    }
+
+    private static String getDigest(final String token) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (final NoSuchAlgorithmException e) {
+            // every JRE is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2018 Contributors to the Eclipse Foundation
+ * Copyright (c) 2016, 2020 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -26,10 +26,15 @@ import io.vertx.core.Future;
 /**
  * An authorization service that makes authorization decisions based on <em>asserted claims</em>
  * contained in a {@link HonoUser}.
- *
+ * <p>
+ * The outcome of an authorization check is reported by means of one of two shared, already
+ * completed futures in order to not create any garbage on the request processing path.
  */
 public final class ClaimsBasedAuthorizationService implements AuthorizationService {
 
+    private static final Future<Boolean> AUTHORIZED = Future.succeededFuture(Boolean.TRUE);
+    private static final Future<Boolean> NOT_AUTHORIZED = Future.succeededFuture(Boolean.FALSE);
+
     @Override
     public Future<Boolean> isAuthorized(final HonoUser user, final ResourceIdentifier resource, final Activity intent) {
 
@@ -40,7 +45,7 @@ public final class ClaimsBasedAuthorizationService implements AuthorizationServi
         if (user.isExpired()) {
             return Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_FORBIDDEN, "user information expired"));
         } else {
-            return Future.succeededFuture(user.getAuthorities().isAuthorized(resource, intent));
+            return toResult(user.getAuthorities().isAuthorized(resource, intent));
         }
     }
 
@@ -54,7 +59,11 @@ public final class ClaimsBasedAuthorizationService implements AuthorizationServi
         if (user.isExpired()) {
             return Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_FORBIDDEN, "user information expired"));
         } else {
-            return Future.succeededFuture(user.getAuthorities().isAuthorized(resource, operation));
+            return toResult(user.getAuthorities().isAuthorized(resource, operation));
         }
     }
+
+    private static Future<Boolean> toResult(final boolean authorized) {
+        return authorized ? AUTHORIZED : NOT_AUTHORIZED;
+    }
 }
@@ -27,7 +27,13 @@ import org.eclipse.hono.service.auth.AbstractHonoAuthenticationService;
  */
 public class AuthenticationServerClientConfigProperties extends ClientConfigProperties {
 
+    /**
+     * The default maximum number of validated tokens to cache.
+     */
+    public static final int DEFAULT_TOKEN_CACHE_MAX_SIZE = 1000;
+
     private final SignatureSupportingConfigProperties validation = new SignatureSupportingConfigProperties();
+    private int tokenCacheMaxSize = DEFAULT_TOKEN_CACHE_MAX_SIZE;
     private List<String> supportedSaslMechanisms = List.of(AbstractHonoAuthenticationService.DEFAULT_SASL_MECHANISMS);
 
     /**
@@ -63,4 +69,34 @@ public class AuthenticationServerClientConfigProperties extends ClientConfigProp
         }
         this.supportedSaslMechanisms = supportedSaslMechanisms;
     }
+
+    /**
+     * Gets the maximum number of validated tokens to cache.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_TOKEN_CACHE_MAX_SIZE}.
+     *
+     * @return The maximum number of tokens.
+     */
+    public final int getTokenCacheMaxSize() {
+        return tokenCacheMaxSize;
+    }
+
+    /**
+     * Sets the maximum number of validated tokens to cache.
+     * <p>
+     * Tokens issued by the Authentication service are cached until they expire, so that
+     * a token being presented again does not require its signature to be verified again.
+     * Setting this property to 0 disables caching.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_TOKEN_CACHE_MAX_SIZE}.
+     *
+     * @param size The maximum number of tokens.
+     * @throws IllegalArgumentException if size is &lt; 0.
+     */
+    public final void setTokenCacheMaxSize(final int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("cache size must not be negative");
+        }
+        this.tokenCacheMaxSize = size;
+    }
 }
@@ -17,6 +17,7 @@ import org.eclipse.hono.connection.ConnectionFactory;
 import org.eclipse.hono.connection.impl.ConnectionFactoryImpl;
 import org.eclipse.hono.service.auth.AuthTokenHelper;
 import org.eclipse.hono.service.auth.AuthTokenHelperImpl;
+import org.eclipse.hono.service.auth.CachingAuthTokenHelper;
 import org.eclipse.hono.util.AuthenticationConstants;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -24,6 +25,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.vertx.core.Vertx;
 
 /**
@@ -64,14 +66,22 @@ public class DelegatingAuthenticationServiceConfig {
 
     /**
      * Creates a helper for validating JWTs asserting a client's identity and authorities.
+     * <p>
+     * Successfully validated tokens are cached unless caching has been disabled
+     * by means of {@link AuthenticationServerClientConfigProperties#setTokenCacheMaxSize(int)}.
      *
      * @param vertx The Vertx instance to use.
+     * @param meterRegistry The registry to report token validation metrics to.
      * @return The bean.
      */
     @Bean
     @Qualifier(AuthenticationConstants.QUALIFIER_AUTHENTICATION)
-    public AuthTokenHelper tokenValidator(final Vertx vertx) {
+    public AuthTokenHelper tokenValidator(final Vertx vertx, final MeterRegistry meterRegistry) {
         final AuthenticationServerClientConfigProperties authClientProps = authenticationServiceClientProperties();
-        return AuthTokenHelperImpl.forValidating(vertx, authClientProps.getValidation());
+        final AuthTokenHelper validator = AuthTokenHelperImpl.forValidating(vertx, authClientProps.getValidation());
+        if (authClientProps.getTokenCacheMaxSize() > 0) {
+            return new CachingAuthTokenHelper(validator, authClientProps.getTokenCacheMaxSize(), meterRegistry);
+        }
+        return validator;
     }
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2019 Contributors to the Eclipse Foundation
+ * Copyright (c) 2016, 2020 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -13,7 +13,9 @@
 
 package org.eclipse.hono.service.auth.device;
 
+import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
 import java.security.cert.CertPath;
 import java.security.cert.CertPathValidator;
 import java.security.cert.CertificateException;
@@ -21,25 +23,108 @@ import java.security.cert.CertificateFactory;
 import java.security.cert.PKIXParameters;
 import java.security.cert.TrustAnchor;
 import java.security.cert.X509Certificate;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.hono.service.auth.X509CertificateChainValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 
 
 /**
  * Validates a device's certificate chain using a {@link CertPathValidator}.
- *
+ * <p>
+ * Successful validations can optionally be cached for a configurable period of time.
+ * The cache entries are keyed by the fingerprints of the certificates in the chain and of
+ * the trust anchors that the chain has been validated against, so that a change of the
+ * trust anchors implicitly invalidates the corresponding entries. An entry never outlives
+ * the validity period of any of the certificates in the chain.
  */
 public class DeviceCertificateValidator implements X509CertificateChainValidator {
 
     private static final Logger LOG = LoggerFactory.getLogger(DeviceCertificateValidator.class);
+    private static final String FINGERPRINT_ALGORITHM = "SHA-256";
+
+    private final Cache<String, Instant> validatedChains;
+    private final Duration cacheTimeout;
+    private final Clock clock;
+
+    /**
+     * Creates a new validator that does not cache validation results.
+     */
+    public DeviceCertificateValidator() {
+        this(0, Duration.ZERO);
+    }
+
+    /**
+     * Creates a new validator that caches successful validations.
+     *
+     * @param cacheMaxSize The maximum number of validations to cache.
+     * @param cacheTimeout The period of time for which successful validations are cached.
+     *                     Caching is disabled if the timeout is zero.
+     * @throws NullPointerException if timeout is {@code null}.
+     */
+    public DeviceCertificateValidator(final long cacheMaxSize, final Duration cacheTimeout) {
+        this(cacheMaxSize, cacheTimeout, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a new validator that caches successful validations.
+     *
+     * @param cacheMaxSize The maximum number of validations to cache.
+     * @param cacheTimeout The period of time for which successful validations are cached.
+     *                     Caching is disabled if the timeout is zero.
+     * @param clock The clock to use for validating certificates and for expiring cache entries.
+     * @throws NullPointerException if timeout or clock are {@code null}.
+     */
+    DeviceCertificateValidator(final long cacheMaxSize, final Duration cacheTimeout, final Clock clock) {
+
+        this.cacheTimeout = Objects.requireNonNull(cacheTimeout);
+        this.clock = Objects.requireNonNull(clock);
+        if (cacheTimeout.isZero() || cacheTimeout.isNegative() || cacheMaxSize <= 0) {
+            this.validatedChains = null;
+        } else {
+            this.validatedChains = Caffeine.newBuilder()
+                    .maximumSize(cacheMaxSize)
+                    .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                    .expireAfter(new Expiry<String, Instant>() {
+
+                        @Override
+                        public long expireAfterCreate(final String key, final Instant expiration, final long currentTime) {
+                            return Math.max(0, Duration.between(clock.instant(), expiration).toNanos());
+                        }
+
+                        @Override
+                        public long expireAfterUpdate(final String key, final Instant expiration, final long currentTime,
+                                final long currentDuration) {
+                            return expireAfterCreate(key, expiration, currentTime);
+                        }
+
+                        @Override
+                        public long expireAfterRead(final String key, final Instant expiration, final long currentTime,
+                                final long currentDuration) {
+                            return currentDuration;
+                        }
+                    })
+                    .build();
+        }
+    }
 
     /**
      * {@inheritDoc}
@@ -68,18 +153,22 @@ public class DeviceCertificateValidator implements X509CertificateChainValidator
             throw new IllegalArgumentException("trust anchor list must not be empty");
         }
 
+        final String cacheKey = getCacheKey(chain, trustAnchors);
+        if (cacheKey != null && validatedChains.getIfPresent(cacheKey) != null) {
+            LOG.debug("device certificate [subject DN: {}] has been validated before",
+                    chain.get(0).getSubjectX500Principal().getName());
+            return Future.succeededFuture();
+        }
+
         final Promise<Void> result = Promise.promise();
 
         try {
-            final PKIXParameters params = new PKIXParameters(trustAnchors);
-            // TODO do we need to check for revocation?
-            params.setRevocationEnabled(false);
-            final CertificateFactory factory = CertificateFactory.getInstance("X.509");
-            final CertPath path = factory.generateCertPath(chain);
-            final CertPathValidator validator = CertPathValidator.getInstance("PKIX");
-            validator.validate(path, params);
+            validateCertPath(chain, trustAnchors);
             LOG.debug("validation of device certificate [subject DN: {}] succeeded",
                     chain.get(0).getSubjectX500Principal().getName());
+            if (cacheKey != null) {
+                validatedChains.put(cacheKey, getCacheEntryExpiration(chain));
+            }
             result.complete();
         } catch (GeneralSecurityException e) {
             LOG.debug("validation of device certificate [subject DN: {}] failed",
@@ -92,4 +181,82 @@ public class DeviceCertificateValidator implements X509CertificateChainValidator
         }
         return result.future();
     }
+
+    /**
+     * Validates a certificate chain against trust anchors at the current point in time.
+     *
+     * @param chain The chain to validate.
+     * @param trustAnchors The trust anchors to validate the chain against.
+     * @throws GeneralSecurityException if the chain is invalid.
+     */
+    void validateCertPath(final List<X509Certificate> chain, final Set<TrustAnchor> trustAnchors)
+            throws GeneralSecurityException {
+
+        final PKIXParameters params = new PKIXParameters(trustAnchors);
+        // TODO do we need to check for revocation?
+        params.setRevocationEnabled(false);
+        params.setDate(Date.from(clock.instant()));
+        final CertificateFactory factory = CertificateFactory.getInstance("X.509");
+        final CertPath path = factory.generateCertPath(chain);
+        final CertPathValidator validator = CertPathValidator.getInstance("PKIX");
+        validator.validate(path, params);
+    }
+
+    /**
+     * Gets the point in time until which a successful validation of a chain may be cached.
+     *
+     * @return The instant at which the cache timeout elapses or the instant at which
+     *         the first certificate of the chain expires, whichever comes first.
+     */
+    private Instant getCacheEntryExpiration(final List<X509Certificate> chain) {
+        Instant expiration = clock.instant().plus(cacheTimeout);
+        for (final X509Certificate cert : chain) {
+            final Instant notAfter = cert.getNotAfter().toInstant();
+            if (notAfter.isBefore(expiration)) {
+                expiration = notAfter;
+            }
+        }
+        return expiration;
+    }
+
+    /**
+     * Gets the key of the validation cache entry for a chain and trust anchors.
+     *
+     * @return The key or {@code null} if caching is disabled or the key cannot be created.
+     */
+    private String getCacheKey(final List<X509Certificate> chain, final Set<TrustAnchor> trustAnchors) {
+
+        if (validatedChains == null) {
+            return null;
+        }
+        try {
+            final MessageDigest digest = MessageDigest.getInstance(FINGERPRINT_ALGORITHM);
+            for (final X509Certificate cert : chain) {
+                digest.update(cert.getEncoded());
+            }
+            // the trust anchors need to be included independently
+            // of the (undefined) iteration order of the set
+            final List<String> anchorFingerprints = new ArrayList<>(trustAnchors.size());
+            for (final TrustAnchor anchor : trustAnchors) {
+                anchorFingerprints.add(Base64.getEncoder().encodeToString(getFingerprint(anchor)));
+            }
+            Collections.sort(anchorFingerprints);
+            anchorFingerprints.forEach(fingerprint -> digest.update(fingerprint.getBytes(StandardCharsets.UTF_8)));
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (final GeneralSecurityException e) {
+            LOG.debug("failed to create certificate validation cache key", e);
+            return null;
+        }
+    }
+
+    private static byte[] getFingerprint(final TrustAnchor anchor) throws GeneralSecurityException {
+        final MessageDigest digest = MessageDigest.getInstance(FINGERPRINT_ALGORITHM);
+        if (anchor.getTrustedCert() != null) {
+            digest.update(anchor.getTrustedCert().getEncoded());
+        } else {
+            digest.update(anchor.getCA().getEncoded());
+            digest.update(anchor.getCAPublicKey().getEncoded());
+        }
+        return digest.digest();
+    }
 }
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.auth.device;
+
+/**
+ * Configuration properties for the {@link PasswordHashingExecutor}.
+ */
+public class PasswordHashingConfigProperties {
+
+    /**
+     * The default number of threads to use for verifying passwords.
+     */
+    public static final int DEFAULT_POOL_SIZE = Math.max(2, Runtime.getRuntime().availableProcessors());
+    /**
+     * The default maximum number of password verifications waiting for a thread.
+     */
+    public static final int DEFAULT_QUEUE_SIZE = 1000;
+
+    private int poolSize = DEFAULT_POOL_SIZE;
+    private int queueSize = DEFAULT_QUEUE_SIZE;
+
+    /**
+     * Gets the number of threads to use for verifying passwords.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_POOL_SIZE}.
+     *
+     * @return The number of threads.
+     */
+    public final int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Sets the number of threads to use for verifying passwords.
+     * <p>
+     * Verifying a password against a hash created by means of a (deliberately) expensive
+     * hash function like <em>bcrypt</em> is a CPU bound task. The number of threads should
+     * therefore not exceed the number of CPU cores available to the adapter.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_POOL_SIZE}.
+     *
+     * @param size The number of threads.
+     * @throws IllegalArgumentException if size is &lt; 1.
+     */
+    public final void setPoolSize(final int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("pool size must be at least 1");
+        }
+        this.poolSize = size;
+    }
+
+    /**
+     * Gets the maximum number of password verifications waiting for a thread.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_QUEUE_SIZE}.
+     *
+     * @return The maximum number of waiting verifications.
+     */
+    public final int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * Sets the maximum number of password verifications waiting for a thread.
+     * <p>
+     * Authentication attempts that would exceed this limit are rejected immediately
+     * with a <em>503 Service Unavailable</em> error which indicates to the device that
+     * it may retry later.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_QUEUE_SIZE}.
+     *
+     * @param size The maximum number of waiting verifications.
+     * @throws IllegalArgumentException if size is &lt; 1.
+     */
+    public final void setQueueSize(final int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("queue size must be at least 1");
+        }
+        this.queueSize = size;
+    }
+}
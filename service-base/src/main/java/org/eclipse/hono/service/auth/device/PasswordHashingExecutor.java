@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.auth.device;
+
+import java.net.HttpURLConnection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.hono.auth.HonoPasswordEncoder;
+import org.eclipse.hono.client.ServerErrorException;
+import org.eclipse.hono.util.CredentialsConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * An executor for verifying passwords against the (expensive) hashes on record.
+ * <p>
+ * The executor uses a dedicated, fixed size pool of threads in order to prevent
+ * password verifications from competing with other blocking code that is run on
+ * vert.x's shared worker pool. Password verifications which cannot be run immediately
+ * are queued up to a configurable limit. Verifications exceeding that limit are rejected
+ * with a {@link ServerErrorException} having status code 503, which allows devices to
+ * distinguish an overloaded adapter from bad credentials.
+ * <p>
+ * The executor reports the number of waiting verifications, the number of rejected
+ * verifications and the time it takes to verify passwords per hash function to a
+ * Micrometer {@code MeterRegistry}.
+ */
+public final class PasswordHashingExecutor {
+
+    /**
+     * The name of the meter for the number of password verifications waiting for a thread.
+     */
+    public static final String METER_QUEUE_SIZE = "hono.authentication.password.queue";
+    /**
+     * The name of the meter for password verifications that have been rejected
+     * because the queue was full.
+     */
+    public static final String METER_REJECTED = "hono.authentication.password.rejected";
+    /**
+     * The name of the meter for the time it takes to verify a password against a hash.
+     */
+    public static final String METER_VERIFICATION_DURATION = "hono.authentication.password.verification";
+    /**
+     * The name of the tag containing the hash function that a password has been verified against.
+     */
+    public static final String TAG_HASH_FUNCTION = "hash-function";
+
+    private static final Logger LOG = LoggerFactory.getLogger(PasswordHashingExecutor.class);
+    private static final String THREAD_NAME_PREFIX = "hono-password-hashing-";
+
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry registry;
+    private final Counter rejected;
+    private final Map<String, Timer> verificationTimers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new executor for a given configuration.
+     *
+     * @param config The configuration.
+     * @param registry The registry to report metrics to.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    public PasswordHashingExecutor(final PasswordHashingConfigProperties config, final MeterRegistry registry) {
+
+        Objects.requireNonNull(config);
+        this.registry = Objects.requireNonNull(registry);
+
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                config.getPoolSize(),
+                config.getPoolSize(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getQueueSize()),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadCount.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.rejected = registry.counter(METER_REJECTED);
+        registry.gauge(METER_QUEUE_SIZE, executor, e -> e.getQueue().size());
+        LOG.info("created password hashing executor [pool size: {}, queue size: {}]",
+                config.getPoolSize(), config.getQueueSize());
+    }
+
+    /**
+     * Runs blocking code on one of this executor's threads.
+     * <p>
+     * If this method is invoked on a vert.x context, the returned future will be
+     * completed on that context.
+     *
+     * @param <T> The type of the result of the blocking code.
+     * @param blockingCode The code to run.
+     * @return A future indicating the outcome of running the code.
+     *         The future will be failed with a {@link ServerErrorException} having
+     *         status code 503 if the code cannot be run because too many other tasks
+     *         are already waiting to be run.
+     * @throws NullPointerException if blocking code is {@code null}.
+     */
+    public <T> Future<T> execute(final Handler<Promise<T>> blockingCode) {
+
+        Objects.requireNonNull(blockingCode);
+
+        final Context currentContext = Vertx.currentContext();
+        final Promise<T> result = Promise.promise();
+        try {
+            executor.execute(() -> {
+                final Promise<T> blockingCodeResult = Promise.promise();
+                try {
+                    blockingCode.handle(blockingCodeResult);
+                } catch (final Throwable t) {
+                    blockingCodeResult.tryFail(t);
+                }
+                blockingCodeResult.future().onComplete(ar -> {
+                    if (currentContext == null) {
+                        result.handle(ar);
+                    } else {
+                        currentContext.runOnContext(go -> result.handle(ar));
+                    }
+                });
+            });
+        } catch (final RejectedExecutionException e) {
+            rejected.increment();
+            LOG.debug("rejecting password verification, too many verifications waiting to be run");
+            return Future.failedFuture(new ServerErrorException(
+                    HttpURLConnection.HTTP_UNAVAILABLE,
+                    "too many concurrent authentication attempts"));
+        }
+        return result.future();
+    }
+
+    /**
+     * Verifies a password against a hashed-password secret.
+     * <p>
+     * The time it takes to verify the password is recorded per hash function.
+     * <p>
+     * This method blocks the invoking thread and should therefore only be invoked
+     * from code that is run by means of {@link #execute(Handler)}.
+     *
+     * @param encoder The encoder to use for verifying the password.
+     * @param rawPassword The password to verify.
+     * @param secret The secret to verify the password against.
+     * @return {@code true} if the password matches the secret.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    public boolean matches(final HonoPasswordEncoder encoder, final String rawPassword, final JsonObject secret) {
+
+        Objects.requireNonNull(encoder);
+        Objects.requireNonNull(rawPassword);
+        Objects.requireNonNull(secret);
+
+        final Timer.Sample sample = Timer.start(registry);
+        try {
+            return encoder.matches(rawPassword, secret);
+        } finally {
+            sample.stop(verificationTimers.computeIfAbsent(
+                    getHashFunction(secret),
+                    hashFunction -> Timer.builder(METER_VERIFICATION_DURATION)
+                        .tag(TAG_HASH_FUNCTION, hashFunction)
+                        .register(registry)));
+        }
+    }
+
+    private static String getHashFunction(final JsonObject secret) {
+        try {
+            return CredentialsConstants.getHashFunction(secret);
+        } catch (final IllegalArgumentException e) {
+            return "unknown";
+        }
+    }
+
+    /**
+     * Shuts down this executor.
+     * <p>
+     * Password verifications that are already waiting to be run will still be run
+     * but no new verifications will be accepted.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
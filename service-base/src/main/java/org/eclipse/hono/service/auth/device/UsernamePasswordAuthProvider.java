@@ -14,21 +14,37 @@
 package org.eclipse.hono.service.auth.device;
 
 import java.net.HttpURLConnection;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 
 import org.eclipse.hono.auth.Device;
 import org.eclipse.hono.auth.HonoPasswordEncoder;
 import org.eclipse.hono.auth.SpringBasedHonoPasswordEncoder;
 import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.client.CredentialsClientFactory;
+import org.eclipse.hono.config.ProtocolAdapterProperties;
 import org.eclipse.hono.config.ServiceConfigProperties;
 import org.eclipse.hono.util.CredentialsObject;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import io.opentracing.Tracer;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
@@ -36,11 +52,29 @@ import io.vertx.core.json.JsonObject;
 /**
  * An authentication provider that verifies username/password credentials using
  * Hono's <em>Credentials</em> API.
+ * <p>
+ * If the given configuration is a {@link ProtocolAdapterProperties} instance with a
+ * positive <em>passwordVerificationCacheTimeout</em>, successful password verifications
+ * are cached for that period of time. A device presenting the same password again
+ * during that period is then authenticated without verifying the password against the
+ * hash on record. The cache entries are keyed by an HMAC of the tenant, auth-id,
+ * device identifier, secret on record and presented password, using a key that is
+ * generated randomly for each provider instance. The presented passwords themselves
+ * are therefore not kept in memory and any change of the secrets on record implicitly
+ * invalidates the corresponding cache entries.
+ * <p>
+ * Passwords are verified using a {@link PasswordHashingExecutor}, if one is given.
+ * Otherwise, they are verified on vert.x's shared worker pool.
  */
 public final class UsernamePasswordAuthProvider extends CredentialsApiAuthProvider<UsernamePasswordCredentials> {
 
+    private static final String CACHE_KEY_ALGORITHM = "HmacSHA256";
+
     private final ServiceConfigProperties config;
     private final HonoPasswordEncoder pwdEncoder;
+    private final Cache<String, Boolean> verifiedPasswords;
+    private final SecretKeySpec cacheKeySecret;
+    private final PasswordHashingExecutor hashingExecutor;
 
     /**
      * Creates a new provider for a given configuration.
@@ -52,7 +86,25 @@ public final class UsernamePasswordAuthProvider extends CredentialsApiAuthProvid
      */
     @Autowired
     public UsernamePasswordAuthProvider(final CredentialsClientFactory credentialsClientFactory, final ServiceConfigProperties config, final Tracer tracer) {
-        this(credentialsClientFactory, new SpringBasedHonoPasswordEncoder(), config, tracer);
+        this(credentialsClientFactory, config, null, tracer);
+    }
+
+    /**
+     * Creates a new provider for a given configuration.
+     *
+     * @param credentialsClientFactory The factory to use for creating a Credentials service client.
+     * @param config The configuration.
+     * @param hashingExecutor The executor to use for verifying passwords or {@code null} if
+     *                        passwords should be verified on vert.x's shared worker pool.
+     * @param tracer The tracer instance.
+     * @throws NullPointerException if any of the parameters other than the executor are {@code null}.
+     */
+    public UsernamePasswordAuthProvider(
+            final CredentialsClientFactory credentialsClientFactory,
+            final ServiceConfigProperties config,
+            final PasswordHashingExecutor hashingExecutor,
+            final Tracer tracer) {
+        this(credentialsClientFactory, new SpringBasedHonoPasswordEncoder(), config, hashingExecutor, tracer);
     }
 
     /**
@@ -70,10 +122,47 @@ public final class UsernamePasswordAuthProvider extends CredentialsApiAuthProvid
             final HonoPasswordEncoder pwdEncoder,
             final ServiceConfigProperties config,
             final Tracer tracer) {
+        this(credentialsClientFactory, pwdEncoder, config, null, tracer);
+    }
+
+    /**
+     * Creates a new provider for a given configuration.
+     *
+     * @param credentialsClientFactory The factory to use for creating a Credentials service client.
+     * @param pwdEncoder The object to use for validating hashed passwords.
+     * @param config The configuration.
+     * @param hashingExecutor The executor to use for verifying passwords or {@code null} if
+     *                        passwords should be verified on vert.x's shared worker pool.
+     * @param tracer The tracer instance.
+     * @throws NullPointerException if any of the parameters other than the executor are {@code null}.
+     */
+    public UsernamePasswordAuthProvider(
+            final CredentialsClientFactory credentialsClientFactory,
+            final HonoPasswordEncoder pwdEncoder,
+            final ServiceConfigProperties config,
+            final PasswordHashingExecutor hashingExecutor,
+            final Tracer tracer) {
 
         super(credentialsClientFactory, tracer);
         this.config = Objects.requireNonNull(config);
         this.pwdEncoder = Objects.requireNonNull(pwdEncoder);
+        this.hashingExecutor = hashingExecutor;
+
+        final Duration cacheTimeout = config instanceof ProtocolAdapterProperties
+                ? ((ProtocolAdapterProperties) config).getPasswordVerificationCacheTimeout()
+                : Duration.ZERO;
+        if (cacheTimeout.isZero()) {
+            this.verifiedPasswords = null;
+            this.cacheKeySecret = null;
+        } else {
+            this.verifiedPasswords = Caffeine.newBuilder()
+                    .expireAfterWrite(cacheTimeout)
+                    .maximumSize(((ProtocolAdapterProperties) config).getPasswordVerificationCacheMaxSize())
+                    .build();
+            final byte[] secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+            this.cacheKeySecret = new SecretKeySpec(secret, CACHE_KEY_ALGORITHM);
+        }
     }
 
     /**
@@ -133,18 +222,84 @@ public final class UsernamePasswordAuthProvider extends CredentialsApiAuthProvid
         if (currentContext == null) {
             return Future.failedFuture(new IllegalStateException("not running on vert.x Context"));
         } else {
-            final Promise<Device> result = Promise.promise();
-            currentContext.executeBlocking(blockingCodeHandler -> {
-                log.debug("validating password hash on vert.x worker thread [{}]", Thread.currentThread().getName());
-                final boolean isValid = credentialsOnRecord.getCandidateSecrets().stream()
-                        .anyMatch(candidateSecret -> pwdEncoder.matches(deviceCredentials.getPassword(), candidateSecret));
+            final List<JsonObject> candidateSecrets = credentialsOnRecord.getCandidateSecrets();
+            final List<String> cacheKeys = getCacheKeys(deviceCredentials, credentialsOnRecord.getDeviceId(),
+                    candidateSecrets);
+            if (cacheKeys.stream().anyMatch(key -> verifiedPasswords.getIfPresent(key) != null)) {
+                log.debug("password has been verified before [tenant: {}, auth-id: {}]",
+                        deviceCredentials.getTenantId(), deviceCredentials.getAuthId());
+                return Future.succeededFuture(new Device(deviceCredentials.getTenantId(), credentialsOnRecord.getDeviceId()));
+            }
+            final Handler<Promise<Device>> blockingCode = blockingCodeHandler -> {
+                log.debug("validating password hash on worker thread [{}]", Thread.currentThread().getName());
+                boolean isValid = false;
+                for (int i = 0; i < candidateSecrets.size() && !isValid; i++) {
+                    isValid = matches(deviceCredentials.getPassword(), candidateSecrets.get(i));
+                    if (isValid && !cacheKeys.isEmpty()) {
+                        verifiedPasswords.put(cacheKeys.get(i), Boolean.TRUE);
+                    }
+                }
                 if (isValid) {
                     blockingCodeHandler.complete(new Device(deviceCredentials.getTenantId(), credentialsOnRecord.getDeviceId()));
                 } else {
                     blockingCodeHandler.fail(new ClientErrorException(HttpURLConnection.HTTP_UNAUTHORIZED, "bad credentials"));
                 }
-            }, false, result);
+            };
+            if (hashingExecutor != null) {
+                return hashingExecutor.execute(blockingCode);
+            }
+            final Promise<Device> result = Promise.promise();
+            currentContext.executeBlocking(blockingCode, false, result);
             return result.future();
         }
     }
+
+    private boolean matches(final String rawPassword, final JsonObject secret) {
+        if (hashingExecutor == null) {
+            return pwdEncoder.matches(rawPassword, secret);
+        }
+        return hashingExecutor.matches(pwdEncoder, rawPassword, secret);
+    }
+
+    /**
+     * Gets the keys of the verification cache entries for the given credentials and
+     * candidate secrets.
+     *
+     * @return The keys in the same order as the candidate secrets or an empty list
+     *         if caching is disabled.
+     */
+    private List<String> getCacheKeys(
+            final UsernamePasswordCredentials deviceCredentials,
+            final String deviceId,
+            final List<JsonObject> candidateSecrets) {
+
+        if (verifiedPasswords == null) {
+            return Collections.emptyList();
+        }
+        try {
+            final Mac mac = Mac.getInstance(CACHE_KEY_ALGORITHM);
+            mac.init(cacheKeySecret);
+            return candidateSecrets.stream()
+                    .map(candidateSecret -> {
+                        update(mac, deviceCredentials.getTenantId());
+                        update(mac, deviceCredentials.getAuthId());
+                        update(mac, deviceId);
+                        update(mac, candidateSecret.encode());
+                        update(mac, deviceCredentials.getPassword());
+                        // doFinal() resets the Mac for the next candidate secret
+                        return Base64.getEncoder().encodeToString(mac.doFinal());
+                    })
+                    .collect(Collectors.toList());
+        } catch (final GeneralSecurityException e) {
+            log.warn("failed to create password verification cache key", e);
+            return Collections.emptyList();
+        }
+    }
+
+    private static void update(final Mac mac, final String value) {
+        final byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        // prefix each value with its length in order to prevent ambiguities
+        mac.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        mac.update(bytes);
+    }
 }
@@ -50,6 +50,9 @@ public class DelegatingDeviceConnectionAmqpEndpoint<S extends DeviceConnectionSe
     private static final String SPAN_NAME_GET_CMD_HANDLING_ADAPTER_INSTANCES = "get command handling adapter instances";
     private static final String SPAN_NAME_SET_CMD_HANDLING_ADAPTER_INSTANCE = "set command handling adapter instance";
     private static final String SPAN_NAME_REMOVE_CMD_HANDLING_ADAPTER_INSTANCE = "remove command handling adapter instance";
+    private static final String SPAN_NAME_SET_CMD_HANDLING_ADAPTER_INSTANCE_FOR_DEVICES = "set command handling adapter instance for devices";
+    private static final String SPAN_NAME_REMOVE_CMD_HANDLING_ADAPTER_INSTANCE_FOR_DEVICES = "remove command handling adapter instance for devices";
+    private static final String TAG_NUMBER_OF_DEVICES = "number_of_devices";
 
     /**
      * Creates an endpoint for a service instance.
@@ -78,6 +81,10 @@ public class DelegatingDeviceConnectionAmqpEndpoint<S extends DeviceConnectionSe
             return processSetCmdHandlingAdapterInstance(requestMessage, targetAddress, spanContext);
         case REMOVE_CMD_HANDLING_ADAPTER_INSTANCE:
             return processRemoveCmdHandlingAdapterInstance(requestMessage, targetAddress, spanContext);
+        case SET_CMD_HANDLING_ADAPTER_INSTANCE_FOR_DEVICES:
+            return processSetCmdHandlingAdapterInstanceForDevices(requestMessage, targetAddress, spanContext);
+        case REMOVE_CMD_HANDLING_ADAPTER_INSTANCE_FOR_DEVICES:
+            return processRemoveCmdHandlingAdapterInstanceForDevices(requestMessage, targetAddress, spanContext);
         default:
             return processCustomOperationMessage(requestMessage, spanContext);
         }
@@ -315,6 +322,138 @@ public class DelegatingDeviceConnectionAmqpEndpoint<S extends DeviceConnectionSe
         return finishSpanOnFutureCompletion(span, resultFuture);
     }
 
+    /**
+     * Processes a <em>set protocol adapter instance for command handler of devices</em> request message.
+     *
+     * @param request The request message.
+     * @param targetAddress The address the message is sent to.
+     * @param spanContext The span context representing the request to be processed.
+     * @return The response to send to the client via the event bus.
+     */
+    protected Future<Message> processSetCmdHandlingAdapterInstanceForDevices(final Message request,
+            final ResourceIdentifier targetAddress, final SpanContext spanContext) {
+        final String tenantId = targetAddress.getTenantId();
+        final String adapterInstanceId = MessageHelper.getApplicationProperty(request.getApplicationProperties(), MessageHelper.APP_PROPERTY_ADAPTER_INSTANCE_ID, String.class);
+        final Integer lifespanSecondsOrNull = MessageHelper.getApplicationProperty(request.getApplicationProperties(), MessageHelper.APP_PROPERTY_LIFESPAN, Integer.class);
+
+        final Span span = TracingHelper.buildServerChildSpan(
+                tracer,
+                spanContext,
+                SPAN_NAME_SET_CMD_HANDLING_ADAPTER_INSTANCE_FOR_DEVICES,
+                getClass().getSimpleName()
+        ).start();
+
+        final List<String> deviceIds;
+        try {
+            deviceIds = getDeviceIdsFromPayload(request);
+        } catch (final DecodeException e) {
+            logger.debug("failed to decode AMQP request message", e);
+            return finishSpanOnFutureCompletion(span, Future.failedFuture(
+                    new ClientErrorException(
+                            HttpURLConnection.HTTP_BAD_REQUEST,
+                            "request message body contains malformed JSON")));
+        }
+
+        final Future<Message> resultFuture;
+        if (tenantId == null || deviceIds == null || adapterInstanceId == null) {
+            TracingHelper.logError(span, "missing tenant, device ids and/or adapter instance id");
+            resultFuture = Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_BAD_REQUEST));
+        } else {
+            final Duration lifespan = lifespanSecondsOrNull != null ? Duration.ofSeconds(lifespanSecondsOrNull) : Duration.ofSeconds(-1);
+            TracingHelper.TAG_TENANT_ID.set(span, tenantId);
+            span.setTag(TAG_NUMBER_OF_DEVICES, deviceIds.size());
+            span.setTag(MessageHelper.APP_PROPERTY_ADAPTER_INSTANCE_ID, adapterInstanceId);
+            span.setTag(MessageHelper.APP_PROPERTY_LIFESPAN, lifespan.getSeconds());
+            log.debug("setting command handling adapter instance for tenant [{}], {} devices to {} (lifespan: {}s)",
+                    tenantId, deviceIds.size(), adapterInstanceId, lifespan.getSeconds());
+
+            resultFuture = getService().setCommandHandlingAdapterInstanceForDevices(tenantId, deviceIds, adapterInstanceId, lifespan, span)
+                    .map(res -> DeviceConnectionConstants.getAmqpReply(
+                            DeviceConnectionConstants.DEVICE_CONNECTION_ENDPOINT,
+                            tenantId,
+                            request,
+                            res)
+                    );
+        }
+        return finishSpanOnFutureCompletion(span, resultFuture);
+    }
+
+    /**
+     * Processes a <em>remove command handling protocol adapter instance for devices</em> request message.
+     *
+     * @param request The request message.
+     * @param targetAddress The address the message is sent to.
+     * @param spanContext The span context representing the request to be processed.
+     * @return The response to send to the client via the event bus.
+     */
+    protected Future<Message> processRemoveCmdHandlingAdapterInstanceForDevices(final Message request,
+            final ResourceIdentifier targetAddress, final SpanContext spanContext) {
+        final String tenantId = targetAddress.getTenantId();
+        final String adapterInstanceId = MessageHelper.getApplicationProperty(request.getApplicationProperties(), MessageHelper.APP_PROPERTY_ADAPTER_INSTANCE_ID, String.class);
+
+        final Span span = TracingHelper.buildServerChildSpan(
+                tracer,
+                spanContext,
+                SPAN_NAME_REMOVE_CMD_HANDLING_ADAPTER_INSTANCE_FOR_DEVICES,
+                getClass().getSimpleName()
+        ).start();
+
+        final List<String> deviceIds;
+        try {
+            deviceIds = getDeviceIdsFromPayload(request);
+        } catch (final DecodeException e) {
+            logger.debug("failed to decode AMQP request message", e);
+            return finishSpanOnFutureCompletion(span, Future.failedFuture(
+                    new ClientErrorException(
+                            HttpURLConnection.HTTP_BAD_REQUEST,
+                            "request message body contains malformed JSON")));
+        }
+
+        final Future<Message> resultFuture;
+        if (tenantId == null || deviceIds == null || adapterInstanceId == null) {
+            TracingHelper.logError(span, "missing tenant, device ids and/or adapter instance id");
+            resultFuture = Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_BAD_REQUEST));
+        } else {
+            TracingHelper.TAG_TENANT_ID.set(span, tenantId);
+            span.setTag(TAG_NUMBER_OF_DEVICES, deviceIds.size());
+            span.setTag(MessageHelper.APP_PROPERTY_ADAPTER_INSTANCE_ID, adapterInstanceId);
+            log.debug("removing command handling adapter instance for tenant [{}], {} devices with value {}",
+                    tenantId, deviceIds.size(), adapterInstanceId);
+
+            resultFuture = getService().removeCommandHandlingAdapterInstanceForDevices(tenantId, deviceIds, adapterInstanceId, span)
+                    .map(res -> DeviceConnectionConstants.getAmqpReply(
+                            DeviceConnectionConstants.DEVICE_CONNECTION_ENDPOINT,
+                            tenantId,
+                            request,
+                            res)
+                    );
+        }
+        return finishSpanOnFutureCompletion(span, resultFuture);
+    }
+
+    /**
+     * Gets the device identifiers contained in the <em>device-ids</em> array of a request message's payload.
+     *
+     * @param request The request message.
+     * @return The device identifiers or {@code null} if the payload is missing or doesn't contain a
+     *         (valid) array of identifiers.
+     * @throws DecodeException if the payload isn't valid JSON.
+     */
+    private static List<String> getDeviceIdsFromPayload(final Message request) {
+        final JsonObject payload = MessageHelper.getJsonPayload(request);
+        if (payload == null) {
+            return null;
+        }
+        final Object deviceIdsValue = payload.getValue(DeviceConnectionConstants.FIELD_DEVICE_IDS);
+        if (!(deviceIdsValue instanceof JsonArray)
+                || ((JsonArray) deviceIdsValue).stream().anyMatch(id -> !(id instanceof String))) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        final List<String> list = ((JsonArray) deviceIdsValue).getList();
+        return list;
+    }
+
     /**
      * Processes a request for a non-standard operation.
      * <p>
@@ -15,6 +15,7 @@ package org.eclipse.hono.service.deviceconnection;
 
 import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.util.BaseMessageFilter;
+import org.eclipse.hono.util.DeviceConnectionConstants;
 import org.eclipse.hono.util.MessageHelper;
 import org.eclipse.hono.util.ResourceIdentifier;
 import org.slf4j.Logger;
@@ -41,8 +42,11 @@ public final class DeviceConnectionMessageFilter extends BaseMessageFilter {
     public static boolean verify(final ResourceIdentifier linkTarget, final Message msg) {
 
         final Object correlationId = MessageHelper.getCorrelationId(msg);
+        // bulk operations contain the device identifiers in the message payload
+        final boolean isBulkAction = DeviceConnectionConstants.DeviceConnectionAction.from(msg.getSubject())
+                .isBulkAction();
 
-        if (!hasValidDeviceId(linkTarget, msg)) {
+        if (!isBulkAction && !hasValidDeviceId(linkTarget, msg)) {
             return false;
         } else if (correlationId == null) {
             LOG.trace("message has neither a message-id nor correlation-id");
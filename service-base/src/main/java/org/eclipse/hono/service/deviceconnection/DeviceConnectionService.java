@@ -13,12 +13,16 @@
 
 package org.eclipse.hono.service.deviceconnection;
 
+import java.net.HttpURLConnection;
 import java.time.Duration;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 import org.eclipse.hono.util.DeviceConnectionResult;
 
 import io.opentracing.Span;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 
 /**
@@ -93,6 +97,43 @@ public interface DeviceConnectionService {
     Future<DeviceConnectionResult> setCommandHandlingAdapterInstance(String tenantId, String deviceId,
             String adapterInstanceId, Duration lifespan, Span span);
 
+    /**
+     * Sets the protocol adapter instance that handles commands for the given devices or gateways.
+     * <p>
+     * This default implementation invokes {@link #setCommandHandlingAdapterInstance(String, String, String, Duration, Span)}
+     * for each of the given devices. Implementations backed by a store supporting bulk operations should
+     * override this method in order to update all entries at once.
+     *
+     * @param tenantId The tenant id.
+     * @param deviceIds The device ids.
+     * @param adapterInstanceId The protocol adapter instance id.
+     * @param lifespan The lifespan of the mapping entries. Using a negative duration or {@code null} here is
+     *                 interpreted as an unlimited lifespan. The guaranteed granularity taken into account
+     *                 here is seconds.
+     * @param span The active OpenTracing span for this operation. It is not to be closed in this method! An
+     *            implementation should log (error) events on this span and it may set tags and use this span as the
+     *            parent for any spans created in this method.
+     * @return A future indicating the outcome of the operation.
+     *         The <em>status</em> will be <em>204 No Content</em> if the operation completed successfully
+     *         for all devices. Otherwise the status of the first failed single operation is returned.
+     * @throws NullPointerException if any of the parameters except lifespan is {@code null}.
+     */
+    default Future<DeviceConnectionResult> setCommandHandlingAdapterInstanceForDevices(final String tenantId,
+            final List<String> deviceIds, final String adapterInstanceId, final Duration lifespan, final Span span) {
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(deviceIds);
+        Objects.requireNonNull(adapterInstanceId);
+
+        @SuppressWarnings("rawtypes")
+        final List<Future> results = deviceIds.stream()
+                .map(deviceId -> setCommandHandlingAdapterInstance(tenantId, deviceId, adapterInstanceId, lifespan, span))
+                .collect(Collectors.toList());
+        return CompositeFuture.all(results).map(compositeResult -> compositeResult.<DeviceConnectionResult> list().stream()
+                .filter(result -> result.isError())
+                .findFirst()
+                .orElse(DeviceConnectionResult.from(HttpURLConnection.HTTP_NO_CONTENT)));
+    }
+
     /**
      * Removes the mapping information that associates the given device with the given protocol adapter instance
      * that handles commands for the given device. The mapping entry is only deleted if its value
@@ -110,6 +151,42 @@ public interface DeviceConnectionService {
      */
     Future<DeviceConnectionResult> removeCommandHandlingAdapterInstance(String tenantId, String deviceId, String adapterInstanceId, Span span);
 
+    /**
+     * Removes the mapping information that associates the given devices with the given protocol adapter instance
+     * that handles commands for the given devices. A mapping entry is only deleted if its value
+     * contains the given protocol adapter instance id. Entries not containing that value are left untouched.
+     * <p>
+     * This default implementation invokes {@link #removeCommandHandlingAdapterInstance(String, String, String, Span)}
+     * for each of the given devices. Implementations backed by a store supporting bulk operations should
+     * override this method in order to remove all entries at once.
+     *
+     * @param tenantId The tenant id.
+     * @param deviceIds The device ids.
+     * @param adapterInstanceId The protocol adapter instance id that the entries to be removed have to contain.
+     * @param span The active OpenTracing span for this operation. It is not to be closed in this method! An
+     *            implementation should log (error) events on this span and it may set tags and use this span as the
+     *            parent for any spans created in this method.
+     * @return A future indicating the outcome of the operation.
+     *         The <em>status</em> will be <em>204 No Content</em> if the operation completed successfully.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    default Future<DeviceConnectionResult> removeCommandHandlingAdapterInstanceForDevices(final String tenantId,
+            final List<String> deviceIds, final String adapterInstanceId, final Span span) {
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(deviceIds);
+        Objects.requireNonNull(adapterInstanceId);
+
+        @SuppressWarnings("rawtypes")
+        final List<Future> results = deviceIds.stream()
+                .map(deviceId -> removeCommandHandlingAdapterInstance(tenantId, deviceId, adapterInstanceId, span))
+                .collect(Collectors.toList());
+        return CompositeFuture.all(results).map(compositeResult -> compositeResult.<DeviceConnectionResult> list().stream()
+                // a non-matching entry is not considered an error here
+                .filter(result -> result.isError() && result.getStatus() != HttpURLConnection.HTTP_PRECON_FAILED)
+                .findFirst()
+                .orElse(DeviceConnectionResult.from(HttpURLConnection.HTTP_NO_CONTENT)));
+    }
+
     /**
      * Gets information about the adapter instances that can handle a command for the given device.
      * <p>
@@ -48,6 +48,14 @@ public interface Metrics {
      */
     void decrementUnauthenticatedConnections();
 
+    /**
+     * Reports a TLS handshake having been completed for a connection with a device.
+     *
+     * @param handshake The type of handshake that has been performed.
+     * @throws NullPointerException if handshake is {@code null}.
+     */
+    void reportTlsHandshake(MetricsTags.TlsHandshake handshake);
+
     /**
      * Gets the total number of current connections - authenticated for all tenants and unauthenticated.
      *
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018, 2019 Contributors to the Eclipse Foundation
+ * Copyright (c) 2018, 2020 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -15,6 +15,8 @@ package org.eclipse.hono.service.metric;
 
 import java.util.Objects;
 
+import javax.net.ssl.SSLSession;
+
 import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.util.CommandConstants;
 import org.eclipse.hono.util.EventConstants;
@@ -329,6 +331,58 @@ public final class MetricsTags {
         }
     }
 
+    /**
+     * The type of TLS handshake performed when a device connects.
+     */
+    public enum TlsHandshake {
+
+        /**
+         * A full handshake, establishing a new TLS session.
+         */
+        FULL("full"),
+        /**
+         * An abbreviated handshake, resuming an existing TLS session.
+         */
+        RESUMED("resumed");
+
+        static final String TAG_NAME = "handshake";
+
+        private final Tag tag;
+
+        TlsHandshake(final String tagValue) {
+            this.tag = Tag.of(TAG_NAME, tagValue);
+        }
+
+        /**
+         * Determines the type of handshake that has been performed for a TLS session.
+         * <p>
+         * The session is considered to have been resumed if it has been accessed after
+         * it has been created, i.e. if its data has been used by another connection.
+         *
+         * @param session The TLS session of the connection.
+         * @return The type of handshake.
+         * @throws NullPointerException if session is {@code null}.
+         */
+        public static TlsHandshake from(final SSLSession session) {
+            Objects.requireNonNull(session);
+            return session.getLastAccessedTime() > session.getCreationTime() ? RESUMED : FULL;
+        }
+
+        /**
+         * Gets a <em>Micrometer</em> tag for the type of handshake.
+         *
+         * @return The tag.
+         */
+        public Tag asTag() {
+            return tag;
+        }
+    }
+
+    /**
+     * The value of the tenant tag of metrics that have been reported for tenants
+     * whose metrics are not reported individually.
+     */
+    public static final String VALUE_TENANT_OTHER = "_other";
     /**
      * The name of the tag that holds the name of the component that reports a metric.
      */
@@ -20,6 +20,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Supplier;
 
 import org.eclipse.hono.config.ProtocolAdapterProperties;
@@ -45,6 +46,17 @@ import io.vertx.core.Vertx;
  * the protocol adapter instance for the configured period, it stops reporting metrics for that tenant and publishes an
  * event on the event bus. The event bus address is {@link Constants#EVENT_BUS_ADDRESS_TENANT_TIMED_OUT} and the body of
  * the message is the tenantId.
+ * <p>
+ * The meters used for reporting telemetry messages and commands are looked up in the registry only once per
+ * combination of tags. The resolved meters are kept per tenant until any of the tenant's message or command meters
+ * gets removed from the registry, e.g. because the tenant has timed out.
+ * <p>
+ * If the maximum number of tenants to report metrics for is configured
+ * ({@link ProtocolAdapterProperties#setMetricsMaxTenants(int)}), the message and command meters are tagged
+ * with the tenant identifier only for those tenants that have sent the most messages recently. The meters
+ * of all other tenants are tagged with {@link MetricsTags#VALUE_TENANT_OTHER} instead. The set of top tenants
+ * is re-determined periodically. The message and command meters of tenants that are no longer top tenants
+ * are removed from the registry.
  */
 public class MicrometerBasedMetrics implements Metrics {
 
@@ -60,6 +72,10 @@ public class MicrometerBasedMetrics implements Metrics {
      * The name of the meter for unauthenticated connections.
      */
     public static final String METER_CONNECTIONS_UNAUTHENTICATED = "hono.connections.unauthenticated";
+    /**
+     * The name of the meter for TLS handshakes performed with devices.
+     */
+    public static final String METER_CONNECTIONS_TLS_HANDSHAKES = "hono.connections.tls.handshakes";
     /**
      * The name of the meter for recording message payload size.
      */
@@ -80,6 +96,14 @@ public class MicrometerBasedMetrics implements Metrics {
     private static final long DEFAULT_TENANT_IDLE_TIMEOUT = ProtocolAdapterProperties.DEFAULT_TENANT_IDLE_TIMEOUT
             .toMillis();
     private static final long DEVICE_CONNECTION_DURATION_RECORDING_INTERVAL_IN_MS = TimeUnit.SECONDS.toMillis(10);
+    private static final long TOP_TENANTS_REFRESH_INTERVAL_IN_MS = TimeUnit.MINUTES.toMillis(1);
+
+    private static final int NO_OF_OUTCOMES = ProcessingOutcome.values().length;
+    private static final int NO_OF_QOS_LEVELS = MetricsTags.QoS.values().length;
+    private static final int NO_OF_TTD_STATUSES = MetricsTags.TtdStatus.values().length;
+    // telemetry and event
+    private static final int NO_OF_MESSAGE_METERS = 2 * NO_OF_OUTCOMES * NO_OF_QOS_LEVELS * NO_OF_TTD_STATUSES;
+    private static final int NO_OF_COMMAND_METERS = Direction.values().length * NO_OF_OUTCOMES;
 
     /**
      * The meter registry.
@@ -89,10 +113,12 @@ public class MicrometerBasedMetrics implements Metrics {
     private final Map<String, AtomicLong> authenticatedConnections = new ConcurrentHashMap<>();
     private final Map<String, DeviceConnectionDurationTracker> connectionDurationTrackers = new ConcurrentHashMap<>();
     private final Map<String, Long> lastSeenTimestampPerTenant = new ConcurrentHashMap<>();
+    private final Map<String, TenantMeters> tenantMeters = new ConcurrentHashMap<>();
     private final AtomicLong unauthenticatedConnections;
     private final AtomicInteger totalCurrentConnections = new AtomicInteger();
     private final Vertx vertx;
     private long tenantIdleTimeout = DEFAULT_TENANT_IDLE_TIMEOUT;
+    private volatile TopTenants topTenants;
 
     /**
      * Creates a new metrics instance.
@@ -111,8 +137,13 @@ public class MicrometerBasedMetrics implements Metrics {
 
         this.registry.config().onMeterRemoved(meter -> {
             // execution is synchronized in MeterRegistry#remove(Meter)
-            if (METER_CONNECTIONS_AUTHENTICATED.equals(meter.getId().getName())) {
+            final String name = meter.getId().getName();
+            if (METER_CONNECTIONS_AUTHENTICATED.equals(name)) {
                 authenticatedConnections.remove(meter.getId().getTag(MetricsTags.TAG_TENANT));
+            } else if (METER_MESSAGES_RECEIVED.equals(name) || METER_MESSAGES_PAYLOAD.equals(name)
+                    || METER_COMMANDS_RECEIVED.equals(name) || METER_COMMANDS_PAYLOAD.equals(name)) {
+                // make sure that no removed meters are used for recording
+                Optional.ofNullable(meter.getId().getTag(MetricsTags.TAG_TENANT)).ifPresent(tenantMeters::remove);
             }
         });
         this.unauthenticatedConnections = registry.gauge(METER_CONNECTIONS_UNAUTHENTICATED, new AtomicLong());
@@ -128,6 +159,10 @@ public class MicrometerBasedMetrics implements Metrics {
     public void setProtocolAdapterProperties(final ProtocolAdapterProperties config) {
         Objects.requireNonNull(config);
         this.tenantIdleTimeout = config.getTenantIdleTimeout().toMillis();
+        if (config.getMetricsMaxTenants() > 0 && topTenants == null) {
+            topTenants = new TopTenants(config.getMetricsMaxTenants());
+            vertx.setPeriodic(TOP_TENANTS_REFRESH_INTERVAL_IN_MS, id -> refreshTopTenants());
+        }
     }
 
     @Override
@@ -168,6 +203,12 @@ public class MicrometerBasedMetrics implements Metrics {
         this.totalCurrentConnections.decrementAndGet();
     }
 
+    @Override
+    public final void reportTlsHandshake(final MetricsTags.TlsHandshake handshake) {
+        Objects.requireNonNull(handshake);
+        this.registry.counter(METER_CONNECTIONS_TLS_HANDSHAKES, Tags.of(handshake.asTag())).increment();
+    }
+
     @Override
     public int getNumberOfConnections() {
         return this.totalCurrentConnections.get();
@@ -214,21 +255,31 @@ public class MicrometerBasedMetrics implements Metrics {
             throw new IllegalArgumentException("payload size must not be negative");
         }
 
-        final Tags tags = Tags.of(type.asTag())
-                .and(MetricsTags.getTenantTag(tenantId))
-                .and(outcome.asTag())
-                .and(qos.asTag())
-                .and(ttdStatus.asTag());
-
-        timer.stop(this.registry.timer(METER_MESSAGES_RECEIVED, tags));
+        final String tenantTagValue = getTenantTagValue(tenantId);
+        final TenantMeters meters = getTenantMeters(tenantTagValue);
+        final int index = (((type == MetricsTags.EndpointType.TELEMETRY ? 0 : 1) * NO_OF_OUTCOMES
+                + outcome.ordinal()) * NO_OF_QOS_LEVELS
+                + qos.ordinal()) * NO_OF_TTD_STATUSES
+                + ttdStatus.ordinal();
+
+        Timer messagesReceived = meters.messagesReceived.get(index);
+        DistributionSummary messagesPayload = meters.messagesPayload.get(index);
+        if (messagesReceived == null || messagesPayload == null) {
+            final Tags tags = Tags.of(type.asTag())
+                    .and(MetricsTags.getTenantTag(tenantTagValue))
+                    .and(outcome.asTag())
+                    .and(qos.asTag())
+                    .and(ttdStatus.asTag());
+            messagesReceived = this.registry.timer(METER_MESSAGES_RECEIVED, tags);
+            messagesPayload = payloadSummary(METER_MESSAGES_PAYLOAD, tags);
+            meters.messagesReceived.set(index, messagesReceived);
+            meters.messagesPayload.set(index, messagesPayload);
+            removeMetersIfDemoted(tenantTagValue);
+        }
 
+        timer.stop(messagesReceived);
         // record payload size
-        DistributionSummary.builder(METER_MESSAGES_PAYLOAD)
-            .baseUnit("bytes")
-            .minimumExpectedValue(0L)
-            .tags(tags)
-            .register(this.registry)
-            .record(ServiceBaseUtils.calculatePayloadSize(payloadSize, tenantObject));
+        messagesPayload.record(ServiceBaseUtils.calculatePayloadSize(payloadSize, tenantObject));
 
         updateLastSeenTimestamp(tenantId);
     }
@@ -251,23 +302,89 @@ public class MicrometerBasedMetrics implements Metrics {
             throw new IllegalArgumentException("payload size must not be negative");
         }
 
-        final Tags tags = Tags.of(direction.asTag())
-                .and(MetricsTags.getTenantTag(tenantId))
-                .and(outcome.asTag());
-
-        timer.stop(this.registry.timer(METER_COMMANDS_RECEIVED, tags));
+        final String tenantTagValue = getTenantTagValue(tenantId);
+        final TenantMeters meters = getTenantMeters(tenantTagValue);
+        final int index = direction.ordinal() * NO_OF_OUTCOMES + outcome.ordinal();
+
+        Timer commandsReceived = meters.commandsReceived.get(index);
+        DistributionSummary commandsPayload = meters.commandsPayload.get(index);
+        if (commandsReceived == null || commandsPayload == null) {
+            final Tags tags = Tags.of(direction.asTag())
+                    .and(MetricsTags.getTenantTag(tenantTagValue))
+                    .and(outcome.asTag());
+            commandsReceived = this.registry.timer(METER_COMMANDS_RECEIVED, tags);
+            commandsPayload = payloadSummary(METER_COMMANDS_PAYLOAD, tags);
+            meters.commandsReceived.set(index, commandsReceived);
+            meters.commandsPayload.set(index, commandsPayload);
+            removeMetersIfDemoted(tenantTagValue);
+        }
 
+        timer.stop(commandsReceived);
         // record payload size
-        DistributionSummary.builder(METER_COMMANDS_PAYLOAD)
-            .baseUnit("bytes")
-            .minimumExpectedValue(0L)
-            .tags(tags)
-            .register(this.registry)
-            .record(ServiceBaseUtils.calculatePayloadSize(payloadSize, tenantObject));
+        commandsPayload.record(ServiceBaseUtils.calculatePayloadSize(payloadSize, tenantObject));
 
         updateLastSeenTimestamp(tenantId);
     }
 
+    /**
+     * Gets the value of the tenant tag to use for a tenant's message and command meters.
+     *
+     * @param tenantId The tenant.
+     * @return The tenant identifier or {@link MetricsTags#VALUE_TENANT_OTHER} if the tenant
+     *         is not one of the top tenants.
+     */
+    private String getTenantTagValue(final String tenantId) {
+        final TopTenants top = topTenants;
+        if (top == null || top.record(tenantId)) {
+            return tenantId;
+        }
+        return MetricsTags.VALUE_TENANT_OTHER;
+    }
+
+    private TenantMeters getTenantMeters(final String tenantTagValue) {
+        final TenantMeters meters = tenantMeters.get(tenantTagValue);
+        if (meters != null) {
+            return meters;
+        }
+        return tenantMeters.computeIfAbsent(tenantTagValue, id -> new TenantMeters());
+    }
+
+    /**
+     * Removes the message and command meters of a tenant that is no longer a top tenant.
+     * <p>
+     * The top tenants may have been re-determined after the tenant tag value has been determined
+     * but before the tenant's meters have been registered. In this case the meters that have just
+     * been registered would never be removed, because the tenant's meters have already been removed
+     * during the refresh.
+     *
+     * @param tenantTagValue The tenant tag value that the meters have been registered with.
+     */
+    private void removeMetersIfDemoted(final String tenantTagValue) {
+        final TopTenants top = topTenants;
+        if (top != null && !MetricsTags.VALUE_TENANT_OTHER.equals(tenantTagValue) && !top.isTopTenant(tenantTagValue)) {
+            removeMessageAndCommandMeters(Tags.of(MetricsTags.getTenantTag(tenantTagValue)));
+        }
+    }
+
+    private void refreshTopTenants() {
+        topTenants.refresh().forEach(tenantId -> removeMessageAndCommandMeters(Tags.of(MetricsTags.getTenantTag(tenantId))));
+    }
+
+    private void removeMessageAndCommandMeters(final Tags tenantTag) {
+        registry.find(METER_MESSAGES_PAYLOAD).tags(tenantTag).meters().forEach(registry::remove);
+        registry.find(METER_MESSAGES_RECEIVED).tags(tenantTag).meters().forEach(registry::remove);
+        registry.find(METER_COMMANDS_PAYLOAD).tags(tenantTag).meters().forEach(registry::remove);
+        registry.find(METER_COMMANDS_RECEIVED).tags(tenantTag).meters().forEach(registry::remove);
+    }
+
+    private DistributionSummary payloadSummary(final String name, final Tags tags) {
+        return DistributionSummary.builder(name)
+                .baseUnit("bytes")
+                .minimumExpectedValue(0L)
+                .tags(tags)
+                .register(this.registry);
+    }
+
     /**
      * Gets a gauge value for a specific key.
      * <p>
@@ -369,10 +486,7 @@ public class MicrometerBasedMetrics implements Metrics {
         registry.find(METER_CONNECTIONS_AUTHENTICATED).tags(tenantTag).meters().forEach(registry::remove);
         registry.find(METER_CONNECTIONS_AUTHENTICATED_DURATION).tags(tenantTag).meters().forEach(registry::remove);
 
-        registry.find(METER_MESSAGES_PAYLOAD).tags(tenantTag).meters().forEach(registry::remove);
-        registry.find(METER_MESSAGES_RECEIVED).tags(tenantTag).meters().forEach(registry::remove);
-        registry.find(METER_COMMANDS_PAYLOAD).tags(tenantTag).meters().forEach(registry::remove);
-        registry.find(METER_COMMANDS_RECEIVED).tags(tenantTag).meters().forEach(registry::remove);
+        removeMessageAndCommandMeters(tenantTag);
 
         vertx.eventBus().publish(Constants.EVENT_BUS_ADDRESS_TENANT_TIMED_OUT, tenantId);
     }
@@ -404,4 +518,18 @@ public class MicrometerBasedMetrics implements Metrics {
                             return null;
                         }));
     }
+
+    /**
+     * The meters used for reporting a tenant's messages and commands.
+     * <p>
+     * The meters are indexed by the ordinals of the tag values that they have been
+     * registered with.
+     */
+    private static final class TenantMeters {
+
+        private final AtomicReferenceArray<Timer> messagesReceived = new AtomicReferenceArray<>(NO_OF_MESSAGE_METERS);
+        private final AtomicReferenceArray<DistributionSummary> messagesPayload = new AtomicReferenceArray<>(NO_OF_MESSAGE_METERS);
+        private final AtomicReferenceArray<Timer> commandsReceived = new AtomicReferenceArray<>(NO_OF_COMMAND_METERS);
+        private final AtomicReferenceArray<DistributionSummary> commandsPayload = new AtomicReferenceArray<>(NO_OF_COMMAND_METERS);
+    }
 }
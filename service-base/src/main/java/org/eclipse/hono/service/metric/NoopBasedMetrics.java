@@ -46,6 +46,10 @@ public class NoopBasedMetrics implements Metrics {
     public void decrementConnections(final String tenantId) {
     }
 
+    @Override
+    public void reportTlsHandshake(final MetricsTags.TlsHandshake handshake) {
+    }
+
     @Override
     public int getNumberOfConnections() {
         return 0;
@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.metric;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps track of the tenants that have sent the most messages recently.
+ * <p>
+ * The number of messages per tenant is estimated by means of a
+ * <a href="https://en.wikipedia.org/wiki/Count%E2%80%93min_sketch">count-min sketch</a>
+ * so that the memory required for tracking does not depend on the number of tenants.
+ * Tenants whose estimated number of messages exceeds the number of messages of the
+ * current top tenants are kept as candidates (up to a limit). The top tenants are
+ * re-determined from the current top tenants and the candidates on each
+ * {@linkplain #refresh() refresh}, after which all estimates are halved so that the
+ * top tenants reflect recent activity.
+ * <p>
+ * As long as there are less than the maximum number of top tenants, any tenant
+ * recording a message becomes a top tenant immediately.
+ * <p>
+ * Instances of this class are thread safe.
+ */
+final class TopTenants {
+
+    private static final int DEPTH = 4;
+    private static final int MIN_WIDTH = 1 << 10;
+    private static final int MAX_WIDTH = 1 << 16;
+
+    private final int maxTenants;
+    private final int maxCandidates;
+    private final int width;
+    private final AtomicLongArray counters;
+    private final Set<String> candidates = ConcurrentHashMap.newKeySet();
+    private volatile Set<String> topTenants = ConcurrentHashMap.newKeySet();
+    private volatile long threshold = 0;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param maxTenants The maximum number of top tenants.
+     * @throws IllegalArgumentException if the number is &lt; 1.
+     */
+    TopTenants(final int maxTenants) {
+        if (maxTenants < 1) {
+            throw new IllegalArgumentException("max tenants must be at least 1");
+        }
+        this.maxTenants = maxTenants;
+        this.maxCandidates = 2 * maxTenants;
+        // the width needs to be a power of two
+        int w = MIN_WIDTH;
+        while (w < MAX_WIDTH && w < 16L * maxTenants) {
+            w <<= 1;
+        }
+        this.width = w;
+        this.counters = new AtomicLongArray(DEPTH * width);
+    }
+
+    /**
+     * Records a message of a tenant.
+     *
+     * @param tenantId The tenant.
+     * @return {@code true} if the tenant is a top tenant.
+     * @throws NullPointerException if tenant is {@code null}.
+     */
+    boolean record(final String tenantId) {
+
+        Objects.requireNonNull(tenantId);
+
+        final long estimate = increment(tenantId);
+        final Set<String> top = topTenants;
+        if (top.contains(tenantId)) {
+            return true;
+        }
+        if (top.size() < maxTenants) {
+            synchronized (this) {
+                // make sure that the top tenants have not been replaced in the meantime
+                if (top == topTenants && top.size() < maxTenants) {
+                    top.add(tenantId);
+                    return true;
+                }
+            }
+        }
+        if (estimate > threshold && candidates.size() < maxCandidates) {
+            candidates.add(tenantId);
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a tenant is a top tenant.
+     *
+     * @param tenantId The tenant.
+     * @return {@code true} if the tenant is a top tenant.
+     */
+    boolean isTopTenant(final String tenantId) {
+        return topTenants.contains(tenantId);
+    }
+
+    /**
+     * Gets the estimated number of messages that have been recorded for a tenant recently.
+     * <p>
+     * The estimate is never lower than the actual number but may be higher.
+     *
+     * @param tenantId The tenant.
+     * @return The estimated number of messages.
+     * @throws NullPointerException if tenant is {@code null}.
+     */
+    long estimate(final String tenantId) {
+
+        Objects.requireNonNull(tenantId);
+
+        final int hash1 = hash1(tenantId);
+        final int hash2 = hash2(hash1);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, counters.get(index(row, hash1, hash2)));
+        }
+        return min;
+    }
+
+    /**
+     * Re-determines the top tenants.
+     *
+     * @return The tenants that have been top tenants before but are no longer.
+     */
+    synchronized Set<String> refresh() {
+
+        final Set<String> previousTopTenants = topTenants;
+        final Set<String> contenders = new HashSet<>(previousTopTenants);
+        contenders.addAll(candidates);
+
+        final Map<String, Long> estimates = new HashMap<>(contenders.size());
+        contenders.forEach(tenantId -> estimates.put(tenantId, estimate(tenantId)));
+        final List<String> ranking = new ArrayList<>(contenders);
+        ranking.sort((a, b) -> Long.compare(estimates.get(b), estimates.get(a)));
+
+        final Set<String> newTopTenants = ConcurrentHashMap.newKeySet();
+        newTopTenants.addAll(ranking.subList(0, Math.min(maxTenants, ranking.size())));
+
+        // age all estimates so that tenants that have been
+        // active in the past do not stay top tenants forever
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, counters.get(i) >> 1);
+        }
+        threshold = newTopTenants.size() < maxTenants
+                ? 0
+                : estimates.get(ranking.get(maxTenants - 1)) >> 1;
+        candidates.clear();
+        topTenants = newTopTenants;
+
+        final Set<String> demotedTenants = new HashSet<>(previousTopTenants);
+        demotedTenants.removeAll(newTopTenants);
+        return demotedTenants;
+    }
+
+    private long increment(final String tenantId) {
+
+        final int hash1 = hash1(tenantId);
+        final int hash2 = hash2(hash1);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, counters.incrementAndGet(index(row, hash1, hash2)));
+        }
+        return min;
+    }
+
+    private int index(final int row, final int hash1, final int hash2) {
+        return row * width + ((hash1 + row * hash2) & (width - 1));
+    }
+
+    private static int hash1(final String tenantId) {
+        final int h = tenantId.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int hash2(final int hash1) {
+        // must be odd in order to be co-prime to the (power of two) width
+        return Integer.rotateLeft(hash1 * 0x9E3779B9, 16) | 1;
+    }
+}
@@ -37,6 +37,7 @@ import org.eclipse.hono.auth.Device;
 import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.client.CommandTargetMapper;
 import org.eclipse.hono.client.CredentialsClientFactory;
+import org.eclipse.hono.client.DeviceConnectionClient;
 import org.eclipse.hono.client.DeviceConnectionClientFactory;
 import org.eclipse.hono.client.DisconnectListener;
 import org.eclipse.hono.client.DownstreamSender;
@@ -53,6 +54,8 @@ import org.eclipse.hono.config.ProtocolAdapterProperties;
 import org.eclipse.hono.service.http.HttpUtils;
 import org.eclipse.hono.service.monitoring.ConnectionEventProducer;
 import org.eclipse.hono.service.monitoring.HonoEventConnectionEventProducer;
+import org.eclipse.hono.service.resourcelimits.PrometheusBasedResourceLimitChecks;
+import org.eclipse.hono.service.resourcelimits.PrometheusBasedResourceLimitChecksConfig;
 import org.eclipse.hono.service.resourcelimits.ResourceLimitChecks;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.EventConstants;
@@ -74,7 +77,9 @@ import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.WebClient;
 import io.vertx.junit5.Checkpoint;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
@@ -186,6 +191,29 @@ public class AbstractProtocolAdapterBaseTest {
         })));
     }
 
+    /**
+     * Verifies that an adapter that folds tenants in its metrics cannot be started
+     * with resource limit checks based on Prometheus metrics data.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testStartInternalFailsForMetricsMaxTenantsWithPrometheusBasedResourceLimitChecks(final VertxTestContext ctx) {
+
+        // GIVEN an adapter that folds tenants in its metrics
+        properties.setMetricsMaxTenants(10);
+        // and checks resource limits based on Prometheus metrics data
+        adapter.setResourceLimitChecks(new PrometheusBasedResourceLimitChecks(
+                mock(WebClient.class), new PrometheusBasedResourceLimitChecksConfig(), null));
+
+        // WHEN starting the adapter
+        adapter.startInternal().onComplete(ctx.failing(t -> ctx.verify(() -> {
+            // THEN startup fails
+            assertTrue(t instanceof IllegalStateException);
+            ctx.completeNow();
+        })));
+    }
+
     /**
      * Verifies that the adapter connects to required services during
      * startup and invokes the <em>onCommandConnectionEstablished</em> and
@@ -373,6 +401,37 @@ public class AbstractProtocolAdapterBaseTest {
         })));
     }
 
+    /**
+     * Verifies that the adapter reports the last known gateway of a device only if it
+     * differs from the gateway that has been reported before, if caching is enabled.
+     */
+    @Test
+    public void testUpdateLastGatewaySkipsUnchangedGateway() {
+
+        // GIVEN an adapter configured to cache last known gateways
+        properties.setLastKnownGatewayCacheTimeout(Duration.ofMinutes(1));
+        final DeviceConnectionClient deviceConnectionClient = mock(DeviceConnectionClient.class);
+        when(deviceConnectionClient.setLastKnownGatewayForDevice(anyString(), anyString(), any()))
+                .thenReturn(Future.succeededFuture());
+        when(deviceConnectionClientFactory.getOrCreateDeviceConnectionClient(anyString()))
+                .thenReturn(Future.succeededFuture(deviceConnectionClient));
+        final JsonObject assertion = newRegistrationAssertionResult()
+                .put(RegistrationConstants.FIELD_VIA, new JsonArray().add("gw-1").add("gw-2"));
+
+        // WHEN a gateway sends multiple messages on behalf of a device
+        adapter.updateLastGateway(assertion, "tenant", "device", new Device("tenant", "gw-1"), null);
+        adapter.updateLastGateway(assertion, "tenant", "device", new Device("tenant", "gw-1"), null);
+
+        // THEN the last known gateway is reported once only
+        verify(deviceConnectionClient, times(1)).setLastKnownGatewayForDevice(eq("device"), eq("gw-1"), any());
+
+        // and WHEN another gateway sends a message on behalf of the device
+        adapter.updateLastGateway(assertion, "tenant", "device", new Device("tenant", "gw-2"), null);
+
+        // THEN the new gateway is reported
+        verify(deviceConnectionClient).setLastKnownGatewayForDevice(eq("device"), eq("gw-2"), any());
+    }
+
     /**
      * Verifies that the adapter fails a request to get a registration assertion for
      * a non-existing device.
@@ -24,6 +24,7 @@ import org.eclipse.hono.util.Constants;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.EventBus;
@@ -314,4 +315,33 @@ public class AbstractServiceBaseTest {
         assertTrue(options.isSsl());
         assertTrue(options.isSni());
     }
+
+    /**
+     * Verifies that the SO_REUSEPORT option is only enabled if configured and
+     * if vert.x uses the native transport.
+     */
+    @Test
+    public void testAddServerSocketOptionsEnablesReusePort() {
+
+        // GIVEN a configuration with the SO_REUSEPORT option being set
+        final ServiceConfigProperties config = new ServiceConfigProperties();
+        config.setReusePort(true);
+        final AbstractServiceBase<ServiceConfigProperties> service = createService(config);
+        service.init(vertx, mock(Context.class));
+
+        // WHEN configuring server options while the native transport is not used
+        final NetServerOptions nioOptions = new NetServerOptions();
+        service.addServerSocketOptions(nioOptions);
+
+        // THEN the option is not enabled
+        assertFalse(nioOptions.isReusePort());
+
+        // WHEN configuring server options while the native transport is used
+        when(vertx.isNativeTransportEnabled()).thenReturn(true);
+        final NetServerOptions nativeOptions = new NetServerOptions();
+        service.addServerSocketOptions(nativeOptions);
+
+        // THEN the option is enabled
+        assertTrue(nativeOptions.isReusePort());
+    }
 }
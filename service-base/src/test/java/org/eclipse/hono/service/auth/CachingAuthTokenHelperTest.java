@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import org.eclipse.hono.auth.Activity;
+import org.eclipse.hono.auth.AuthoritiesImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.PrematureJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+
+/**
+ * Verifies behavior of {@link CachingAuthTokenHelper}.
+ *
+ */
+public class CachingAuthTokenHelperTest {
+
+    private AuthTokenHelper delegate;
+    private MeterRegistry registry;
+    private CachingAuthTokenHelper helper;
+
+    /**
+     * Sets up the fixture.
+     */
+    @BeforeEach
+    public void init() {
+        delegate = spy(AuthTokenHelperImpl.forSharedSecret("suzfgsuzdfgadsjfjfaksgfkadfgduzsafdsfsaf", 60));
+        registry = new SimpleMeterRegistry();
+        helper = new CachingAuthTokenHelper(delegate, 100, registry);
+    }
+
+    /**
+     * Verifies that a token is validated by the delegate only once and
+     * is served from the cache afterwards.
+     */
+    @Test
+    public void testExpandUsesCachedToken() {
+
+        final String token = helper.createToken("userA", new AuthoritiesImpl()
+                .addResource("telemetry", "*", Activity.READ));
+
+        final Jws<Claims> parsedToken = helper.expand(token);
+        final Jws<Claims> cachedToken = helper.expand(token);
+        assertThat(cachedToken.getBody()).isEqualTo(parsedToken.getBody());
+        assertThat(cachedToken.getSignature()).isEqualTo(parsedToken.getSignature());
+
+        verify(delegate, times(1)).expand(anyString());
+        assertThat(registry.get(CachingAuthTokenHelper.METER_VALIDATION_DURATION).timer().count()).isEqualTo(1L);
+        assertThat(registry.get(CachingAuthTokenHelper.METER_CACHE_HITS).counter().count()).isEqualTo(1.0);
+    }
+
+    /**
+     * Verifies that modifications of an expanded token do not affect the cached token.
+     */
+    @Test
+    public void testExpandReturnsCopyOfCachedToken() {
+
+        final String token = helper.createToken("userA", null);
+
+        final Jws<Claims> parsedToken = helper.expand(token);
+        parsedToken.getBody().setSubject("userB");
+        final Jws<Claims> cachedToken = helper.expand(token);
+        assertThat(cachedToken.getBody().getSubject()).isEqualTo("userA");
+        cachedToken.getBody().setSubject("userC");
+        assertThat(helper.expand(token).getBody().getSubject()).isEqualTo("userA");
+
+        verify(delegate, times(1)).expand(anyString());
+    }
+
+    /**
+     * Verifies that the <em>nbf</em> claim of a cached token is checked on a cache hit.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testExpandChecksNotBeforeOfCachedToken() {
+
+        final Claims claims = Jwts.claims()
+                .setSubject("userA")
+                .setNotBefore(Date.from(Instant.now().plus(Duration.ofHours(1))))
+                .setExpiration(Date.from(Instant.now().plus(Duration.ofHours(2))));
+        final Jws<Claims> parsedToken = mock(Jws.class);
+        when(parsedToken.getBody()).thenReturn(claims);
+        final AuthTokenHelper premature = mock(AuthTokenHelper.class);
+        when(premature.expand(anyString())).thenReturn(parsedToken);
+        helper = new CachingAuthTokenHelper(premature, 100, registry);
+
+        helper.expand("token");
+        assertThatThrownBy(() -> helper.expand("token")).isInstanceOf(PrematureJwtException.class);
+
+        verify(premature, times(1)).expand(anyString());
+    }
+
+    /**
+     * Verifies that tokens failing validation are not cached.
+     */
+    @Test
+    public void testExpandDoesNotCacheInvalidToken() {
+
+        final String token = helper.createToken("userA", null);
+        final String tamperedToken = token.substring(0, token.length() - 2);
+
+        assertThatThrownBy(() -> helper.expand(tamperedToken)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> helper.expand(tamperedToken)).isInstanceOf(JwtException.class);
+
+        verify(delegate, times(2)).expand(anyString());
+        assertThat(registry.get(CachingAuthTokenHelper.METER_CACHE_HITS).counter().count()).isEqualTo(0.0);
+    }
+}
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.auth.device;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.TrustAnchor;
+import java.security.cert.X509Certificate;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests verifying behavior of {@link DeviceCertificateValidator}.
+ *
+ */
+public class DeviceCertificateValidatorTest {
+
+    private X509Certificate deviceCert;
+    private TrustAnchor tenantCa;
+    private TrustAnchor otherCa;
+    private MutableClock clock;
+
+    /**
+     * Sets up the fixture.
+     *
+     * @throws IOException if the certificates cannot be read.
+     * @throws GeneralSecurityException if the certificates cannot be parsed.
+     */
+    @BeforeEach
+    public void setUp() throws IOException, GeneralSecurityException {
+        deviceCert = readCertificate("target/certs/device-4711-cert.pem");
+        tenantCa = new TrustAnchor(readCertificate("target/certs/default_tenant-cert.pem"), null);
+        otherCa = new TrustAnchor(readCertificate("target/certs/ca-cert.pem"), null);
+        // validate at a point in time at which the certificates are valid
+        clock = new MutableClock(deviceCert.getNotAfter().toInstant().minus(Duration.ofHours(2)));
+    }
+
+    private static X509Certificate readCertificate(final String path) throws IOException, GeneralSecurityException {
+        try (InputStream in = new FileInputStream(path)) {
+            return (X509Certificate) CertificateFactory.getInstance("X.509").generateCertificate(in);
+        }
+    }
+
+    private DeviceCertificateValidator newValidator() {
+        return spy(new DeviceCertificateValidator(100, Duration.ofHours(1), clock));
+    }
+
+    /**
+     * Verifies that a successful validation of a chain is cached.
+     *
+     * @throws GeneralSecurityException if the chain cannot be validated.
+     */
+    @Test
+    public void testValidateCachesSuccessfulValidation() throws GeneralSecurityException {
+
+        final DeviceCertificateValidator validator = newValidator();
+
+        assertThat(validator.validate(List.of(deviceCert), tenantCa).succeeded()).isTrue();
+        assertThat(validator.validate(List.of(deviceCert), tenantCa).succeeded()).isTrue();
+
+        verify(validator, times(1)).validateCertPath(anyList(), anySet());
+    }
+
+    /**
+     * Verifies that a failed validation of a chain is not cached.
+     *
+     * @throws GeneralSecurityException if the chain cannot be validated.
+     */
+    @Test
+    public void testValidateDoesNotCacheFailedValidation() throws GeneralSecurityException {
+
+        final DeviceCertificateValidator validator = newValidator();
+
+        assertThat(validator.validate(List.of(deviceCert), otherCa).failed()).isTrue();
+        assertThat(validator.validate(List.of(deviceCert), otherCa).failed()).isTrue();
+
+        verify(validator, times(2)).validateCertPath(anyList(), anySet());
+    }
+
+    /**
+     * Verifies that a cached validation expires when the first certificate
+     * of the chain expires, even if the cache timeout has not elapsed yet.
+     *
+     * @throws GeneralSecurityException if the chain cannot be validated.
+     */
+    @Test
+    public void testCachedValidationExpiresWithCertificate() throws GeneralSecurityException {
+
+        final Instant notAfter = deviceCert.getNotAfter().toInstant();
+        clock.set(notAfter.minus(Duration.ofMinutes(1)));
+        final DeviceCertificateValidator validator = newValidator();
+
+        assertThat(validator.validate(List.of(deviceCert), tenantCa).succeeded()).isTrue();
+
+        // still cached
+        clock.set(notAfter.minus(Duration.ofSeconds(30)));
+        assertThat(validator.validate(List.of(deviceCert), tenantCa).succeeded()).isTrue();
+        verify(validator, times(1)).validateCertPath(anyList(), anySet());
+
+        // the certificate has expired although the cache timeout has not elapsed yet
+        clock.set(notAfter.plus(Duration.ofSeconds(1)));
+        assertThat(validator.validate(List.of(deviceCert), tenantCa).failed()).isTrue();
+        verify(validator, times(2)).validateCertPath(anyList(), anySet());
+    }
+
+    /**
+     * Verifies that a cached validation is not used for validating the same chain
+     * against a different set of trust anchors.
+     *
+     * @throws GeneralSecurityException if the chain cannot be validated.
+     */
+    @Test
+    public void testValidateIgnoresCachedValidationForChangedTrustAnchors() throws GeneralSecurityException {
+
+        final DeviceCertificateValidator validator = newValidator();
+
+        assertThat(validator.validate(List.of(deviceCert), tenantCa).succeeded()).isTrue();
+        assertThat(validator.validate(List.of(deviceCert), Set.of(tenantCa, otherCa)).succeeded()).isTrue();
+
+        verify(validator, times(2)).validateCertPath(anyList(), anySet());
+    }
+
+    /**
+     * A clock that can be set to arbitrary points in time.
+     */
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(final Instant instant) {
+            this.instant = instant;
+        }
+
+        void set(final Instant newInstant) {
+            this.instant = newInstant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.auth.device;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.HttpURLConnection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.auth.HonoPasswordEncoder;
+import org.eclipse.hono.client.ServerErrorException;
+import org.eclipse.hono.client.ServiceInvocationException;
+import org.eclipse.hono.util.CredentialsConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+
+/**
+ * Tests verifying behavior of {@link PasswordHashingExecutor}.
+ *
+ */
+@ExtendWith(VertxExtension.class)
+@Timeout(value = 5, timeUnit = TimeUnit.SECONDS)
+public class PasswordHashingExecutorTest {
+
+    private MeterRegistry registry;
+    private PasswordHashingExecutor executor;
+
+    /**
+     * Sets up the fixture.
+     */
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        final PasswordHashingConfigProperties config = new PasswordHashingConfigProperties();
+        config.setPoolSize(1);
+        config.setQueueSize(1);
+        executor = new PasswordHashingExecutor(config, registry);
+    }
+
+    /**
+     * Shuts down the executor.
+     */
+    @AfterEach
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Verifies that the executor rejects tasks with a 503 error if
+     * its queue is full.
+     *
+     * @param ctx The vert.x test context.
+     * @throws InterruptedException if the test is interrupted.
+     */
+    @Test
+    public void testExecuteFailsIfQueueIsFull(final VertxTestContext ctx) throws InterruptedException {
+
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        // GIVEN an executor whose thread is busy
+        executor.execute(result -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            result.complete();
+        });
+        assertThat(blocked.await(1, TimeUnit.SECONDS)).isTrue();
+        // and whose queue is full
+        executor.execute(result -> result.complete());
+        assertThat(registry.get(PasswordHashingExecutor.METER_QUEUE_SIZE).gauge().value()).isEqualTo(1.0);
+
+        // WHEN submitting another task
+        executor.execute(result -> result.complete())
+            .onComplete(ctx.failing(t -> {
+                ctx.verify(() -> {
+                    // THEN the task is rejected with a retriable error
+                    assertThat(t).isInstanceOf(ServerErrorException.class);
+                    assertThat(((ServiceInvocationException) t).getErrorCode())
+                        .isEqualTo(HttpURLConnection.HTTP_UNAVAILABLE);
+                    assertThat(registry.get(PasswordHashingExecutor.METER_REJECTED).counter().count()).isEqualTo(1.0);
+                });
+                release.countDown();
+                ctx.completeNow();
+            }));
+    }
+
+    /**
+     * Verifies that the time it takes to verify a password is recorded
+     * per hash function.
+     */
+    @Test
+    public void testMatchesRecordsVerificationTimePerHashFunction() {
+
+        final HonoPasswordEncoder encoder = mock(HonoPasswordEncoder.class);
+        when(encoder.matches(anyString(), any(JsonObject.class))).thenReturn(true);
+        final JsonObject secret = new JsonObject()
+                .put(CredentialsConstants.FIELD_SECRETS_HASH_FUNCTION, CredentialsConstants.HASH_FUNCTION_BCRYPT);
+
+        assertThat(executor.matches(encoder, "the-secret", secret)).isTrue();
+
+        final Timer timer = registry.get(PasswordHashingExecutor.METER_VERIFICATION_DURATION)
+                .tag(PasswordHashingExecutor.TAG_HASH_FUNCTION, CredentialsConstants.HASH_FUNCTION_BCRYPT)
+                .timer();
+        assertThat(timer.count()).isEqualTo(1L);
+    }
+}
@@ -18,10 +18,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.net.HttpURLConnection;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Base64;
 import java.util.concurrent.TimeUnit;
@@ -30,6 +33,7 @@ import org.eclipse.hono.auth.HonoPasswordEncoder;
 import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.client.CredentialsClient;
 import org.eclipse.hono.client.CredentialsClientFactory;
+import org.eclipse.hono.config.ProtocolAdapterProperties;
 import org.eclipse.hono.config.ServiceConfigProperties;
 import org.eclipse.hono.service.auth.DeviceUser;
 import org.eclipse.hono.util.Constants;
@@ -269,4 +273,43 @@ public class UsernamePasswordAuthProviderTest {
 
         assertThat(credentials).isNull();
     }
+
+    /**
+     * Verifies that the provider doesn't verify a password again that has been verified
+     * successfully before, unless the secret on record has changed.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testAuthenticateUsesCachedPasswordVerification(final VertxTestContext ctx) {
+
+        final ProtocolAdapterProperties config = new ProtocolAdapterProperties();
+        config.setPasswordVerificationCacheTimeout(Duration.ofMinutes(1));
+        provider = new UsernamePasswordAuthProvider(credentialsClientFactory, pwdEncoder, config, NoopTracerFactory.create());
+
+        final Promise<DeviceUser> result = Promise.promise();
+        vertx.runOnContext(go -> {
+            final Promise<DeviceUser> firstAttempt = Promise.promise();
+            provider.authenticate(deviceCredentials, null, firstAttempt);
+            firstAttempt.future()
+                .compose(user -> {
+                    final Promise<DeviceUser> secondAttempt = Promise.promise();
+                    provider.authenticate(deviceCredentials, null, secondAttempt);
+                    return secondAttempt.future();
+                })
+                .compose(user -> {
+                    // the password on record is changed
+                    givenCredentialsOnRecord(CredentialsObject.fromClearTextPassword("4711", "device", "other-secret", null, null));
+                    provider.authenticate(deviceCredentials, null, result);
+                    return result.future();
+                });
+        });
+        result.future().onComplete(ctx.succeeding(device -> {
+            ctx.verify(() -> {
+                assertThat(device.getDeviceId()).isEqualTo("4711");
+                verify(pwdEncoder, times(2)).matches(eq(PWD), any(JsonObject.class));
+            });
+            ctx.completeNow();
+        }));
+    }
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ * Copyright (c) 2019, 2020 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -220,6 +220,56 @@ public class TenantTraceSamplingHandlerTest {
         verify(ctx).next();
     }
 
+    /**
+     * Verifies that the handler applies the sampling rate configured for a tenant
+     * if no sampling mode has been set.
+     */
+    @Test
+    public void testHandleAppliesSamplingRate() {
+        // GIVEN a tenant with a sampling rate of 0 and an auth-id with sampling mode 'default'
+        final String tenantId = "testTenant";
+        final String authId = "testAuthId";
+
+        final TenantObject testTenant = TenantObject.from(tenantId, true)
+                .setTracingConfig(new TenantTracingConfig()
+                        .setSamplingRate(0.0)
+                        .setSamplingModePerAuthId(Map.of(authId, TracingSamplingMode.DEFAULT)));
+        when(tenantClient.get(eq(tenantId), any(SpanContext.class))).thenReturn(Future.succeededFuture(testTenant));
+
+        // WHEN handling a request with basic auth for that tenant
+        setupBasicAuthHttpServerRequest(tenantId, authId);
+        tenantTraceSamplingHandler.handle(ctx);
+
+        // THEN the span is marked as not to be sampled
+        verify(span).setTag(eq(Tags.SAMPLING_PRIORITY.getKey()), eq(0));
+        verify(ctx).next();
+    }
+
+    /**
+     * Verifies that the handler ignores the sampling rate configured for a tenant
+     * if the sampling mode for the auth-id is set to 'all'.
+     */
+    @Test
+    public void testHandleIgnoresSamplingRateForAuthIdWithSamplingMode() {
+        // GIVEN a tenant with a sampling rate of 0 and an auth-id with sampling mode 'all'
+        final String tenantId = "testTenant";
+        final String authId = "testAuthId";
+
+        final TenantObject testTenant = TenantObject.from(tenantId, true)
+                .setTracingConfig(new TenantTracingConfig()
+                        .setSamplingRate(0.0)
+                        .setSamplingModePerAuthId(Map.of(authId, TracingSamplingMode.ALL)));
+        when(tenantClient.get(eq(tenantId), any(SpanContext.class))).thenReturn(Future.succeededFuture(testTenant));
+
+        // WHEN handling a request with basic auth for that tenant
+        setupBasicAuthHttpServerRequest(tenantId, authId);
+        tenantTraceSamplingHandler.handle(ctx);
+
+        // THEN the span is marked as to be sampled
+        verify(span).setTag(eq(Tags.SAMPLING_PRIORITY.getKey()), eq(1));
+        verify(ctx).next();
+    }
+
     private void setupBasicAuthHttpServerRequest(final String tenantId, final String authId) {
         setupBasicAuthHttpServerRequest(authId + "@" + tenantId);
     }
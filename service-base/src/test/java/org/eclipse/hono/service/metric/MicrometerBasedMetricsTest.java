@@ -15,6 +15,7 @@
 package org.eclipse.hono.service.metric;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -22,15 +23,19 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
+import javax.net.ssl.SSLSession;
+
 import org.eclipse.hono.config.ProtocolAdapterProperties;
 import org.eclipse.hono.service.metric.MetricsTags.EndpointType;
 import org.eclipse.hono.service.metric.MetricsTags.QoS;
@@ -224,6 +229,37 @@ public class MicrometerBasedMetricsTest {
                 Tags.of(MetricsTags.getTenantTag("TEST_TENANT")));
     }
 
+    /**
+     * Verifies that full and abbreviated TLS handshakes are counted separately.
+     *
+     * @param registry The registry that the tests should be run against.
+     */
+    @ParameterizedTest
+    @MethodSource("registries")
+    public void testReportTlsHandshakeDistinguishesResumedSessions(final MeterRegistry registry) {
+
+        final Metrics metrics = new MicrometerBasedMetrics(registry, mock(Vertx.class));
+
+        // GIVEN a newly created TLS session and a TLS session that has been used again afterwards
+        final SSLSession newSession = mock(SSLSession.class);
+        when(newSession.getCreationTime()).thenReturn(1000L);
+        when(newSession.getLastAccessedTime()).thenReturn(1000L);
+        final SSLSession resumedSession = mock(SSLSession.class);
+        when(resumedSession.getCreationTime()).thenReturn(1000L);
+        when(resumedSession.getLastAccessedTime()).thenReturn(5000L);
+
+        // WHEN reporting the handshakes of connections using these sessions
+        metrics.reportTlsHandshake(MetricsTags.TlsHandshake.from(newSession));
+        metrics.reportTlsHandshake(MetricsTags.TlsHandshake.from(newSession));
+        metrics.reportTlsHandshake(MetricsTags.TlsHandshake.from(resumedSession));
+
+        // THEN the handshakes are counted per type of handshake
+        assertEquals(2, registry.find(MicrometerBasedMetrics.METER_CONNECTIONS_TLS_HANDSHAKES)
+                .tags(Tags.of(MetricsTags.TlsHandshake.FULL.asTag())).counter().count());
+        assertEquals(1, registry.find(MicrometerBasedMetrics.METER_CONNECTIONS_TLS_HANDSHAKES)
+                .tags(Tags.of(MetricsTags.TlsHandshake.RESUMED.asTag())).counter().count());
+    }
+
     /**
      * Verifies that collecting the last message send time is disabled by default.
      *
@@ -329,6 +365,148 @@ public class MicrometerBasedMetricsTest {
 
     }
 
+    /**
+     * Verifies that messages reported after a tenant's meters have been removed from
+     * the registry are recorded by newly registered meters.
+     *
+     * @param registry The registry that the tests should be run against.
+     */
+    @ParameterizedTest
+    @MethodSource("registries")
+    public void testReportTelemetryRegistersMetersAgainAfterRemoval(final MeterRegistry registry) {
+
+        final Tags tenantTags = Tags.of(MetricsTags.getTenantTag(tenant));
+        final MicrometerBasedMetrics metrics = new MicrometerBasedMetrics(registry, mock(Vertx.class));
+
+        // GIVEN a telemetry message and a command having been recorded twice
+        reportTelemetry(metrics);
+        reportTelemetry(metrics);
+        reportCommand(metrics);
+        reportCommand(metrics);
+        assertEquals(2L, registry.find(MicrometerBasedMetrics.METER_MESSAGES_RECEIVED).tags(tenantTags).timer().count());
+        assertEquals(2L, registry.find(MicrometerBasedMetrics.METER_COMMANDS_PAYLOAD).tags(tenantTags).summary().count());
+
+        // WHEN the tenant's meters are removed from the registry
+        registry.find(MicrometerBasedMetrics.METER_MESSAGES_RECEIVED).tags(tenantTags).meters().forEach(registry::remove);
+        registry.find(MicrometerBasedMetrics.METER_COMMANDS_PAYLOAD).tags(tenantTags).meters().forEach(registry::remove);
+
+        // and another message and command are reported
+        reportTelemetry(metrics);
+        reportCommand(metrics);
+
+        // THEN the message and command are recorded by new meters
+        assertEquals(1L, registry.find(MicrometerBasedMetrics.METER_MESSAGES_RECEIVED).tags(tenantTags).timer().count());
+        assertEquals(1L, registry.find(MicrometerBasedMetrics.METER_COMMANDS_PAYLOAD).tags(tenantTags).summary().count());
+    }
+
+    /**
+     * Verifies that the message meters of tenants which are not among the top tenants
+     * are tagged with the common tenant tag value and that the meters of tenants which
+     * are no longer top tenants are removed.
+     *
+     * @param registry The registry that the tests should be run against.
+     */
+    @ParameterizedTest
+    @MethodSource("registries")
+    public void testReportTelemetryForTopTenantsOnly(final MeterRegistry registry) {
+
+        final Vertx vertx = mock(Vertx.class);
+        final AtomicReference<Handler<Long>> refreshHandler = new AtomicReference<>();
+        when(vertx.setPeriodic(anyLong(), any())).thenAnswer(invocation -> {
+            final Handler<Long> task = invocation.getArgument(1);
+            refreshHandler.set(task);
+            return 1L;
+        });
+
+        // GIVEN a metrics instance reporting individual metrics for a single tenant only
+        final ProtocolAdapterProperties config = new ProtocolAdapterProperties();
+        config.setMetricsMaxTenants(1);
+        final MicrometerBasedMetrics metrics = new MicrometerBasedMetrics(registry, vertx);
+        metrics.setProtocolAdapterProperties(config);
+
+        // WHEN reporting a message for the tenant and two messages for another tenant
+        reportTelemetry(metrics, tenant);
+        reportTelemetry(metrics, "heavy-tenant");
+        reportTelemetry(metrics, "heavy-tenant");
+
+        // THEN the message of the first tenant is reported individually
+        final Tags tenantTags = Tags.of(MetricsTags.getTenantTag(tenant));
+        final Tags heavyTenantTags = Tags.of(MetricsTags.getTenantTag("heavy-tenant"));
+        final Tags otherTags = Tags.of(MetricsTags.getTenantTag(MetricsTags.VALUE_TENANT_OTHER));
+        assertEquals(1L, registry.find(MicrometerBasedMetrics.METER_MESSAGES_RECEIVED).tags(tenantTags).timer().count());
+        assertNull(registry.find(MicrometerBasedMetrics.METER_MESSAGES_RECEIVED).tags(heavyTenantTags).timer());
+        assertEquals(2L, registry.find(MicrometerBasedMetrics.METER_MESSAGES_RECEIVED).tags(otherTags).timer().count());
+
+        // and after the top tenants have been re-determined
+        refreshHandler.get().handle(1L);
+        reportTelemetry(metrics, tenant);
+        reportTelemetry(metrics, "heavy-tenant");
+
+        // the messages of the other tenant are reported individually
+        assertNull(registry.find(MicrometerBasedMetrics.METER_MESSAGES_RECEIVED).tags(tenantTags).timer());
+        assertEquals(1L, registry.find(MicrometerBasedMetrics.METER_MESSAGES_RECEIVED).tags(heavyTenantTags).timer().count());
+        assertEquals(3L, registry.find(MicrometerBasedMetrics.METER_MESSAGES_RECEIVED).tags(otherTags).timer().count());
+    }
+
+    /**
+     * Verifies that the meters of a tenant, which gets demoted from the top tenants while
+     * a message of the tenant is being reported, are removed.
+     *
+     * @param registry The registry that the tests should be run against.
+     */
+    @SuppressWarnings("unchecked")
+    @ParameterizedTest
+    @MethodSource("registries")
+    public void testReportTelemetryRemovesMetersOfTenantDemotedWhileReporting(final MeterRegistry registry) {
+
+        final Vertx vertx = mock(Vertx.class);
+        final AtomicReference<Handler<Long>> refreshHandler = new AtomicReference<>();
+        when(vertx.setPeriodic(anyLong(), any())).thenAnswer(invocation -> {
+            final Handler<Long> task = invocation.getArgument(1);
+            refreshHandler.set(task);
+            return 1L;
+        });
+
+        // GIVEN a registry that re-determines the top tenants right before a meter of the tenant gets registered
+        final MeterRegistry meterRegistry = Mockito.spy(registry);
+        final AtomicBoolean refreshOnRegistration = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (refreshOnRegistration.getAndSet(false)) {
+                refreshHandler.get().handle(1L);
+            }
+            return invocation.callRealMethod();
+        }).when(meterRegistry).timer(eq(MicrometerBasedMetrics.METER_MESSAGES_RECEIVED), any(Iterable.class));
+
+        // and a metrics instance reporting individual metrics for a single tenant only
+        final ProtocolAdapterProperties config = new ProtocolAdapterProperties();
+        config.setMetricsMaxTenants(1);
+        final MicrometerBasedMetrics metrics = new MicrometerBasedMetrics(meterRegistry, vertx);
+        metrics.setProtocolAdapterProperties(config);
+
+        // and the tenant being a top tenant while another tenant has sent more messages
+        reportTelemetry(metrics, tenant);
+        reportTelemetry(metrics, "heavy-tenant");
+        reportTelemetry(metrics, "heavy-tenant");
+        reportTelemetry(metrics, "heavy-tenant");
+
+        // WHEN the tenant gets demoted while a message with a new combination of tags is being reported
+        refreshOnRegistration.set(true);
+        metrics.reportTelemetry(
+                MetricsTags.EndpointType.TELEMETRY,
+                tenant,
+                TenantObject.from(tenant, true),
+                MetricsTags.ProcessingOutcome.UNDELIVERABLE,
+                MetricsTags.QoS.AT_MOST_ONCE,
+                10,
+                metrics.startTimer());
+        assertFalse(refreshOnRegistration.get());
+
+        // THEN no meters are left for the tenant
+        final Tags tenantTags = Tags.of(MetricsTags.getTenantTag(tenant));
+        assertTrue(meterRegistry.find(MicrometerBasedMetrics.METER_MESSAGES_RECEIVED).tags(tenantTags).meters().isEmpty());
+        assertTrue(meterRegistry.find(MicrometerBasedMetrics.METER_MESSAGES_PAYLOAD).tags(tenantTags).meters().isEmpty());
+    }
+
     /**
      * Verifies that sending messages updates the stored timestamp for the tenant.
      *
@@ -408,10 +586,14 @@ public class MicrometerBasedMetricsTest {
     }
 
     private void reportTelemetry(final MicrometerBasedMetrics metrics) {
+        reportTelemetry(metrics, tenant);
+    }
+
+    private void reportTelemetry(final MicrometerBasedMetrics metrics, final String tenantId) {
         metrics.reportTelemetry(
                 EndpointType.TELEMETRY,
-                tenant,
-                TenantObject.from(tenant, true),
+                tenantId,
+                TenantObject.from(tenantId, true),
                 MetricsTags.ProcessingOutcome.FORWARDED,
                 QoS.UNKNOWN,
                 1024,
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.metric;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifies behavior of {@link TopTenants}.
+ *
+ */
+public class TopTenantsTest {
+
+    /**
+     * Verifies that the tenants with the most messages become the top tenants
+     * when the top tenants are re-determined.
+     */
+    @Test
+    public void testRefreshDeterminesTenantsWithMostMessages() {
+
+        final TopTenants topTenants = new TopTenants(2);
+
+        // the first tenants become top tenants immediately
+        assertThat(topTenants.record("a")).isTrue();
+        assertThat(topTenants.record("b")).isTrue();
+        for (int i = 0; i < 10; i++) {
+            assertThat(topTenants.record("c")).isFalse();
+            topTenants.record("d");
+        }
+        topTenants.record("b");
+        assertThat(topTenants.estimate("c")).isGreaterThanOrEqualTo(10L);
+
+        assertThat(topTenants.refresh()).containsOnly("a", "b");
+        assertThat(topTenants.isTopTenant("c")).isTrue();
+        assertThat(topTenants.isTopTenant("d")).isTrue();
+        assertThat(topTenants.isTopTenant("a")).isFalse();
+        // estimates have been halved
+        assertThat(topTenants.estimate("c")).isLessThan(10L);
+    }
+
+    /**
+     * Verifies that tenants which have not sent any messages since the last refresh
+     * stay top tenants if no other tenants have sent more messages.
+     */
+    @Test
+    public void testRefreshKeepsTopTenantsWithoutContenders() {
+
+        final TopTenants topTenants = new TopTenants(1);
+        topTenants.record("a");
+
+        assertThat(topTenants.refresh()).isEmpty();
+        assertThat(topTenants.isTopTenant("a")).isTrue();
+    }
+}
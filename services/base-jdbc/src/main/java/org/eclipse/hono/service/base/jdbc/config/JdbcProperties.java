@@ -13,6 +13,12 @@
 
 package org.eclipse.hono.service.base.jdbc.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.eclipse.hono.service.base.jdbc.store.ReadReplicaClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,11 +38,22 @@ public class JdbcProperties {
 
     private static final Logger log = LoggerFactory.getLogger(JdbcProperties.class);
 
+    private static final int DEFAULT_REPLICA_CHECK_INTERVAL = 10;
+    private static final int DEFAULT_MAXIMUM_REPLICATION_LAG = 5;
+
     private String url;
     private String driverClass;
     private String username;
     private String password;
     private Integer maximumPoolSize;
+    private Integer maximumStatementsPerConnection;
+
+    // URLs of read replicas, which share the credentials and pool settings of the primary
+    private List<String> readReplicas = new ArrayList<>();
+    // a statement returning the replication lag of a replica in seconds
+    private String replicationLagQuery;
+    private Integer maximumReplicationLag;
+    private Integer replicaCheckInterval;
 
     private String tableName;
 
@@ -75,6 +92,41 @@ public class JdbcProperties {
         return maximumPoolSize;
     }
 
+    public void setMaximumStatementsPerConnection(final Integer maximumStatementsPerConnection) {
+        this.maximumStatementsPerConnection = maximumStatementsPerConnection;
+    }
+    public Integer getMaximumStatementsPerConnection() {
+        return maximumStatementsPerConnection;
+    }
+
+    public void setReadReplicas(final List<String> readReplicas) {
+        this.readReplicas = readReplicas;
+    }
+    public List<String> getReadReplicas() {
+        return readReplicas;
+    }
+
+    public void setReplicationLagQuery(final String replicationLagQuery) {
+        this.replicationLagQuery = replicationLagQuery;
+    }
+    public String getReplicationLagQuery() {
+        return replicationLagQuery;
+    }
+
+    public void setMaximumReplicationLag(final Integer maximumReplicationLag) {
+        this.maximumReplicationLag = maximumReplicationLag;
+    }
+    public Integer getMaximumReplicationLag() {
+        return maximumReplicationLag;
+    }
+
+    public void setReplicaCheckInterval(final Integer replicaCheckInterval) {
+        this.replicaCheckInterval = replicaCheckInterval;
+    }
+    public Integer getReplicaCheckInterval() {
+        return replicaCheckInterval;
+    }
+
     public String getTableName() {
         return tableName;
     }
@@ -89,9 +141,55 @@ public class JdbcProperties {
      * @return The new SQL client.
      */
     public static SQLClient dataSource(final Vertx vertx, final JdbcProperties dataSourceProperties) {
+        return dataSource(vertx, dataSourceProperties, dataSourceProperties.getUrl());
+    }
+
+    /**
+     * Create a {@link SQLClient} for read operations from the configuration properties.
+     * <p>
+     * If read replicas are configured, the client will route connections to the available replicas,
+     * falling back to the primary database if no replica is available. Otherwise, this method
+     * returns the same client as {@link #dataSource(Vertx, JdbcProperties)}.
+     * <p>
+     * The returned client must not be used for modifying data.
+     *
+     * @param vertx The vertx instance to use.
+     * @param dataSourceProperties The properties.
+     * @return The new SQL client.
+     */
+    public static SQLClient readDataSource(final Vertx vertx, final JdbcProperties dataSourceProperties) {
+
+        final SQLClient primary = dataSource(vertx, dataSourceProperties);
+
+        final List<String> replicaUrls = dataSourceProperties.getReadReplicas();
+        if (replicaUrls == null || replicaUrls.isEmpty()) {
+            return primary;
+        }
+
+        final List<SQLClient> replicas = new ArrayList<>(replicaUrls.size());
+        for (final String url : replicaUrls) {
+            replicas.add(dataSource(vertx, dataSourceProperties, url));
+        }
+
+        final int maximumLag = Optional.ofNullable(dataSourceProperties.getMaximumReplicationLag())
+                .orElse(DEFAULT_MAXIMUM_REPLICATION_LAG);
+        final int checkInterval = Optional.ofNullable(dataSourceProperties.getReplicaCheckInterval())
+                .orElse(DEFAULT_REPLICA_CHECK_INTERVAL);
+
+        return new ReadReplicaClient(
+                vertx,
+                primary,
+                replicas,
+                Optional.ofNullable(dataSourceProperties.getReplicationLagQuery()),
+                Duration.ofSeconds(maximumLag),
+                Duration.ofSeconds(checkInterval));
+
+    }
+
+    private static SQLClient dataSource(final Vertx vertx, final JdbcProperties dataSourceProperties, final String url) {
 
         final JsonObject config = new JsonObject()
-                .put("url", dataSourceProperties.getUrl())
+                .put("url", url)
                 .put("user", dataSourceProperties.getUsername());
 
         // password is added later, after logging
@@ -102,6 +200,11 @@ public class JdbcProperties {
         if (dataSourceProperties.getMaximumPoolSize() != null) {
             config.put("max_pool_size", dataSourceProperties.getMaximumPoolSize());
         }
+        // caching prepared statements per connection allows to re-use statements
+        // which have already been prepared by the database server
+        if (dataSourceProperties.getMaximumStatementsPerConnection() != null) {
+            config.put("max_statements_per_connection", dataSourceProperties.getMaximumStatementsPerConnection());
+        }
 
         log.info("Creating new SQL client: {} - table: {}", config, dataSourceProperties.getTableName());
 
@@ -110,9 +213,9 @@ public class JdbcProperties {
         config
             .put("password", dataSourceProperties.getPassword());
 
-        // create new client
+        // create new client, sharing the pool only with clients for the same database and user
 
-        return JDBCClient.createShared(vertx, config);
+        return JDBCClient.createShared(vertx, config, dataSourceProperties.getUsername() + "@" + url);
 
     }
 
@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.base.jdbc.store;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.ext.sql.SQLClient;
+import io.vertx.ext.sql.SQLConnection;
+
+/**
+ * An SQL client, which routes operations to a set of read replicas.
+ * <p>
+ * Connections are taken from the available replicas in a round robin fashion. The availability of the
+ * replicas is checked periodically, by executing a check statement on each replica. A replica is considered
+ * available if the statement succeeds. If a maximum replication lag is set, the check statement must return
+ * the current replication lag of the replica in seconds, as a number in the first column of its first row,
+ * and the replica is only considered available if the lag doesn't exceed the maximum. A replica, for which
+ * the statement returns a value which is not a number (e.g. a PostgreSQL {@code interval}), is considered
+ * unavailable.
+ * <p>
+ * If no replica is available, or getting a connection from the selected replica fails, the connection
+ * is taken from the primary database instead. Replicas are considered unavailable until they have been
+ * checked for the first time.
+ * <p>
+ * This client must only be used for read operations.
+ */
+public final class ReadReplicaClient implements SQLClient {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaClient.class);
+
+    private static final String DEFAULT_CHECK_SQL = "SELECT 1";
+
+    private final Vertx vertx;
+    private final SQLClient primary;
+    private final List<Replica> replicas;
+    private final String checkSql;
+    private final Optional<Duration> maximumLag;
+    private final AtomicInteger next = new AtomicInteger();
+    private final long timerId;
+
+    /**
+     * Create a new instance.
+     *
+     * @param vertx The vertx instance to use for scheduling the availability checks.
+     * @param primary The client for the primary database.
+     * @param replicas The clients for the read replicas.
+     * @param lagSql An optional SQL statement for checking the availability of a replica, returning
+     *        the replication lag in seconds. If this value is empty, the statement {@value #DEFAULT_CHECK_SQL}
+     *        will be used and the replication lag will not be checked.
+     * @param maximumLag The maximum replication lag of an available replica. This value is ignored
+     *        if no statement for checking the replication lag is provided.
+     * @param checkInterval The interval in which the availability of the replicas is checked.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     * @throws IllegalArgumentException if the check interval is less than one millisecond.
+     */
+    public ReadReplicaClient(
+            final Vertx vertx,
+            final SQLClient primary,
+            final List<SQLClient> replicas,
+            final Optional<String> lagSql,
+            final Duration maximumLag,
+            final Duration checkInterval) {
+
+        this.vertx = Objects.requireNonNull(vertx);
+        this.primary = Objects.requireNonNull(primary);
+        this.replicas = Objects.requireNonNull(replicas).stream()
+                .map(Replica::new)
+                .collect(Collectors.toList());
+        this.checkSql = Objects.requireNonNull(lagSql).orElse(DEFAULT_CHECK_SQL);
+        this.maximumLag = lagSql.map(sql -> Objects.requireNonNull(maximumLag));
+        Objects.requireNonNull(checkInterval);
+        if (checkInterval.toMillis() < 1) {
+            throw new IllegalArgumentException("check interval must be at least one millisecond");
+        }
+
+        checkReplicas();
+        this.timerId = vertx.setPeriodic(checkInterval.toMillis(), id -> checkReplicas());
+    }
+
+    /**
+     * Check the availability of all replicas.
+     *
+     * @return A future, tracking the outcome of the operation. The future will succeed once all
+     *         replicas have been checked.
+     */
+    Future<Void> checkReplicas() {
+
+        @SuppressWarnings("rawtypes")
+        final List<Future> checks = new ArrayList<>(this.replicas.size());
+        for (final Replica replica : this.replicas) {
+            checks.add(checkReplica(replica));
+        }
+        return CompositeFuture.all(checks).mapEmpty();
+
+    }
+
+    private Future<Void> checkReplica(final Replica replica) {
+
+        final Promise<JsonArray> result = Promise.promise();
+        replica.client.querySingle(this.checkSql, result);
+
+        return result.future()
+                .map(row -> {
+                    if (this.maximumLag.isEmpty()) {
+                        return true;
+                    }
+                    final Object value = row == null ? null : row.getValue(0);
+                    if (value != null && !(value instanceof Number)) {
+                        log.warn("replication lag query must return the lag in seconds as a number, but returned: {}", value);
+                        return false;
+                    }
+                    final Number lag = (Number) value;
+                    if (lag != null && lag.doubleValue() * 1000 > this.maximumLag.get().toMillis()) {
+                        log.debug("replication lag of replica exceeds maximum: {}s", lag);
+                        return false;
+                    }
+                    return true;
+                })
+                .otherwise(t -> {
+                    log.debug("failed to check replica", t);
+                    return false;
+                })
+                .map(available -> {
+                    if (replica.available != available) {
+                        log.info("read replica became {}", available ? "available" : "unavailable");
+                    }
+                    replica.available = available;
+                    return null;
+                });
+
+    }
+
+    private Replica nextAvailableReplica() {
+        final int size = this.replicas.size();
+        for (int i = 0; i < size; i++) {
+            final Replica replica = this.replicas.get(Math.floorMod(this.next.getAndIncrement(), size));
+            if (replica.available) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public SQLClient getConnection(final Handler<AsyncResult<SQLConnection>> handler) {
+
+        final Replica replica = nextAvailableReplica();
+        if (replica == null) {
+            this.primary.getConnection(handler);
+            return this;
+        }
+
+        replica.client.getConnection(ar -> {
+            if (ar.succeeded()) {
+                handler.handle(ar);
+            } else {
+                log.debug("failed to get connection from replica, falling back to primary", ar.cause());
+                replica.available = false;
+                this.primary.getConnection(handler);
+            }
+        });
+
+        return this;
+    }
+
+    @Override
+    public void close(final Handler<AsyncResult<Void>> handler) {
+
+        this.vertx.cancelTimer(this.timerId);
+
+        @SuppressWarnings("rawtypes")
+        final List<Future> closed = new ArrayList<>(this.replicas.size() + 1);
+        for (final Replica replica : this.replicas) {
+            final Promise<Void> promise = Promise.promise();
+            replica.client.close(promise);
+            closed.add(promise.future());
+        }
+        final Promise<Void> promise = Promise.promise();
+        this.primary.close(promise);
+        closed.add(promise.future());
+
+        CompositeFuture.join(closed).<Void>mapEmpty().onComplete(handler);
+    }
+
+    @Override
+    public void close() {
+        close(ar -> { });
+    }
+
+    private static final class Replica {
+
+        private final SQLClient client;
+        private volatile boolean available;
+
+        Replica(final SQLClient client) {
+            this.client = Objects.requireNonNull(client);
+        }
+    }
+
+}
@@ -99,6 +99,38 @@ public final class Statement {
         return this;
     }
 
+    /**
+     * Create a binder for positional values.
+     * <p>
+     * The binder maps the values provided to {@link Binder#bind(Object...)} to the
+     * positional parameters of the statement by their index in the list of provided parameter names.
+     * As the mapping is determined only once, when the binder is created, binding values
+     * neither requires a map of named parameters nor a lookup of names.
+     *
+     * @param parameterNames The names of the parameters, in the order in which the values will be
+     *        provided when binding.
+     * @return The binder.
+     * @throws IllegalStateException if the statement uses a named parameter, which is not contained
+     *         in the provided names.
+     */
+    public Binder binder(final String... parameterNames) {
+        Objects.requireNonNull(parameterNames);
+
+        final List<String> names = Arrays.asList(parameterNames);
+        final int[] positions = new int[this.mappings.size()];
+        for (final Map.Entry<String, Integer> entry : this.mappings) {
+            final int position = names.indexOf(entry.getKey());
+            if (position < 0) {
+                throw new IllegalStateException(String.format(
+                        "Statement uses key which is not available - missing: %s, statement: %s",
+                        entry.getKey(), this.sql));
+            }
+            positions[entry.getValue()] = position;
+        }
+
+        return new Binder(this.sql, positions, parameterNames.length);
+    }
+
     /**
      * Expand the statement with an empty map.
      * <p>
@@ -191,6 +223,52 @@ public final class Statement {
         return new Statement(sb.toString(), mappings);
     }
 
+    /**
+     * A binder for expanding a statement with positional values.
+     */
+    public static final class Binder {
+
+        private final String sql;
+        private final int[] positions;
+        private final int numberOfValues;
+
+        private Binder(final String sql, final int[] positions, final int numberOfValues) {
+            this.sql = sql;
+            this.positions = positions;
+            this.numberOfValues = numberOfValues;
+        }
+
+        /**
+         * Expand the statement with the provided values.
+         *
+         * @param values The values, in the order of the parameter names the binder was created with.
+         * @return The expanded statement.
+         * @throws IllegalArgumentException If the number of values doesn't match the number of parameter
+         *         names.
+         */
+        public ExpandedStatement bind(final Object... values) {
+            if (values.length != this.numberOfValues) {
+                throw new IllegalArgumentException(String.format("Expected %s values, but got %s",
+                        this.numberOfValues, values.length));
+            }
+
+            final Object[] params = new Object[this.positions.length];
+            for (int i = 0; i < this.positions.length; i++) {
+                params[i] = values[this.positions[i]];
+            }
+
+            return new ExpandedStatement(this.sql, params);
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                    .add("sql", this.sql)
+                    .add("positions", this.positions)
+                    .toString();
+        }
+    }
+
     /**
      * An expanded statement.
      * <p>
@@ -14,7 +14,15 @@
 package org.eclipse.hono.service.base.jdbc.store.devcon;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 import org.eclipse.hono.deviceregistry.service.deviceconnection.DeviceConnectionKey;
@@ -29,17 +37,36 @@ import org.slf4j.LoggerFactory;
 import io.opentracing.Span;
 import io.opentracing.SpanContext;
 import io.opentracing.Tracer;
+import io.opentracing.tag.Tags;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
 import io.vertx.ext.sql.SQLClient;
+import io.vertx.ext.sql.SQLConnection;
 import io.vertx.ext.sql.UpdateResult;
 
 /**
  * A data store for device connection information.
+ * <p>
+ * The store can optionally buffer updates of the last known gateway for a short period of time. Updates
+ * for the same device, which occur during that period, replace each other, so that only the most recent
+ * gateway gets written to the database. Once the period is over, all buffered updates are written using
+ * a single batch of {@code update} statements.
+ * <p>
+ * Batches are written one after the other, in the order in which they have been flushed. Until a batch
+ * has been written, its updates remain visible to reads of the device state.
  */
 public class Store extends AbstractStore {
 
     public static final String DEFAULT_TABLE_NAME = "device_states";
 
+    /**
+     * The maximum number of buffered updates, after which the buffer will be written without waiting
+     * for the end of the flush interval.
+     */
+    public static final int MAX_BUFFERED_UPDATES = 1_000;
+
     private static final Logger log = LoggerFactory.getLogger(Store.class);
 
     private final SQLClient client;
@@ -48,21 +75,61 @@ public class Store extends AbstractStore {
     private final Statement readStatement;
     private final Statement updateStatement;
     private final Statement dropTenantStatement;
+    private final Statement.Binder updateBinder;
 
+    private final Vertx vertx;
+    private final long flushInterval;
+    private Map<DeviceConnectionKey, PendingUpdate> pendingUpdates = new HashMap<>();
     /**
-     * Create a new instance.
+     * The batches which have been flushed, but not yet written, the most recent one last.
+     */
+    private final Deque<Map<DeviceConnectionKey, PendingUpdate>> inFlightUpdates = new ArrayDeque<>();
+    /**
+     * Completes once the most recently flushed batch has been written.
+     */
+    private Future<Void> lastWrite = Future.succeededFuture();
+    private boolean flushScheduled;
+    private boolean closed;
+
+    /**
+     * Create a new instance, which writes all updates immediately.
      *
      * @param client The SQL client to use.
      * @param tracer The tracer to use.
      * @param cfg The statement configuration to use.
      */
     public Store(final SQLClient client, final Tracer tracer, final StatementConfiguration cfg) {
+        this(client, tracer, cfg, null, Duration.ZERO);
+    }
+
+    /**
+     * Create a new instance, which buffers updates of the last known gateway.
+     *
+     * @param client The SQL client to use.
+     * @param tracer The tracer to use.
+     * @param cfg The statement configuration to use.
+     * @param vertx The vertx instance to use for scheduling the writes of the buffered updates.
+     *        May be {@code null} if the flush interval is zero.
+     * @param flushInterval The period of time for which updates get buffered. If the value is zero,
+     *        updates will be written immediately.
+     * @throws NullPointerException if the flush interval is {@code null}, or if vertx is {@code null} and
+     *         the flush interval is not zero.
+     * @throws IllegalArgumentException if the flush interval is negative.
+     */
+    public Store(final SQLClient client, final Tracer tracer, final StatementConfiguration cfg, final Vertx vertx, final Duration flushInterval) {
         super(client, tracer, cfg.getStatement("checkConnection"));
         cfg.dump(log);
 
         this.client = client;
         this.tracer = tracer;
 
+        Objects.requireNonNull(flushInterval);
+        if (flushInterval.isNegative()) {
+            throw new IllegalArgumentException("flush interval must not be negative");
+        }
+        this.flushInterval = flushInterval.toMillis();
+        this.vertx = this.flushInterval > 0 ? Objects.requireNonNull(vertx) : vertx;
+
         this.readStatement = cfg
                 .getRequiredStatement("read")
                 .validateParameters(
@@ -74,6 +141,7 @@ public class Store extends AbstractStore {
                         "tenant_id",
                         "device_id",
                         "gateway_id");
+        this.updateBinder = this.updateStatement.binder("tenant_id", "device_id", "gateway_id");
 
         this.dropTenantStatement = cfg.getRequiredStatement("dropTenant")
                 .validateParameters("tenant_id");
@@ -117,6 +185,21 @@ public class Store extends AbstractStore {
      */
     public Future<Optional<DeviceState>> readDeviceState(final DeviceConnectionKey key, final SpanContext spanContext) {
 
+        PendingUpdate pending;
+        synchronized (this) {
+            pending = this.pendingUpdates.get(key);
+            final Iterator<Map<DeviceConnectionKey, PendingUpdate>> batches = this.inFlightUpdates.descendingIterator();
+            while (pending == null && batches.hasNext()) {
+                pending = batches.next().get(key);
+            }
+        }
+        if (pending != null) {
+            // the buffered or in-flight update is more recent than what is stored in the database
+            final var state = new DeviceState();
+            state.setLastKnownGateway(Optional.of(pending.gatewayId));
+            return Future.succeededFuture(Optional.of(state));
+        }
+
         final Span span = TracingHelper.buildChildSpan(this.tracer, spanContext, "read device state", getClass().getSimpleName())
                 .withTag("tenant_instance_id", key.getTenantId())
                 .withTag("device_id", key.getDeviceId())
@@ -157,6 +240,10 @@ public class Store extends AbstractStore {
      * Set the last known gateway information of the device state.
      * <p>
      * This will execute the {@code update} statement to update the entry.
+     * <p>
+     * If updates are buffered, the returned future will be completed once the buffered update has
+     * been written. If the update gets replaced by a more recent update for the same device before,
+     * the future will be completed with the outcome of writing the more recent update.
      *
      * @param key The key to the device entry.
      * @param spanContext The span to contribute to.
@@ -172,11 +259,11 @@ public class Store extends AbstractStore {
                 .withTag("gateway_id", gatewayId)
                 .start();
 
-        final var expanded = this.updateStatement.expand(params -> {
-            params.put("tenant_id", key.getTenantId());
-            params.put("device_id", key.getDeviceId());
-            params.put("gateway_id", gatewayId);
-        });
+        if (this.flushInterval > 0) {
+            return bufferUpdate(key, gatewayId).onComplete(x -> span.finish());
+        }
+
+        final var expanded = this.updateBinder.bind(key.getTenantId(), key.getDeviceId(), gatewayId);
 
         log.debug("setLastKnownGateway - statement: {}", expanded);
         final var result = expanded.trace(this.tracer, span).update(this.client);
@@ -185,8 +272,152 @@ public class Store extends AbstractStore {
 
     }
 
+    private Future<UpdateResult> bufferUpdate(final DeviceConnectionKey key, final String gatewayId) {
+
+        final Promise<UpdateResult> result = Promise.promise();
+        final boolean flushNow;
+
+        synchronized (this) {
+            if (this.closed) {
+                return Future.failedFuture(new IllegalStateException("store is closed"));
+            }
+            final PendingUpdate previous = this.pendingUpdates.get(key);
+            final PendingUpdate update = new PendingUpdate(gatewayId);
+            if (previous != null) {
+                // drop the previous update, its callers get notified when the more recent one is written
+                update.promises.addAll(previous.promises);
+            }
+            update.promises.add(result);
+            this.pendingUpdates.put(key, update);
+
+            flushNow = this.pendingUpdates.size() >= MAX_BUFFERED_UPDATES;
+            if (!flushNow && !this.flushScheduled) {
+                this.flushScheduled = true;
+                this.vertx.setTimer(this.flushInterval, id -> flush());
+            }
+        }
+
+        if (flushNow) {
+            flush();
+        }
+
+        return result.future();
+    }
+
+    /**
+     * Write all buffered updates.
+     * <p>
+     * The updates are written once all previously flushed batches have been written.
+     *
+     * @return A future, tracking the outcome of writing the most recently flushed batch.
+     */
+    Future<Void> flush() {
+
+        final Map<DeviceConnectionKey, PendingUpdate> updates;
+        final Future<Void> previousWrite;
+        final Promise<Void> write = Promise.promise();
+        synchronized (this) {
+            updates = this.pendingUpdates;
+            if (updates.isEmpty()) {
+                return this.lastWrite;
+            }
+            this.pendingUpdates = new HashMap<>();
+            // the timer may still fire, but will find an empty buffer
+            this.flushScheduled = false;
+            this.inFlightUpdates.addLast(updates);
+            previousWrite = this.lastWrite;
+            this.lastWrite = write.future();
+        }
+
+        final Span span = this.tracer.buildSpan("write device states")
+                .withTag(Tags.COMPONENT.getKey(), getClass().getSimpleName())
+                .withTag("updates", updates.size())
+                .start();
+
+        final List<PendingUpdate> pending = new ArrayList<>(updates.size());
+        final List<JsonArray> batch = new ArrayList<>(updates.size());
+        String sql = null;
+        for (final Map.Entry<DeviceConnectionKey, PendingUpdate> entry : updates.entrySet()) {
+            final var expanded = this.updateBinder.bind(
+                    entry.getKey().getTenantId(), entry.getKey().getDeviceId(), entry.getValue().gatewayId);
+            sql = expanded.getSql();
+            batch.add(expanded.getParametersAsJson());
+            pending.add(entry.getValue());
+        }
+
+        log.debug("flush - statement: {}, updates: {}", sql, batch.size());
+
+        final Promise<List<Integer>> result = Promise.promise();
+        final String batchSql = sql;
+        // the outcome of the previous batch doesn't matter, only its completion
+        previousWrite.onComplete(previous -> this.client.getConnection(ar -> {
+            if (ar.failed()) {
+                result.fail(ar.cause());
+                return;
+            }
+            final SQLConnection connection = ar.result();
+            connection.batchWithParams(batchSql, batch, br -> {
+                connection.close();
+                result.handle(br);
+            });
+        }));
+
+        return result.future()
+                .onComplete(r -> {
+                    synchronized (this) {
+                        this.inFlightUpdates.removeIf(inFlight -> inFlight == updates);
+                    }
+                    for (int i = 0; i < pending.size(); i++) {
+                        if (r.succeeded()) {
+                            final Integer updated = r.result().get(i);
+                            final var updateResult = new UpdateResult(updated == null ? 0 : updated, new JsonArray());
+                            pending.get(i).promises.forEach(p -> p.complete(updateResult));
+                        } else {
+                            pending.get(i).promises.forEach(p -> p.fail(r.cause()));
+                        }
+                    }
+                    if (r.failed()) {
+                        TracingHelper.logError(span, r.cause());
+                    }
+                    span.finish();
+                })
+                .<Void>mapEmpty()
+                .onComplete(write);
+
+    }
+
+    /**
+     * Close the store.
+     * <p>
+     * All buffered and in-flight updates are written before the SQL client gets closed. Updates of the last known
+     * gateway, which are requested after the store has been closed, fail with an
+     * {@link IllegalStateException}.
+     */
+    @Override
+    public void close() throws Exception {
+
+        synchronized (this) {
+            this.closed = true;
+        }
+
+        flush().onComplete(r -> {
+            if (r.failed()) {
+                log.warn("failed to write buffered updates before closing", r.cause());
+            }
+            try {
+                super.close();
+            } catch (final Exception e) {
+                log.warn("failed to close SQL client", e);
+            }
+        });
+
+    }
+
     /**
      * Drop all entries for a tenant.
+     * <p>
+     * Buffered updates of the tenant are discarded. The entries are dropped once all previously
+     * flushed batches have been written.
      *
      * @param tenantId The tenant to drop.
      * @param spanContext The span to contribute to.
@@ -199,15 +430,45 @@ public class Store extends AbstractStore {
                 .withTag("tenant_instance_id", tenantId)
                 .start();
 
+        final List<PendingUpdate> dropped = new ArrayList<>();
+        final Future<Void> previousWrite;
+        final Promise<UpdateResult> result = Promise.promise();
+        synchronized (this) {
+            // buffered updates must not re-create entries of the dropped tenant
+            this.pendingUpdates.entrySet().removeIf(entry -> {
+                if (entry.getKey().getTenantId().equals(tenantId)) {
+                    dropped.add(entry.getValue());
+                    return true;
+                }
+                return false;
+            });
+            // in-flight updates are still written, but are no longer visible and get dropped afterwards
+            this.inFlightUpdates.forEach(updates -> updates.keySet().removeIf(key -> key.getTenantId().equals(tenantId)));
+            previousWrite = this.lastWrite;
+            this.lastWrite = result.future().<Void>mapEmpty().otherwiseEmpty();
+        }
+        final var notUpdated = new UpdateResult(0, new JsonArray());
+        dropped.forEach(update -> update.promises.forEach(p -> p.complete(notUpdated)));
+
         final var expanded = this.dropTenantStatement.expand(params -> {
             params.put("tenant_id", tenantId);
         });
 
         log.debug("dropTenant - statement: {}", expanded);
-        final var result = expanded.trace(this.tracer, span).update(this.client);
+        previousWrite.onComplete(previous -> expanded.trace(this.tracer, span).update(this.client).onComplete(result));
 
-        return result.onComplete(x -> span.finish());
+        return result.future().onComplete(x -> span.finish());
+
+    }
+
+    private static final class PendingUpdate {
+
+        private final String gatewayId;
+        private final List<Promise<UpdateResult>> promises = new ArrayList<>(1);
 
+        PendingUpdate(final String gatewayId) {
+            this.gatewayId = gatewayId;
+        }
     }
 
 }
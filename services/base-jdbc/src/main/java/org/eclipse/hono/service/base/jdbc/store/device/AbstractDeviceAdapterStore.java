@@ -21,11 +21,13 @@ import org.eclipse.hono.service.base.jdbc.store.StatementConfiguration;
 import org.eclipse.hono.service.management.device.Device;
 import org.eclipse.hono.tracing.TracingHelper;
 
+import com.fasterxml.jackson.databind.ObjectReader;
+
 import io.opentracing.Span;
 import io.opentracing.SpanContext;
 import io.opentracing.Tracer;
 import io.vertx.core.Future;
-import io.vertx.core.json.Json;
+import io.vertx.core.json.jackson.DatabindCodec;
 import io.vertx.ext.sql.ResultSet;
 import io.vertx.ext.sql.SQLClient;
 
@@ -34,6 +36,8 @@ import io.vertx.ext.sql.SQLClient;
  */
 public abstract class AbstractDeviceAdapterStore extends AbstractDeviceStore {
 
+    private static final ObjectReader DEVICE_READER = DatabindCodec.mapper().readerFor(Device.class);
+
     /**
      * Create a new instance.
      *
@@ -102,7 +106,7 @@ public abstract class AbstractDeviceAdapterStore extends AbstractDeviceStore {
                             return Future.succeededFuture((Optional.empty()));
                         case 1:
                             final var entry = entries.get(0);
-                            final var device = Json.decodeValue(entry.getString("data"), Device.class);
+                            final Device device = decodeValue(DEVICE_READER, entry.getString("data"));
                             final var version = Optional.ofNullable(entry.getString("version"));
                             return Future.succeededFuture(Optional.of(new DeviceReadResult(device, version)));
                         default:
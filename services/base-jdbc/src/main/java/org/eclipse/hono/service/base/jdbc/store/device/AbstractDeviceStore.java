@@ -13,6 +13,7 @@
 
 package org.eclipse.hono.service.base.jdbc.store.device;
 
+import java.io.IOException;
 import java.util.Optional;
 
 import org.eclipse.hono.deviceregistry.service.device.DeviceKey;
@@ -22,9 +23,12 @@ import org.eclipse.hono.service.base.jdbc.store.StatementConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.databind.ObjectReader;
+
 import io.opentracing.Span;
 import io.opentracing.Tracer;
 import io.vertx.core.Future;
+import io.vertx.core.json.DecodeException;
 import io.vertx.ext.sql.ResultSet;
 import io.vertx.ext.sql.SQLClient;
 import io.vertx.ext.sql.SQLOperations;
@@ -40,6 +44,7 @@ public abstract class AbstractDeviceStore extends AbstractStore {
     protected final Tracer tracer;
 
     private final Statement readRegistrationStatement;
+    private final Statement.Binder readRegistrationBinder;
 
     /**
      * Create a new instance.
@@ -59,6 +64,9 @@ public abstract class AbstractDeviceStore extends AbstractStore {
                 .validateParameters(
                         "tenant_id",
                         "device_id");
+        this.readRegistrationBinder = this.readRegistrationStatement.binder(
+                "tenant_id",
+                "device_id");
 
     }
 
@@ -75,7 +83,12 @@ public abstract class AbstractDeviceStore extends AbstractStore {
      * @return The future, tracking the outcome of the operation.
      */
     protected Future<ResultSet> readDevice(final SQLOperations operations, final DeviceKey key, final Span span) {
-        return read(operations, key, this.readRegistrationStatement, span);
+
+        final var expanded = this.readRegistrationBinder.bind(key.getTenantId(), key.getDeviceId());
+
+        log.debug("readDevice - statement: {}", expanded);
+
+        return expanded.trace(this.tracer, span).query(this.client);
     }
 
     /**
@@ -124,4 +137,24 @@ public abstract class AbstractDeviceStore extends AbstractStore {
         return expanded.trace(this.tracer, span).query(this.client);
     }
 
+    /**
+     * Decode a JSON value using a pre-configured reader.
+     * <p>
+     * In contrast to {@link io.vertx.core.json.Json#decodeValue(String, Class)}, this doesn't
+     * need to look up the deserializer for the target type for each value.
+     *
+     * @param <T> The type of the value.
+     * @param reader The reader to use.
+     * @param json The encoded value.
+     * @return The decoded value.
+     * @throws DecodeException if the value cannot be decoded.
+     */
+    protected static <T> T decodeValue(final ObjectReader reader, final String json) {
+        try {
+            return reader.readValue(json);
+        } catch (final IOException e) {
+            throw new DecodeException("Failed to decode: " + e.getMessage(), e);
+        }
+    }
+
 }
@@ -94,7 +94,7 @@ public final class DeviceStores {
         @Override
         public AbstractDeviceAdapterStore createJson(final Vertx vertx, final Tracer tracer, final JdbcProperties properties, final boolean hierarchical) throws IOException {
             return new JsonAdapterStore(
-                    JdbcProperties.dataSource(vertx, properties),
+                    JdbcProperties.readDataSource(vertx, properties),
                     tracer,
                     hierarchical,
                     Configurations.jsonConfiguration(properties.getUrl(), Optional.ofNullable(properties.getTableName()), hierarchical));
@@ -104,7 +104,7 @@ public final class DeviceStores {
         public AbstractDeviceAdapterStore createTable(final Vertx vertx, final Tracer tracer, final JdbcProperties properties, final Optional<String> credentials,
                 final Optional<String> registrations) throws IOException {
             return new TableAdapterStore(
-                    JdbcProperties.dataSource(vertx, properties),
+                    JdbcProperties.readDataSource(vertx, properties),
                     tracer,
                     Configurations.tableConfiguration(properties.getUrl(), credentials, registrations));
         }
@@ -29,13 +29,15 @@ import org.eclipse.hono.util.CredentialsConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.databind.ObjectReader;
+
 import io.opentracing.Span;
 import io.opentracing.SpanContext;
 import io.opentracing.Tracer;
 import io.opentracing.log.Fields;
 import io.vertx.core.Future;
-import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.jackson.DatabindCodec;
 import io.vertx.ext.sql.SQLClient;
 
 /**
@@ -47,7 +49,9 @@ public class JsonAdapterStore extends AbstractDeviceAdapterStore {
 
     private static final Logger log = LoggerFactory.getLogger(JsonAdapterStore.class);
 
-    private final Statement findCredentialsStatement;
+    private static final ObjectReader CREDENTIALS_READER = DatabindCodec.mapper().readerFor(CommonCredential[].class);
+
+    private final Statement.Binder findCredentialsBinder;
 
     private final boolean hierarchical;
 
@@ -65,9 +69,9 @@ public class JsonAdapterStore extends AbstractDeviceAdapterStore {
 
         this.hierarchical = hierarchical;
 
-        this.findCredentialsStatement = cfg
+        this.findCredentialsBinder = cfg
                 .getRequiredStatement("findCredentials")
-                .validateParameters(
+                .binder(
                         "tenant_id",
                         "type",
                         "auth_id");
@@ -121,11 +125,7 @@ public class JsonAdapterStore extends AbstractDeviceAdapterStore {
                 .withTag("type", key.getType())
                 .start();
 
-        final var expanded = this.findCredentialsStatement.expand(params -> {
-            params.put("tenant_id", key.getTenantId());
-            params.put("type", key.getType());
-            params.put("auth_id", key.getAuthId());
-        });
+        final var expanded = this.findCredentialsBinder.bind(key.getTenantId(), key.getType(), key.getAuthId());
 
         log.debug("findCredentials - statement: {}", expanded);
         return expanded
@@ -165,7 +165,8 @@ public class JsonAdapterStore extends AbstractDeviceAdapterStore {
         if (this.hierarchical) {
             return decodeCredentialsHierarchical(credentials);
         } else {
-            return Arrays.asList(Json.decodeValue(credentials, CommonCredential[].class));
+            final CommonCredential[] result = decodeValue(CREDENTIALS_READER, credentials);
+            return Arrays.asList(result);
         }
     }
 
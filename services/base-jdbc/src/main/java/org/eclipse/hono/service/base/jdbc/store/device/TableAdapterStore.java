@@ -27,11 +27,13 @@ import org.eclipse.hono.tracing.TracingHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.databind.ObjectReader;
+
 import io.opentracing.Span;
 import io.opentracing.SpanContext;
 import io.opentracing.Tracer;
 import io.vertx.core.Future;
-import io.vertx.core.json.Json;
+import io.vertx.core.json.jackson.DatabindCodec;
 import io.vertx.ext.sql.SQLClient;
 
 /**
@@ -41,7 +43,9 @@ public class TableAdapterStore extends AbstractDeviceAdapterStore {
 
     private static final Logger log = LoggerFactory.getLogger(TableAdapterStore.class);
 
-    private final Statement findCredentialsStatement;
+    private static final ObjectReader CREDENTIAL_READER = DatabindCodec.mapper().readerFor(CommonCredential.class);
+
+    private final Statement.Binder findCredentialsBinder;
 
     /**
      * Create a new instance.
@@ -54,9 +58,9 @@ public class TableAdapterStore extends AbstractDeviceAdapterStore {
         super(client, tracer, cfg);
         cfg.dump(log);
 
-        this.findCredentialsStatement = cfg
+        this.findCredentialsBinder = cfg
                 .getRequiredStatement("findCredentials")
-                .validateParameters(
+                .binder(
                         "tenant_id",
                         "type",
                         "auth_id");
@@ -72,11 +76,7 @@ public class TableAdapterStore extends AbstractDeviceAdapterStore {
                 .withTag("tenant_instance_id", key.getTenantId())
                 .start();
 
-        final var expanded = this.findCredentialsStatement.expand(params -> {
-            params.put("tenant_id", key.getTenantId());
-            params.put("type", key.getType());
-            params.put("auth_id", key.getAuthId());
-        });
+        final var expanded = this.findCredentialsBinder.bind(key.getTenantId(), key.getType(), key.getAuthId());
 
         log.debug("findCredentials - statement: {}", expanded);
         return expanded.trace(this.tracer, span).query(this.client)
@@ -104,7 +104,7 @@ public class TableAdapterStore extends AbstractDeviceAdapterStore {
 
                     final List<CommonCredential> credentials = entries.stream()
                             .map(o -> o.getString("data"))
-                            .map(s -> Json.decodeValue(s, CommonCredential.class))
+                            .<CommonCredential>map(s -> decodeValue(CREDENTIAL_READER, s))
                             .collect(Collectors.toList());
 
                     return Future.succeededFuture(Optional.of(new CredentialsReadResult(deviceId, credentials, Optional.empty())));
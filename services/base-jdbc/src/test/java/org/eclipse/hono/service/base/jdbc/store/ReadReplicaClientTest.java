@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.base.jdbc.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.ext.sql.SQLClient;
+import io.vertx.ext.sql.SQLConnection;
+import io.vertx.ext.sql.SQLOperations;
+
+/**
+ * Testing {@link ReadReplicaClient}.
+ */
+public class ReadReplicaClientTest {
+
+    private Vertx vertx;
+    private FakeClient primary;
+    private FakeClient replica1;
+    private FakeClient replica2;
+
+    /**
+     * Set up the fixture.
+     */
+    @BeforeEach
+    public void setUp() {
+        this.vertx = Vertx.vertx();
+        this.primary = new FakeClient();
+        this.replica1 = new FakeClient();
+        this.replica2 = new FakeClient();
+    }
+
+    /**
+     * Tear down the fixture.
+     */
+    @AfterEach
+    public void tearDown() {
+        this.vertx.close();
+    }
+
+    private ReadReplicaClient newClient(final Optional<String> lagSql) {
+        return new ReadReplicaClient(
+                this.vertx,
+                this.primary,
+                Arrays.asList(this.replica1, this.replica2),
+                lagSql,
+                Duration.ofSeconds(5),
+                Duration.ofHours(1));
+    }
+
+    /**
+     * Test that connections are distributed among the available replicas.
+     */
+    @Test
+    public void testRoundRobin() {
+        final ReadReplicaClient client = newClient(Optional.empty());
+
+        for (int i = 0; i < 4; i++) {
+            client.getConnection(ar -> { });
+        }
+
+        assertEquals(0, this.primary.connections);
+        assertEquals(2, this.replica1.connections);
+        assertEquals(2, this.replica2.connections);
+    }
+
+    /**
+     * Test that replicas exceeding the maximum replication lag are not used.
+     */
+    @Test
+    public void testLaggingReplicaIsSkipped() {
+        this.replica1.lag = 10;
+        this.replica2.lag = 1;
+        final ReadReplicaClient client = newClient(Optional.of("SELECT lag"));
+
+        client.getConnection(ar -> { });
+        client.getConnection(ar -> { });
+
+        assertEquals(0, this.primary.connections);
+        assertEquals(0, this.replica1.connections);
+        assertEquals(2, this.replica2.connections);
+
+        // replica caught up
+
+        this.replica1.lag = 0;
+        client.checkReplicas();
+
+        client.getConnection(ar -> { });
+        client.getConnection(ar -> { });
+
+        assertEquals(1, this.replica1.connections);
+        assertEquals(3, this.replica2.connections);
+    }
+
+    /**
+     * Test that replicas are not used if the replication lag query doesn't return a number.
+     */
+    @Test
+    public void testReplicaWithNonNumericLagIsSkipped() {
+        this.replica1.lag = "00:00:01";
+        this.replica2.lag = 1;
+        final ReadReplicaClient client = newClient(Optional.of("SELECT lag"));
+
+        client.getConnection(ar -> { });
+        client.getConnection(ar -> { });
+
+        assertEquals(0, this.primary.connections);
+        assertEquals(0, this.replica1.connections);
+        assertEquals(2, this.replica2.connections);
+    }
+
+    /**
+     * Test that the primary is used if no replica is available.
+     */
+    @Test
+    public void testFallbackToPrimary() {
+        this.replica1.failing = true;
+        this.replica2.failing = true;
+        final ReadReplicaClient client = newClient(Optional.empty());
+
+        client.getConnection(ar -> { });
+
+        assertEquals(1, this.primary.connections);
+        assertEquals(0, this.replica1.connections);
+        assertEquals(0, this.replica2.connections);
+    }
+
+    /**
+     * Test that a replica, which fails to provide a connection, is no longer used.
+     */
+    @Test
+    public void testFailingReplicaFallsBackToPrimary() {
+        final ReadReplicaClient client = newClient(Optional.empty());
+        this.replica1.failing = true;
+
+        final int[] succeeded = new int[1];
+        for (int i = 0; i < 3; i++) {
+            client.getConnection(ar -> {
+                if (ar.succeeded()) {
+                    succeeded[0]++;
+                }
+            });
+        }
+
+        assertEquals(3, succeeded[0]);
+        assertEquals(1, this.primary.connections);
+        assertEquals(0, this.replica1.connections);
+        assertEquals(2, this.replica2.connections);
+    }
+
+    /**
+     * An SQL client, which counts connections and responds to queries with a configurable lag.
+     */
+    private static class FakeClient implements SQLClient {
+
+        int connections;
+        Object lag = 0;
+        boolean failing;
+
+        @Override
+        public SQLOperations querySingle(final String sql, final Handler<AsyncResult<JsonArray>> handler) {
+            if (this.failing) {
+                handler.handle(Future.failedFuture(new IllegalStateException("unavailable")));
+            } else {
+                handler.handle(Future.succeededFuture(new JsonArray().add(this.lag)));
+            }
+            return this;
+        }
+
+        @Override
+        public SQLClient getConnection(final Handler<AsyncResult<SQLConnection>> handler) {
+            if (this.failing) {
+                handler.handle(Future.failedFuture(new IllegalStateException("unavailable")));
+            } else {
+                this.connections++;
+                handler.handle(Future.succeededFuture());
+            }
+            return this;
+        }
+
+        @Override
+        public void close(final Handler<AsyncResult<Void>> handler) {
+            handler.handle(Future.succeededFuture());
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+}
@@ -14,6 +14,7 @@
 package org.eclipse.hono.service.base.jdbc.store;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -135,4 +136,34 @@ public class StatementTest {
         assertThat(expected, IsInstanceOf.instanceOf(ConstructorException.class));
     }
 
+
+    /**
+     * Test that a binder maps values to the positional parameters, including
+     * parameters which are used more than once.
+     */
+    @Test
+    public void testBinder() {
+        final Statement statement = Statement.statement("SELECT foo FROM bar WHERE baz=:baz AND bar=:bar OR baz2=:baz");
+        final Statement.Binder binder = statement.binder("bar", "baz");
+
+        final Statement.ExpandedStatement expanded = binder.bind("value-bar", "value-baz");
+        assertEquals("SELECT foo FROM bar WHERE baz=? AND bar=? OR baz2=?", expanded.getSql());
+        assertArrayEquals(new Object[] {"value-baz", "value-bar", "value-baz"}, expanded.getParameters());
+    }
+
+    /**
+     * Test that creating a binder fails if a named parameter is missing, and that
+     * binding fails for a wrong number of values.
+     */
+    @Test
+    public void testBinderMissingField() {
+        final Statement statement = Statement.statement("SELECT foo FROM bar WHERE baz=:baz");
+        assertThrows(IllegalStateException.class, () -> {
+            statement.binder("bar");
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            statement.binder("baz").bind("value-baz", "value-bar");
+        });
+    }
+
 }
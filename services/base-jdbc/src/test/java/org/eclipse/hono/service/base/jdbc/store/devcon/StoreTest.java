@@ -0,0 +1,253 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.base.jdbc.store.devcon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.hono.deviceregistry.service.deviceconnection.DeviceConnectionKey;
+import org.eclipse.hono.service.base.jdbc.store.StatementConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import io.opentracing.noop.NoopTracerFactory;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.ext.sql.SQLClient;
+import io.vertx.ext.sql.SQLConnection;
+import io.vertx.ext.sql.UpdateResult;
+
+/**
+ * Testing {@link Store}.
+ */
+public class StoreTest {
+
+    private static final String STATEMENTS = "read: SELECT last_known_gateway FROM %s WHERE tenant_id=:tenant_id AND device_id=:device_id\n"
+            + "update: UPDATE %s SET last_known_gateway=:gateway_id WHERE tenant_id=:tenant_id AND device_id=:device_id\n"
+            + "dropTenant: DELETE FROM %s WHERE tenant_id=:tenant_id\n";
+
+    private Vertx vertx;
+    private SQLClient client;
+    private SQLConnection connection;
+    private StatementConfiguration cfg;
+
+    /**
+     * Set up the fixture.
+     */
+    @SuppressWarnings("unchecked")
+    @BeforeEach
+    public void setUp() {
+        this.vertx = mock(Vertx.class);
+        this.client = mock(SQLClient.class);
+        this.connection = mock(SQLConnection.class);
+
+        doAnswer(invocation -> {
+            final Handler<AsyncResult<SQLConnection>> handler = invocation.getArgument(0);
+            handler.handle(Future.succeededFuture(this.connection));
+            return this.client;
+        }).when(this.client).getConnection(any());
+
+        doAnswer(invocation -> {
+            final List<JsonArray> batch = invocation.getArgument(1);
+            final Handler<AsyncResult<List<Integer>>> handler = invocation.getArgument(2);
+            handler.handle(Future.succeededFuture(Collections.nCopies(batch.size(), 1)));
+            return this.connection;
+        }).when(this.connection).batchWithParams(anyString(), anyList(), any(Handler.class));
+
+        this.cfg = StatementConfiguration
+                .empty("device_states")
+                .overrideWith(new ByteArrayInputStream(STATEMENTS.getBytes(StandardCharsets.UTF_8)), false);
+    }
+
+    /**
+     * Test that updates of the same device are coalesced, and written in a single batch once the timer fires.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testBufferedUpdatesAreCoalesced() {
+
+        final Store store = new Store(this.client, NoopTracerFactory.create(), this.cfg, this.vertx, Duration.ofMillis(100));
+
+        final Future<UpdateResult> f1 = store.setLastKnownGateway(new DeviceConnectionKey("tenant", "device1"), "gw1", null);
+        final Future<UpdateResult> f2 = store.setLastKnownGateway(new DeviceConnectionKey("tenant", "device1"), "gw2", null);
+        final Future<UpdateResult> f3 = store.setLastKnownGateway(new DeviceConnectionKey("tenant", "device2"), "gw1", null);
+
+        // nothing written yet, but the buffered value is visible
+
+        verify(this.client, never()).getConnection(any());
+        assertFalse(f1.isComplete());
+        assertEquals("gw2", store
+                .readDeviceState(new DeviceConnectionKey("tenant", "device1"), null)
+                .result().get().getLastKnownGateway().get());
+
+        // only one timer was scheduled, fire it
+
+        final ArgumentCaptor<Handler<Long>> timer = ArgumentCaptor.forClass(Handler.class);
+        verify(this.vertx, times(1)).setTimer(eq(100L), timer.capture());
+        timer.getValue().handle(1L);
+
+        final ArgumentCaptor<List<JsonArray>> batch = ArgumentCaptor.forClass(List.class);
+        verify(this.connection).batchWithParams(anyString(), batch.capture(), any(Handler.class));
+        verify(this.connection).close();
+
+        assertEquals(2, batch.getValue().size());
+        assertTrue(batch.getValue().contains(new JsonArray().add("gw2").add("tenant").add("device1")));
+        assertTrue(batch.getValue().contains(new JsonArray().add("gw1").add("tenant").add("device2")));
+
+        assertTrue(f1.succeeded());
+        assertTrue(f2.succeeded());
+        assertTrue(f3.succeeded());
+        assertEquals(1, f1.result().getUpdated());
+    }
+
+    /**
+     * Test that a flushed batch is only written once the previous batch has been written, and that
+     * the updates of both batches remain visible until they have been written.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testFlushWaitsForInFlightBatch() {
+
+        final List<Handler<AsyncResult<List<Integer>>>> batchHandlers = new ArrayList<>();
+        doAnswer(invocation -> {
+            batchHandlers.add(invocation.getArgument(2));
+            return this.connection;
+        }).when(this.connection).batchWithParams(anyString(), anyList(), any(Handler.class));
+
+        final Store store = new Store(this.client, NoopTracerFactory.create(), this.cfg, this.vertx, Duration.ofMillis(100));
+        final DeviceConnectionKey key = new DeviceConnectionKey("tenant", "device1");
+
+        // GIVEN a flushed batch which has not been written yet
+        final Future<UpdateResult> f1 = store.setLastKnownGateway(key, "gw1", null);
+        store.flush();
+        assertEquals(1, batchHandlers.size());
+        assertEquals("gw1", store.readDeviceState(key, null).result().get().getLastKnownGateway().get());
+
+        // WHEN flushing a more recent update of the same device
+        final Future<UpdateResult> f2 = store.setLastKnownGateway(key, "gw2", null);
+        store.flush();
+
+        // THEN the second batch is not written before the first one has been written
+        assertEquals(1, batchHandlers.size());
+        // and the more recent update is visible
+        assertEquals("gw2", store.readDeviceState(key, null).result().get().getLastKnownGateway().get());
+
+        // WHEN the first batch has been written
+        batchHandlers.get(0).handle(Future.succeededFuture(List.of(1)));
+
+        // THEN the second batch gets written
+        assertTrue(f1.succeeded());
+        assertFalse(f2.isComplete());
+        final ArgumentCaptor<List<JsonArray>> batch = ArgumentCaptor.forClass(List.class);
+        verify(this.connection, times(2)).batchWithParams(anyString(), batch.capture(), any(Handler.class));
+        assertEquals(List.of(new JsonArray().add("gw2").add("tenant").add("device1")), batch.getValue());
+        assertEquals("gw2", store.readDeviceState(key, null).result().get().getLastKnownGateway().get());
+
+        // and once it has been written, the device state is read from the database
+        batchHandlers.get(1).handle(Future.succeededFuture(List.of(1)));
+        assertTrue(f2.succeeded());
+        store.readDeviceState(key, null);
+        verify(this.client).queryWithParams(anyString(), any(), any());
+    }
+
+    /**
+     * Test that closing the store writes the buffered updates, before closing the client.
+     *
+     * @throws Exception if closing the store fails.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testCloseWritesBufferedUpdates() throws Exception {
+
+        final Store store = new Store(this.client, NoopTracerFactory.create(), this.cfg, this.vertx, Duration.ofMillis(100));
+
+        final Future<UpdateResult> f = store.setLastKnownGateway(new DeviceConnectionKey("tenant", "device1"), "gw1", null);
+        assertFalse(f.isComplete());
+
+        store.close();
+
+        final InOrder inOrder = inOrder(this.connection, this.client);
+        inOrder.verify(this.connection).batchWithParams(anyString(), anyList(), any(Handler.class));
+        inOrder.verify(this.client).close();
+
+        assertTrue(f.succeeded());
+        assertEquals(1, f.result().getUpdated());
+
+        // updates after closing are rejected
+        assertTrue(store.setLastKnownGateway(new DeviceConnectionKey("tenant", "device1"), "gw2", null).failed());
+    }
+
+    /**
+     * Test that dropping a tenant discards its buffered updates.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testDropTenantDiscardsBufferedUpdates() {
+
+        doAnswer(invocation -> {
+            final Handler<AsyncResult<UpdateResult>> handler = invocation.getArgument(2);
+            handler.handle(Future.succeededFuture(new UpdateResult(1, new JsonArray())));
+            return this.client;
+        }).when(this.client).updateWithParams(anyString(), any(), any());
+
+        final Store store = new Store(this.client, NoopTracerFactory.create(), this.cfg, this.vertx, Duration.ofMillis(100));
+
+        final Future<UpdateResult> f = store.setLastKnownGateway(new DeviceConnectionKey("tenant", "device1"), "gw1", null);
+        store.dropTenant("tenant", null);
+
+        assertTrue(f.succeeded());
+        assertEquals(0, f.result().getUpdated());
+
+        store.flush();
+        verify(this.connection, never()).batchWithParams(anyString(), anyList(), any(Handler.class));
+    }
+
+    /**
+     * Test that updates are written immediately, if no flush interval is set.
+     */
+    @Test
+    public void testUnbufferedUpdate() {
+
+        final Store store = new Store(this.client, NoopTracerFactory.create(), this.cfg);
+
+        store.setLastKnownGateway(new DeviceConnectionKey("tenant", "device1"), "gw1", null);
+
+        verify(this.client).updateWithParams(anyString(), eq(new JsonArray().add("gw1").add("tenant").add("device1")), any());
+        verify(this.vertx, never()).setTimer(anyLong(), any());
+    }
+}
@@ -95,6 +95,30 @@ public class CacheBasedDeviceConnectionService extends AbstractVerticle implemen
                 .otherwise(t -> DeviceConnectionResult.from(ServiceInvocationException.extractStatusCode(t)));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * All mapping entries are written to the cache by means of a single bulk operation.
+     */
+    @Override
+    public Future<DeviceConnectionResult> setCommandHandlingAdapterInstanceForDevices(final String tenantId,
+            final List<String> deviceIds, final String adapterInstanceId, final Duration lifespan, final Span span) {
+        return cache.setCommandHandlingAdapterInstanceForDevices(tenantId, new HashSet<>(deviceIds), adapterInstanceId, lifespan, span)
+                .map(v -> DeviceConnectionResult.from(HttpURLConnection.HTTP_NO_CONTENT))
+                .otherwise(t -> DeviceConnectionResult.from(ServiceInvocationException.extractStatusCode(t)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<DeviceConnectionResult> removeCommandHandlingAdapterInstanceForDevices(final String tenantId,
+            final List<String> deviceIds, final String adapterInstanceId, final Span span) {
+        return cache.removeCommandHandlingAdapterInstanceForDevices(tenantId, new HashSet<>(deviceIds), adapterInstanceId, span)
+                .map(removedDeviceIds -> DeviceConnectionResult.from(HttpURLConnection.HTTP_NO_CONTENT))
+                .otherwise(t -> DeviceConnectionResult.from(ServiceInvocationException.extractStatusCode(t)));
+    }
+
     @Override
     public Future<DeviceConnectionResult> getCommandHandlingAdapterInstances(final String tenantId, final String deviceId,
             final List<String> viaGateways, final Span span) {
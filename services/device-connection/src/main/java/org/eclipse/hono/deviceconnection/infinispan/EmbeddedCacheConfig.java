@@ -55,12 +55,14 @@ public class EmbeddedCacheConfig {
     @Bean
     public BasicCache<String, String> embeddedCache(final Vertx vertx, final CommonCacheConfig cacheConfig) {
         LOG.info("Common Config: {}", cacheConfig);
-        return new EmbeddedCache<>(
+        final EmbeddedCache<String, String> cache = new EmbeddedCache<>(
                 vertx,
                 embeddedCacheManager(cacheConfig),
                 cacheConfig.getCacheName(),
                 cacheConfig.getCheckKey(),
                 cacheConfig.getCheckValue());
+        cache.setWorkerPoolSize(cacheConfig.getWorkerPoolSize());
+        return cache;
     }
 
     /**
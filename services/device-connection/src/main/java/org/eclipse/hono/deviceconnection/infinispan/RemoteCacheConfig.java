@@ -69,12 +69,14 @@ public class RemoteCacheConfig {
     @Bean
     public BasicCache<String, String> remoteCache(final Vertx vertx, final CommonCacheConfig cacheConfig) {
         log.info("Common Config: {}", cacheConfig);
-        return new HotrodCache<>(
+        final HotrodCache<String, String> cache = new HotrodCache<>(
                 vertx,
                 remoteCacheManager(),
                 cacheConfig.getCacheName(),
                 cacheConfig.getCheckKey(),
                 cacheConfig.getCheckValue());
+        cache.setWorkerPoolSize(cacheConfig.getWorkerPoolSize());
+        return cache;
     }
 
 }
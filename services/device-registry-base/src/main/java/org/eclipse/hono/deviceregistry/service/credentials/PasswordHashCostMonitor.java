@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.deviceregistry.service.credentials;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.eclipse.hono.auth.BCryptHelper;
+import org.eclipse.hono.util.CredentialsConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A monitor for password hashes that exceed the maximum cost factor supported by a registry.
+ * <p>
+ * The cost of verifying a password against a <em>bcrypt</em> hash doubles with each increment
+ * of the hash's cost factor. Hashes that have been created with a cost factor exceeding the
+ * registry's configured maximum (e.g. before the maximum has been lowered) therefore make
+ * device authentication considerably more expensive for protocol adapters. Such hashes can only
+ * be replaced by updating the device's credentials because neither the registry nor the protocol
+ * adapters keep the clear text passwords.
+ * <p>
+ * This class reports the number of such hashes by means of the {@link #METER_NAME} gauge,
+ * indicating the progress of migrating devices to cheaper hashes. The number is determined using
+ * a given (potentially expensive) counting function which is invoked at most once per refresh
+ * interval.
+ */
+public final class PasswordHashCostMonitor {
+
+    /**
+     * The name of the gauge reporting the number of password hashes which exceed the maximum cost factor.
+     */
+    public static final String METER_NAME = "hono.credentials.password.hashes.exceeding.max.cost";
+    /**
+     * The default interval at which the number of hashes is determined.
+     */
+    public static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofMinutes(5);
+
+    private static final Logger LOG = LoggerFactory.getLogger(PasswordHashCostMonitor.class);
+    /**
+     * The maximum cost factor supported by the bcrypt algorithm.
+     */
+    private static final int MAX_BCRYPT_COST_FACTOR = 31;
+
+    private final Supplier<Future<Long>> counter;
+    private final long refreshIntervalMillis;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+    private volatile long lastRefresh = Long.MIN_VALUE;
+
+    /**
+     * Creates a new monitor.
+     *
+     * @param registry The registry to report the number of hashes to.
+     * @param counter The function to use for determining the number of hashes.
+     * @param refreshInterval The interval at which the number of hashes is determined.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    public PasswordHashCostMonitor(
+            final MeterRegistry registry,
+            final Supplier<Future<Long>> counter,
+            final Duration refreshInterval) {
+
+        Objects.requireNonNull(registry);
+        this.counter = Objects.requireNonNull(counter);
+        this.refreshIntervalMillis = Objects.requireNonNull(refreshInterval).toMillis();
+        registry.gauge(METER_NAME, this, PasswordHashCostMonitor::getCount);
+    }
+
+    /**
+     * Gets the number of password hashes which exceed the maximum cost factor.
+     * <p>
+     * Triggers (asynchronous) determination of the current number if the refresh interval
+     * has elapsed since the number has last been determined.
+     *
+     * @return The number of hashes as determined by the last successful invocation of
+     *         the counting function.
+     */
+    double getCount() {
+        final long now = System.currentTimeMillis();
+        if (lastRefresh == Long.MIN_VALUE || now - lastRefresh >= refreshIntervalMillis) {
+            refresh(now);
+        }
+        return count.get();
+    }
+
+    private void refresh(final long now) {
+        if (refreshing.compareAndSet(false, true)) {
+            counter.get().onComplete(ar -> {
+                if (ar.succeeded()) {
+                    count.set(ar.result());
+                    lastRefresh = now;
+                } else {
+                    LOG.debug("failed to determine number of password hashes exceeding max cost factor", ar.cause());
+                }
+                refreshing.set(false);
+            });
+        }
+    }
+
+    /**
+     * Checks if a hashed-password secret uses a hash which exceeds a maximum cost factor.
+     *
+     * @param secret The secret to check (in the Credentials API format).
+     * @param maxBcryptCostFactor The maximum cost factor.
+     * @return {@code true} if the secret contains a bcrypt hash with a cost factor
+     *         exceeding the given maximum.
+     * @throws NullPointerException if secret is {@code null}.
+     */
+    public static boolean isMaxCostExceeded(final JsonObject secret, final int maxBcryptCostFactor) {
+
+        Objects.requireNonNull(secret);
+
+        final Object hashFunction = secret.getValue(CredentialsConstants.FIELD_SECRETS_HASH_FUNCTION);
+        final Object hash = secret.getValue(CredentialsConstants.FIELD_SECRETS_PWD_HASH);
+        if (!CredentialsConstants.HASH_FUNCTION_BCRYPT.equals(hashFunction) || !(hash instanceof String)) {
+            return false;
+        }
+        try {
+            return BCryptHelper.getIterations((String) hash) > maxBcryptCostFactor;
+        } catch (final IllegalArgumentException e) {
+            // not a hash that we can verify anyway
+            return false;
+        }
+    }
+
+    /**
+     * Gets a regular expression that matches bcrypt hashes which exceed a maximum cost factor.
+     * <p>
+     * The expression can be used for finding such hashes in a database.
+     *
+     * @param maxBcryptCostFactor The maximum cost factor.
+     * @return The regular expression.
+     */
+    public static String getMaxCostExceededPattern(final int maxBcryptCostFactor) {
+
+        final StringBuilder costFactors = new StringBuilder();
+        for (int i = Math.max(maxBcryptCostFactor + 1, 4); i <= MAX_BCRYPT_COST_FACTOR; i++) {
+            if (costFactors.length() > 0) {
+                costFactors.append('|');
+            }
+            costFactors.append(String.format("%02d", i));
+        }
+        if (costFactors.length() == 0) {
+            // no valid hash can exceed the maximum cost factor
+            return "(?!)";
+        }
+        return String.format("^\\$2a\\$(%s)\\$", costFactors);
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+
+package org.eclipse.hono.deviceregistry.service.credentials;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import org.eclipse.hono.util.CredentialsConstants;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+
+
+/**
+ * Tests verifying behavior of {@link PasswordHashCostMonitor}.
+ *
+ */
+public class PasswordHashCostMonitorTest {
+
+    private static final String BCRYPT_HASH_COST_10 = "$2a$10$UK9lmSMlYmeXqABkTrDRsu1nlZRnAmGnBdPIWZoDajtjyxX18Dry.";
+
+    /**
+     * Verifies that only bcrypt hashes with a cost factor exceeding the maximum
+     * are considered to exceed the maximum cost.
+     */
+    @Test
+    public void testIsMaxCostExceeded() {
+
+        final JsonObject bcryptSecret = new JsonObject()
+                .put(CredentialsConstants.FIELD_SECRETS_HASH_FUNCTION, CredentialsConstants.HASH_FUNCTION_BCRYPT)
+                .put(CredentialsConstants.FIELD_SECRETS_PWD_HASH, BCRYPT_HASH_COST_10);
+        assertThat(PasswordHashCostMonitor.isMaxCostExceeded(bcryptSecret, 10)).isFalse();
+        assertThat(PasswordHashCostMonitor.isMaxCostExceeded(bcryptSecret, 9)).isTrue();
+
+        final JsonObject shaSecret = new JsonObject()
+                .put(CredentialsConstants.FIELD_SECRETS_HASH_FUNCTION, CredentialsConstants.HASH_FUNCTION_SHA256)
+                .put(CredentialsConstants.FIELD_SECRETS_PWD_HASH, "bm90IGEgYmNyeXB0IGhhc2g=");
+        assertThat(PasswordHashCostMonitor.isMaxCostExceeded(shaSecret, 4)).isFalse();
+    }
+
+    /**
+     * Verifies that the pattern for finding hashes exceeding the maximum cost
+     * matches the expected hashes only.
+     */
+    @Test
+    public void testGetMaxCostExceededPattern() {
+
+        assertThat(Pattern.compile(PasswordHashCostMonitor.getMaxCostExceededPattern(9))
+                .matcher(BCRYPT_HASH_COST_10).find()).isTrue();
+        assertThat(Pattern.compile(PasswordHashCostMonitor.getMaxCostExceededPattern(10))
+                .matcher(BCRYPT_HASH_COST_10).find()).isFalse();
+        assertThat(Pattern.compile(PasswordHashCostMonitor.getMaxCostExceededPattern(31))
+                .matcher(BCRYPT_HASH_COST_10).find()).isFalse();
+    }
+
+    /**
+     * Verifies that the gauge reports the number determined by the counting function
+     * and that the function is not invoked again before the refresh interval has elapsed.
+     */
+    @Test
+    public void testGaugeReportsCount() {
+
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        final AtomicInteger invocations = new AtomicInteger();
+        final PasswordHashCostMonitor monitor = new PasswordHashCostMonitor(
+                registry,
+                () -> {
+                    invocations.incrementAndGet();
+                    return Future.succeededFuture(5L);
+                },
+                Duration.ofMinutes(1));
+
+        assertThat(registry.get(PasswordHashCostMonitor.METER_NAME).gauge().value()).isEqualTo(5.0);
+        assertThat(registry.get(PasswordHashCostMonitor.METER_NAME).gauge().value()).isEqualTo(5.0);
+        assertThat(invocations.get()).isEqualTo(1);
+        assertThat(monitor.getCount()).isEqualTo(5.0);
+    }
+}
@@ -293,7 +293,8 @@ public class TenantTest {
                 .put(RegistryManagementConstants.FIELD_TRACING_SAMPLING_MODE, TracingSamplingMode.ALL.getFieldValue())
                 .put(RegistryManagementConstants.FIELD_TRACING_SAMPLING_MODE_PER_AUTH_ID, new JsonObject()
                         .put("authId1", TracingSamplingMode.ALL.getFieldValue())
-                        .put("authId2", TracingSamplingMode.DEFAULT.getFieldValue()));
+                        .put("authId2", TracingSamplingMode.DEFAULT.getFieldValue()))
+                .put(RegistryManagementConstants.FIELD_TRACING_SAMPLING_RATE, 0.05);
 
         final JsonObject tenantJson = new JsonObject();
         tenantJson.put(RegistryManagementConstants.FIELD_TRACING, tracingConfigJson);
@@ -305,6 +306,20 @@ public class TenantTest {
         assertEquals(TracingSamplingMode.ALL, tracingConfig.getSamplingMode());
         assertEquals(TracingSamplingMode.ALL, tracingConfig.getSamplingModePerAuthId().get("authId1"));
         assertEquals(TracingSamplingMode.DEFAULT, tracingConfig.getSamplingModePerAuthId().get("authId2"));
+        assertEquals(0.05, tracingConfig.getSamplingRate());
+    }
+
+    /**
+     * Verifies that decoding a tenant with a sampling rate exceeding 1 fails.
+     */
+    @Test
+    public void testDecodeTraceSamplingRejectsInvalidSamplingRate() {
+
+        final JsonObject tenantJson = new JsonObject()
+                .put(RegistryManagementConstants.FIELD_TRACING, new JsonObject()
+                        .put(RegistryManagementConstants.FIELD_TRACING_SAMPLING_RATE, 1.5));
+
+        assertThrows(IllegalArgumentException.class, () -> tenantJson.mapTo(Tenant.class));
     }
 
     /**
@@ -16,6 +16,7 @@ package org.eclipse.hono.deviceregistry.file;
 import java.net.HttpURLConnection;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map.Entry;
@@ -29,6 +30,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.hono.auth.HonoPasswordEncoder;
 import org.eclipse.hono.client.ClientErrorException;
+import org.eclipse.hono.deviceregistry.service.credentials.PasswordHashCostMonitor;
 import org.eclipse.hono.deviceregistry.util.DeviceRegistryUtils;
 import org.eclipse.hono.service.Lifecycle;
 import org.eclipse.hono.service.credentials.CredentialsService;
@@ -445,6 +447,13 @@ public final class FileBasedCredentialsService implements CredentialsManagementS
                 continue;
             }
 
+            if (secrets.stream().anyMatch(secret -> PasswordHashCostMonitor.isMaxCostExceeded(
+                    (JsonObject) secret, getConfig().getMaxBcryptIterations()))) {
+                LOG.debug("credentials contain password hash exceeding max cost factor [tenant: {}, auth-id: {}]",
+                        tenantId, authId);
+                span.log("credentials contain password hash exceeding max cost factor, consider updating password");
+            }
+
             // return the first entry that matches
             return authIdCredentialCopy;
         }
@@ -765,6 +774,35 @@ public final class FileBasedCredentialsService implements CredentialsManagementS
         return get(tenantId, type, authId, clientContext, NoopSpan.INSTANCE);
     }
 
+    /**
+     * Counts the hashed-password secrets which use a hash exceeding the configured
+     * maximum bcrypt cost factor.
+     *
+     * @return A future containing the number of secrets.
+     * @see PasswordHashCostMonitor
+     */
+    public Future<Long> countPasswordHashesExceedingMaxCost() {
+
+        final int maxCostFactor = getConfig().getMaxBcryptIterations();
+        try {
+            final long count = credentials.values().stream()
+                    .flatMap(credentialsForTenant -> credentialsForTenant.values().stream())
+                    .flatMap(JsonArray::stream)
+                    .filter(JsonObject.class::isInstance)
+                    .map(JsonObject.class::cast)
+                    .filter(credential -> CredentialsConstants.SECRETS_TYPE_HASHED_PASSWORD
+                            .equals(credential.getString(CredentialsConstants.FIELD_TYPE)))
+                    .flatMap(credential -> credential.getJsonArray(CredentialsConstants.FIELD_SECRETS, new JsonArray()).stream())
+                    .filter(secret -> secret instanceof JsonObject
+                            && PasswordHashCostMonitor.isMaxCostExceeded((JsonObject) secret, maxCostFactor))
+                    .count();
+            return Future.succeededFuture(count);
+        } catch (final ConcurrentModificationException e) {
+            // credentials have been updated concurrently, try again next time
+            return Future.failedFuture(e);
+        }
+    }
+
     /**
      * Create or get credentials map for a single tenant.
      *
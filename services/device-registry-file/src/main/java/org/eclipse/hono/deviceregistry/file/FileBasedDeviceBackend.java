@@ -97,6 +97,16 @@ public class FileBasedDeviceBackend implements AutoProvisioningEnabledDeviceBack
         return CompositeFuture.join(registrationService.stop(), credentialsService.stop()).mapEmpty();
     }
 
+    /**
+     * Counts the hashed-password secrets which use a hash exceeding the configured
+     * maximum bcrypt cost factor.
+     *
+     * @return A future containing the number of secrets.
+     */
+    public Future<Long> countPasswordHashesExceedingMaxCost() {
+        return credentialsService.countPasswordHashesExceedingMaxCost();
+    }
+
     // DEVICES
 
     @Override
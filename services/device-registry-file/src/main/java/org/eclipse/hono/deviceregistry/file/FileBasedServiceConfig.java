@@ -18,6 +18,7 @@ import org.eclipse.hono.auth.HonoPasswordEncoder;
 import org.eclipse.hono.auth.SpringBasedHonoPasswordEncoder;
 import org.eclipse.hono.config.ServiceConfigProperties;
 import org.eclipse.hono.deviceregistry.server.DeviceRegistryHttpServer;
+import org.eclipse.hono.deviceregistry.service.credentials.PasswordHashCostMonitor;
 import org.eclipse.hono.service.http.HttpEndpoint;
 import org.eclipse.hono.service.management.credentials.CredentialsManagementService;
 import org.eclipse.hono.service.management.credentials.DelegatingCredentialsManagementHttpEndpoint;
@@ -32,6 +33,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.vertx.core.Vertx;
 
 /**
@@ -124,6 +126,23 @@ public class FileBasedServiceConfig {
         return new FileBasedDeviceBackend(registrationService, credentialsService);
     }
 
+    /**
+     * Creates a monitor for password hashes exceeding the maximum bcrypt cost factor.
+     *
+     * @param deviceBackend The service managing the credentials.
+     * @param registry The registry to report the number of hashes to.
+     * @return The monitor.
+     */
+    @Bean
+    public PasswordHashCostMonitor passwordHashCostMonitor(
+            final FileBasedDeviceBackend deviceBackend,
+            final MeterRegistry registry) {
+        return new PasswordHashCostMonitor(
+                registry,
+                deviceBackend::countPasswordHashesExceedingMaxCost,
+                PasswordHashCostMonitor.DEFAULT_REFRESH_INTERVAL);
+    }
+
     //
     //
     // HTTP endpoints
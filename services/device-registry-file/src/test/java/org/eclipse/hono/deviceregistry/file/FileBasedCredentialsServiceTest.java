@@ -549,6 +549,49 @@ public class FileBasedCredentialsServiceTest extends AbstractCredentialsServiceT
         );
     }
 
+    /**
+     * Verifies that the service counts the password hashes which exceed the
+     * configured maximum bcrypt cost factor.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testCountPasswordHashesExceedingMaxCost(final VertxTestContext ctx) {
+
+        // GIVEN a device with a bcrypt hashed password using cost factor 10
+        final PasswordCredential passwordCredential = new PasswordCredential();
+        passwordCredential.setAuthId("bumlux");
+
+        final PasswordSecret hashedPassword = new PasswordSecret();
+        hashedPassword.setPasswordHash("$2a$10$UK9lmSMlYmeXqABkTrDRsu1nlZRnAmGnBdPIWZoDajtjyxX18Dry.");
+        hashedPassword.setHashFunction(CredentialsConstants.HASH_FUNCTION_BCRYPT);
+        passwordCredential.setSecrets(Collections.singletonList(hashedPassword));
+
+        getCredentialsManagementService().updateCredentials(
+                "tenant",
+                "device",
+                Collections.singletonList(passwordCredential),
+                Optional.empty(),
+                NoopSpan.INSTANCE)
+            .compose(s -> {
+                ctx.verify(() -> assertThat(s.getStatus()).isEqualTo(HttpURLConnection.HTTP_NO_CONTENT));
+                return svc.countPasswordHashesExceedingMaxCost();
+            })
+            .compose(count -> {
+                ctx.verify(() -> assertThat(count).isEqualTo(0L));
+                // WHEN the maximum cost factor is lowered
+                credentialsConfig.setMaxBcryptIterations(8);
+                return svc.countPasswordHashesExceedingMaxCost();
+            })
+            .onComplete(ctx.succeeding(count -> {
+                ctx.verify(() -> {
+                    // THEN the hash is reported as exceeding the maximum cost factor
+                    assertThat(count).isEqualTo(1L);
+                });
+                ctx.completeNow();
+            }));
+    }
+
     private void testGetCredentialsWithClientContext(
             final VertxTestContext ctx,
             final String expectedContextValue,
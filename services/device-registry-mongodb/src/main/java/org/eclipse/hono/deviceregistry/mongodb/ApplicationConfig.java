@@ -31,6 +31,7 @@ import org.eclipse.hono.deviceregistry.mongodb.service.MongoDbBasedRegistrationS
 import org.eclipse.hono.deviceregistry.mongodb.service.MongoDbBasedTenantService;
 import org.eclipse.hono.deviceregistry.server.DeviceRegistryAmqpServer;
 import org.eclipse.hono.deviceregistry.server.DeviceRegistryHttpServer;
+import org.eclipse.hono.deviceregistry.service.credentials.PasswordHashCostMonitor;
 import org.eclipse.hono.service.HealthCheckServer;
 import org.eclipse.hono.service.VertxBasedHealthCheckServer;
 import org.eclipse.hono.service.amqp.AmqpEndpoint;
@@ -315,6 +316,20 @@ public class ApplicationConfig {
         );
     }
 
+    /**
+     * Creates a monitor for password hashes exceeding the maximum bcrypt cost factor.
+     *
+     * @param registry The registry to report the number of hashes to.
+     * @return The monitor.
+     */
+    @Bean
+    public PasswordHashCostMonitor passwordHashCostMonitor(final MeterRegistry registry) {
+        return new PasswordHashCostMonitor(
+                registry,
+                credentialsService()::countPasswordHashesExceedingMaxCost,
+                PasswordHashCostMonitor.DEFAULT_REFRESH_INTERVAL);
+    }
+
     /**
      * Exposes the MongoDB tenant service as a Spring bean.
      *
@@ -16,6 +16,7 @@ import java.net.HttpURLConnection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import org.eclipse.hono.auth.HonoPasswordEncoder;
@@ -26,6 +27,7 @@ import org.eclipse.hono.deviceregistry.mongodb.utils.MongoDbCallExecutor;
 import org.eclipse.hono.deviceregistry.mongodb.utils.MongoDbDeviceRegistryUtils;
 import org.eclipse.hono.deviceregistry.mongodb.utils.MongoDbDocumentBuilder;
 import org.eclipse.hono.deviceregistry.service.credentials.AbstractCredentialsManagementService;
+import org.eclipse.hono.deviceregistry.service.credentials.PasswordHashCostMonitor;
 import org.eclipse.hono.deviceregistry.service.device.DeviceKey;
 import org.eclipse.hono.deviceregistry.util.DeviceRegistryUtils;
 import org.eclipse.hono.service.Lifecycle;
@@ -46,6 +48,7 @@ import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.mongo.FindOptions;
 import io.vertx.ext.mongo.IndexOptions;
@@ -135,7 +138,7 @@ public final class MongoDbBasedCredentialsService extends AbstractCredentialsMan
         Objects.requireNonNull(authId);
         Objects.requireNonNull(span);
 
-        return processGetCredential(tenantId, type, authId, null);
+        return processGetCredential(tenantId, type, authId, null, span);
     }
 
     /**
@@ -155,7 +158,7 @@ public final class MongoDbBasedCredentialsService extends AbstractCredentialsMan
         Objects.requireNonNull(clientContext);
         Objects.requireNonNull(span);
 
-        return processGetCredential(tenantId, type, authId, clientContext);
+        return processGetCredential(tenantId, type, authId, clientContext, span);
     }
 
     /**
@@ -358,7 +361,8 @@ public final class MongoDbBasedCredentialsService extends AbstractCredentialsMan
     private Future<CredentialsResult<JsonObject>> getCredentialsResult(
             final String tenantId,
             final String authId,
-            final String type) {
+            final String type,
+            final Span span) {
         final JsonObject findCredentialsQuery = MongoDbDocumentBuilder.builder()
                 .withTenantId(tenantId)
                 .withAuthId(authId)
@@ -382,6 +386,10 @@ public final class MongoDbBasedCredentialsService extends AbstractCredentialsMan
                                 .map(credential -> credential.put(RegistryManagementConstants.FIELD_PAYLOAD_DEVICE_ID,
                                         result.getString(RegistryManagementConstants.FIELD_PAYLOAD_DEVICE_ID))))
                         .filter(this::isCredentialEnabled)
+                        .map(credential -> {
+                            checkPasswordHashCost(tenantId, authId, credential, span);
+                            return credential;
+                        })
                         .map(credential -> CredentialsResult.from(
                                 HttpURLConnection.HTTP_OK,
                                 credential,
@@ -404,6 +412,55 @@ public final class MongoDbBasedCredentialsService extends AbstractCredentialsMan
         }
     }
 
+    private void checkPasswordHashCost(
+            final String tenantId,
+            final String authId,
+            final JsonObject credential,
+            final Span span) {
+
+        final boolean maxCostExceeded = credential
+                .getJsonArray(CredentialsConstants.FIELD_SECRETS, new JsonArray())
+                .stream()
+                .anyMatch(secret -> secret instanceof JsonObject && PasswordHashCostMonitor
+                        .isMaxCostExceeded((JsonObject) secret, config.getMaxBcryptIterations()));
+        if (maxCostExceeded) {
+            LOG.debug("credentials contain password hash exceeding max cost factor [tenant: {}, auth-id: {}]",
+                    tenantId, authId);
+            span.log("credentials contain password hash exceeding max cost factor, consider updating password");
+        }
+    }
+
+    /**
+     * Counts the hashed-password secrets which use a hash exceeding the configured
+     * maximum bcrypt cost factor.
+     *
+     * @return A future containing the number of secrets.
+     * @see PasswordHashCostMonitor
+     */
+    public Future<Long> countPasswordHashesExceedingMaxCost() {
+
+        final String secretsKey = String.format("%s.%s", MongoDbDeviceRegistryUtils.FIELD_CREDENTIALS,
+                CredentialsConstants.FIELD_SECRETS);
+        final JsonArray pipeline = new JsonArray()
+                .add(new JsonObject().put("$unwind", "$" + MongoDbDeviceRegistryUtils.FIELD_CREDENTIALS))
+                .add(new JsonObject().put("$unwind", "$" + secretsKey))
+                .add(new JsonObject().put("$match", new JsonObject()
+                        .put(String.format("%s.%s", secretsKey, CredentialsConstants.FIELD_SECRETS_HASH_FUNCTION),
+                                CredentialsConstants.HASH_FUNCTION_BCRYPT)
+                        .put(String.format("%s.%s", secretsKey, CredentialsConstants.FIELD_SECRETS_PWD_HASH),
+                                new JsonObject().put("$regex", PasswordHashCostMonitor
+                                        .getMaxCostExceededPattern(config.getMaxBcryptIterations())))))
+                .add(new JsonObject().put("$count", "count"));
+
+        final Promise<Long> result = Promise.promise();
+        final AtomicLong count = new AtomicLong();
+        mongoClient.aggregate(config.getCollectionName(), pipeline)
+                .exceptionHandler(result::tryFail)
+                .endHandler(end -> result.tryComplete(count.get()))
+                .handler(document -> count.set(document.getLong("count", 0L)));
+        return result.future();
+    }
+
     private boolean isCredentialEnabled(final JsonObject credential) {
         return Optional.ofNullable(credential.getBoolean(CredentialsConstants.FIELD_ENABLED))
                 .orElse(true);
@@ -413,10 +470,11 @@ public final class MongoDbBasedCredentialsService extends AbstractCredentialsMan
             final String tenantId,
             final String type,
             final String authId,
-            final JsonObject clientContext) {
+            final JsonObject clientContext,
+            final Span span) {
 
         //TODO: To implement to make use of the client context.
-        return getCredentialsResult(tenantId, authId, type);
+        return getCredentialsResult(tenantId, authId, type, span);
     }
 
     private Future<Result<Void>> processAddCredentials(
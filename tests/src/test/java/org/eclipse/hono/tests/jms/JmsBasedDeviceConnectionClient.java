@@ -189,6 +189,45 @@ public class JmsBasedDeviceConnectionClient extends JmsBasedRequestResponseClien
                 });
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<Void> setCommandHandlingAdapterInstanceForDevices(
+            final List<String> deviceIds,
+            final String adapterInstanceId,
+            final Duration lifespan,
+            final SpanContext context) {
+
+        final int lifespanSeconds = lifespan != null && lifespan.getSeconds() <= Integer.MAX_VALUE ? (int) lifespan.getSeconds() : -1;
+        final JsonObject payload = new JsonObject()
+                .put(DeviceConnectionConstants.FIELD_DEVICE_IDS, new JsonArray(deviceIds));
+        return sendRequest(
+                DeviceConnectionAction.SET_CMD_HANDLING_ADAPTER_INSTANCE_FOR_DEVICES.getSubject(),
+                Map.of(MessageHelper.APP_PROPERTY_ADAPTER_INSTANCE_ID, adapterInstanceId,
+                        MessageHelper.APP_PROPERTY_LIFESPAN, lifespanSeconds),
+                payload.toBuffer())
+                .mapEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<Void> removeCommandHandlingAdapterInstanceForDevices(
+            final List<String> deviceIds,
+            final String adapterInstanceId,
+            final SpanContext context) {
+
+        final JsonObject payload = new JsonObject()
+                .put(DeviceConnectionConstants.FIELD_DEVICE_IDS, new JsonArray(deviceIds));
+        return sendRequest(
+                DeviceConnectionAction.REMOVE_CMD_HANDLING_ADAPTER_INSTANCE_FOR_DEVICES.getSubject(),
+                Map.of(MessageHelper.APP_PROPERTY_ADAPTER_INSTANCE_ID, adapterInstanceId),
+                payload.toBuffer())
+                .mapEmpty();
+    }
+
     /**
      * Sends a request for an operation.
      *